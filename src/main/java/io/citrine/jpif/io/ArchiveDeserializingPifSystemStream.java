@@ -0,0 +1,320 @@
+package io.citrine.jpif.io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.util.PifObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Class that streams PIF systems from an archive written by {@link PifArchiveWriter}. Blocks are read and decompressed
+ * one at a time, so only a single block of the archive is held in memory.
+ *
+ * <p>Strings are shared between all records that are read from the same block, so systems that are read from an
+ * archive also use less memory than those parsed from JSON.
+ *
+ * @author Kyle Michel
+ */
+public class ArchiveDeserializingPifSystemStream extends PifSystemStream {
+
+    /**
+     * Create a system stream from an {@link InputStream} object.
+     *
+     * <p>The input stream will be closed when the {@link #close()} method is called on this object.
+     *
+     * @param inputStream {@link InputStream} object with an archive to convert into PIF systems.
+     * @throws IOException if the input stream does not start with a supported archive header.
+     */
+    public ArchiveDeserializingPifSystemStream(final InputStream inputStream) throws IOException {
+        this.inputStream = new DataInputStream(new BufferedInputStream(inputStream));
+        this.inflater = new Inflater();
+        this.dictionary = new ArrayList<>();
+        this.block = new byte[0];
+        this.compressed = new byte[0];
+        readHeader();
+    }
+
+    /**
+     * Read and validate the header of the archive.
+     *
+     * @throws IOException if the header is not valid.
+     */
+    private void readHeader() throws IOException {
+        final byte[] magic = new byte[PifArchiveFormat.MAGIC.length];
+        this.inputStream.readFully(magic);
+        if (!Arrays.equals(magic, PifArchiveFormat.MAGIC)) {
+            throw new IOException("Input is not a PIF archive");
+        }
+        final int version = this.inputStream.readUnsignedByte();
+        if (version != PifArchiveFormat.VERSION) {
+            throw new IOException("Unsupported PIF archive version " + version);
+        }
+    }
+
+    @Override
+    protected System advanceToNextSystem() throws IOException {
+        if ((this.numRecordsRemaining == 0) && !readBlock()) {
+            this.finished = true;
+            return null;
+        }
+        --this.numRecordsRemaining;
+        final TokenBuffer tokenBuffer = new TokenBuffer(PifObjectMapper.getInstance(), false);
+        readValue(tokenBuffer);
+        try (JsonParser jsonParser = tokenBuffer.asParser()) {
+            jsonParser.nextToken();
+            return readSystem(jsonParser, PifObjectMapper.getInstance());
+        }
+    }
+
+    /**
+     * Read and decompress the next block of the archive.
+     *
+     * @return True if a block was read or false if the end of the archive has been reached.
+     * @throws IOException if the block cannot be read.
+     */
+    private boolean readBlock() throws IOException {
+        final int numRecords = (int) readVarLongFromInput();
+        if (numRecords == 0) {
+            return false;
+        }
+        final int uncompressedLength = (int) readVarLongFromInput();
+        final int compressedLength = (int) readVarLongFromInput();
+        if ((numRecords < 0) || (uncompressedLength < 0) || (compressedLength < 0)) {
+            throw new IOException("Invalid PIF archive block header");
+        }
+        if (compressedLength > this.compressed.length) {
+            this.compressed = new byte[compressedLength];
+        }
+        if (uncompressedLength > this.block.length) {
+            this.block = new byte[uncompressedLength];
+        }
+        this.inputStream.readFully(this.compressed, 0, compressedLength);
+        this.inflater.reset();
+        this.inflater.setInput(this.compressed, 0, compressedLength);
+        try {
+            int numInflated = 0;
+            while (numInflated < uncompressedLength) {
+                final int n = this.inflater.inflate(this.block, numInflated, uncompressedLength - numInflated);
+                if ((n == 0) && (this.inflater.finished() || this.inflater.needsInput())) {
+                    throw new IOException("PIF archive block is shorter than expected");
+                }
+                numInflated += n;
+            }
+        }
+        catch (DataFormatException e) {
+            throw new IOException("PIF archive block is corrupt", e);
+        }
+        this.numRecordsRemaining = numRecords;
+        this.blockLength = uncompressedLength;
+        this.position = 0;
+        this.dictionary.clear();
+        return true;
+    }
+
+    /**
+     * Decode a single JSON value from the current block.
+     *
+     * @param tokenBuffer {@link TokenBuffer} to write the tokens of the value to.
+     * @throws IOException if the value cannot be decoded.
+     */
+    private void readValue(final TokenBuffer tokenBuffer) throws IOException {
+        int depth = 0;
+        do {
+            final int tag = readByte();
+            switch (tag) {
+                case PifArchiveFormat.START_OBJECT:
+                    tokenBuffer.writeStartObject();
+                    ++depth;
+                    break;
+                case PifArchiveFormat.END_OBJECT:
+                    tokenBuffer.writeEndObject();
+                    --depth;
+                    break;
+                case PifArchiveFormat.START_ARRAY:
+                    tokenBuffer.writeStartArray();
+                    ++depth;
+                    break;
+                case PifArchiveFormat.END_ARRAY:
+                    tokenBuffer.writeEndArray();
+                    --depth;
+                    break;
+                case PifArchiveFormat.FIELD_NAME:
+                    tokenBuffer.writeFieldName(readString());
+                    break;
+                case PifArchiveFormat.STRING:
+                    tokenBuffer.writeString(readString());
+                    break;
+                case PifArchiveFormat.INTEGER:
+                    final long value = readVarLong();
+                    tokenBuffer.writeNumber((value >>> 1) ^ -(value & 1));
+                    break;
+                case PifArchiveFormat.DOUBLE:
+                    tokenBuffer.writeNumber(Double.longBitsToDouble(readLong()));
+                    break;
+                case PifArchiveFormat.TRUE:
+                    tokenBuffer.writeBoolean(true);
+                    break;
+                case PifArchiveFormat.FALSE:
+                    tokenBuffer.writeBoolean(false);
+                    break;
+                case PifArchiveFormat.NULL:
+                    tokenBuffer.writeNull();
+                    break;
+                case PifArchiveFormat.BIG_INTEGER:
+                    tokenBuffer.writeNumber(new BigInteger(readString()));
+                    break;
+                case PifArchiveFormat.BIG_DECIMAL:
+                    tokenBuffer.writeNumber(new BigDecimal(readString()));
+                    break;
+                default:
+                    throw new IOException("Unknown tag in PIF archive: " + tag);
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Read a string through the dictionary of the current block.
+     *
+     * @return String that was read.
+     * @throws IOException if the string cannot be read.
+     */
+    private String readString() throws IOException {
+        final int index = (int) readVarLong();
+        if (index > 0) {
+            if (index > this.dictionary.size()) {
+                throw new IOException("Invalid string reference in PIF archive: " + index);
+            }
+            return this.dictionary.get(index - 1);
+        }
+        final int length = (int) readVarLong();
+        checkAvailable(length);
+        final String res = new String(this.block, this.position, length, StandardCharsets.UTF_8);
+        this.position += length;
+        this.dictionary.add(res);
+        return res;
+    }
+
+    /**
+     * Read a varint from the current block.
+     *
+     * @return Value that was read.
+     * @throws IOException if the end of the block is reached.
+     */
+    private long readVarLong() throws IOException {
+        long res = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final int b = readByte();
+            res |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return res;
+            }
+        }
+        throw new IOException("Invalid varint in PIF archive");
+    }
+
+    /**
+     * Read a long that was written as 8 big-endian bytes from the current block.
+     *
+     * @return Value that was read.
+     * @throws IOException if the end of the block is reached.
+     */
+    private long readLong() throws IOException {
+        checkAvailable(Long.BYTES);
+        long res = 0;
+        for (int i = 0; i < Long.BYTES; ++i) {
+            res = (res << 8) | (this.block[this.position++] & 0xFF);
+        }
+        return res;
+    }
+
+    /**
+     * Read a single unsigned byte from the current block.
+     *
+     * @return Byte that was read.
+     * @throws IOException if the end of the block is reached.
+     */
+    private int readByte() throws IOException {
+        checkAvailable(1);
+        return this.block[this.position++] & 0xFF;
+    }
+
+    /**
+     * Make sure that the current block has at least the input number of bytes remaining.
+     *
+     * @param numBytes Number of bytes that are about to be read.
+     * @throws IOException if fewer bytes remain in the block.
+     */
+    private void checkAvailable(final int numBytes) throws IOException {
+        if ((numBytes < 0) || (this.position + numBytes > this.blockLength)) {
+            throw new IOException("Unexpected end of PIF archive block");
+        }
+    }
+
+    /**
+     * Read a varint directly from the input stream.
+     *
+     * @return Value that was read.
+     * @throws IOException if the value cannot be read.
+     */
+    private long readVarLongFromInput() throws IOException {
+        long res = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final int b = this.inputStream.readUnsignedByte();
+            res |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return res;
+            }
+        }
+        throw new IOException("Invalid varint in PIF archive");
+    }
+
+    @Override
+    protected boolean isFinished() {
+        return this.finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.inflater.end();
+        this.inputStream.close();
+    }
+
+    /** Stream with the archive to read. */
+    private final DataInputStream inputStream;
+
+    /** Decompressor for blocks. */
+    private final Inflater inflater;
+
+    /** Strings that have appeared in the current block, in the order that they appeared. */
+    private final List<String> dictionary;
+
+    /** Uncompressed body of the current block. */
+    private byte[] block;
+
+    /** Buffer that the compressed body of each block is read into. */
+    private byte[] compressed;
+
+    /** Number of bytes in the current block. */
+    private int blockLength;
+
+    /** Position of the next byte to read in the current block. */
+    private int position;
+
+    /** Number of records that have not yet been read from the current block. */
+    private int numRecordsRemaining;
+
+    /** Whether the end of the archive has been reached. */
+    private boolean finished;
+}
@@ -73,7 +73,7 @@ public class JsonDeserializingPifSystemStream extends PifSystemStream {
 
     @Override
     protected System advanceToNextSystem() throws IOException {
-        final System result = PifObjectMapper.getInstance().readValue(this.jsonParser, System.class);
+        final System result = readSystem(this.jsonParser, PifObjectMapper.getInstance());
         if (result != null) {
             this.jsonParser.nextToken();
         }
@@ -0,0 +1,73 @@
+package io.citrine.jpif.io;
+
+/**
+ * Constants that describe the layout of a PIF archive, as written by {@link PifArchiveWriter} and read by
+ * {@link ArchiveDeserializingPifSystemStream}.
+ *
+ * <p>An archive starts with the {@link #MAGIC} bytes and a {@link #VERSION} byte, followed by any number of blocks and
+ * then a single zero byte. Each block is written as:
+ * <ul>
+ *     <li>the number of records in the block (varint, always greater than zero),
+ *     <li>the uncompressed length of the block body (varint),
+ *     <li>the compressed length of the block body (varint),
+ *     <li>the block body compressed with {@link java.util.zip.Deflater}.
+ * </ul>
+ *
+ * <p>The block body is the sequence of JSON tokens of every record in the block, each encoded as a single tag byte
+ * followed by its payload. Field names and string values are written through a dictionary that is local to the block:
+ * a string is written as a varint that is zero for a new string, followed by its length and UTF-8 bytes, or the
+ * 1-based index of a string that has already appeared in the block. Since the dictionary is reset for each block,
+ * blocks can be decoded independently of each other.
+ *
+ * @author Kyle Michel
+ */
+final class PifArchiveFormat {
+
+    /** Bytes at the start of every archive. */
+    static final byte[] MAGIC = {'P', 'I', 'F', 'A'};
+
+    /** Version of the archive format. */
+    static final int VERSION = 1;
+
+    /** Tag for the start of an object. */
+    static final int START_OBJECT = 1;
+
+    /** Tag for the end of an object. */
+    static final int END_OBJECT = 2;
+
+    /** Tag for the start of an array. */
+    static final int START_ARRAY = 3;
+
+    /** Tag for the end of an array. */
+    static final int END_ARRAY = 4;
+
+    /** Tag for a field name. The payload is a dictionary string. */
+    static final int FIELD_NAME = 5;
+
+    /** Tag for a string value. The payload is a dictionary string. */
+    static final int STRING = 6;
+
+    /** Tag for an integer value. The payload is a zigzag-encoded varint. */
+    static final int INTEGER = 7;
+
+    /** Tag for a floating point value. The payload is the 8 bytes of the IEEE 754 representation. */
+    static final int DOUBLE = 8;
+
+    /** Tag for a true value. */
+    static final int TRUE = 9;
+
+    /** Tag for a false value. */
+    static final int FALSE = 10;
+
+    /** Tag for a null value. */
+    static final int NULL = 11;
+
+    /** Tag for an integer that does not fit in a long. The payload is a dictionary string with its digits. */
+    static final int BIG_INTEGER = 12;
+
+    /** Tag for a decimal with arbitrary precision. The payload is a dictionary string with its digits. */
+    static final int BIG_DECIMAL = 13;
+
+    // Make sure that objects of this class cannot be instantiated
+    private PifArchiveFormat() {}
+}
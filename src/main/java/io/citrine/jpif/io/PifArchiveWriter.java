@@ -0,0 +1,346 @@
+package io.citrine.jpif.io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.util.PifObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Class to write PIF systems to a compressed archive. See {@link PifArchiveFormat} for a description of the layout of
+ * an archive. Archives can be read using {@link ArchiveDeserializingPifSystemStream}.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * {@code
+ * PifArchiveWriter pifArchiveWriter = new PifArchiveWriter(outputStream);
+ * for (System system : pifSystemStream) {
+ *     pifArchiveWriter.write(system);
+ * }
+ * pifArchiveWriter.close();
+ * }
+ * </pre>
+ *
+ * @author Kyle Michel
+ */
+public class PifArchiveWriter implements Closeable {
+
+    /**
+     * Constructor using the default number of records per block.
+     *
+     * <p>The output stream will be closed when the {@link #close()} method is called on this object.
+     *
+     * @param outputStream {@link OutputStream} to write the archive to.
+     * @throws IOException if the archive header cannot be written.
+     */
+    public PifArchiveWriter(final OutputStream outputStream) throws IOException {
+        this(outputStream, DEFAULT_RECORDS_PER_BLOCK);
+    }
+
+    /**
+     * Constructor.
+     *
+     * <p>The output stream will be closed when the {@link #close()} method is called on this object.
+     *
+     * @param outputStream {@link OutputStream} to write the archive to.
+     * @param recordsPerBlock Maximum number of records to save in a single block. Larger blocks compress better, but
+     *                        more memory is needed to write and read them.
+     * @throws IOException if the archive header cannot be written.
+     */
+    public PifArchiveWriter(final OutputStream outputStream, final int recordsPerBlock) throws IOException {
+        if (recordsPerBlock <= 0) {
+            throw new IllegalArgumentException("Number of records per block must be positive: " + recordsPerBlock);
+        }
+        this.outputStream = outputStream;
+        this.recordsPerBlock = recordsPerBlock;
+        this.deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        this.dictionary = new HashMap<>();
+        this.block = new byte[INITIAL_BLOCK_SIZE];
+        this.outputStream.write(PifArchiveFormat.MAGIC);
+        this.outputStream.write(PifArchiveFormat.VERSION);
+    }
+
+    /**
+     * Write a single system to the archive.
+     *
+     * @param system {@link System} to write.
+     * @throws IOException if the system cannot be written.
+     */
+    public void write(final System system) throws IOException {
+        final TokenBuffer tokenBuffer = new TokenBuffer(PifObjectMapper.getInstance(), false);
+        PifObjectMapper.getInstance().writeValue(tokenBuffer, system);
+        try (JsonParser jsonParser = tokenBuffer.asParser()) {
+            JsonToken jsonToken;
+            while ((jsonToken = jsonParser.nextToken()) != null) {
+                writeToken(jsonParser, jsonToken);
+            }
+        }
+        if ((++this.numRecordsInBlock >= this.recordsPerBlock) || (this.blockLength >= MAX_BLOCK_SIZE)) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Write all systems in a stream to the archive. This does not close the input stream.
+     *
+     * @param pifSystemStream {@link PifSystemStream} with the systems to write.
+     * @throws IOException if the stream cannot be read or a system cannot be written.
+     */
+    public void write(final PifSystemStream pifSystemStream) throws IOException {
+        System system;
+        while ((system = pifSystemStream.getNextSystem()) != null) {
+            write(system);
+        }
+    }
+
+    /**
+     * Write the token that the input parser is on to the current block.
+     *
+     * @param jsonParser {@link JsonParser} to read the value of the token from.
+     * @param jsonToken {@link JsonToken} to write.
+     * @throws IOException if the token cannot be written.
+     */
+    private void writeToken(final JsonParser jsonParser, final JsonToken jsonToken) throws IOException {
+        switch (jsonToken) {
+            case START_OBJECT:
+                writeByte(PifArchiveFormat.START_OBJECT);
+                break;
+            case END_OBJECT:
+                writeByte(PifArchiveFormat.END_OBJECT);
+                break;
+            case START_ARRAY:
+                writeByte(PifArchiveFormat.START_ARRAY);
+                break;
+            case END_ARRAY:
+                writeByte(PifArchiveFormat.END_ARRAY);
+                break;
+            case FIELD_NAME:
+                writeByte(PifArchiveFormat.FIELD_NAME);
+                writeString(jsonParser.getCurrentName());
+                break;
+            case VALUE_STRING:
+                writeByte(PifArchiveFormat.STRING);
+                writeString(jsonParser.getText());
+                break;
+            case VALUE_NUMBER_INT:
+                if (jsonParser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    writeByte(PifArchiveFormat.BIG_INTEGER);
+                    writeString(jsonParser.getBigIntegerValue().toString());
+                }
+                else {
+                    writeByte(PifArchiveFormat.INTEGER);
+                    final long value = jsonParser.getLongValue();
+                    writeVarLong((value << 1) ^ (value >> 63));
+                }
+                break;
+            case VALUE_NUMBER_FLOAT:
+                if (jsonParser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+                    writeByte(PifArchiveFormat.BIG_DECIMAL);
+                    writeString(jsonParser.getDecimalValue().toString());
+                }
+                else {
+                    writeByte(PifArchiveFormat.DOUBLE);
+                    writeLong(Double.doubleToRawLongBits(jsonParser.getDoubleValue()));
+                }
+                break;
+            case VALUE_TRUE:
+                writeByte(PifArchiveFormat.TRUE);
+                break;
+            case VALUE_FALSE:
+                writeByte(PifArchiveFormat.FALSE);
+                break;
+            case VALUE_NULL:
+                writeByte(PifArchiveFormat.NULL);
+                break;
+            default:
+                throw new IOException("Cannot write token to archive: " + jsonToken);
+        }
+    }
+
+    /**
+     * Write a string through the dictionary of the current block.
+     *
+     * @param string String to write.
+     */
+    private void writeString(final String string) {
+        final Integer index = this.dictionary.get(string);
+        if (index != null) {
+            writeVarLong(index);
+        }
+        else {
+            this.dictionary.put(string, this.dictionary.size() + 1);
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(0);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            java.lang.System.arraycopy(bytes, 0, this.block, this.blockLength, bytes.length);
+            this.blockLength += bytes.length;
+        }
+    }
+
+    /**
+     * Write a non-negative value as a varint.
+     *
+     * @param value Value to write.
+     */
+    private void writeVarLong(long value) {
+        ensureCapacity(MAX_VARINT_BYTES);
+        while ((value & ~0x7FL) != 0) {
+            this.block[this.blockLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.block[this.blockLength++] = (byte) value;
+    }
+
+    /**
+     * Write a long as 8 big-endian bytes.
+     *
+     * @param value Value to write.
+     */
+    private void writeLong(final long value) {
+        ensureCapacity(Long.BYTES);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            this.block[this.blockLength++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Write a single byte.
+     *
+     * @param value Byte to write.
+     */
+    private void writeByte(final int value) {
+        ensureCapacity(1);
+        this.block[this.blockLength++] = (byte) value;
+    }
+
+    /**
+     * Make sure that the current block has room for the input number of bytes.
+     *
+     * @param numBytes Number of bytes that are about to be written.
+     */
+    private void ensureCapacity(final int numBytes) {
+        if (this.blockLength + numBytes > this.block.length) {
+            this.block = Arrays.copyOf(this.block, Math.max(this.blockLength + numBytes, 2 * this.block.length));
+        }
+    }
+
+    /**
+     * Compress the current block and write it to the output stream.
+     *
+     * @throws IOException if the block cannot be written.
+     */
+    private void flushBlock() throws IOException {
+        if (this.numRecordsInBlock == 0) {
+            return;
+        }
+        this.deflater.reset();
+        this.deflater.setInput(this.block, 0, this.blockLength);
+        this.deflater.finish();
+        byte[] compressed = new byte[Math.max(INITIAL_BLOCK_SIZE, this.blockLength / 4)];
+        int compressedLength = 0;
+        while (!this.deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, 2 * compressed.length);
+            }
+            compressedLength += this.deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        writeVarLongToOutput(this.numRecordsInBlock);
+        writeVarLongToOutput(this.blockLength);
+        writeVarLongToOutput(compressedLength);
+        this.outputStream.write(compressed, 0, compressedLength);
+        this.numRecordsInBlock = 0;
+        this.blockLength = 0;
+        this.dictionary.clear();
+    }
+
+    /**
+     * Write a non-negative value as a varint directly to the output stream.
+     *
+     * @param value Value to write.
+     * @throws IOException if the value cannot be written.
+     */
+    private void writeVarLongToOutput(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            this.outputStream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        this.outputStream.write((int) value);
+    }
+
+    /**
+     * Write any buffered records and the end of the archive to the output stream without closing it.
+     *
+     * @throws IOException if the archive cannot be written.
+     */
+    public void finish() throws IOException {
+        if (!this.finished) {
+            flushBlock();
+            writeVarLongToOutput(0);
+            this.outputStream.flush();
+            this.deflater.end();
+            this.finished = true;
+        }
+    }
+
+    /**
+     * Finish the archive and close the underlying output stream.
+     *
+     * @throws IOException if the archive cannot be written or the stream cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        }
+        finally {
+            this.outputStream.close();
+        }
+    }
+
+    /** Default number of records to save in a single block. */
+    public static final int DEFAULT_RECORDS_PER_BLOCK = 1024;
+
+    /** Uncompressed size after which a block is written regardless of the number of records in it. */
+    private static final int MAX_BLOCK_SIZE = 16 * 1024 * 1024;
+
+    /** Initial size of the buffer for a block. */
+    private static final int INITIAL_BLOCK_SIZE = 64 * 1024;
+
+    /** Maximum number of bytes in a varint. */
+    private static final int MAX_VARINT_BYTES = 10;
+
+    /** Stream that the archive is written to. */
+    private final OutputStream outputStream;
+
+    /** Maximum number of records to save in a single block. */
+    private final int recordsPerBlock;
+
+    /** Compressor for blocks. */
+    private final Deflater deflater;
+
+    /** Map of strings in the current block to their 1-based index. */
+    private final Map<String, Integer> dictionary;
+
+    /** Uncompressed body of the current block. */
+    private byte[] block;
+
+    /** Number of bytes used in the current block. */
+    private int blockLength;
+
+    /** Number of records in the current block. */
+    private int numRecordsInBlock;
+
+    /** Whether the end of the archive has been written. */
+    private boolean finished;
+}
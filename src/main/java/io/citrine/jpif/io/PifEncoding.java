@@ -0,0 +1,127 @@
+package io.citrine.jpif.io;
+
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.util.PifObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An enumeration of the wire formats that PIF systems can be streamed in.
+ *
+ * <p>{@link #JSON} is the human-readable format that should be used at the edges of a pipeline. {@link #SMILE} is a
+ * compact binary format that is much cheaper to parse and should be preferred for intermediates that are only
+ * exchanged between pipeline stages. Each system in a {@link #SMILE} stream is written as a separate record that is
+ * prefixed by its length so that records can be skipped or split without being parsed.
+ *
+ * @author Kyle Michel
+ */
+public enum PifEncoding {
+
+    // Systems are written as the elements of a single JSON array
+    JSON {
+        @Override
+        byte[] getStartBytes() {
+            return JSON_START;
+        }
+
+        @Override
+        byte[] getEndBytes() {
+            return JSON_END;
+        }
+
+        @Override
+        byte[] encode(final System system, final boolean first) throws IOException {
+            final byte[] systemBytes = PifObjectMapper.getInstance().writeValueAsBytes(system);
+            if (first) {
+                return systemBytes;
+            }
+            final byte[] res = new byte[systemBytes.length + 1];
+            res[0] = ',';
+            java.lang.System.arraycopy(systemBytes, 0, res, 1, systemBytes.length);
+            return res;
+        }
+
+        @Override
+        public PifSystemStream createSystemStream(final InputStream inputStream) throws IOException {
+            return new JsonDeserializingPifSystemStream(inputStream);
+        }
+    },
+
+    // Each system is written as a standalone Smile document prefixed by its length as a 4-byte big-endian integer
+    SMILE {
+        @Override
+        byte[] getStartBytes() {
+            return EMPTY;
+        }
+
+        @Override
+        byte[] getEndBytes() {
+            return EMPTY;
+        }
+
+        @Override
+        byte[] encode(final System system, final boolean first) throws IOException {
+            final byte[] systemBytes = PifObjectMapper.getSmileInstance().writeValueAsBytes(system);
+            final int length = systemBytes.length;
+            final byte[] res = new byte[length + SmileDeserializingPifSystemStream.LENGTH_PREFIX_BYTES];
+            res[0] = (byte) (length >>> 24);
+            res[1] = (byte) (length >>> 16);
+            res[2] = (byte) (length >>> 8);
+            res[3] = (byte) length;
+            java.lang.System.arraycopy(systemBytes, 0, res, SmileDeserializingPifSystemStream.LENGTH_PREFIX_BYTES,
+                    length);
+            return res;
+        }
+
+        @Override
+        public PifSystemStream createSystemStream(final InputStream inputStream) throws IOException {
+            return new SmileDeserializingPifSystemStream(inputStream);
+        }
+    };
+
+    /**
+     * Get the bytes that are written before the first system in a stream.
+     *
+     * @return Array of bytes to start a stream with.
+     */
+    abstract byte[] getStartBytes();
+
+    /**
+     * Get the bytes that are written after the last system in a stream.
+     *
+     * @return Array of bytes to end a stream with.
+     */
+    abstract byte[] getEndBytes();
+
+    /**
+     * Encode a single system.
+     *
+     * @param system {@link System} to encode.
+     * @param first True if this is the first system being written to the stream.
+     * @return Array of bytes with the encoded system, including any separators that are required before it.
+     * @throws IOException if the system cannot be encoded.
+     */
+    abstract byte[] encode(final System system, final boolean first) throws IOException;
+
+    /**
+     * Create a {@link PifSystemStream} that reads systems written in this encoding.
+     *
+     * <p>The input stream will be closed when the {@link PifSystemStream#close()} method is called on the result.
+     *
+     * @param inputStream {@link InputStream} to read systems from.
+     * @return {@link PifSystemStream} over the systems in the input stream.
+     * @throws IOException if the input stream cannot be read.
+     */
+    public abstract PifSystemStream createSystemStream(final InputStream inputStream) throws IOException;
+
+    /** Bytes that start a JSON stream. */
+    private static final byte[] JSON_START = "[".getBytes(StandardCharsets.UTF_8);
+
+    /** Bytes that end a JSON stream. */
+    private static final byte[] JSON_END = "]".getBytes(StandardCharsets.UTF_8);
+
+    /** Empty array of bytes. */
+    private static final byte[] EMPTY = new byte[0];
+}
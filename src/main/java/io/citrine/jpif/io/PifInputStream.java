@@ -1,7 +1,6 @@
 package io.citrine.jpif.io;
 
 import io.citrine.jpif.obj.system.System;
-import io.citrine.jpif.util.PifObjectMapper;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -9,116 +8,152 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * Class to create an {@link InputStream} from one or more PIF objects.
+ * Class to create an {@link InputStream} from one or more PIF objects. Systems are written as a JSON array unless
+ * another {@link PifEncoding} is set.
  *
  * @author Kyle Michel
  */
 public class PifInputStream extends InputStream {
 
     /**
-     * Constructor for a single PIF system.
+     * Constructor for a single PIF system. The system is written as JSON.
      *
      * @param system {@link System} to iterate over.
      */
     public PifInputStream(final System system) {
-        initialize();
+        this(system, PifEncoding.JSON);
+    }
+
+    /**
+     * Constructor for a single PIF system.
+     *
+     * @param system {@link System} to iterate over.
+     * @param encoding {@link PifEncoding} to write the system in.
+     */
+    public PifInputStream(final System system, final PifEncoding encoding) {
+        initialize(encoding);
         this.systemIterator = new SystemListIterator(system);
     }
 
     /**
-     * Constructor for a list of PIF systems.
+     * Constructor for a list of PIF systems. The systems are written as JSON.
      *
      * @param systems List of {@link System}s to iterate over.
      */
     public PifInputStream(final List<System> systems) {
-        initialize();
+        this(systems, PifEncoding.JSON);
+    }
+
+    /**
+     * Constructor for a list of PIF systems.
+     *
+     * @param systems List of {@link System}s to iterate over.
+     * @param encoding {@link PifEncoding} to write the systems in.
+     */
+    public PifInputStream(final List<System> systems, final PifEncoding encoding) {
+        initialize(encoding);
         this.systemIterator = new SystemListIterator(systems);
     }
 
     /**
-     * Constructor for a stream of PIF objects.
+     * Constructor for a stream of PIF objects. The systems are written as JSON.
      *
      * @param pifSystemStream {@link PifSystemStream} to iterate over.
      */
     public PifInputStream(final PifSystemStream pifSystemStream) {
-        initialize();
+        this(pifSystemStream, PifEncoding.JSON);
+    }
+
+    /**
+     * Constructor for a stream of PIF objects.
+     *
+     * @param pifSystemStream {@link PifSystemStream} to iterate over.
+     * @param encoding {@link PifEncoding} to write the systems in.
+     */
+    public PifInputStream(final PifSystemStream pifSystemStream, final PifEncoding encoding) {
+        initialize(encoding);
         this.systemIterator = new PifSystemStreamIterator(pifSystemStream);
     }
 
     @Override
     public int read() throws IOException {
-        return (this.index < this.byteArray.length)
-                ? this.byteArray[this.index++]
-                : getFirstByteFromNextArray();
+        return ((this.index < this.byteArray.length) || readNextByteArray())
+                ? (this.byteArray[this.index++] & 0xFF)
+                : -1;
     }
 
-    /**
-     * Move to the next byte array and return the first character.
-     *
-     * @return Int with the first character of the next byte array or -1 if finished.
-     * @throws IOException if thrown from within this function.
-     */
-    private int getFirstByteFromNextArray() throws IOException {
-        return this.finished
-                ? -1
-                : readNextByteArray();
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+        if ((offset < 0) || (length < 0) || (length > bytes.length - offset)) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        int numRead = 0;
+        while ((numRead < length) && ((this.index < this.byteArray.length) || readNextByteArray())) {
+            final int numToCopy = Math.min(length - numRead, this.byteArray.length - this.index);
+            java.lang.System.arraycopy(this.byteArray, this.index, bytes, offset + numRead, numToCopy);
+            this.index += numToCopy;
+            numRead += numToCopy;
+        }
+        return (numRead == 0) ? -1 : numRead;
     }
 
     /**
-     * Read the next byte array and return the first character.
+     * Move to the next non-empty byte array.
      *
-     * @return Int with the first character of the next byte array.
+     * @return True if a byte array with unread bytes is available or false if the stream is finished.
      * @throws IOException if thrown from within this function.
      */
-    private int readNextByteArray() throws IOException {
-        final System nextSystem = this.systemIterator.getNextSystem();
-        return (nextSystem == null)
-                ? getFromEndOfStream()
-                : getFromSystem(nextSystem);
+    private boolean readNextByteArray() throws IOException {
+        while (this.index >= this.byteArray.length) {
+            if (this.finished) {
+                return false;
+            }
+            final System nextSystem = this.systemIterator.getNextSystem();
+            if (nextSystem == null) {
+                setFromEndOfStream();
+            }
+            else {
+                setFromSystem(nextSystem);
+            }
+        }
+        return true;
     }
 
     /**
-     * Get the first byte from the end of a stream.
-     *
-     * @return Int with the first character of the next byte array.
+     * Set the current byte array to the end of the stream.
      */
-    private int getFromEndOfStream() {
-        if (this.finished) {
-            return -1;
-        }
-        else {
-            this.index = 0;
-            this.finished = true;
-            this.byteArray = "]".getBytes();
-            return this.byteArray[this.index++];
-        }
+    private void setFromEndOfStream() {
+        this.index = 0;
+        this.finished = true;
+        this.byteArray = this.encoding.getEndBytes();
     }
 
     /**
-     * Get the next byte from the input system.
+     * Set the current byte array to the encoded form of the input system.
      *
      * @param system {@link System} to convert to a byte array.
-     * @return Int with the first character of the next byte array.
      * @throws IOException if thrown from within this function.
      */
-    private int getFromSystem(final System system) throws IOException {
-        final String systemString = this.first
-                ? PifObjectMapper.getInstance().writeValueAsString(system)
-                : "," + PifObjectMapper.getInstance().writeValueAsString(system);
+    private void setFromSystem(final System system) throws IOException {
         this.index = 0;
+        this.byteArray = this.encoding.encode(system, this.first);
         this.first = false;
-        this.byteArray = systemString.getBytes();
-        return this.byteArray[this.index++];
     }
 
     /**
      * Initialize the variables in this object.
+     *
+     * @param encoding {@link PifEncoding} to write systems in.
      */
-    private void initialize() {
+    private void initialize(final PifEncoding encoding) {
+        this.encoding = encoding;
         this.index = 0;
         this.first = true;
         this.finished = false;
-        this.byteArray = "[".getBytes();
+        this.byteArray = encoding.getStartBytes();
     }
 
     @Override
@@ -129,6 +164,9 @@ public class PifInputStream extends InputStream {
     /** Iterable of PIF systems. */
     private final SystemIterator systemIterator;
 
+    /** Encoding that systems are written in. */
+    private PifEncoding encoding;
+
     /** Whether the input iterator is finished. */
     private boolean finished;
 
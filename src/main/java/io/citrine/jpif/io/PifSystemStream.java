@@ -1,9 +1,16 @@
 package io.citrine.jpif.io;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.util.PifObjectMapper;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 /**
  * Class to stream PIF systems from some source that is formatted in the PIF schema.
@@ -80,6 +87,62 @@ public abstract class PifSystemStream implements Iterable<System> {
         return null;
     }
 
+    /**
+     * Set whether this stream reuses the systems that it returns. When this is set, each call to
+     * {@link #getNextSystem()} reads into the system that was last returned for the same category, and so any system
+     * that is returned is only valid until the next call. This avoids building a new object graph for every record,
+     * which is useful for consumers that extract a few values from each record and then drop it. Systems that are
+     * returned must not be frozen or kept. This is not set by default.
+     *
+     * @param reuseSystems True to reuse the systems that are returned.
+     * @return This object.
+     */
+    public PifSystemStream setReuseSystems(final boolean reuseSystems) {
+        this.reuseSystems = reuseSystems;
+        return this;
+    }
+
+    /**
+     * Determine whether this stream reuses the systems that it returns.
+     *
+     * @return True if systems are reused.
+     */
+    public boolean isReuseSystems() {
+        return this.reuseSystems;
+    }
+
+    /**
+     * Read a system from a parser that is positioned at the start of the system. If {@link #isReuseSystems()} is set
+     * and the category is the first field of the system then this reads into the system that was last returned for
+     * that category. Otherwise a new system is created.
+     *
+     * @param jsonParser {@link JsonParser} positioned at the start of the system.
+     * @param pifObjectMapper {@link PifObjectMapper} to read the system with.
+     * @return {@link System} that was read.
+     * @throws IOException if the system cannot be read.
+     */
+    protected System readSystem(final JsonParser jsonParser, final PifObjectMapper pifObjectMapper)
+            throws IOException {
+        if (!this.reuseSystems || (jsonParser.getCurrentToken() != JsonToken.START_OBJECT)) {
+            return pifObjectMapper.readValue(jsonParser, System.class);
+        }
+        if ((jsonParser.nextToken() != JsonToken.FIELD_NAME) || !CATEGORY.equals(jsonParser.getCurrentName())) {
+            return pifObjectMapper.readValue(jsonParser, System.class);
+        }
+        jsonParser.nextToken();
+        final String category = jsonParser.getValueAsString();
+        if (category == null) {
+            throw JsonMappingException.from(jsonParser, "Category of system must be a string");
+        }
+        System system = this.reusableSystems.get(category);
+        if (system == null) {
+            system = pifObjectMapper.convertValue(Collections.singletonMap(CATEGORY, category), System.class);
+            this.reusableSystems.put(category, system);
+        }
+        jsonParser.nextToken();
+        return pifObjectMapper.readerForRecycling(system.reset()).readValue(jsonParser);
+    }
+
     /**
      * Get the next system of any type in this stream.
      *
@@ -114,6 +177,15 @@ public abstract class PifSystemStream implements Iterable<System> {
         return this.new SystemIterator();
     }
 
+    /** Name of the field with the category of each system. */
+    private static final String CATEGORY = "category";
+
+    /** Whether systems are reused. */
+    private boolean reuseSystems;
+
+    /** Systems that can be reused, keyed by their category. */
+    private final Map<String, System> reusableSystems = new HashMap<>();
+
     /**
      * Iterator class for iterating over systems.
      *
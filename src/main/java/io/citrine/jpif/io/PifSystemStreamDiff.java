@@ -0,0 +1,511 @@
+package io.citrine.jpif.io;
+
+import io.citrine.jpif.obj.common.Fingerprint;
+import io.citrine.jpif.obj.system.System;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class that compares two snapshots of a dataset, each given as a {@link PifSystemStream}, and finds the records that
+ * were added, removed or changed between them. Records are matched by their uid, and each uid is expected to appear at
+ * most once in each snapshot. Records without a uid cannot be matched and are skipped.
+ *
+ * <p>Matched records are first compared by their {@link System#fingerprint()}, which is computed from their fields
+ * without writing them. Records whose fingerprints differ are then compared field by field before they are reported
+ * as changed. If both snapshots are sorted by uid then {@link #setSorted(boolean)} should be set, in which case the
+ * snapshots are compared in a single pass that holds only one record of each in memory. Otherwise both snapshots are
+ * split into partitions by the hash of their uid, which are spilled to disk once the memory budget is exceeded, and
+ * the partitions are compared one at a time. Only the uid, fingerprint and offset of each record in one partition of
+ * the older snapshot are held in memory; the full record is read again when it is reported as removed or changed.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * {@code
+ * PifSystemStreamDiff.Summary summary = new PifSystemStreamDiff(lastWeek, thisWeek).run(
+ *         new PifSystemStreamDiff.Listener() {
+ *             public void changed(System before, System after) {
+ *                 // handle a changed record
+ *             }
+ *         });
+ * }
+ * </pre>
+ *
+ * @author Kyle Michel
+ */
+public class PifSystemStreamDiff {
+
+    /**
+     * Constructor.
+     *
+     * <p>Both streams will be closed when {@link #run(Listener)} finishes.
+     *
+     * @param before {@link PifSystemStream} with the older snapshot.
+     * @param after {@link PifSystemStream} with the newer snapshot.
+     */
+    public PifSystemStreamDiff(final PifSystemStream before, final PifSystemStream after) {
+        this.before = before;
+        this.after = after;
+        this.memoryBudget = UidMergingPifSystemStream.DEFAULT_MEMORY_BUDGET;
+        this.numPartitions = DEFAULT_NUM_PARTITIONS;
+    }
+
+    /**
+     * Set whether both snapshots are sorted by uid, in increasing order of {@link String#compareTo(String)}. This is
+     * not set by default.
+     *
+     * @param sorted True if both snapshots are sorted by uid.
+     * @return This object.
+     */
+    public PifSystemStreamDiff setSorted(final boolean sorted) {
+        this.sorted = sorted;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of bytes of encoded records to hold in memory while unsorted snapshots are partitioned.
+     * Each snapshot is given this budget.
+     *
+     * @param memoryBudget Maximum number of bytes to hold in memory.
+     * @return This object.
+     */
+    public PifSystemStreamDiff setMemoryBudget(final long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        return this;
+    }
+
+    /**
+     * Set the number of partitions that unsorted snapshots are split into. The uid and fingerprint of each record of
+     * one partition of the older snapshot are held in memory at a time, so larger snapshots need more partitions.
+     *
+     * @param numPartitions Number of partitions.
+     * @return This object.
+     */
+    public PifSystemStreamDiff setNumPartitions(final int numPartitions) {
+        if (numPartitions < 1) {
+            throw new IllegalArgumentException("Number of partitions must be positive: " + numPartitions);
+        }
+        this.numPartitions = numPartitions;
+        return this;
+    }
+
+    /**
+     * Set the directory that spill files are written to. This defaults to the temporary directory of the system.
+     *
+     * @param spillDirectory Directory to write spill files to.
+     * @return This object.
+     */
+    public PifSystemStreamDiff setSpillDirectory(final Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+        return this;
+    }
+
+    /**
+     * Compare the two snapshots.
+     *
+     * @param listener {@link Listener} that is told about each record that was added, removed or changed.
+     * @return {@link Summary} with the number of records of each kind.
+     * @throws IOException if either snapshot cannot be read, or if {@link #setSorted(boolean)} is set and a snapshot
+     *     is not sorted.
+     */
+    public Summary run(final Listener listener) throws IOException {
+        final Summary summary = new Summary();
+        try {
+            if (this.sorted) {
+                runSorted(listener, summary);
+            }
+            else {
+                runPartitioned(listener, summary);
+            }
+        }
+        finally {
+            try {
+                this.before.close();
+            }
+            finally {
+                this.after.close();
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Compare two snapshots that are sorted by uid in a single pass.
+     *
+     * @param listener {@link Listener} to tell about each difference.
+     * @param summary {@link Summary} to count records in.
+     * @throws IOException if either snapshot cannot be read or is not sorted.
+     */
+    private void runSorted(final Listener listener, final Summary summary) throws IOException {
+        final SortedReader beforeReader = new SortedReader(this.before);
+        final SortedReader afterReader = new SortedReader(this.after);
+        System beforeSystem = beforeReader.next();
+        System afterSystem = afterReader.next();
+        while ((beforeSystem != null) || (afterSystem != null)) {
+            final int order = (beforeSystem == null) ? 1
+                    : (afterSystem == null) ? -1
+                    : beforeSystem.getUid().compareTo(afterSystem.getUid());
+            if (order < 0) {
+                removed(listener, summary, beforeSystem);
+                beforeSystem = beforeReader.next();
+            }
+            else if (order > 0) {
+                added(listener, summary, afterSystem);
+                afterSystem = afterReader.next();
+            }
+            else {
+                compare(listener, summary, beforeSystem, afterSystem);
+                beforeSystem = beforeReader.next();
+                afterSystem = afterReader.next();
+            }
+        }
+    }
+
+    /**
+     * Compare two snapshots by splitting them into partitions by uid and comparing one partition at a time.
+     *
+     * @param listener {@link Listener} to tell about each difference.
+     * @param summary {@link Summary} to count records in.
+     * @throws IOException if either snapshot cannot be read or partitioned.
+     */
+    private void runPartitioned(final Listener listener, final Summary summary) throws IOException {
+        try (UidPartitioner beforePartitions = partition(this.before);
+             UidPartitioner afterPartitions = partition(this.after)) {
+            for (int i = 0; i < this.numPartitions; ++i) {
+                try (UidPartitioner.RereadablePartition beforePartition = beforePartitions.openRereadablePartition(i)) {
+                    final Map<String, RecordSummary> beforeByUid = new LinkedHashMap<>();
+                    beforePartition.forEach((offset, system) ->
+                            beforeByUid.put(system.getUid(), new RecordSummary(system.fingerprint(), offset)));
+                    readPartition(afterPartitions, i, system -> {
+                        final RecordSummary beforeRecord = beforeByUid.remove(system.getUid());
+                        if (beforeRecord == null) {
+                            added(listener, summary, system);
+                        }
+                        else if (beforeRecord.fingerprint.equals(system.fingerprint())) {
+                            ++summary.unchanged;
+                        }
+                        else {
+                            compareFields(listener, summary, beforePartition.read(beforeRecord.offset), system);
+                        }
+                    });
+                    for (RecordSummary beforeRecord : beforeByUid.values()) {
+                        removed(listener, summary, beforePartition.read(beforeRecord.offset));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Split a snapshot into partitions by uid.
+     *
+     * @param pifSystemStream {@link PifSystemStream} with the snapshot.
+     * @return {@link UidPartitioner} with the records of the snapshot that have a uid.
+     * @throws IOException if the snapshot cannot be read or partitioned.
+     */
+    private UidPartitioner partition(final PifSystemStream pifSystemStream) throws IOException {
+        final UidPartitioner res = new UidPartitioner(this.numPartitions, this.memoryBudget, this.spillDirectory);
+        try {
+            System system;
+            while ((system = pifSystemStream.getNextSystem()) != null) {
+                if (system.getUid() != null) {
+                    res.add(system);
+                }
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            res.close();
+            throw e;
+        }
+        return res;
+    }
+
+    /**
+     * Run an action on each record of a partition.
+     *
+     * @param partitioner {@link UidPartitioner} with the partition.
+     * @param partition Index of the partition.
+     * @param action {@link SystemAction} to run on each record.
+     * @throws IOException if the partition cannot be read or the action fails.
+     */
+    private static void readPartition(final UidPartitioner partitioner, final int partition, final SystemAction action)
+            throws IOException {
+        final PifSystemStream pifSystemStream = partitioner.openPartition(partition);
+        try {
+            System system;
+            while ((system = pifSystemStream.getNextSystem()) != null) {
+                action.accept(system);
+            }
+        }
+        finally {
+            pifSystemStream.close();
+        }
+    }
+
+    /**
+     * Record a record that was added.
+     *
+     * @param listener {@link Listener} to tell.
+     * @param summary {@link Summary} to count the record in.
+     * @param system {@link System} that was added.
+     * @throws IOException if the listener fails.
+     */
+    private static void added(final Listener listener, final Summary summary, final System system)
+            throws IOException {
+        ++summary.added;
+        listener.added(system);
+    }
+
+    /**
+     * Record a record that was removed.
+     *
+     * @param listener {@link Listener} to tell.
+     * @param summary {@link Summary} to count the record in.
+     * @param system {@link System} that was removed.
+     * @throws IOException if the listener fails.
+     */
+    private static void removed(final Listener listener, final Summary summary, final System system)
+            throws IOException {
+        ++summary.removed;
+        listener.removed(system);
+    }
+
+    /**
+     * Compare two versions of a record by their fingerprints, and then field by field if the fingerprints differ, and
+     * record whether it changed.
+     *
+     * @param listener {@link Listener} to tell.
+     * @param summary {@link Summary} to count the record in.
+     * @param beforeSystem {@link System} in the older snapshot.
+     * @param afterSystem {@link System} in the newer snapshot.
+     * @throws IOException if the listener fails.
+     */
+    private static void compare(final Listener listener, final Summary summary, final System beforeSystem,
+            final System afterSystem) throws IOException {
+        if (beforeSystem.fingerprint().equals(afterSystem.fingerprint())) {
+            ++summary.unchanged;
+        }
+        else {
+            compareFields(listener, summary, beforeSystem, afterSystem);
+        }
+    }
+
+    /**
+     * Compare two versions of a record whose fingerprints differ field by field and record whether it changed.
+     *
+     * @param listener {@link Listener} to tell.
+     * @param summary {@link Summary} to count the record in.
+     * @param beforeSystem {@link System} in the older snapshot.
+     * @param afterSystem {@link System} in the newer snapshot.
+     * @throws IOException if the listener fails.
+     */
+    private static void compareFields(final Listener listener, final Summary summary, final System beforeSystem,
+            final System afterSystem) throws IOException {
+        if (beforeSystem.equals(afterSystem)) {
+            ++summary.unchanged;
+        }
+        else {
+            ++summary.changed;
+            listener.changed(beforeSystem, afterSystem);
+        }
+    }
+
+    /** Default number of partitions to split unsorted snapshots into. */
+    public static final int DEFAULT_NUM_PARTITIONS = 256;
+
+    /** Stream with the older snapshot. */
+    private final PifSystemStream before;
+
+    /** Stream with the newer snapshot. */
+    private final PifSystemStream after;
+
+    /** Whether both snapshots are sorted by uid. */
+    private boolean sorted;
+
+    /** Maximum number of bytes to hold in memory while each snapshot is partitioned. */
+    private long memoryBudget;
+
+    /** Number of partitions to split unsorted snapshots into. */
+    private int numPartitions;
+
+    /** Directory to write spill files to, or null to use the default temporary directory. */
+    private Path spillDirectory;
+
+    /**
+     * Interface for objects that are told about the differences between two snapshots. All methods do nothing by
+     * default.
+     *
+     * @author Kyle Michel
+     */
+    public interface Listener {
+
+        /**
+         * Called for each record that is only in the newer snapshot.
+         *
+         * @param after {@link System} that was added.
+         * @throws IOException if the record cannot be handled.
+         */
+        default void added(final System after) throws IOException {}
+
+        /**
+         * Called for each record that is only in the older snapshot.
+         *
+         * @param before {@link System} that was removed.
+         * @throws IOException if the record cannot be handled.
+         */
+        default void removed(final System before) throws IOException {}
+
+        /**
+         * Called for each record whose content is different in the two snapshots.
+         *
+         * @param before {@link System} in the older snapshot.
+         * @param after {@link System} in the newer snapshot.
+         * @throws IOException if the record cannot be handled.
+         */
+        default void changed(final System before, final System after) throws IOException {}
+    }
+
+    /**
+     * Number of records of each kind that were found when comparing two snapshots.
+     *
+     * @author Kyle Michel
+     */
+    public static class Summary {
+
+        /**
+         * Get the number of records that are only in the newer snapshot.
+         *
+         * @return Number of added records.
+         */
+        public long getAdded() {
+            return this.added;
+        }
+
+        /**
+         * Get the number of records that are only in the older snapshot.
+         *
+         * @return Number of removed records.
+         */
+        public long getRemoved() {
+            return this.removed;
+        }
+
+        /**
+         * Get the number of records whose content is different in the two snapshots.
+         *
+         * @return Number of changed records.
+         */
+        public long getChanged() {
+            return this.changed;
+        }
+
+        /**
+         * Get the number of records whose content is the same in the two snapshots.
+         *
+         * @return Number of unchanged records.
+         */
+        public long getUnchanged() {
+            return this.unchanged;
+        }
+
+        @Override
+        public String toString() {
+            return "added: " + this.added + ", removed: " + this.removed + ", changed: " + this.changed
+                    + ", unchanged: " + this.unchanged;
+        }
+
+        /** Number of added records. */
+        private long added;
+
+        /** Number of removed records. */
+        private long removed;
+
+        /** Number of changed records. */
+        private long changed;
+
+        /** Number of unchanged records. */
+        private long unchanged;
+    }
+
+    /**
+     * Action that is run on each record of a partition.
+     */
+    private interface SystemAction {
+
+        /**
+         * Run the action.
+         *
+         * @param system {@link System} to run the action on.
+         * @throws IOException if the action fails.
+         */
+        void accept(System system) throws IOException;
+    }
+
+    /**
+     * Class with the parts of a record of the older snapshot that are held in memory while a partition is compared.
+     */
+    private static final class RecordSummary {
+
+        /**
+         * Constructor.
+         *
+         * @param fingerprint {@link Fingerprint} of the record.
+         * @param offset Offset of the record in its partition.
+         */
+        private RecordSummary(final Fingerprint fingerprint, final long offset) {
+            this.fingerprint = fingerprint;
+            this.offset = offset;
+        }
+
+        /** Fingerprint of the record. */
+        private final Fingerprint fingerprint;
+
+        /** Offset of the record in its partition. */
+        private final long offset;
+    }
+
+    /**
+     * Class that reads the records of a sorted snapshot and checks that they are sorted.
+     */
+    private static final class SortedReader {
+
+        /**
+         * Constructor.
+         *
+         * @param pifSystemStream {@link PifSystemStream} with the snapshot.
+         */
+        private SortedReader(final PifSystemStream pifSystemStream) {
+            this.pifSystemStream = pifSystemStream;
+        }
+
+        /**
+         * Get the next record with a uid.
+         *
+         * @return Next {@link System} with a uid, or a null pointer if the end of the snapshot has been reached.
+         * @throws IOException if the snapshot cannot be read or the record is out of order.
+         */
+        private System next() throws IOException {
+            System system;
+            do {
+                system = this.pifSystemStream.getNextSystem();
+            } while ((system != null) && (system.getUid() == null));
+            if (system != null) {
+                if ((this.lastUid != null) && (this.lastUid.compareTo(system.getUid()) >= 0)) {
+                    throw new IOException("Snapshot is not sorted by uid: " + system.getUid() + " follows "
+                            + this.lastUid);
+                }
+                this.lastUid = system.getUid();
+            }
+            return system;
+        }
+
+        /** Stream with the snapshot. */
+        private final PifSystemStream pifSystemStream;
+
+        /** Uid of the last record that was returned, or null if none has been. */
+        private String lastUid;
+    }
+}
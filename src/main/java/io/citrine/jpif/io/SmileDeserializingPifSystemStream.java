@@ -0,0 +1,118 @@
+package io.citrine.jpif.io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.util.PifObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Class that streams PIF systems from a source written with {@link PifEncoding#SMILE}. Each record in the source is a
+ * 4-byte big-endian length followed by a standalone Smile document with a single system.
+ *
+ * @author Kyle Michel
+ */
+public class SmileDeserializingPifSystemStream extends PifSystemStream {
+
+    /**
+     * Create a system stream from an {@link InputStream} object.
+     *
+     * <p>The input stream will be closed when the {@link #close()} method is called on this object.
+     *
+     * @param inputStream {@link InputStream} object with Smile-encoded records to convert into PIF systems.
+     */
+    public SmileDeserializingPifSystemStream(final InputStream inputStream) {
+        this.inputStream = new DataInputStream(new BufferedInputStream(inputStream));
+        this.buffer = new byte[INITIAL_BUFFER_SIZE];
+        this.finished = false;
+        this.recordOffset = -1;
+    }
+
+    @Override
+    protected System advanceToNextSystem() throws IOException {
+        final int length = readLength();
+        if (length < 0) {
+            this.finished = true;
+            return null;
+        }
+        if (length > this.buffer.length) {
+            this.buffer = new byte[Math.max(length, 2 * this.buffer.length)];
+        }
+        this.recordOffset = this.position;
+        this.position += LENGTH_PREFIX_BYTES + length;
+        this.inputStream.readFully(this.buffer, 0, length);
+        if (!isReuseSystems()) {
+            return PifObjectMapper.getSmileInstance().readValue(this.buffer, 0, length, System.class);
+        }
+        try (JsonParser jsonParser = PifObjectMapper.getSmileInstance().getFactory()
+                .createParser(this.buffer, 0, length)) {
+            jsonParser.nextToken();
+            return readSystem(jsonParser, PifObjectMapper.getSmileInstance());
+        }
+    }
+
+    /**
+     * Read the length prefix of the next record.
+     *
+     * @return Length of the next record or -1 if the end of the stream has been reached.
+     * @throws IOException if the stream ends partway through a length prefix or the prefix is invalid.
+     */
+    private int readLength() throws IOException {
+        final int firstByte = this.inputStream.read();
+        if (firstByte < 0) {
+            return -1;
+        }
+        final int length = (firstByte << 24)
+                | (this.inputStream.readUnsignedByte() << 16)
+                | (this.inputStream.readUnsignedByte() << 8)
+                | this.inputStream.readUnsignedByte();
+        if (length < 0) {
+            throw new IOException("Invalid record length " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Get the offset in the source of the record that the last system was read from, which is the offset of its length
+     * prefix.
+     *
+     * @return Offset of the last record in bytes, or -1 if no system has been read.
+     */
+    long getRecordOffset() {
+        return this.recordOffset;
+    }
+
+    @Override
+    protected boolean isFinished() {
+        return this.finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.inputStream.close();
+    }
+
+    /** Number of bytes in the length prefix of each record. */
+    static final int LENGTH_PREFIX_BYTES = 4;
+
+    /** Initial size of the buffer that records are read into. */
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    /** Stream with the records to read. */
+    private final DataInputStream inputStream;
+
+    /** Buffer that each record is read into. */
+    private byte[] buffer;
+
+    /** Whether the end of the stream has been reached. */
+    private boolean finished;
+
+    /** Number of bytes of the source that have been read. */
+    private long position;
+
+    /** Offset of the record that the last system was read from, or -1 if none has been read. */
+    private long recordOffset;
+}
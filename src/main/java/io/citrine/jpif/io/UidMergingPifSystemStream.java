@@ -0,0 +1,358 @@
+package io.citrine.jpif.io;
+
+import io.citrine.jpif.obj.merge.MergeStrategy;
+import io.citrine.jpif.obj.system.System;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class that wraps a {@link PifSystemStream} and merges all of the systems in it that have the same uid, so that each
+ * uid appears only once in this stream. Systems without a uid are returned unchanged.
+ *
+ * <p>The wrapped stream is read in full the first time that a system is requested. Systems are split into partitions
+ * by the hash of their uid, which are held in memory until the memory budget is exceeded and are then spilled to
+ * disk, so the wrapped stream does not need to fit in memory. Partitions are then merged in parallel using
+ * {@link System#mergeShared(io.citrine.jpif.obj.common.Pio, MergeStrategy)}, so that each merge shares the objects of
+ * the systems that it merges rather than copying the growing result. Each thread holds one partition while it is
+ * merged, and the merged partition that is being returned is held as well, so up to one more partition than there are
+ * threads is held in memory at once. Once the wrapped stream has been read, the number of partitions is raised if
+ * needed so that these partitions are expected to fit in the memory budget, which costs one more pass over the
+ * partitions. Systems are returned one partition at a time, and within each partition in the order that their uid
+ * first appeared in the wrapped stream.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * {@code
+ * PifSystemStream pifSystemStream = new UidMergingPifSystemStream(
+ *         new JsonDeserializingPifSystemStream(inputStream), MergeStrategy.REPLACE_NON_NULL_AND_MERGE_BY_KEY)
+ *         .setMemoryBudget(256L << 20);
+ * for (System system : pifSystemStream) {
+ *     // do work on the merged system
+ * }
+ * pifSystemStream.close();
+ * }
+ * </pre>
+ *
+ * @author Kyle Michel
+ */
+public class UidMergingPifSystemStream extends PifSystemStream {
+
+    /**
+     * Constructor.
+     *
+     * <p>The wrapped stream will be closed when the {@link #close()} method is called on this object.
+     *
+     * @param pifSystemStream {@link PifSystemStream} with the systems to merge.
+     * @param strategy {@link MergeStrategy} to merge systems with the same uid with.
+     */
+    public UidMergingPifSystemStream(final PifSystemStream pifSystemStream, final MergeStrategy strategy) {
+        this.pifSystemStream = pifSystemStream;
+        this.strategy = strategy;
+        this.memoryBudget = DEFAULT_MEMORY_BUDGET;
+        this.numPartitions = DEFAULT_NUM_PARTITIONS;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.pending = new ArrayDeque<>();
+        this.current = Collections.emptyIterator();
+    }
+
+    /**
+     * Set the maximum number of bytes of encoded systems to hold in memory while the wrapped stream is read. Systems
+     * are spilled to disk once this is exceeded. This must be set before the first system is read.
+     *
+     * @param memoryBudget Maximum number of bytes to hold in memory.
+     * @return This object.
+     */
+    public UidMergingPifSystemStream setMemoryBudget(final long memoryBudget) {
+        checkNotStarted();
+        this.memoryBudget = memoryBudget;
+        return this;
+    }
+
+    /**
+     * Set the number of partitions that systems are split into. More partitions use less memory while merging, but
+     * create more spill files. This is the smallest number of partitions that is used; more are used if the wrapped
+     * stream is too large for the partitions that are merged at the same time to fit in the memory budget. This must
+     * be set before the first system is read.
+     *
+     * @param numPartitions Number of partitions.
+     * @return This object.
+     */
+    public UidMergingPifSystemStream setNumPartitions(final int numPartitions) {
+        checkNotStarted();
+        if (numPartitions < 1) {
+            throw new IllegalArgumentException("Number of partitions must be positive: " + numPartitions);
+        }
+        this.numPartitions = numPartitions;
+        return this;
+    }
+
+    /**
+     * Set the number of partitions that are merged at the same time. This defaults to the number of available
+     * processors. This must be set before the first system is read.
+     *
+     * @param parallelism Number of threads to merge with.
+     * @return This object.
+     */
+    public UidMergingPifSystemStream setParallelism(final int parallelism) {
+        checkNotStarted();
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Set the directory that spill files are written to. This defaults to the temporary directory of the system. This
+     * must be set before the first system is read.
+     *
+     * @param spillDirectory Directory to write spill files to.
+     * @return This object.
+     */
+    public UidMergingPifSystemStream setSpillDirectory(final Path spillDirectory) {
+        checkNotStarted();
+        this.spillDirectory = spillDirectory;
+        return this;
+    }
+
+    @Override
+    protected System advanceToNextSystem() throws IOException {
+        if (this.partitioner == null) {
+            start();
+        }
+        while (!this.current.hasNext()) {
+            final Future<List<System>> next = this.pending.poll();
+            if (next == null) {
+                this.finished = true;
+                this.executorService.shutdown();
+                return null;
+            }
+            submitNextPartition();
+            this.current = getMergedPartition(next).iterator();
+        }
+        return this.current.next();
+    }
+
+    @Override
+    protected boolean isFinished() {
+        return this.finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.finished = true;
+        if (this.executorService != null) {
+            this.executorService.shutdownNow();
+        }
+        try {
+            this.pifSystemStream.close();
+        }
+        finally {
+            if (this.partitioner != null) {
+                this.partitioner.close();
+            }
+        }
+    }
+
+    /**
+     * Read the wrapped stream into partitions and start merging the first partitions.
+     *
+     * @throws IOException if the wrapped stream cannot be read.
+     */
+    private void start() throws IOException {
+        this.partitioner = new UidPartitioner(this.numPartitions, this.memoryBudget, this.spillDirectory);
+        System system;
+        while ((system = this.pifSystemStream.getNextSystem()) != null) {
+            this.partitioner.add(system);
+        }
+        final int requiredPartitions = getRequiredPartitions(this.partitioner.getTotalBytes());
+        if (requiredPartitions > this.partitioner.getNumPartitions()) {
+            this.partitioner = repartition(this.partitioner, requiredPartitions);
+        }
+        this.executorService = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            final Thread thread = new Thread(runnable, "jpif-uid-merge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < this.parallelism; ++i) {
+            submitNextPartition();
+        }
+    }
+
+    /**
+     * Get the number of partitions that systems need to be split into so that the partitions that are held while
+     * merging are expected to fit in the memory budget.
+     *
+     * @param totalBytes Number of bytes of encoded systems in the wrapped stream.
+     * @return Number of partitions, which is at least the number that was set.
+     */
+    private int getRequiredPartitions(final long totalBytes) {
+        final double bytesPerPartition = (double) this.memoryBudget / (this.parallelism + 1) / DECODED_SIZE_RATIO;
+        final double required = Math.min(Math.ceil(totalBytes / bytesPerPartition), MAX_DERIVED_PARTITIONS);
+        return Math.max(this.numPartitions, (int) required);
+    }
+
+    /**
+     * Split the systems of a partitioner into a larger number of partitions. The input partitioner is closed once all
+     * of its systems have been moved.
+     *
+     * @param partitioner {@link UidPartitioner} with the systems to move.
+     * @param numPartitions Number of partitions to split the systems into.
+     * @return New {@link UidPartitioner} with the systems.
+     * @throws IOException if the systems cannot be read or partitioned.
+     */
+    private UidPartitioner repartition(final UidPartitioner partitioner, final int numPartitions) throws IOException {
+        final UidPartitioner res = new UidPartitioner(numPartitions, this.memoryBudget, this.spillDirectory);
+        try {
+            for (int i = 0; i < partitioner.getNumPartitions(); ++i) {
+                final PifSystemStream partitionStream = partitioner.openPartition(i);
+                try {
+                    System system;
+                    while ((system = partitionStream.getNextSystem()) != null) {
+                        res.add(system);
+                    }
+                }
+                finally {
+                    partitionStream.close();
+                }
+            }
+            partitioner.close();
+        }
+        catch (IOException | RuntimeException e) {
+            res.close();
+            throw e;
+        }
+        return res;
+    }
+
+    /**
+     * Start merging the next partition that has not been started yet, if there is one.
+     */
+    private void submitNextPartition() {
+        if (this.nextPartition < this.partitioner.getNumPartitions()) {
+            final int partition = this.nextPartition++;
+            this.pending.add(this.executorService.submit(() -> mergePartition(partition)));
+        }
+    }
+
+    /**
+     * Merge all of the systems with the same uid in a partition.
+     *
+     * @param partition Index of the partition to merge.
+     * @return List with the merged systems of the partition.
+     * @throws Exception if the partition cannot be read or its systems cannot be merged.
+     */
+    private List<System> mergePartition(final int partition) throws Exception {
+        final Map<Object, System> merged = new LinkedHashMap<>();
+        final PifSystemStream partitionStream = this.partitioner.openPartition(partition);
+        try {
+            System system;
+            while ((system = partitionStream.getNextSystem()) != null) {
+                final Object key = (system.getUid() == null) ? new Object() : system.getUid();
+                final System existing = merged.get(key);
+                merged.put(key, (existing == null) ? system : existing.mergeShared(system, this.strategy));
+            }
+        }
+        finally {
+            partitionStream.close();
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Wait for a partition to be merged.
+     *
+     * @param future {@link Future} with the merged partition.
+     * @return List with the merged systems of the partition.
+     * @throws IOException if the partition could not be merged.
+     */
+    private List<System> getMergedPartition(final Future<List<System>> future) throws IOException {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while merging systems");
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Unable to merge systems", e.getCause());
+        }
+    }
+
+    /**
+     * Make sure that the wrapped stream has not started being read.
+     *
+     * @throws IllegalStateException if the wrapped stream has started being read.
+     */
+    private void checkNotStarted() {
+        if (this.partitioner != null) {
+            throw new IllegalStateException("Settings cannot be changed after the stream has started");
+        }
+    }
+
+    /** Default maximum number of bytes to hold in memory while the wrapped stream is read. */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    /** Default number of partitions to split systems into. */
+    public static final int DEFAULT_NUM_PARTITIONS = 64;
+
+    /** Rough ratio of the memory used by decoded systems to the number of bytes in their encoded form. */
+    private static final int DECODED_SIZE_RATIO = 8;
+
+    /** Largest number of partitions that is derived from the size of the wrapped stream, to limit spill files. */
+    private static final int MAX_DERIVED_PARTITIONS = 4096;
+
+    /** Stream with the systems to merge. */
+    private final PifSystemStream pifSystemStream;
+
+    /** Strategy to merge systems with. */
+    private final MergeStrategy strategy;
+
+    /** Merges of partitions that have been started but not yet returned, in the order of the partitions. */
+    private final Deque<Future<List<System>>> pending;
+
+    /** Maximum number of bytes to hold in memory while the wrapped stream is read. */
+    private long memoryBudget;
+
+    /** Number of partitions to split systems into. */
+    private int numPartitions;
+
+    /** Number of partitions to merge at the same time. */
+    private int parallelism;
+
+    /** Directory to write spill files to, or null to use the default temporary directory. */
+    private Path spillDirectory;
+
+    /** Partitions of the wrapped stream, or null until the wrapped stream has been read. */
+    private UidPartitioner partitioner;
+
+    /** Threads that partitions are merged on, or null until the wrapped stream has been read. */
+    private ExecutorService executorService;
+
+    /** Index of the next partition to start merging. */
+    private int nextPartition;
+
+    /** Remaining systems of the partition that is being returned. */
+    private Iterator<System> current;
+
+    /** Whether the end of the stream has been reached. */
+    private boolean finished;
+}
@@ -0,0 +1,343 @@
+package io.citrine.jpif.io;
+
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.util.PifObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class that splits PIF systems into partitions by the hash of their uid, so that all of the systems with the same uid
+ * can be processed together without holding every system in memory. Systems are kept in memory in their
+ * {@link PifEncoding#SMILE} form until the memory budget is exceeded, after which every partition is appended to its
+ * own spill file. Spill files are deleted when this object is closed.
+ *
+ * @author Kyle Michel
+ */
+final class UidPartitioner implements Closeable {
+
+    /**
+     * Constructor.
+     *
+     * @param numPartitions Number of partitions to split systems into.
+     * @param memoryBudget Maximum number of bytes of encoded systems to hold in memory before they are spilled.
+     * @param spillDirectory Directory to create spill files in, or a null pointer to use the default temporary
+     *                       directory.
+     */
+    UidPartitioner(final int numPartitions, final long memoryBudget, final Path spillDirectory) {
+        if (numPartitions < 1) {
+            throw new IllegalArgumentException("Number of partitions must be positive: " + numPartitions);
+        }
+        this.buffers = new ByteArrayOutputStream[numPartitions];
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Get the number of partitions that systems are split into.
+     *
+     * @return Number of partitions.
+     */
+    int getNumPartitions() {
+        return this.buffers.length;
+    }
+
+    /**
+     * Get the partition that systems with a given uid are saved to.
+     *
+     * @param uid Uid of the system. This can be a null pointer.
+     * @return Index of the partition for the uid.
+     */
+    int partitionOf(final String uid) {
+        if (uid == null) {
+            return 0;
+        }
+        final int hash = uid.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), this.buffers.length);
+    }
+
+    /**
+     * Get the number of bytes of encoded systems that have been added, including those that have been spilled.
+     *
+     * @return Number of bytes of encoded systems.
+     */
+    long getTotalBytes() {
+        return this.totalBytes;
+    }
+
+    /**
+     * Determine whether any systems have been written to spill files.
+     *
+     * @return True if systems have been spilled.
+     */
+    boolean hasSpilled() {
+        return this.directory != null;
+    }
+
+    /**
+     * Add a system to its partition.
+     *
+     * @param system {@link System} to add.
+     * @throws IOException if the system cannot be encoded or spilled.
+     */
+    void add(final System system) throws IOException {
+        final byte[] bytes = PifEncoding.SMILE.encode(system, false);
+        final int partition = partitionOf(system.getUid());
+        if (this.buffers[partition] == null) {
+            this.buffers[partition] = new ByteArrayOutputStream();
+        }
+        this.buffers[partition].write(bytes);
+        this.bufferedBytes += bytes.length;
+        this.totalBytes += bytes.length;
+        if (this.bufferedBytes > this.memoryBudget) {
+            spill();
+        }
+    }
+
+    /**
+     * Open a stream over the systems in a partition, in the order that they were added. The in-memory part of the
+     * partition is released, so each partition can only be opened once. Different partitions can be opened at the
+     * same time from different threads once all systems have been added.
+     *
+     * <p>The spill file of the partition is closed when the {@link PifSystemStream#close()} method is called on the
+     * result.
+     *
+     * @param partition Index of the partition to open.
+     * @return {@link PifSystemStream} over the systems in the partition.
+     * @throws IOException if the spill file of the partition cannot be opened.
+     */
+    PifSystemStream openPartition(final int partition) throws IOException {
+        final ByteArrayOutputStream buffer = this.buffers[partition];
+        this.buffers[partition] = null;
+        InputStream inputStream = (buffer == null)
+                ? new ByteArrayInputStream(new byte[0])
+                : new ByteArrayInputStream(buffer.toByteArray());
+        final Path spillFile = getSpillFile(partition);
+        if ((spillFile != null) && Files.exists(spillFile)) {
+            inputStream = new SequenceInputStream(Files.newInputStream(spillFile), inputStream);
+        }
+        return new SmileDeserializingPifSystemStream(inputStream);
+    }
+
+    /**
+     * Open a partition so that its records can be read in order and then read again one at a time by their offsets.
+     * The in-memory part of the partition is released by this object and is held by the result until it is closed,
+     * so each partition can only be opened once.
+     *
+     * @param partition Index of the partition to open.
+     * @return {@link RereadablePartition} with the systems in the partition.
+     * @throws IOException if the size of the spill file of the partition cannot be read.
+     */
+    RereadablePartition openRereadablePartition(final int partition) throws IOException {
+        final ByteArrayOutputStream buffer = this.buffers[partition];
+        this.buffers[partition] = null;
+        final Path spillFile = getSpillFile(partition);
+        return new RereadablePartition(
+                ((spillFile != null) && Files.exists(spillFile)) ? spillFile : null,
+                (buffer == null) ? new byte[0] : buffer.toByteArray());
+    }
+
+    /**
+     * Write every partition that is held in memory to its spill file.
+     *
+     * @throws IOException if a spill file cannot be written.
+     */
+    private void spill() throws IOException {
+        if (this.directory == null) {
+            this.directory = (this.spillDirectory == null)
+                    ? Files.createTempDirectory(SPILL_PREFIX)
+                    : Files.createTempDirectory(this.spillDirectory, SPILL_PREFIX);
+        }
+        for (int i = 0; i < this.buffers.length; ++i) {
+            if ((this.buffers[i] != null) && (this.buffers[i].size() > 0)) {
+                try (OutputStream outputStream = Files.newOutputStream(getSpillFile(i),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    this.buffers[i].writeTo(outputStream);
+                }
+                this.buffers[i] = null;
+            }
+        }
+        this.bufferedBytes = 0;
+    }
+
+    /**
+     * Get the spill file of a partition.
+     *
+     * @param partition Index of the partition.
+     * @return Path to the spill file of the partition, or a null pointer if nothing has been spilled.
+     */
+    private Path getSpillFile(final int partition) {
+        return (this.directory == null) ? null : this.directory.resolve("partition-" + partition + ".smile");
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (int i = 0; i < this.buffers.length; ++i) {
+            this.buffers[i] = null;
+        }
+        this.bufferedBytes = 0;
+        if (this.directory != null) {
+            for (int i = 0; i < this.buffers.length; ++i) {
+                Files.deleteIfExists(getSpillFile(i));
+            }
+            Files.deleteIfExists(this.directory);
+            this.directory = null;
+        }
+    }
+
+    /** Prefix of the name of the directory that spill files are written to. */
+    private static final String SPILL_PREFIX = "jpif-partitions-";
+
+    /** In-memory encoded systems of each partition, which may be null for partitions without any. */
+    private final ByteArrayOutputStream[] buffers;
+
+    /** Maximum number of bytes to hold in memory before spilling. */
+    private final long memoryBudget;
+
+    /** Directory to create the spill directory in, or null to use the default temporary directory. */
+    private final Path spillDirectory;
+
+    /** Directory with the spill files, or null until the first spill. */
+    private Path directory;
+
+    /** Number of bytes of encoded systems held in memory. */
+    private long bufferedBytes;
+
+    /** Number of bytes of encoded systems that have been added. */
+    private long totalBytes;
+
+    /**
+     * Action that is run on each record of a {@link RereadablePartition}.
+     */
+    interface RecordAction {
+
+        /**
+         * Run the action.
+         *
+         * @param offset Offset of the record in the partition, which can be passed to
+         *               {@link RereadablePartition#read(long)} to read the record again.
+         * @param system {@link System} that was read from the record.
+         * @throws IOException if the action fails.
+         */
+        void accept(long offset, System system) throws IOException;
+    }
+
+    /**
+     * Partition whose records can be read in order any number of times, and read one at a time by their offsets. Only
+     * the records that are still in memory are held by this object; the rest are read from the spill file of the
+     * partition each time that they are needed.
+     *
+     * @author Kyle Michel
+     */
+    static final class RereadablePartition implements Closeable {
+
+        /**
+         * Constructor.
+         *
+         * @param spillFile Spill file of the partition, or a null pointer if none of its records were spilled.
+         * @param memory Encoded records of the partition that were not spilled.
+         * @throws IOException if the size of the spill file cannot be read.
+         */
+        private RereadablePartition(final Path spillFile, final byte[] memory) throws IOException {
+            this.spillFile = spillFile;
+            this.spillLength = (spillFile == null) ? 0 : Files.size(spillFile);
+            this.memory = memory;
+        }
+
+        /**
+         * Run an action on each record of the partition, in the order that they were added.
+         *
+         * @param action {@link RecordAction} to run on each record.
+         * @throws IOException if the partition cannot be read or the action fails.
+         */
+        void forEach(final RecordAction action) throws IOException {
+            InputStream inputStream = new ByteArrayInputStream(this.memory);
+            if (this.spillFile != null) {
+                inputStream = new SequenceInputStream(Files.newInputStream(this.spillFile), inputStream);
+            }
+            final SmileDeserializingPifSystemStream pifSystemStream =
+                    new SmileDeserializingPifSystemStream(inputStream);
+            try {
+                System system;
+                while ((system = pifSystemStream.getNextSystem()) != null) {
+                    action.accept(pifSystemStream.getRecordOffset(), system);
+                }
+            }
+            finally {
+                pifSystemStream.close();
+            }
+        }
+
+        /**
+         * Read a single record of the partition.
+         *
+         * @param offset Offset of the record, as given to a {@link RecordAction}.
+         * @return New {@link System} that was read from the record.
+         * @throws IOException if the record cannot be read.
+         */
+        System read(final long offset) throws IOException {
+            final int prefixBytes = SmileDeserializingPifSystemStream.LENGTH_PREFIX_BYTES;
+            if (offset >= this.spillLength) {
+                final int start = (int) (offset - this.spillLength);
+                final int length = ByteBuffer.wrap(this.memory, start, prefixBytes).getInt();
+                return PifObjectMapper.getSmileInstance().readValue(this.memory, start + prefixBytes, length,
+                        System.class);
+            }
+            if (this.channel == null) {
+                this.channel = FileChannel.open(this.spillFile, StandardOpenOption.READ);
+            }
+            final ByteBuffer prefix = ByteBuffer.allocate(prefixBytes);
+            readFully(prefix, offset);
+            final ByteBuffer record = ByteBuffer.allocate(prefix.getInt(0));
+            readFully(record, offset + prefixBytes);
+            return PifObjectMapper.getSmileInstance().readValue(record.array(), System.class);
+        }
+
+        /**
+         * Fill a buffer from the spill file.
+         *
+         * @param buffer {@link ByteBuffer} to fill.
+         * @param offset Offset in the spill file to start reading from.
+         * @throws IOException if the spill file cannot be read or ends before the buffer is full.
+         */
+        private void readFully(final ByteBuffer buffer, final long offset) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (this.channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("Spill file ends partway through the record at offset " + offset);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.memory = new byte[0];
+            if (this.channel != null) {
+                this.channel.close();
+                this.channel = null;
+            }
+        }
+
+        /** Spill file of the partition, or null if none of its records were spilled. */
+        private final Path spillFile;
+
+        /** Number of bytes in the spill file, which is the offset of the first record held in memory. */
+        private final long spillLength;
+
+        /** Encoded records of the partition that were not spilled. */
+        private byte[] memory;
+
+        /** Channel that single records are read from the spill file with, or null until the first is read. */
+        private FileChannel channel;
+    }
+}
@@ -7,7 +7,6 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import io.citrine.jpif.util.PifObjectMapper;
 import io.citrine.jpif.util.PifSerializationUtil;
 
 import java.io.IOException;
@@ -15,6 +14,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Information about a generic classification.
@@ -38,6 +38,7 @@ public class Classification extends Pio implements Serializable {
      */
     @JsonSetter(value = "name")
     public Classification setName(final String name) {
+        checkNotFrozen();
         this.name = name;
         return this;
     }
@@ -60,6 +61,7 @@ public class Classification extends Pio implements Serializable {
      */
     @JsonSetter(value = "value")
     public Classification setValue(final String value) {
+        checkNotFrozen();
         this.value = value;
         return this;
     }
@@ -120,6 +122,30 @@ public class Classification extends Pio implements Serializable {
                 : new Classification().setValue(input.toString());
     }
 
+    @Override
+    public Object mergeKey() {
+        return getName();
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Classification classification = (Classification) other;
+        return Objects.equals(this.name, classification.name)
+                && Objects.equals(this.value, classification.value)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.name).add(this.value);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -176,7 +202,7 @@ public class Classification extends Pio implements Serializable {
                 case VALUE_NUMBER_FLOAT:
                     return Classification.valueOf(jsonParser.getNumberValue());
                 case START_OBJECT:
-                    return PifObjectMapper.getInstance().readValue(jsonParser, Classification.class);
+                    return deserializationContext.readValue(jsonParser, Classification.class);
                 default:
                     throw deserializationContext.mappingException(Classification.class, jsonToken);
             }
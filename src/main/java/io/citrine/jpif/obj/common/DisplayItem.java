@@ -10,6 +10,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Representation of a display item (table or figure)
@@ -34,6 +35,7 @@ public class DisplayItem extends Pio implements Serializable {
      */
     @JsonSetter(value = "number")
     public DisplayItem setNumber(final String number) {
+        checkNotFrozen();
         this.number = number;
         return this;
     }
@@ -56,6 +58,7 @@ public class DisplayItem extends Pio implements Serializable {
      */
     @JsonSetter(value = "title")
     public DisplayItem setTitle(final String title) {
+        checkNotFrozen();
         this.title = title;
         return this;
     }
@@ -78,6 +81,7 @@ public class DisplayItem extends Pio implements Serializable {
      */
     @JsonSetter(value = "caption")
     public DisplayItem setCaption(final String caption) {
+        checkNotFrozen();
         this.caption = caption;
         return this;
     }
@@ -111,6 +115,26 @@ public class DisplayItem extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final DisplayItem displayItem = (DisplayItem) other;
+        return Objects.equals(this.number, displayItem.number)
+                && Objects.equals(this.title, displayItem.title)
+                && Objects.equals(this.caption, displayItem.caption)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.number).add(this.title).add(this.caption);
+    }
+
     /**
      * Write this object to the output output stream.
      *
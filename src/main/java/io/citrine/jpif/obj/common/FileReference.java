@@ -7,7 +7,6 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import io.citrine.jpif.util.PifObjectMapper;
 import io.citrine.jpif.util.PifSerializationUtil;
 
 import java.io.IOException;
@@ -15,6 +14,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Information about a file.
@@ -40,6 +40,7 @@ public class FileReference extends Pio implements Serializable {
      */
     @JsonSetter(value = "relativePath")
     public FileReference setRelativePath(final String relativePath) {
+        checkNotFrozen();
         this.relativePath = relativePath;
         return this;
     }
@@ -62,6 +63,7 @@ public class FileReference extends Pio implements Serializable {
      */
     @JsonSetter(value = "url")
     public FileReference setUrl(final String url) {
+        checkNotFrozen();
         this.url = url;
         return this;
     }
@@ -84,6 +86,7 @@ public class FileReference extends Pio implements Serializable {
      */
     @JsonSetter(value = "mimeType")
     public FileReference setMimeType(final String mimeType) {
+        checkNotFrozen();
         this.mimeType = mimeType;
         return this;
     }
@@ -106,6 +109,7 @@ public class FileReference extends Pio implements Serializable {
      */
     @JsonSetter(value = "sha256")
     public FileReference setSha256(final String sha256) {
+        checkNotFrozen();
         this.sha256 = sha256;
         return this;
     }
@@ -128,6 +132,7 @@ public class FileReference extends Pio implements Serializable {
      */
     @JsonSetter(value = "md5")
     public FileReference setMd5(final String md5) {
+        checkNotFrozen();
         this.md5 = md5;
         return this;
     }
@@ -174,6 +179,28 @@ public class FileReference extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final FileReference fileReference = (FileReference) other;
+        return Objects.equals(this.relativePath, fileReference.relativePath)
+                && Objects.equals(this.mimeType, fileReference.mimeType)
+                && Objects.equals(this.sha256, fileReference.sha256)
+                && Objects.equals(this.md5, fileReference.md5)
+                && Objects.equals(this.url, fileReference.url)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.relativePath).add(this.mimeType).add(this.sha256).add(this.md5).add(this.url);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -236,7 +263,7 @@ public class FileReference extends Pio implements Serializable {
                 case VALUE_STRING:
                     return FileReference.valueOf(jsonParser.getValueAsString());
                 case START_OBJECT:
-                    return PifObjectMapper.getInstance().readValue(jsonParser, FileReference.class);
+                    return deserializationContext.readValue(jsonParser, FileReference.class);
                 default:
                     throw deserializationContext.mappingException(FileReference.class, jsonToken);
             }
@@ -0,0 +1,361 @@
+package io.citrine.jpif.obj.common;
+
+import io.citrine.jpif.util.RawJson;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 128-bit fingerprint of the content of a Pio object, computed by {@link Pio#fingerprint()}. Objects that are equal
+ * always have the same fingerprint, and objects with different content have the same fingerprint with negligible
+ * probability, so fingerprints can be used to find duplicates, as cache keys or to detect changes without keeping or
+ * comparing the objects themselves. Fingerprints are stable, so they can be stored and compared with fingerprints
+ * that were computed by another process.
+ *
+ * @author Kyle Michel
+ */
+public final class Fingerprint implements Serializable {
+
+    /**
+     * Constructor.
+     *
+     * @param high Upper 64 bits of the fingerprint.
+     * @param low Lower 64 bits of the fingerprint.
+     */
+    public Fingerprint(final long high, final long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Get the upper 64 bits of this fingerprint.
+     *
+     * @return Upper 64 bits of this fingerprint.
+     */
+    public long getHigh() {
+        return this.high;
+    }
+
+    /**
+     * Get the lower 64 bits of this fingerprint.
+     *
+     * @return Lower 64 bits of this fingerprint.
+     */
+    public long getLow() {
+        return this.low;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof Fingerprint)) {
+            return false;
+        }
+        final Fingerprint fingerprint = (Fingerprint) other;
+        return (this.high == fingerprint.high) && (this.low == fingerprint.low);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.low);
+    }
+
+    /**
+     * Get this fingerprint as a string of 32 hexadecimal digits.
+     *
+     * @return String with this fingerprint.
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", this.high, this.low);
+    }
+
+    private static final long serialVersionUID = -2467913384721045873L;
+
+    /** Upper 64 bits of the fingerprint. */
+    private final long high;
+
+    /** Lower 64 bits of the fingerprint. */
+    private final long low;
+
+    /**
+     * Class used to compute a fingerprint from a sequence of values. Each value is written with its type, so that
+     * different sequences of values do not run together. The values are mixed into two 64-bit lanes using the
+     * mixing functions of MurmurHash3.
+     *
+     * @author Kyle Michel
+     */
+    public static final class Builder {
+
+        /**
+         * Add a string.
+         *
+         * @param value String to add. This can be null.
+         * @return This object.
+         */
+        public Builder add(final String value) {
+            if (value == null) {
+                return addNull();
+            }
+            mix(STRING_TAG, value.length());
+            final int length = value.length();
+            int i = 0;
+            for (; i + 4 <= length; i += 4) {
+                mix(((long) value.charAt(i) << 48) | ((long) value.charAt(i + 1) << 32)
+                        | ((long) value.charAt(i + 2) << 16) | value.charAt(i + 3));
+            }
+            if (i < length) {
+                long last = 0;
+                for (; i < length; ++i) {
+                    last = (last << 16) | value.charAt(i);
+                }
+                mix(last);
+            }
+            return this;
+        }
+
+        /**
+         * Add a boolean.
+         *
+         * @param value Boolean to add. This can be null.
+         * @return This object.
+         */
+        public Builder add(final Boolean value) {
+            return (value == null) ? addNull() : mix(BOOLEAN_TAG, value ? 1 : 0);
+        }
+
+        /**
+         * Add a number. Integers of any type with the same value, and floating point numbers of any type with the same
+         * value, add the same content.
+         *
+         * @param value Number to add. This can be null.
+         * @return This object.
+         */
+        public Builder add(final Number value) {
+            if (value == null) {
+                return addNull();
+            }
+            if ((value instanceof Long) || (value instanceof Integer) || (value instanceof Short)
+                    || (value instanceof Byte)) {
+                return mix(INTEGER_TAG, value.longValue());
+            }
+            if ((value instanceof BigInteger) && (((BigInteger) value).bitLength() < Long.SIZE)) {
+                return mix(INTEGER_TAG, value.longValue());
+            }
+            return mix(FLOAT_TAG, Double.doubleToLongBits(value.doubleValue()));
+        }
+
+        /**
+         * Add a Pio object. The fingerprint of the object is added, so an object that has cached its fingerprint does
+         * not need to be read again.
+         *
+         * @param value {@link Pio} object to add. This can be null.
+         * @return This object.
+         */
+        public Builder add(final Pio value) {
+            if (value == null) {
+                return addNull();
+            }
+            final Fingerprint fingerprint = value.fingerprint();
+            return mix(PIO_TAG, fingerprint.high).mix(fingerprint.low);
+        }
+
+        /**
+         * Add a list. A null list adds the same content as an empty list, since neither is written.
+         *
+         * @param values List to add. This can be null.
+         * @return This object.
+         */
+        public Builder add(final List<?> values) {
+            if (values == null) {
+                return mix(LIST_TAG, 0);
+            }
+            mix(LIST_TAG, values.size());
+            for (Object value : values) {
+                add(value);
+            }
+            return this;
+        }
+
+        /**
+         * Add a map. Maps with the same entries add the same content regardless of the order of their entries, and a
+         * null map adds the same content as an empty map.
+         *
+         * @param values Map to add. This can be null.
+         * @return This object.
+         */
+        public Builder add(final Map<String, ?> values) {
+            if (values == null) {
+                return mix(MAP_TAG, 0);
+            }
+            mix(MAP_TAG, values.size());
+            final List<String> keys = new ArrayList<>(values.keySet());
+            Collections.sort(keys);
+            for (String key : keys) {
+                add(key);
+                add(values.get(key));
+            }
+            return this;
+        }
+
+        /**
+         * Add a value of any type that can be held by a Pio object. Values that were read as {@link RawJson} objects
+         * are built first.
+         *
+         * @param value Value to add. This can be null.
+         * @return This object.
+         * @throws IllegalArgumentException if the value is not of a supported type.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder add(final Object value) {
+            if (value == null) {
+                return addNull();
+            }
+            if (value instanceof String) {
+                return add((String) value);
+            }
+            if (value instanceof Pio) {
+                return add((Pio) value);
+            }
+            if (value instanceof Number) {
+                return add((Number) value);
+            }
+            if (value instanceof Boolean) {
+                return add((Boolean) value);
+            }
+            if (value instanceof List) {
+                return add((List<?>) value);
+            }
+            if (value instanceof Map) {
+                return add((Map<String, ?>) value);
+            }
+            if (value instanceof Object[]) {
+                final Object[] values = (Object[]) value;
+                mix(LIST_TAG, values.length);
+                for (Object i : values) {
+                    add(i);
+                }
+                return this;
+            }
+            if (value instanceof Enum) {
+                return add(((Enum<?>) value).name());
+            }
+            if (value instanceof RawJson) {
+                return add(((RawJson) value).decode());
+            }
+            throw new IllegalArgumentException("Unable to fingerprint a value of type " + value.getClass().getName());
+        }
+
+        /**
+         * Compute the fingerprint of the values that have been added.
+         *
+         * @return New {@link Fingerprint} object.
+         */
+        public Fingerprint build() {
+            long h1 = this.h1 ^ this.length;
+            long h2 = this.h2 ^ this.length;
+            h1 += h2;
+            h2 += h1;
+            h1 = finalizeLane(h1);
+            h2 = finalizeLane(h2);
+            h1 += h2;
+            h2 += h1;
+            return new Fingerprint(h1, h2);
+        }
+
+        /**
+         * Add a null value.
+         *
+         * @return This object.
+         */
+        private Builder addNull() {
+            return mix(NULL_TAG);
+        }
+
+        /**
+         * Mix a type tag and a value into the fingerprint.
+         *
+         * @param tag Tag with the type of the value.
+         * @param value Value to mix in.
+         * @return This object.
+         */
+        private Builder mix(final long tag, final long value) {
+            return mix(tag).mix(value);
+        }
+
+        /**
+         * Mix 64 bits into the fingerprint.
+         *
+         * @param value Bits to mix in.
+         * @return This object.
+         */
+        private Builder mix(final long value) {
+            this.h1 ^= Long.rotateLeft(value * C1, 31) * C2;
+            this.h1 = Long.rotateLeft(this.h1, 27) + this.h2;
+            this.h1 = this.h1 * 5 + 0x52dce729;
+            this.h2 ^= Long.rotateLeft(value * C2, 33) * C1;
+            this.h2 = Long.rotateLeft(this.h2, 31) + this.h1;
+            this.h2 = this.h2 * 5 + 0x38495ab5;
+            ++this.length;
+            return this;
+        }
+
+        /**
+         * Mix the bits of a lane so that every input bit affects every output bit.
+         *
+         * @param lane Lane to finalize.
+         * @return Finalized lane.
+         */
+        private static long finalizeLane(final long lane) {
+            long res = lane;
+            res ^= res >>> 33;
+            res *= 0xff51afd7ed558ccdL;
+            res ^= res >>> 33;
+            res *= 0xc4ceb9fe1a85ec53L;
+            res ^= res >>> 33;
+            return res;
+        }
+
+        /** First mixing constant. */
+        private static final long C1 = 0x87c37b91114253d5L;
+
+        /** Second mixing constant. */
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        /** Tag for a null value. */
+        private static final long NULL_TAG = 0;
+
+        /** Tag for a string. */
+        private static final long STRING_TAG = 1;
+
+        /** Tag for a boolean. */
+        private static final long BOOLEAN_TAG = 2;
+
+        /** Tag for an integer. */
+        private static final long INTEGER_TAG = 3;
+
+        /** Tag for a floating point number. */
+        private static final long FLOAT_TAG = 4;
+
+        /** Tag for a Pio object. */
+        private static final long PIO_TAG = 5;
+
+        /** Tag for a list or array. */
+        private static final long LIST_TAG = 6;
+
+        /** Tag for a map. */
+        private static final long MAP_TAG = 7;
+
+        /** First lane of the fingerprint. */
+        private long h1;
+
+        /** Second lane of the fingerprint. */
+        private long h2;
+
+        /** Number of 64-bit values that have been mixed in. */
+        private long length;
+    }
+}
@@ -10,6 +10,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Description of an instrument used in an experimental measurement.
@@ -35,6 +36,7 @@ public class Instrument extends Pio implements Serializable {
      */
     @JsonSetter(value = "name")
     public Instrument setName(final String name) {
+        checkNotFrozen();
         this.name = name;
         return this;
     }
@@ -57,6 +59,7 @@ public class Instrument extends Pio implements Serializable {
      */
     @JsonSetter(value = "model")
     public Instrument setModel(final String model) {
+        checkNotFrozen();
         this.model = model;
         return this;
     }
@@ -79,6 +82,7 @@ public class Instrument extends Pio implements Serializable {
      */
     @JsonSetter(value = "producer")
     public Instrument setProducer(final String producer) {
+        checkNotFrozen();
         this.producer = producer;
         return this;
     }
@@ -101,6 +105,7 @@ public class Instrument extends Pio implements Serializable {
      */
     @JsonSetter(value = "url")
     public Instrument setUrl(final String url) {
+        checkNotFrozen();
         this.url = url;
         return this;
     }
@@ -134,6 +139,27 @@ public class Instrument extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Instrument instrument = (Instrument) other;
+        return Objects.equals(this.name, instrument.name)
+                && Objects.equals(this.model, instrument.model)
+                && Objects.equals(this.producer, instrument.producer)
+                && Objects.equals(this.url, instrument.url)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.name).add(this.model).add(this.producer).add(this.url);
+    }
+
     /**
      * Write this object to the output output stream.
      *
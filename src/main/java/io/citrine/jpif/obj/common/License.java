@@ -7,8 +7,11 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import io.citrine.jpif.util.PifObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.PioCanonicalizer;
+import io.citrine.jpif.util.Pooled;
+import io.citrine.jpif.util.StringPool;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -17,6 +20,7 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Objects;
 
 /**
  * Information about a license that applies to some item.
@@ -40,7 +44,10 @@ public class License extends Pio implements Serializable {
      * @return This object.
      */
     @JsonSetter(value = "name")
+    @JsonDeserialize(using = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.LICENSE_NAMES)
     public License setName(final String name) {
+        checkNotFrozen();
         this.name = name;
         return this;
     }
@@ -63,6 +70,7 @@ public class License extends Pio implements Serializable {
      */
     @JsonSetter(value = "description")
     public License setDescription(final String description) {
+        checkNotFrozen();
         this.description = description;
         return this;
     }
@@ -85,6 +93,7 @@ public class License extends Pio implements Serializable {
      */
     @JsonSetter(value = "url")
     public License setUrl(final String url) {
+        checkNotFrozen();
         this.url = url;
         return this;
     }
@@ -169,6 +178,26 @@ public class License extends Pio implements Serializable {
         }
     }
 
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final License license = (License) other;
+        return Objects.equals(this.name, license.name)
+                && Objects.equals(this.description, license.description)
+                && Objects.equals(this.url, license.url)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.name).add(this.description).add(this.url);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -223,9 +252,12 @@ public class License extends Pio implements Serializable {
             final JsonToken jsonToken = jsonParser.getCurrentToken();
             switch (jsonToken) {
                 case VALUE_STRING:
-                    return License.valueOf(jsonParser.getValueAsString());
+                    final License license = License.valueOf(jsonParser.getValueAsString());
+                    license.setName(
+                            StringPool.forCategory(StringPool.Category.LICENSE_NAMES).intern(license.getName()));
+                    return PioCanonicalizer.canonicalize(deserializationContext, license);
                 case START_OBJECT:
-                    return PifObjectMapper.getInstance().readValue(jsonParser, License.class);
+                    return deserializationContext.readValue(jsonParser, License.class);
                 default:
                     throw deserializationContext.mappingException(License.class, jsonToken);
             }
@@ -8,8 +8,11 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import io.citrine.jpif.util.PifObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.PioCanonicalizer;
+import io.citrine.jpif.util.Pooled;
+import io.citrine.jpif.util.StringPool;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -19,6 +22,8 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Information about a method used in obtaining a property value.
@@ -42,7 +47,10 @@ public class Method extends Pio implements Serializable {
      * @return This object.
      */
     @JsonSetter(value = "name")
+    @JsonDeserialize(using = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.METHOD_NAMES)
     public Method setName(final String name) {
+        checkNotFrozen();
         this.name = name;
         return this;
     }
@@ -74,6 +82,7 @@ public class Method extends Pio implements Serializable {
      */
     @JsonSetter(value = "instruments")
     protected void setInstruments(final List<Instrument> instruments) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.instruments = instruments;
     }
 
@@ -84,6 +93,7 @@ public class Method extends Pio implements Serializable {
      * @return This object.
      */
     public Method addInstrument(final Instrument instrument) {
+        checkNotFrozen();
         if (this.instruments == null) {
             this.instruments = new ArrayList<>();
         }
@@ -99,6 +109,7 @@ public class Method extends Pio implements Serializable {
      * @return This object.
      */
     public Method addInstrument(final int index, final Instrument instrument) {
+        checkNotFrozen();
         if (this.instruments == null) {
             this.instruments = new ArrayList<>();
         }
@@ -113,6 +124,7 @@ public class Method extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeInstrument(final Instrument instrument) {
+        checkNotFrozen();
         return (this.instruments != null) && this.instruments.remove(instrument);
     }
 
@@ -167,6 +179,7 @@ public class Method extends Pio implements Serializable {
      */
     @JsonSetter(value = "software")
     protected void setSoftware(final List<Software> software) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.software = software;
     }
 
@@ -187,6 +200,7 @@ public class Method extends Pio implements Serializable {
      * @return This object.
      */
     public Method addSoftware(final Software software) {
+        checkNotFrozen();
         if (this.software == null) {
             this.software = new ArrayList<>();
         }
@@ -202,6 +216,7 @@ public class Method extends Pio implements Serializable {
      * @return This object.
      */
     public Method addSoftware(final int index, final Software software) {
+        checkNotFrozen();
         if (this.software == null) {
             this.software = new ArrayList<>();
         }
@@ -216,6 +231,7 @@ public class Method extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeSoftware(final Software software) {
+        checkNotFrozen();
         return (this.software != null) && this.software.remove(software);
     }
 
@@ -282,6 +298,13 @@ public class Method extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.instruments, consumer);
+        forEachNonNull(this.software, consumer);
+    }
+
     /**
      * Create a new {@link Method} object from an input string. This saves the string as the name of the method.
      *
@@ -292,6 +315,41 @@ public class Method extends Pio implements Serializable {
         return new Method().setName(name);
     }
 
+    @Override
+    protected Method shallowCopy() {
+        final Method res = (Method) super.shallowCopy();
+        res.instruments = copied(this.instruments);
+        res.software = copied(this.software);
+        return res;
+    }
+
+    @Override
+    protected void freezeFields() {
+        super.freezeFields();
+        this.instruments = unmodifiable(this.instruments);
+        this.software = unmodifiable(this.software);
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Method method = (Method) other;
+        return Objects.equals(this.name, method.name)
+                && listsEqual(this.instruments, method.instruments)
+                && listsEqual(this.software, method.software)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.name).add(this.instruments).add(this.software);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -346,9 +404,11 @@ public class Method extends Pio implements Serializable {
             final JsonToken jsonToken = jsonParser.getCurrentToken();
             switch (jsonToken) {
                 case VALUE_STRING:
-                    return Method.valueOf(jsonParser.getValueAsString());
+                    final String name = jsonParser.getValueAsString();
+                    return PioCanonicalizer.canonicalize(deserializationContext, Method.valueOf(
+                            StringPool.forCategory(StringPool.Category.METHOD_NAMES).intern(name)));
                 case START_OBJECT:
-                    return PifObjectMapper.getInstance().readValue(jsonParser, Method.class);
+                    return deserializationContext.readValue(jsonParser, Method.class);
                 default:
                     throw deserializationContext.mappingException(Method.class, jsonToken);
             }
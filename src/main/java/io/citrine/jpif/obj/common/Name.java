@@ -7,14 +7,16 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import io.citrine.jpif.util.PifObjectMapper;
 import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.ReadMode;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,6 +44,8 @@ public class Name extends Pio implements Serializable {
      */
     @JsonSetter(value = "title")
     public Name setTitle(final String title) {
+        checkNotFrozen();
+        decompose();
         this.title = title;
         return this;
     }
@@ -53,6 +57,7 @@ public class Name extends Pio implements Serializable {
      */
     @JsonGetter(value = "title")
     public String getTitle() {
+        decompose();
         return this.title;
     }
 
@@ -64,6 +69,8 @@ public class Name extends Pio implements Serializable {
      */
     @JsonSetter(value = "given")
     public Name setGiven(final String given) {
+        checkNotFrozen();
+        decompose();
         this.given = given;
         return this;
     }
@@ -75,6 +82,7 @@ public class Name extends Pio implements Serializable {
      */
     @JsonGetter(value = "given")
     public String getGiven() {
+        decompose();
         return this.given;
     }
 
@@ -86,6 +94,8 @@ public class Name extends Pio implements Serializable {
      */
     @JsonSetter(value = "family")
     public Name setFamily(final String family) {
+        checkNotFrozen();
+        decompose();
         this.family = family;
         return this;
     }
@@ -97,6 +107,7 @@ public class Name extends Pio implements Serializable {
      */
     @JsonGetter(value = "family")
     public String getFamily() {
+        decompose();
         return this.family;
     }
 
@@ -108,6 +119,8 @@ public class Name extends Pio implements Serializable {
      */
     @JsonSetter(value = "suffix")
     public Name setSuffix(final String suffix) {
+        checkNotFrozen();
+        decompose();
         this.suffix = suffix;
         return this;
     }
@@ -119,6 +132,7 @@ public class Name extends Pio implements Serializable {
      */
     @JsonGetter(value = "suffix")
     public String getSuffix() {
+        decompose();
         return this.suffix;
     }
 
@@ -143,6 +157,7 @@ public class Name extends Pio implements Serializable {
 
     @Override
     public String toString() {
+        decompose();
         final StringBuilder res = new StringBuilder();
         if (this.title != null) {
             res.append(this.title);
@@ -181,19 +196,49 @@ public class Name extends Pio implements Serializable {
                 : decomposeName(input);
     }
 
+    /**
+     * Create a new object that holds the input string and only breaks it apart into title, given, family, and suffix
+     * when one of those fields is first used. Until then the object is written as the original string.
+     *
+     * @param input String with the value to convert to a name.
+     * @return New {@link Name} object that holds the input string.
+     */
+    public static Name deferredValueOf(final String input) {
+        if (input == null) {
+            return null;
+        }
+        final Name res = new Name();
+        res.deferred = input;
+        return res;
+    }
+
+    /**
+     * Break apart the string that this object was created from with {@link #deferredValueOf(String)}, if that has not
+     * been done yet.
+     */
+    private void decompose() {
+        final String input = this.deferred;
+        if (input != null) {
+            final Name decomposed = decomposeName(input);
+            this.title = decomposed.title;
+            this.given = decomposed.given;
+            this.family = decomposed.family;
+            this.suffix = decomposed.suffix;
+            this.deferred = null;
+        }
+    }
+
     /**
      * Generate a new {@link Name} object from the input string. This function goes through a set of heuristics to
-     * determine the title, given, family, and suffix of the name.
+     * determine the title, given, family, and suffix of the name. The string is read in a single pass that applies the
+     * same heuristics as {@link #addTitleToName(String, Name)} followed by {@link #addSuffixToName(String, Name)} and
+     * {@link #addGivenAndFamilyNames(String, Name)}, and recently decomposed strings are cached.
      *
      * @param input String with the value to convert to a name.
      * @return New {@link Name} object with the decomposed input string.
      */
-    protected static Name decomposeName(String input) {
-        final Name name = new Name();
-        input = addTitleToName(input, name);
-        input = addSuffixToName(input, name);
-        addGivenAndFamilyNames(input, name);
-        return name;
+    protected static Name decomposeName(final String input) {
+        return NameParser.decompose(input);
     }
 
     /**
@@ -203,13 +248,8 @@ public class Name extends Pio implements Serializable {
      * @param name {@link Name} object to save to.
      * @return Modified input string with the title removed.
      */
-    protected static String addTitleToName(String input, final Name name) {
-        final Matcher matcher = TITLES_PATTERN.matcher(input);
-        while (matcher.find()) {
-            name.setTitle(matcher.group().trim());
-            input = input.replaceFirst(name.getTitle(), "");
-        }
-        return input;
+    protected static String addTitleToName(final String input, final Name name) {
+        return removeMatches(TITLES_PATTERN.matcher(input), input, name::setTitle);
     }
 
     /**
@@ -219,13 +259,27 @@ public class Name extends Pio implements Serializable {
      * @param name {@link Name} object to save to.
      * @return Modified input string with the suffix removed.
      */
-    protected static String addSuffixToName(String input, final Name name) {
-        final Matcher matcher = SUFFIXES_PATTERN.matcher(input);
+    protected static String addSuffixToName(final String input, final Name name) {
+        return removeMatches(SUFFIXES_PATTERN.matcher(input), input, name::setSuffix);
+    }
+
+    /**
+     * Remove each match of a pattern from the input string, saving the last match.
+     *
+     * @param matcher {@link Matcher} over the input string.
+     * @param input String with the name being decomposed.
+     * @param setter Setter to save the last match to, without surrounding whitespace.
+     * @return Modified input string with every match removed.
+     */
+    private static String removeMatches(final Matcher matcher, final String input, final Consumer<String> setter) {
+        final StringBuilder res = new StringBuilder(input.length());
+        int copied = 0;
         while (matcher.find()) {
-            name.setSuffix(matcher.group().trim());
-            input = input.replaceFirst(name.getSuffix(), "");
+            setter.accept(matcher.group().trim());
+            res.append(input, copied, matcher.start());
+            copied = matcher.end();
         }
-        return input;
+        return res.append(input, copied, input.length()).toString();
     }
 
     /**
@@ -314,6 +368,41 @@ public class Name extends Pio implements Serializable {
         return res.toString();
     }
 
+    @Override
+    protected String deferredString() {
+        return this.deferred;
+    }
+
+    @Override
+    protected void freezeFields() {
+        decompose();
+        super.freezeFields();
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Name name = (Name) other;
+        decompose();
+        name.decompose();
+        return Objects.equals(this.title, name.title)
+                && Objects.equals(this.given, name.given)
+                && Objects.equals(this.family, name.family)
+                && Objects.equals(this.suffix, name.suffix)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        decompose();
+        builder.add(this.title).add(this.given).add(this.family).add(this.suffix);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -356,6 +445,9 @@ public class Name extends Pio implements Serializable {
     /** Suffix of the person. */
     private String suffix;
 
+    /** String that has not been broken apart into the other fields yet, or null once it has been. */
+    private String deferred;
+
     /** List of supported titles. */
     private static final String TITLES =
             "Ms[\\. ]|Miss |Mrs[\\. ]|Mr[\\. ]|Dr[\\. ]|Doctor |Prof[\\. ]|Professor ";
@@ -396,9 +488,11 @@ public class Name extends Pio implements Serializable {
             final JsonToken jsonToken = jsonParser.getCurrentToken();
             switch (jsonToken) {
                 case VALUE_STRING:
-                    return Name.valueOf(jsonParser.getValueAsString());
+                    return (ReadMode.of(deserializationContext) == ReadMode.LAZY)
+                            ? Name.deferredValueOf(jsonParser.getValueAsString())
+                            : Name.valueOf(jsonParser.getValueAsString());
                 case START_OBJECT:
-                    return PifObjectMapper.getInstance().readValue(jsonParser, Name.class);
+                    return deserializationContext.readValue(jsonParser, Name.class);
                 default:
                     throw deserializationContext.mappingException(Name.class, jsonToken);
             }
@@ -0,0 +1,418 @@
+package io.citrine.jpif.obj.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Parser that breaks a string into the title, given name, family name and suffix of a {@link Name}. It applies the
+ * same heuristics as {@link Name#addTitleToName(String, Name)}, {@link Name#addSuffixToName(String, Name)} and
+ * {@link Name#addGivenAndFamilyNames(String, Name)}, but finds titles and suffixes by walking a trie of their
+ * lower-case forms and splits words in a single pass, so that no regular expressions are run.
+ *
+ * <p>The same authors are usually listed on many references, so the most recently parsed names are cached. The cache
+ * is cleared once it holds {@link #CACHE_CAPACITY} names, which bounds its size without tracking how recently each
+ * name was used.
+ *
+ * @author Kyle Michel
+ */
+final class NameParser {
+
+    /**
+     * Break apart the input string into title, given, family and suffix.
+     *
+     * @param input String with the value to convert to a name.
+     * @return New {@link Name} object with the decomposed input string.
+     */
+    static Name decompose(final String input) {
+        Name cached = CACHE.get(input);
+        if (cached == null) {
+            cached = (Name) parse(input).freeze();
+            if (CACHE.size() >= CACHE_CAPACITY) {
+                CACHE.clear();
+            }
+            CACHE.put(input, cached);
+        }
+        return new Name()
+                .setTitle(cached.getTitle())
+                .setGiven(cached.getGiven())
+                .setFamily(cached.getFamily())
+                .setSuffix(cached.getSuffix());
+    }
+
+    /**
+     * Break apart the input string into title, given, family and suffix without using the cache.
+     *
+     * @param input String with the value to convert to a name.
+     * @return New {@link Name} object with the decomposed input string.
+     */
+    static Name parse(final String input) {
+        final Name res = new Name();
+        final String withoutTitles = removeMatches(input, TITLES, false, res::setTitle);
+        final String withoutSuffixes = removeMatches(withoutTitles, SUFFIXES, true, res::setSuffix);
+        addGivenAndFamilyNames(withoutSuffixes, res);
+        return res;
+    }
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private NameParser() {}
+
+    /**
+     * Remove each title or suffix from a string. Matches are only found at the start of a word, and are found from the
+     * start of the string to its end without overlapping. The last match is saved to the name.
+     *
+     * @param input String to remove matches from.
+     * @param trie {@link Trie} with the lower-case forms to match.
+     * @param wholeWord True if a match must not be followed by a letter.
+     * @param setter Setter of the name field to save the last match to, without surrounding whitespace.
+     * @return Input string with every match removed.
+     */
+    private static String removeMatches(final String input, final Trie trie, final boolean wholeWord,
+            final Consumer<String> setter) {
+        StringBuilder res = null;
+        int copied = 0;
+        int i = 0;
+        while (i < input.length()) {
+            final int end = ((i == 0) || !isLetter(input.charAt(i - 1))) ? trie.match(input, i, wholeWord) : -1;
+            if (end < 0) {
+                ++i;
+                continue;
+            }
+            setter.accept(input.substring(i, end).trim());
+            if (res == null) {
+                res = new StringBuilder(input.length());
+            }
+            res.append(input, copied, i);
+            copied = end;
+            i = end;
+        }
+        return (res == null) ? input : res.append(input, copied, input.length()).toString();
+    }
+
+    /**
+     * Break a string into given and family names. A string with a single comma or semicolon is read as the family
+     * name followed by the given name, and any other string is split into words.
+     *
+     * @param input String with the name to convert to given and family parts.
+     * @param name {@link Name} object to save to.
+     */
+    private static void addGivenAndFamilyNames(final String input, final Name name) {
+        final String text = withoutTrailingSeparators(input).trim();
+        final int split = indexOfSplit(text, 0);
+        if (split >= 0) {
+            final int next = indexOfSplit(text, split + 1);
+            final int end = (next < 0) ? text.length() : next;
+            if ((end > split + 1) && onlySplits(text, end)) {
+                name.setGiven(text.substring(split + 1, end).trim());
+                name.setFamily(text.substring(0, split).trim());
+                return;
+            }
+        }
+        final List<String> words = splitWords(text);
+        if (words.size() == 1) {
+            name.setFamily(words.get(0).trim());
+        }
+        else if (words.size() == 2) {
+            name.setGiven(words.get(0).trim());
+            name.setFamily(words.get(1).trim());
+        }
+        else {
+            Name.identifyPartsOfMultiWordName(words.toArray(new String[0]), name);
+        }
+    }
+
+    /**
+     * Remove the commas and spaces at the end of a string. Like the end anchor of a regular expression, this skips a
+     * single line terminator at the very end of the string.
+     *
+     * @param input String to remove separators from.
+     * @return Input string without trailing commas and spaces.
+     */
+    private static String withoutTrailingSeparators(final String input) {
+        final int length = input.length();
+        int end = length;
+        if ((length >= 2) && input.startsWith("\r\n", length - 2)) {
+            end = length - 2;
+        }
+        else if ((length >= 1) && isLineTerminator(input.charAt(length - 1))) {
+            end = length - 1;
+        }
+        int start = end;
+        while ((start > 0) && ((input.charAt(start - 1) == ',') || (input.charAt(start - 1) == ' '))) {
+            --start;
+        }
+        return (start == end) ? input : input.substring(0, start) + input.substring(end);
+    }
+
+    /**
+     * Split a string into words at whitespace. Hyphens join the words on either side of them, and each run of hyphens
+     * with any whitespace around it is replaced by a single hyphen.
+     *
+     * @param input String to split. This must not start or end with whitespace.
+     * @return List with the words of the string, which holds an empty string if the input string is empty.
+     */
+    private static List<String> splitWords(final String input) {
+        final List<String> res = new ArrayList<>();
+        final StringBuilder word = new StringBuilder();
+        int i = 0;
+        while (i < input.length()) {
+            final char c = input.charAt(i);
+            if (!isWhitespace(c) && (c != '-')) {
+                word.append(c);
+                ++i;
+                continue;
+            }
+            int end = skipWhitespace(input, i);
+            if ((end < input.length()) && (input.charAt(end) == '-')) {
+                while ((end < input.length()) && (input.charAt(end) == '-')) {
+                    ++end;
+                }
+                word.append('-');
+                end = skipWhitespace(input, end);
+            }
+            else if (word.length() > 0) {
+                res.add(word.toString());
+                word.setLength(0);
+            }
+            i = end;
+        }
+        if ((word.length() > 0) || res.isEmpty()) {
+            res.add(word.toString());
+        }
+        return res;
+    }
+
+    /**
+     * Get the index of the first comma or semicolon in a string at or after an index.
+     *
+     * @param text String to search.
+     * @param start Index to start searching from.
+     * @return Index of the first comma or semicolon, or -1 if there is none.
+     */
+    private static int indexOfSplit(final String text, final int start) {
+        for (int i = start; i < text.length(); ++i) {
+            if (isSplit(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Determine whether a string only holds commas and semicolons from an index to its end.
+     *
+     * @param text String to check.
+     * @param start Index to start checking from.
+     * @return True if every character from the index on is a comma or semicolon.
+     */
+    private static boolean onlySplits(final String text, final int start) {
+        for (int i = start; i < text.length(); ++i) {
+            if (!isSplit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the index of the first character at or after an index that is not whitespace.
+     *
+     * @param text String to search.
+     * @param start Index to start searching from.
+     * @return Index of the first character that is not whitespace, or the length of the string if there is none.
+     */
+    private static int skipWhitespace(final String text, final int start) {
+        int i = start;
+        while ((i < text.length()) && isWhitespace(text.charAt(i))) {
+            ++i;
+        }
+        return i;
+    }
+
+    /**
+     * Determine whether a character separates the family name from the given name.
+     *
+     * @param c Character to check.
+     * @return True if the character is a comma or semicolon.
+     */
+    private static boolean isSplit(final char c) {
+        return (c == ',') || (c == ';');
+    }
+
+    /**
+     * Determine whether a character is whitespace. These are the same characters that are matched by \s in a regular
+     * expression.
+     *
+     * @param c Character to check.
+     * @return True if the character is a space, tab, line feed, vertical tab, form feed or carriage return.
+     */
+    private static boolean isWhitespace(final char c) {
+        return (c == ' ') || ((c >= '\t') && (c <= '\r'));
+    }
+
+    /**
+     * Determine whether a character ends a line. These are the same characters that end a line in a regular
+     * expression.
+     *
+     * @param c Character to check.
+     * @return True if the character is a line terminator.
+     */
+    private static boolean isLineTerminator(final char c) {
+        return (c == '\n') || (c == '\r') || (c == '\u0085') || (c == '\u2028') || (c == '\u2029');
+    }
+
+    /**
+     * Determine whether a character is an ASCII letter.
+     *
+     * @param c Character to check.
+     * @return True if the character is between a and z in either case.
+     */
+    private static boolean isLetter(final char c) {
+        return ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z'));
+    }
+
+    /** Maximum number of names to keep in the cache. */
+    static final int CACHE_CAPACITY = 4096;
+
+    /** Cache of frozen names by the string that they were parsed from. */
+    private static final Map<String, Name> CACHE = new ConcurrentHashMap<>();
+
+    /** Titles, each of which must be followed by a space or period. Doctor, Miss and Professor need a space. */
+    private static final Trie TITLES = new Trie()
+            .add("ms.").add("ms ")
+            .add("miss ")
+            .add("mrs.").add("mrs ")
+            .add("mr.").add("mr ")
+            .add("dr.").add("dr ")
+            .add("doctor ")
+            .add("prof.").add("prof ")
+            .add("professor ");
+
+    /** Suffixes, where each period is optional. */
+    private static final Trie SUFFIXES = new Trie()
+            .addWithOptionalPeriods("ii")
+            .addWithOptionalPeriods("iii")
+            .addWithOptionalPeriods("iv")
+            .addWithOptionalPeriods("jr.")
+            .addWithOptionalPeriods("sr.")
+            .addWithOptionalPeriods("j.d.")
+            .addWithOptionalPeriods("ph.d.")
+            .addWithOptionalPeriods("m.b.a.");
+
+    /**
+     * Trie of lower-case strings that are made of ASCII letters, periods and spaces.
+     *
+     * @author Kyle Michel
+     */
+    private static final class Trie {
+
+        /**
+         * Add a string to this trie.
+         *
+         * @param key Lower-case string to add.
+         * @return This object.
+         */
+        Trie add(final String key) {
+            Trie node = this;
+            for (int i = 0; i < key.length(); ++i) {
+                final int index = indexOf(key.charAt(i));
+                if (node.children[index] == null) {
+                    node.children[index] = new Trie();
+                }
+                node = node.children[index];
+            }
+            node.terminal = true;
+            return this;
+        }
+
+        /**
+         * Add every form of a string with any of its periods removed to this trie.
+         *
+         * @param key Lower-case string to add.
+         * @return This object.
+         */
+        Trie addWithOptionalPeriods(final String key) {
+            return addWithOptionalPeriods("", key);
+        }
+
+        /**
+         * Add every form of a string with any of its periods removed to this trie after a prefix.
+         *
+         * @param prefix Lower-case string to add before each form.
+         * @param key Lower-case string to add.
+         * @return This object.
+         */
+        private Trie addWithOptionalPeriods(final String prefix, final String key) {
+            final int period = key.indexOf('.');
+            if (period < 0) {
+                return add(prefix + key);
+            }
+            final String head = prefix + key.substring(0, period);
+            final String rest = key.substring(period + 1);
+            return addWithOptionalPeriods(head + '.', rest).addWithOptionalPeriods(head, rest);
+        }
+
+        /**
+         * Find the longest string in this trie that matches a string at an index, ignoring the case of letters.
+         *
+         * @param text String to match.
+         * @param start Index to match at.
+         * @param wholeWord True if the match must not be followed by a letter.
+         * @return Index after the end of the longest match, or -1 if there is none.
+         */
+        int match(final String text, final int start, final boolean wholeWord) {
+            int res = -1;
+            Trie node = this;
+            for (int i = start; i < text.length(); ++i) {
+                final int index = indexOf(toLowerCase(text.charAt(i)));
+                node = (index < 0) ? null : node.children[index];
+                if (node == null) {
+                    break;
+                }
+                if (node.terminal && (!wholeWord || (i + 1 == text.length()) || !isLetter(text.charAt(i + 1)))) {
+                    res = i + 1;
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Convert an ASCII letter to lower case.
+         *
+         * @param c Character to convert.
+         * @return Lower-case form of the character if it is an upper-case ASCII letter, or the character otherwise.
+         */
+        private static char toLowerCase(final char c) {
+            return ((c >= 'A') && (c <= 'Z')) ? (char) (c + ('a' - 'A')) : c;
+        }
+
+        /**
+         * Get the index of the child for a character.
+         *
+         * @param c Lower-case letter, period or space.
+         * @return Index of the child for the character, or -1 if the character cannot be in this trie.
+         */
+        private static int indexOf(final char c) {
+            if ((c >= 'a') && (c <= 'z')) {
+                return c - 'a';
+            }
+            return (c == '.') ? PERIOD : ((c == ' ') ? SPACE : -1);
+        }
+
+        /** Index of the child for a period. */
+        private static final int PERIOD = 26;
+
+        /** Index of the child for a space. */
+        private static final int SPACE = 27;
+
+        /** Child for each letter, period and space. */
+        private final Trie[] children = new Trie[28];
+
+        /** Whether a string in this trie ends at this node. */
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,287 @@
+package io.citrine.jpif.obj.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * List in which each element is either stored directly or in a packed form that is only converted to the element
+ * type when it is accessed. Once an element has been accessed, the unpacked element is stored in place of the packed
+ * form so that the same object is returned each time and changes to it are kept.
+ *
+ * <p>Like other lists, this list must not be changed while it is read from other threads. Reading it from several
+ * threads at once is safe: each slot is replaced atomically, so every thread that unpacks the same element gets the
+ * object that was stored first, and that object is safely published to them. Once a list has been frozen with
+ * {@link #freeze(Consumer)} it cannot be changed, but it keeps its packed form: each element is frozen at the moment
+ * that it is unpacked, before it is published to other threads.
+ *
+ * <p>This is used by {@link Value} to store vectors and matrices of plain numbers without creating a {@link Scalar}
+ * object for each number.
+ *
+ * @param <T> Type of the elements of the list.
+ * @author Kyle Michel
+ */
+final class PackedList<T> extends AbstractList<T> implements RandomAccess {
+
+    /**
+     * Add an element in packed form to the end of this list.
+     *
+     * @param packed {@link Packed} form of the element to add.
+     */
+    void addPacked(final Packed<T> packed) {
+        checkNotFrozen();
+        ensureCapacity(this.size + 1);
+        this.slots.set(this.size++, packed);
+        ++this.modCount;
+    }
+
+    /**
+     * Insert an element in packed form into this list.
+     *
+     * @param index Index at which to insert the element.
+     * @param packed {@link Packed} form of the element to add.
+     */
+    void addPacked(final int index, final Packed<T> packed) {
+        insert(index, packed);
+    }
+
+    /**
+     * Get the element at the input index without unpacking it.
+     *
+     * @param index Index of the element to get.
+     * @return Either the element or its {@link Packed} form.
+     */
+    Object getSlot(final int index) {
+        checkIndex(index);
+        return this.slots.get(index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        checkIndex(index);
+        final Object slot = this.slots.get(index);
+        if (slot instanceof Packed) {
+            final T res = ((Packed<T>) slot).unpack();
+            final Consumer<? super T> freezer = this.freezer;
+            if (freezer != null) {
+                freezer.accept(res);
+            }
+            return this.slots.compareAndSet(index, slot, res) ? res : (T) this.slots.get(index);
+        }
+        return (T) slot;
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+        checkNotFrozen();
+        final T res = get(index);
+        this.slots.set(index, element);
+        return res;
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        insert(index, element);
+    }
+
+    @Override
+    public T remove(final int index) {
+        checkNotFrozen();
+        final T res = get(index);
+        for (int i = index + 1; i < this.size; ++i) {
+            this.slots.set(i - 1, this.slots.get(i));
+        }
+        this.slots.set(--this.size, null);
+        ++this.modCount;
+        return res;
+    }
+
+    @Override
+    public boolean remove(final Object object) {
+        final int index = indexOf(object);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return indexOf(object) >= 0;
+    }
+
+    @Override
+    public int indexOf(final Object object) {
+        // Packed elements have never been handed out, so they cannot be equal to an array that the caller holds
+        for (int i = 0; i < this.size; ++i) {
+            final Object slot = this.slots.get(i);
+            if (!(slot instanceof Packed) && Objects.equals(slot, object)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(final Object object) {
+        for (int i = this.size - 1; i >= 0; --i) {
+            final Object slot = this.slots.get(i);
+            if (!(slot instanceof Packed) && Objects.equals(slot, object)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Freeze this list, so that any later attempt to change it throws an exception. Elements that are unpacked after
+     * this call are passed to the input action before they are stored, so that no thread sees them before they are
+     * frozen. Elements that have already been unpacked must be frozen by the caller.
+     *
+     * @param elementFreezer {@link Consumer} that freezes an unpacked element.
+     */
+    void freeze(final Consumer<? super T> elementFreezer) {
+        this.freezer = elementFreezer;
+    }
+
+    /**
+     * Copy this list without unpacking or copying its elements. The copy is never frozen. Packed forms are never changed, so they can be shared.
+     *
+     * @return New {@link PackedList} object with the same elements as this list.
+     */
+    PackedList<T> copy() {
+        final PackedList<T> res = new PackedList<>();
+        res.slots = copyOf(this.slots, this.slots.length());
+        res.size = this.size;
+        return res;
+    }
+
+    /**
+     * Pass each element of this list that is not in packed form to the input consumer, without unpacking any elements.
+     *
+     * @param consumer {@link Consumer} to pass each element to.
+     */
+    @SuppressWarnings("unchecked")
+    void forEachUnpacked(final Consumer<? super T> consumer) {
+        for (int i = 0; i < this.size; ++i) {
+            final Object slot = this.slots.get(i);
+            if (!(slot instanceof Packed)) {
+                consumer.accept((T) slot);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Insert an element or its packed form into this list.
+     *
+     * @param index Index at which to insert the element.
+     * @param slot Element or {@link Packed} form of the element.
+     */
+    private void insert(final int index, final Object slot) {
+        checkNotFrozen();
+        if ((index < 0) || (index > this.size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        ensureCapacity(this.size + 1);
+        for (int i = this.size; i > index; --i) {
+            this.slots.set(i, this.slots.get(i - 1));
+        }
+        this.slots.set(index, slot);
+        ++this.size;
+        ++this.modCount;
+    }
+
+    /**
+     * Check that the input index is in the range of this list.
+     *
+     * @param index Index to check.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    private void checkIndex(final int index) {
+        if ((index < 0) || (index >= this.size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    /**
+     * Check that this list can be changed.
+     *
+     * @throws IllegalStateException if this list has been frozen.
+     */
+    private void checkNotFrozen() {
+        if (this.freezer != null) {
+            throw new IllegalStateException("Cannot modify a frozen list");
+        }
+    }
+
+    /**
+     * Make sure that this list has room for the input number of elements.
+     *
+     * @param capacity Number of elements that this list must be able to hold.
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity > this.slots.length()) {
+            this.slots = copyOf(this.slots, Math.max(capacity, 2 * this.slots.length()));
+        }
+    }
+
+    /**
+     * Copy the slots of a list into a new array.
+     *
+     * @param slots Array of slots to copy.
+     * @param length Length of the new array, which must be at least the length of the input array.
+     * @return New array with the same slots as the input array, followed by empty slots.
+     */
+    private static AtomicReferenceArray<Object> copyOf(final AtomicReferenceArray<Object> slots, final int length) {
+        final AtomicReferenceArray<Object> res = new AtomicReferenceArray<>(length);
+        for (int i = 0; i < slots.length(); ++i) {
+            res.lazySet(i, slots.get(i));
+        }
+        return res;
+    }
+
+    /** Elements or their packed forms. */
+    private AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(4);
+
+    /** Number of elements in this list. */
+    private int size;
+
+    /** Action that freezes each element as it is unpacked, or null if this list has not been frozen. */
+    private volatile Consumer<? super T> freezer;
+
+    /**
+     * Packed form of an element of a {@link PackedList}.
+     *
+     * @param <T> Type of the unpacked element.
+     * @author Kyle Michel
+     */
+    interface Packed<T> {
+
+        /**
+         * Convert to the unpacked element.
+         *
+         * @return New unpacked element.
+         */
+        T unpack();
+
+        /**
+         * Write the element in the same form as the unpacked element would be serialized.
+         *
+         * @param jsonGenerator {@link JsonGenerator} to write to.
+         * @throws IOException if the element cannot be written.
+         */
+        void serialize(JsonGenerator jsonGenerator) throws IOException;
+    }
+}
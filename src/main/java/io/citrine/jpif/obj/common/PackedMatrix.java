@@ -0,0 +1,95 @@
+package io.citrine.jpif.obj.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Matrix of plain numbers that is stored as a {@link PackedVector} for each row rather than as {@link Scalar} objects.
+ *
+ * @author Kyle Michel
+ */
+final class PackedMatrix implements PackedList.Packed<Scalar[][]> {
+
+    /**
+     * Pack the input matrix if each of its elements is a plain number.
+     *
+     * @param matrix Array of arrays of {@link Scalar} objects to pack.
+     * @return New {@link PackedMatrix} object or a null pointer if any of the elements cannot be packed.
+     */
+    static PackedMatrix pack(final Scalar[][] matrix) {
+        final PackedVector[] rows = new PackedVector[matrix.length];
+        for (int i = 0; i < matrix.length; ++i) {
+            if ((matrix[i] == null) || ((rows[i] = PackedVector.pack(matrix[i], matrix[i].length)) == null)) {
+                return null;
+            }
+        }
+        return new PackedMatrix(rows);
+    }
+
+    /**
+     * Pack a matrix from a list of rows if every row is already packed.
+     *
+     * @param rows List with the rows of the matrix.
+     * @return New {@link PackedMatrix} object or a null pointer if any of the rows is not packed.
+     */
+    static PackedMatrix pack(final List<Scalar[]> rows) {
+        if (!(rows instanceof PackedList)) {
+            return rows.isEmpty() ? new PackedMatrix(new PackedVector[0]) : null;
+        }
+        final PackedList<Scalar[]> packedRows = (PackedList<Scalar[]>) rows;
+        final PackedVector[] res = new PackedVector[packedRows.size()];
+        for (int i = 0; i < res.length; ++i) {
+            final Object slot = packedRows.getSlot(i);
+            if (!(slot instanceof PackedVector)) {
+                return null;
+            }
+            res[i] = (PackedVector) slot;
+        }
+        return new PackedMatrix(res);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rows Array with each row of the matrix.
+     */
+    private PackedMatrix(final PackedVector[] rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Get the values of the elements of this matrix.
+     *
+     * @return New array of arrays with the value of each element.
+     */
+    double[][] toDoubles() {
+        final double[][] res = new double[this.rows.length][];
+        for (int i = 0; i < res.length; ++i) {
+            res[i] = this.rows[i].toDoubles();
+        }
+        return res;
+    }
+
+    @Override
+    public Scalar[][] unpack() {
+        final Scalar[][] res = new Scalar[this.rows.length][];
+        for (int i = 0; i < res.length; ++i) {
+            res[i] = this.rows[i].unpack();
+        }
+        return res;
+    }
+
+    @Override
+    public void serialize(final JsonGenerator jsonGenerator) throws IOException {
+        jsonGenerator.writeStartArray();
+        for (PackedVector row : this.rows) {
+            row.serialize(jsonGenerator);
+        }
+        jsonGenerator.writeEndArray();
+    }
+
+    /** Rows of the matrix. */
+    private final PackedVector[] rows;
+}
@@ -0,0 +1,122 @@
+package io.citrine.jpif.obj.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Vector of plain numbers, each with an optional uncertainty, that is stored as arrays of primitives rather than as
+ * {@link Scalar} objects. The format of each number is saved along with it so that the exact same strings are written
+ * when the vector is serialized.
+ *
+ * @author Kyle Michel
+ */
+final class PackedVector implements PackedList.Packed<Scalar[]> {
+
+    /**
+     * Pack the input scalars if each of them is a plain number.
+     *
+     * @param scalars Array of {@link Scalar} objects to pack.
+     * @param length Number of elements of the array to pack.
+     * @return New {@link PackedVector} object or a null pointer if any of the scalars cannot be packed.
+     */
+    static PackedVector pack(final Scalar[] scalars, final int length) {
+        final double[] values = new double[length];
+        final byte[] formats = new byte[length];
+        double[] uncertainties = null;
+        byte[] uncertaintyFormats = null;
+        for (int i = 0; i < length; ++i) {
+            final Scalar scalar = scalars[i];
+            final byte format = (scalar == null) ? Scalar.NOT_NUMERIC : scalar.getPackedFormat();
+            if (format == Scalar.NOT_NUMERIC) {
+                return null;
+            }
+            values[i] = scalar.getValueAsDouble();
+            formats[i] = format;
+            final String uncertainty = scalar.getUncertainty();
+            if (uncertainty != null) {
+                if (uncertainties == null) {
+                    uncertainties = new double[length];
+                    uncertaintyFormats = new byte[length];
+                }
+                uncertainties[i] = Double.parseDouble(uncertainty);
+                uncertaintyFormats[i] = Scalar.packedFormatOf(uncertainty);
+            }
+        }
+        return new PackedVector(values, formats, uncertainties, uncertaintyFormats);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param values Array with the value of each element.
+     * @param formats Array with the format of each value.
+     * @param uncertainties Array with the uncertainty of each element, or a null pointer if no element has one.
+     * @param uncertaintyFormats Array with the format of each uncertainty, or a null pointer if no element has one.
+     */
+    private PackedVector(final double[] values, final byte[] formats, final double[] uncertainties,
+                         final byte[] uncertaintyFormats) {
+        this.values = values;
+        this.formats = formats;
+        this.uncertainties = uncertainties;
+        this.uncertaintyFormats = uncertaintyFormats;
+    }
+
+    /**
+     * Get the values of the elements of this vector.
+     *
+     * @return New array with the value of each element.
+     */
+    double[] toDoubles() {
+        return this.values.clone();
+    }
+
+    @Override
+    public Scalar[] unpack() {
+        final Scalar[] res = new Scalar[this.values.length];
+        for (int i = 0; i < res.length; ++i) {
+            res[i] = Scalar.ofPacked(this.values[i], this.formats[i]);
+            if (hasUncertainty(i)) {
+                res[i].setUncertainty(Scalar.formatPacked(this.uncertainties[i], this.uncertaintyFormats[i]));
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public void serialize(final JsonGenerator jsonGenerator) throws IOException {
+        jsonGenerator.writeStartArray();
+        for (int i = 0; i < this.values.length; ++i) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField("value", Scalar.formatPacked(this.values[i], this.formats[i]));
+            if (hasUncertainty(i)) {
+                jsonGenerator.writeStringField("uncertainty",
+                        Scalar.formatPacked(this.uncertainties[i], this.uncertaintyFormats[i]));
+            }
+            jsonGenerator.writeEndObject();
+        }
+        jsonGenerator.writeEndArray();
+    }
+
+    /**
+     * Get whether an element of this vector has an uncertainty.
+     *
+     * @param index Index of the element to check.
+     * @return True if the element has an uncertainty.
+     */
+    private boolean hasUncertainty(final int index) {
+        return (this.uncertaintyFormats != null) && (this.uncertaintyFormats[index] != 0);
+    }
+
+    /** Value of each element. */
+    private final double[] values;
+
+    /** Format of each value. */
+    private final byte[] formats;
+
+    /** Uncertainty of each element, or a null pointer if no element has an uncertainty. */
+    private final double[] uncertainties;
+
+    /** Format of each uncertainty, which is zero for elements without an uncertainty. */
+    private final byte[] uncertaintyFormats;
+}
@@ -7,7 +7,6 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import io.citrine.jpif.util.PifObjectMapper;
 import io.citrine.jpif.util.PifSerializationUtil;
 
 import java.io.IOException;
@@ -15,6 +14,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 /**
@@ -39,6 +39,7 @@ public class Pages extends Pio implements Serializable {
      */
     @JsonSetter(value = "start")
     public Pages setStart(final String start) {
+        checkNotFrozen();
         this.start = start;
         return this;
     }
@@ -61,6 +62,7 @@ public class Pages extends Pio implements Serializable {
      */
     @JsonSetter(value = "end")
     public Pages setEnd(final String end) {
+        checkNotFrozen();
         this.end = end;
         return this;
     }
@@ -138,6 +140,25 @@ public class Pages extends Pio implements Serializable {
         return res;
     }
 
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Pages pages = (Pages) other;
+        return Objects.equals(this.start, pages.start)
+                && Objects.equals(this.end, pages.end)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.start).add(this.end);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -196,7 +217,7 @@ public class Pages extends Pio implements Serializable {
                 case VALUE_STRING:
                     return Pages.valueOf(jsonParser.getValueAsString());
                 case START_OBJECT:
-                    return PifObjectMapper.getInstance().readValue(jsonParser, Pages.class);
+                    return deserializationContext.readValue(jsonParser, Pages.class);
                 default:
                     throw deserializationContext.mappingException(Pages.class, jsonToken);
             }
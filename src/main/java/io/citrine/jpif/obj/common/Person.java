@@ -9,8 +9,9 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.citrine.jpif.util.Orcid;
-import io.citrine.jpif.util.PifObjectMapper;
 import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.PioCanonicalizer;
+import io.citrine.jpif.util.ReadMode;
 import org.apache.commons.validator.routines.EmailValidator;
 
 import java.io.IOException;
@@ -18,6 +19,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Information about a person.
@@ -44,6 +47,8 @@ public class Person extends Pio implements Serializable {
     @JsonSetter(value = "name")
     @JsonDeserialize(using = Name.Deserializer.class)
     public Person setName(final Name name) {
+        checkNotFrozen();
+        decompose();
         this.name = name;
         return this;
     }
@@ -55,6 +60,7 @@ public class Person extends Pio implements Serializable {
      */
     @JsonGetter(value = "name")
     public Name getName() {
+        decompose();
         return this.name;
     }
 
@@ -66,6 +72,8 @@ public class Person extends Pio implements Serializable {
      */
     @JsonSetter(value = "email")
     public Person setEmail(final String email) {
+        checkNotFrozen();
+        decompose();
         this.email = email;
         return this;
     }
@@ -77,6 +85,7 @@ public class Person extends Pio implements Serializable {
      */
     @JsonGetter(value = "email")
     public String getEmail() {
+        decompose();
         return this.email;
     }
 
@@ -88,6 +97,8 @@ public class Person extends Pio implements Serializable {
      */
     @JsonSetter(value = "url")
     public Person setUrl(final String url) {
+        checkNotFrozen();
+        decompose();
         this.url = url;
         return this;
     }
@@ -99,6 +110,7 @@ public class Person extends Pio implements Serializable {
      */
     @JsonGetter(value = "url")
     public String getUrl() {
+        decompose();
         return this.url;
     }
 
@@ -110,6 +122,8 @@ public class Person extends Pio implements Serializable {
      */
     @JsonSetter(value = "orcid")
     public Person setOrcid(final String orcid) {
+        checkNotFrozen();
+        decompose();
         this.orcid = orcid;
         return this;
     }
@@ -121,6 +135,7 @@ public class Person extends Pio implements Serializable {
      */
     @JsonGetter(value = "orcid")
     public String getOrcid() {
+        decompose();
         return this.orcid;
     }
 
@@ -143,6 +158,13 @@ public class Person extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        decompose();
+        forEachNonNull(this.name, consumer);
+    }
+
     /**
      * Generate a new {@link Person} object from an input string. This function checks whether the input matches an
      * email format, then ORCID format, then falls back to saving as a name.
@@ -156,6 +178,37 @@ public class Person extends Pio implements Serializable {
                 : interpretString(input);
     }
 
+    /**
+     * Create a new object that holds the input string and only interprets it as a name, email address or ORCID
+     * identifier when one of those fields is first used. Until then the object is written as the original string.
+     *
+     * @param input String to convert to a {@link Person} object.
+     * @return New {@link Person} object that holds the input string.
+     */
+    public static Person deferredValueOf(final String input) {
+        if (input == null) {
+            return null;
+        }
+        final Person res = new Person();
+        res.deferred = input;
+        return res;
+    }
+
+    /**
+     * Interpret the string that this object was created from with {@link #deferredValueOf(String)}, if that has not
+     * been done yet.
+     */
+    private void decompose() {
+        final String input = this.deferred;
+        if (input != null) {
+            final Person interpreted = interpretString(input);
+            this.name = interpreted.name;
+            this.email = interpreted.email;
+            this.orcid = interpreted.orcid;
+            this.deferred = null;
+        }
+    }
+
     /**
      * Interpret the input string as a person.
      *
@@ -198,6 +251,41 @@ public class Person extends Pio implements Serializable {
         return Orcid.isValid(input);
     }
 
+    @Override
+    protected String deferredString() {
+        return this.deferred;
+    }
+
+    @Override
+    protected void freezeFields() {
+        decompose();
+        super.freezeFields();
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Person person = (Person) other;
+        decompose();
+        person.decompose();
+        return Objects.equals(this.name, person.name)
+                && Objects.equals(this.email, person.email)
+                && Objects.equals(this.url, person.url)
+                && Objects.equals(this.orcid, person.orcid)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        decompose();
+        builder.add(this.name).add(this.email).add(this.url).add(this.orcid);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -240,6 +328,9 @@ public class Person extends Pio implements Serializable {
     /** ORCID identifier of the person. */
     private String orcid;
 
+    /** String that has not been interpreted as the other fields yet, or null once it has been. */
+    private String deferred;
+
     /**
      * Class used to deserialize a JSON value into a {@link Person} object. If the input token is a string then an
      * attempt is made to determine the information that it contains. If the input token is an object, then it is
@@ -255,9 +346,12 @@ public class Person extends Pio implements Serializable {
             final JsonToken jsonToken = jsonParser.getCurrentToken();
             switch (jsonToken) {
                 case VALUE_STRING:
-                    return Person.valueOf(jsonParser.getValueAsString());
+                    return PioCanonicalizer.canonicalize(deserializationContext,
+                            (ReadMode.of(deserializationContext) == ReadMode.LAZY)
+                                    ? Person.deferredValueOf(jsonParser.getValueAsString())
+                                    : Person.valueOf(jsonParser.getValueAsString()));
                 case START_OBJECT:
-                    return PifObjectMapper.getInstance().readValue(jsonParser, Person.class);
+                    return deserializationContext.readValue(jsonParser, Person.class);
                 default:
                     throw deserializationContext.mappingException(Person.class, jsonToken);
             }
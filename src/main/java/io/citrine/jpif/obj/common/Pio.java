@@ -5,10 +5,28 @@ import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import io.citrine.jpif.obj.merge.MergePool;
 import io.citrine.jpif.obj.merge.MergeStrategy;
 import io.citrine.jpif.obj.merge.PioReflection;
+import io.citrine.jpif.util.LazyList;
 import io.citrine.jpif.util.PifObjectMapper;
 import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.Pooled;
+import io.citrine.jpif.util.RawJson;
+import io.citrine.jpif.util.StringPool;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -17,11 +35,17 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Base class for all Physical Information Objects.
@@ -29,7 +53,7 @@ import java.util.Map;
  * @author Kyle Michel
  * @author Sean Paradiso
  */
-public abstract class Pio implements Serializable {
+public abstract class Pio implements Serializable, Cloneable {
 
     /**
      * Set the tags for this object.
@@ -37,7 +61,10 @@ public abstract class Pio implements Serializable {
      * @param tags List of strings with the tags of this object.
      */
     @JsonSetter(value = "tags")
+    @JsonDeserialize(contentUsing = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.TAGS)
     protected void setTags(final List<String> tags) {  // Private since only Jackson should use it
+        checkNotFrozen();
         this.tags = tags;
     }
 
@@ -47,6 +74,8 @@ public abstract class Pio implements Serializable {
      * @param tag List of strings with the tags of this object.
      */
     @JsonSetter(value = "tag")
+    @JsonDeserialize(contentUsing = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.TAGS)
     protected void setTag(final List<String> tag) {  // Private since only Jackson should use it
         setTags(tag);
     }
@@ -58,6 +87,7 @@ public abstract class Pio implements Serializable {
      * @return This object.
      */
     public Pio addTag(final String tag) {
+        checkNotFrozen();
         if (this.tags == null) {
             this.tags = new ArrayList<>();
         }
@@ -73,6 +103,7 @@ public abstract class Pio implements Serializable {
      * @return This object.
      */
     public Pio addTag(final int index, final String tag) {
+        checkNotFrozen();
         if (this.tags == null) {
             this.tags = new ArrayList<>();
         }
@@ -87,6 +118,7 @@ public abstract class Pio implements Serializable {
      * @return True if the tag was removed.
      */
     public boolean removeTag(final String tag) {
+        checkNotFrozen();
         return (this.tags != null) && this.tags.remove(tag);
     }
 
@@ -141,7 +173,9 @@ public abstract class Pio implements Serializable {
      * @return This object.
      */
     @JsonAnySetter
+    @JsonDeserialize(contentUsing = RawJson.Deserializer.class)
     public Pio addUnsupportedField(final String key, final Object value) {
+        checkNotFrozen();
         if (this.unsupportedFields == null) {
             this.unsupportedFields = new HashMap<>();
         }
@@ -179,23 +213,47 @@ public abstract class Pio implements Serializable {
     }
 
     /**
-     * Get an {@link Iterable} object to iterate over key/value pairs of the unsupported fields.
+     * Get an {@link Iterable} object to iterate over key/value pairs of the unsupported fields. Any values that were
+     * read as {@link RawJson} objects are built first.
      *
      * @return {@link Iterable} object for the unsupported fields.
      */
     public Iterable<Map.Entry<String, Object>> unsupportedFields() {
-        return (this.unsupportedFields == null) ? Collections.emptySet() : this.unsupportedFields.entrySet();
+        if (this.unsupportedFields == null) {
+            return Collections.emptySet();
+        }
+        if (this.unsupportedFields.values().stream().noneMatch(i -> i instanceof RawJson)) {
+            return this.unsupportedFields.entrySet();
+        }
+        final Map<String, Object> decoded = new HashMap<>(this.unsupportedFields);
+        decoded.replaceAll((key, value) -> (value instanceof RawJson) ? ((RawJson) value).decode() : value);
+        if (isFrozen()) {
+            return unmodifiableValue(decoded).entrySet();
+        }
+        this.unsupportedFields = decoded;
+        return decoded.entrySet();
     }
 
     /**
-     * Get the value of an unsupported field.
+     * Get the value of an unsupported field. Values that were read as {@link RawJson} objects are built the first
+     * time that they are requested. The fields of a frozen object are kept as they were read, so they are built into
+     * a new unmodifiable value each time.
      *
      * @param key String with the key of the field.
      * @return Object with the value of the field or a null pointer if the field does not exist.
      */
     @JsonIgnore
     public Object getUnsupportedFieldValue(final String key) {
-        return (this.unsupportedFields == null) ? null : this.unsupportedFields.get(key);
+        final Object value = (this.unsupportedFields == null) ? null : this.unsupportedFields.get(key);
+        if (!(value instanceof RawJson)) {
+            return value;
+        }
+        final Object decoded = ((RawJson) value).decode();
+        if (isFrozen()) {
+            return unmodifiableValue(decoded);
+        }
+        this.unsupportedFields.put(key, decoded);
+        return decoded;
     }
 
     /**
@@ -204,6 +262,7 @@ public abstract class Pio implements Serializable {
      * @param key String with the key of the unsupported field to remove.
      */
     public void removeUnsupportedField(final String key) {
+        checkNotFrozen();
         if (this.unsupportedFields != null) {
             this.unsupportedFields.remove(key);
         }
@@ -213,11 +272,258 @@ public abstract class Pio implements Serializable {
      * Remove all unsupported fields.
      */
     public void clearUnsupportedFields() {
+        checkNotFrozen();
         if (this.unsupportedFields != null) {
             this.unsupportedFields.clear();
         }
     }
 
+    /**
+     * Remove the value of every field of this object so that it can be read into again. Lists that belong to this
+     * object are emptied rather than discarded, so that they can be reused by the next read. Classes with fields must
+     * override this method.
+     *
+     * @return This object.
+     * @throws IllegalStateException if this object has been frozen.
+     */
+    protected Pio reset() {
+        checkNotFrozen();
+        this.tags = emptied(this.tags);
+        if (this.unsupportedFields != null) {
+            this.unsupportedFields.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Freeze this object and every object that it contains. Any later attempt to modify a frozen object through its
+     * methods, or through the lists and maps that it returns, throws an exception, so that an object can be shared
+     * between many parents without being changed by accident. Freezing cannot be undone, but
+     * {@link PifObjectMapper#deepCopy(Object, Class)} returns a copy that is not frozen.
+     *
+     * <p>Freezing does not build the parts of an object that were read lazily. Lists that were read in
+     * {@link io.citrine.jpif.util.ReadMode#LAZY} mode stay {@link LazyList} objects that freeze their elements as they
+     * are built, and unsupported fields that were read as {@link RawJson} objects stay raw, so a frozen object that has
+     * not been accessed is still written exactly as it was read. Each lazily built part is built once under its own
+     * lock, so a frozen object can be read from many threads at once once it has been safely published. Frozen objects
+     * cache values that are derived from their content, such as their {@link #fingerprint()}.
+     *
+     * @return This object.
+     */
+    public Pio freeze() {
+        if (!this.frozen) {
+            synchronized (this) {
+                if (!this.frozen) {
+                    forEachChild(FREEZE_CHILD);
+                    freezeFields();
+                    this.frozen = true;
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Replace each list and map of this object with an unmodifiable view. This is called by {@link #freeze()} after
+     * every object that this object contains has been frozen. Classes with list fields must override this method.
+     */
+    protected void freezeFields() {
+        this.tags = unmodifiable(this.tags);
+        this.unsupportedFields = unmodifiableValue(this.unsupportedFields);  // RawJson values are immutable
+    }
+
+    /**
+     * Determine whether this object has been frozen.
+     *
+     * @return True if this object cannot be modified.
+     */
+    @JsonIgnore
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Check that this object can be modified. This should be called by every method that modifies an object.
+     *
+     * @throws IllegalStateException if this object has been frozen.
+     */
+    protected void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Cannot modify a frozen " + getClass().getSimpleName() + " object");
+        }
+    }
+
+    /**
+     * Get the string that this object was read from if it has not been broken apart into the fields of this object
+     * yet. Objects that hold such a string are written as that string when they are contained by another object.
+     * Classes that can be read from a string in {@link io.citrine.jpif.util.ReadMode#LAZY} mode must override this
+     * method.
+     *
+     * @return String that this object was read from, or null if the fields of this object are set.
+     */
+    protected String deferredString() {
+        return null;
+    }
+
+    /**
+     * Pass this object to the method of a visitor for its type. Use {@link PioWalker} to visit this object and every
+     * object that it contains.
+     *
+     * @param visitor {@link PioVisitor} to pass this object to.
+     * @return {@link PioVisitor.Action} that was returned by the visitor.
+     */
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    /**
+     * Pass each object that is directly contained by this object to the input consumer. Classes that contain other
+     * objects must override this method.
+     *
+     * @param consumer {@link Consumer} to pass each object to.
+     */
+    protected void forEachChild(final Consumer<Pio> consumer) {}
+
+    /**
+     * Pass each object in a list to the input consumer, skipping null values. A {@link LazyList} that is being frozen
+     * is frozen as a whole instead, so that its elements are not built until they are first accessed.
+     *
+     * @param pios List of objects to pass to the consumer. This can be null.
+     * @param consumer {@link Consumer} to pass each object to.
+     */
+    protected static void forEachNonNull(final List<? extends Pio> pios, final Consumer<Pio> consumer) {
+        if (isFreezing(consumer) && (pios instanceof LazyList)) {
+            ((LazyList<? extends Pio>) pios).freeze(FREEZE_CHILD);
+        }
+        else if (pios != null) {
+            for (Pio pio : pios) {
+                forEachNonNull(pio, consumer);
+            }
+        }
+    }
+
+    /**
+     * Determine whether a consumer that is passed to {@link #forEachChild(Consumer)} freezes each object. Parts of an
+     * object that are built lazily are frozen as they are built, so they do not need to be built for such a consumer.
+     *
+     * @param consumer {@link Consumer} that was passed to {@link #forEachChild(Consumer)}.
+     * @return True if the consumer is called by {@link #freeze()}.
+     */
+    protected static boolean isFreezing(final Consumer<Pio> consumer) {
+        return consumer == FREEZE_CHILD;
+    }
+
+    /**
+     * Pass an object to the input consumer if it is not null.
+     *
+     * @param pio Object to pass to the consumer. This can be null.
+     * @param consumer {@link Consumer} to pass the object to.
+     */
+    protected static void forEachNonNull(final Pio pio, final Consumer<Pio> consumer) {
+        if (pio != null) {
+            consumer.accept(pio);
+        }
+    }
+
+    /**
+     * Empty a list so that it can be reused. Only {@link ArrayList} objects are reused, since other lists such as
+     * {@link io.citrine.jpif.util.LazyList} objects hold state of their own.
+     *
+     * @param list List to empty. This can be null.
+     * @param <T> Type of the elements of the list.
+     * @return The input list after it has been emptied, or a null pointer if it cannot be reused.
+     */
+    protected static <T> List<T> emptied(final List<T> list) {
+        if ((list != null) && (list.getClass() == ArrayList.class)) {
+            list.clear();
+            return list;
+        }
+        return null;
+    }
+
+    /**
+     * Get an unmodifiable view of a list. A {@link LazyList} is returned as it is, since it is frozen along with its
+     * elements by {@link #freeze()} and must stay a {@link LazyList} to be written as it was read.
+     *
+     * @param list List to get a view of. This can be null.
+     * @param <T> Type of the elements of the list.
+     * @return Unmodifiable view of the input list, or a null pointer if the input list is null.
+     */
+    protected static <T> List<T> unmodifiable(final List<T> list) {
+        if ((list == null) || (list instanceof LazyList)) {
+            return list;
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Get an unmodifiable copy of a value that was read from JSON, in which every nested list and map is unmodifiable.
+     *
+     * @param value Value to copy. This can be null.
+     * @param <T> Type of the value.
+     * @return Unmodifiable copy of the input value, or the input value if it is not a list or map.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T unmodifiableValue(final T value) {
+        if (value instanceof List) {
+            final List<Object> res = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(i -> res.add(unmodifiableValue(i)));
+            return (T) Collections.unmodifiableList(res);
+        }
+        if (value instanceof Map) {
+            final Map<Object, Object> res = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, i) -> res.put(key, unmodifiableValue(i)));
+            return (T) Collections.unmodifiableMap(res);
+        }
+        return value;
+    }
+
+    /**
+     * Copy a list without copying its elements.
+     *
+     * @param list List to copy. This can be null.
+     * @param <T> Type of the elements of the list.
+     * @return New list with the same elements as the input list, or a null pointer if the input list is null.
+     */
+    protected static <T> List<T> copied(final List<T> list) {
+        return (list == null) ? null : new ArrayList<>(list);
+    }
+
+    /**
+     * Build a map from a key of each element of a list to the first element with that key. Null elements and elements
+     * with a null key are skipped. This is used to build the indexes behind lookups by name.
+     *
+     * @param list List to index. This can be null.
+     * @param key {@link Function} that gets the key of an element.
+     * @param <T> Type of the elements of the list.
+     * @return Map from each key to the first element with that key.
+     */
+    protected static <T> Map<String, T> indexed(final List<T> list, final Function<? super T, String> key) {
+        if ((list == null) || list.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, T> res = new HashMap<>(list.size() * 4 / 3 + 1);
+        for (T element : list) {
+            final String elementKey = (element == null) ? null : key.apply(element);
+            if (elementKey != null) {
+                res.putIfAbsent(elementKey, element);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Get the key that identifies this object when lists are merged with
+     * {@link MergeStrategy#REPLACE_NON_NULL_AND_MERGE_BY_KEY}. Objects in the two lists with equal keys are merged
+     * into a single object. Classes that have a natural identity override this.
+     *
+     * @return Key for this object, or a null pointer if this object does not have one, in which case it only matches
+     * objects with exactly the same content.
+     */
+    public Object mergeKey() {
+        return null;
+    }
+
     /**
      * Default merge behavior on a field-by-field basis.
      *
@@ -232,28 +538,40 @@ public abstract class Pio implements Serializable {
                         final Pio mergeFrom,
                         final MergeStrategy strategy)
             throws InvocationTargetException, IllegalAccessException {
+        return merge(reflection.getAccessor(fieldGetterName), mergeFrom, strategy);
+    }
 
-        java.lang.reflect.Method getter = reflection.getGetters().get(fieldGetterName);
-        java.lang.reflect.Method setter = reflection.getSetters().get(fieldGetterName.replace("get", "set"));
+    /**
+     * Default merge behavior for a single field.
+     *
+     * @param accessor  the accessor for the field being merged.
+     * @param mergeFrom the Pio instance to merge from.
+     * @param strategy  the merge strategy to use.
+     * @return the merged Pio instance.
+     */
+    @SuppressWarnings("unchecked")
+    private Pio merge(final PioReflection.Accessor accessor,
+                      final Pio mergeFrom,
+                      final MergeStrategy strategy) throws InvocationTargetException {
 
-        if (fieldGetterName.equals("getUnsupportedFields")) {
-            Map<String, Object> thisObj = (Map<String, Object>) getter.invoke(this);
-            Map<String, Object> fromObj = (Map<String, Object>) getter.invoke(mergeFrom);
+        if (accessor.getName().equals("getUnsupportedFields")) {
+            Map<String, Object> thisObj = (Map<String, Object>) accessor.get(this);
+            Map<String, Object> fromObj = (Map<String, Object>) accessor.get(mergeFrom);
             this.unsupportedFields = strategy.merge(thisObj, fromObj);
         }
         // If the type to merge is a List
-        else if (reflection.isList(fieldGetterName)) {
-            List<Object> thisList = (List<Object>) getter.invoke(this);
-            List<Object> mergeFromList = (List<Object>) getter.invoke(mergeFrom);
+        else if (accessor.isList()) {
+            List<Object> thisList = (List<Object>) accessor.get(this);
+            List<Object> mergeFromList = (List<Object>) accessor.get(mergeFrom);
             List<Object> result = strategy.merge(thisList, mergeFromList);
 
-            setter.invoke(this, result);
+            accessor.set(this, result);
         }
         // Else merge objects
         else {
-            Object thisObj = getter.invoke(this);
-            Object fromObj = getter.invoke(mergeFrom);
-            setter.invoke(this, strategy.merge(thisObj, fromObj));
+            Object thisObj = accessor.get(this);
+            Object fromObj = accessor.get(mergeFrom);
+            accessor.set(this, strategy.merge(thisObj, fromObj));
         }
 
         return this;
@@ -270,11 +588,12 @@ public abstract class Pio implements Serializable {
      */
     public Pio merge(final Pio mergeFrom,
                      final MergeStrategy strategy) throws Exception {
-        return merge(mergeFrom, strategy, Arrays.asList("getClass"));
+        return merge(mergeFrom, strategy, PioReflection.DEFAULT_IGNORED_FIELDS);
     }
 
     /**
-     * Merge another Pio object into `this`, using a specified merge strategy.
+     * Merge another Pio object into `this`, using a specified merge strategy. The getters and setters of each class
+     * are only discovered once, and are shared by every merge of that class.
      *
      * @param mergeFrom     Pio object to merge into `this`.
      * @param strategy      the merge strategy.
@@ -286,35 +605,310 @@ public abstract class Pio implements Serializable {
                      final MergeStrategy strategy,
                      final List<String> ignoredFields) throws Exception {
 
-        Pio mergeResult = PifObjectMapper.deepCopy(this, this.getClass());
-        PioReflection reflection = new PioReflection(this);
-
-        // Iterate over getter/setter pairs and merge each field.
-        reflection.getGetters().keySet().stream()
-
-                // Skip ignored fields
-                .filter(getter -> {
-                    java.lang.reflect.Method method = reflection.getMethod(getter);
-                    return !ignoredFields.stream()
-                            .map(key -> method.getName().equalsIgnoreCase(key))
-                            .reduce((first, second) -> first || second)
-                            .orElse(false);
-                })
-
-                // Merge each remaining field
-                .forEach(getter -> {
-                    try {
-                        mergeResult.merge(reflection, getter, mergeFrom, strategy);
-                    } catch (InvocationTargetException | IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                });
+        return mergeFields(PifObjectMapper.deepCopy(this, this.getClass()), mergeFrom, strategy, ignoredFields);
+    }
+
+    /**
+     * Merge another Pio object into `this` without copying either input, using a specified merge strategy. This
+     * passes a default list of ignored fields along if none are set.
+     *
+     * @param mergeFrom Pio object to merge into `this`.
+     * @param strategy  the merge strategy.
+     * @return the result of the merge as a new Pio object.
+     * @throws Exception if the merge fails.
+     * @see #mergeShared(Pio, MergeStrategy, List)
+     */
+    public Pio mergeShared(final Pio mergeFrom,
+                           final MergeStrategy strategy) throws Exception {
+        return mergeShared(mergeFrom, strategy, PioReflection.DEFAULT_IGNORED_FIELDS);
+    }
+
+    /**
+     * Merge another Pio object into `this` without copying either input, using a specified merge strategy. Unlike
+     * {@link #merge(Pio, MergeStrategy, List)}, only the paths that change are copied: the top-level object and its
+     * lists are copied, as is each object that another object is merged into, and every other object is shared with
+     * the inputs. Neither input is changed.
+     *
+     * <p>Since the result shares objects with the inputs, a change to a shared object through either the result or an
+     * input is seen by both. Inputs that are {@link #freeze() frozen} first cannot be changed in this way, and any
+     * object that needs to be changed independently can be copied with {@link PifObjectMapper#deepCopy}.
+     *
+     * @param mergeFrom     Pio object to merge into `this`.
+     * @param strategy      the merge strategy.
+     * @param ignoredFields a list of fields to ignore when merging.
+     * @return the result of the merge as a new Pio object.
+     * @throws Exception if the merge fails.
+     */
+    public Pio mergeShared(final Pio mergeFrom,
+                           final MergeStrategy strategy,
+                           final List<String> ignoredFields) throws Exception {
+        return mergeFields(shallowCopy(), mergeFrom, strategy, ignoredFields);
+    }
+
+    /**
+     * Merge each field of another Pio object into a copy of `this`.
+     *
+     * @param mergeResult   the copy of `this` to merge into.
+     * @param mergeFrom     Pio object to merge into the copy.
+     * @param strategy      the merge strategy.
+     * @param ignoredFields a list of fields to ignore when merging.
+     * @return the input copy of `this`.
+     */
+    private Pio mergeFields(final Pio mergeResult,
+                            final Pio mergeFrom,
+                            final MergeStrategy strategy,
+                            final List<String> ignoredFields) {
+        PioReflection reflection = PioReflection.of(this.getClass());
+        Set<String> ignored = PioReflection.toIgnoredSet(ignoredFields);
+
+        // Merge each getter/setter pair that is not ignored. Large lists are merged in parallel in a MergePool.
+        MergePool pool = MergePool.current();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (PioReflection.Accessor accessor : reflection.getAccessors()) {
+            if (!accessor.isIgnored(ignored)) {
+                if ((pool != null) && isLargeList(accessor, mergeResult, mergeFrom, pool.getThreshold())) {
+                    tasks.add(ForkJoinTask.adapt(() -> mergeResult.mergeField(accessor, mergeFrom, strategy)).fork());
+                }
+                else {
+                    mergeResult.mergeField(accessor, mergeFrom, strategy);
+                }
+            }
+        }
+        tasks.forEach(ForkJoinTask::join);
 
         return mergeResult;
     }
 
     /**
-     * Write this object to the output output stream.
+     * Merge a single field. Any failure is rethrown as an unchecked exception, so that it also propagates out of the
+     * task that a large list is merged in.
+     *
+     * @param accessor  the accessor for the field being merged.
+     * @param mergeFrom the Pio instance to merge from.
+     * @param strategy  the merge strategy to use.
+     * @throws RuntimeException if the getter or setter of the field fails.
+     */
+    private void mergeField(final PioReflection.Accessor accessor,
+                            final Pio mergeFrom,
+                            final MergeStrategy strategy) {
+        try {
+            merge(accessor, mergeFrom, strategy);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Unable to merge " + accessor.getName(), e.getCause());
+        }
+    }
+
+    /**
+     * Check whether a field holds lists that are large enough to be merged in a separate task.
+     *
+     * @param accessor    the accessor for the field.
+     * @param mergeResult the Pio instance to merge into.
+     * @param mergeFrom   the Pio instance to merge from.
+     * @param threshold   the minimum number of elements of a large list.
+     * @return true if the lists of the field together hold at least the threshold number of elements.
+     */
+    private static boolean isLargeList(final PioReflection.Accessor accessor,
+                                       final Pio mergeResult,
+                                       final Pio mergeFrom,
+                                       final int threshold) {
+        if (!accessor.isList()) {
+            return false;
+        }
+        try {
+            final Object into = accessor.get(mergeResult);
+            final Object from = accessor.get(mergeFrom);
+            final int size = ((into instanceof List) ? ((List<?>) into).size() : 0)
+                    + ((from instanceof List) ? ((List<?>) from).size() : 0);
+            return size >= threshold;
+        } catch (InvocationTargetException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Merge another Pio object into `this` using a specified merge strategy, splitting large lists into parallel
+     * tasks in the shared {@link MergePool}. This passes a default list of ignored fields along if none are set.
+     *
+     * @param mergeFrom Pio object to merge into `this`.
+     * @param strategy  the merge strategy.
+     * @return the result of the merge as a new Pio object.
+     * @throws Exception if the merge fails.
+     * @see #mergeParallel(Pio, MergeStrategy, List, MergePool)
+     */
+    public Pio mergeParallel(final Pio mergeFrom,
+                             final MergeStrategy strategy) throws Exception {
+        return mergeParallel(mergeFrom, strategy, PioReflection.DEFAULT_IGNORED_FIELDS, MergePool.getDefault());
+    }
+
+    /**
+     * Merge another Pio object into `this` using a specified merge strategy, splitting large lists into parallel
+     * tasks. List fields, and the matched elements of lists that are merged by key, are merged in separate tasks once
+     * they hold at least {@link MergePool#getThreshold()} elements. The result is identical to the result of
+     * {@link #merge(Pio, MergeStrategy, List)}.
+     *
+     * @param mergeFrom     Pio object to merge into `this`.
+     * @param strategy      the merge strategy.
+     * @param ignoredFields a list of fields to ignore when merging.
+     * @param pool          the pool to merge in.
+     * @return the result of the merge as a new Pio object.
+     * @throws Exception if the merge fails.
+     */
+    public Pio mergeParallel(final Pio mergeFrom,
+                             final MergeStrategy strategy,
+                             final List<String> ignoredFields,
+                             final MergePool pool) throws Exception {
+        return pool.call(() -> merge(mergeFrom, strategy, ignoredFields));
+    }
+
+    /**
+     * Create a copy of this object that shares every object that it contains with this object. Lists and maps are
+     * copied, so that adding to or removing from the copy does not change this object. The copy is never frozen.
+     * Classes with list fields must override this method.
+     *
+     * @return New object of the same class as this object.
+     */
+    protected Pio shallowCopy() {
+        final Pio res;
+        try {
+            res = (Pio) clone();
+        }
+        catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        res.frozen = false;
+        res.fingerprint = null;
+        res.tags = copied(this.tags);
+        res.unsupportedFields = (this.unsupportedFields == null) ? null : new HashMap<>(this.unsupportedFields);
+        return res;
+    }
+
+    /**
+     * Compare this object with another object by their content. Two objects are equal if they are of the same class
+     * and every field of one is equal to the same field of the other, where fields that hold other objects are
+     * compared in the same way. Objects that are both frozen are first compared by their cached
+     * {@link #fingerprint()}.
+     *
+     * @param other Object to compare with.
+     * @return True if the input object has the same content as this object.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if ((other == null) || (other.getClass() != getClass())) {
+            return false;
+        }
+        final Pio pio = (Pio) other;
+        if (isFrozen() && pio.isFrozen() && !fingerprint().equals(pio.fingerprint())) {
+            return false;
+        }
+        return equalFields(pio);
+    }
+
+    /**
+     * Compare each field of this object with the same field of another object of the same class. Classes with fields
+     * must override this method, comparing their own fields before calling the method of their parent class.
+     *
+     * @param other Object of the same class as this object.
+     * @return True if every field of the input object is equal to the same field of this object.
+     */
+    protected boolean equalFields(final Pio other) {
+        return listsEqual(this.tags, other.tags)
+                && Objects.equals(decodedUnsupportedFields(), other.decodedUnsupportedFields());
+    }
+
+    /**
+     * Get a hash code of the content of this object, which is taken from its {@link #fingerprint()}.
+     *
+     * @return Hash code of this object.
+     */
+    @Override
+    public int hashCode() {
+        return fingerprint().hashCode();
+    }
+
+    /**
+     * Get a 128-bit fingerprint of the content of this object. Objects that are {@link #equals(Object)} have the same
+     * fingerprint. The fingerprint is computed by walking the fields of this object rather than by writing it, and is
+     * cached once this object is frozen, so that objects that contain this object can reuse it.
+     *
+     * @return {@link Fingerprint} of this object.
+     */
+    public Fingerprint fingerprint() {
+        Fingerprint res = this.fingerprint;
+        if (res == null) {
+            final Fingerprint.Builder builder = new Fingerprint.Builder().add(getClass().getName());
+            addFingerprintFields(builder);
+            res = builder.build();
+            if (isFrozen()) {
+                this.fingerprint = res;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Add each field of this object to a fingerprint, in the same order every time. Classes with fields must override
+     * this method and add their fields after the fields of their parent class.
+     *
+     * @param builder {@link Fingerprint.Builder} to add fields to.
+     */
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        builder.add(this.tags).add(decodedUnsupportedFields());
+    }
+
+    /**
+     * Compare two lists by their content. A null list is equal to an empty list, since neither is written.
+     *
+     * @param first First list to compare. This can be null.
+     * @param second Second list to compare. This can be null.
+     * @return True if the lists have equal elements in the same order.
+     */
+    protected static boolean listsEqual(final List<?> first, final List<?> second) {
+        return ((first == null) || first.isEmpty())
+                ? ((second == null) || second.isEmpty())
+                : first.equals(second);
+    }
+
+    /**
+     * Get the unsupported fields of this object without changing it. Any values that were read as {@link RawJson}
+     * objects are built.
+     *
+     * @return Map with the unsupported fields, or a null pointer if this object has none.
+     */
+    private Map<String, Object> decodedUnsupportedFields() {
+        if ((this.unsupportedFields == null) || this.unsupportedFields.isEmpty()) {
+            return null;
+        }
+        if (this.unsupportedFields.values().stream().noneMatch(i -> i instanceof RawJson)) {
+            return this.unsupportedFields;
+        }
+        final Map<String, Object> res = new HashMap<>(this.unsupportedFields);
+        res.replaceAll((key, value) -> (value instanceof RawJson) ? ((RawJson) value).decode() : value);
+        return res;
+    }
+
+    /**
+     * Replace this object with a compact form when it is written using Java serialization. The whole object tree is
+     * written as a single Smile document, which is much smaller and faster to read than the JSON that is written by
+     * {@link #writeObject(ObjectOutputStream)}. The original format is written instead if
+     * {@link PifSerializationUtil#isLegacyFormat()} is set.
+     *
+     * @return {@link SerializedPio} object that holds this object, or this object to write the original format.
+     * @throws ObjectStreamException if thrown while replacing this object.
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        return PifSerializationUtil.isLegacyFormat() ? this : new SerializedPio(this);
+    }
+
+    /**
+     * Write this object to the output output stream. This is only used if {@link PifSerializationUtil#isLegacyFormat()}
+     * is set, but the matching {@link #readObject(ObjectInputStream)} method is always needed to read objects that were
+     * written in the original format.
      *
      * @param out {@link ObjectOutputStream} to write to.
      * @throws IOException if this object cannot be written.
@@ -343,9 +937,121 @@ public abstract class Pio implements Serializable {
 
     private static final long serialVersionUID = 8298361482995229987L;
 
+    /** Action that freezes a child object, which lets {@link #isFreezing(Consumer)} tell a freeze apart. */
+    private static final Consumer<Pio> FREEZE_CHILD = Pio::freeze;
+
     /** List of tags for the object. */
     private List<String> tags;
 
     /** Map of unsupported field names to their values. */
     private Map<String, Object> unsupportedFields;
+
+    /** Whether this object has been frozen. */
+    private transient volatile boolean frozen;
+
+    /** Fingerprint of this object, which is only cached once this object has been frozen. */
+    private transient volatile Fingerprint fingerprint;
+
+    /**
+     * Class used to wrap the serializers of the classes that can hold the string that they were read from. This is
+     * registered with each {@link PifObjectMapper} instance.
+     *
+     * @author Kyle Michel
+     */
+    public static class SerializerModifier extends BeanSerializerModifier {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> modifySerializer(final SerializationConfig serializationConfig,
+                final BeanDescription beanDescription, final JsonSerializer<?> jsonSerializer) {
+            return isDeferrable(beanDescription.getBeanClass())
+                    ? new DeferredStringSerializer((JsonSerializer<Object>) jsonSerializer)
+                    : jsonSerializer;
+        }
+
+        /**
+         * Determine whether objects of a class can hold the string that they were read from.
+         *
+         * @param type Class to check.
+         * @return True if objects of the class can be read from a string without breaking it apart.
+         */
+        private static boolean isDeferrable(final Class<?> type) {
+            return Scalar.class.isAssignableFrom(type)
+                    || Name.class.isAssignableFrom(type)
+                    || Person.class.isAssignableFrom(type);
+        }
+    }
+
+    /**
+     * Serializer that writes objects that have not been broken apart as the string that they were read from, and
+     * passes all other objects to the serializer that it wraps. Objects at the root of the output are always broken
+     * apart and written in full, since they are read back into an object of a known class.
+     *
+     * @author Kyle Michel
+     */
+    private static class DeferredStringSerializer extends JsonSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        /**
+         * Constructor.
+         *
+         * @param jsonSerializer {@link JsonSerializer} to write objects that do not hold a string with.
+         */
+        DeferredStringSerializer(final JsonSerializer<Object> jsonSerializer) {
+            this.jsonSerializer = jsonSerializer;
+        }
+
+        @Override
+        public void serialize(final Object value, final JsonGenerator jsonGenerator,
+                final SerializerProvider serializerProvider) throws IOException {
+            final String deferred = ((Pio) value).deferredString();
+            if ((deferred != null) && !jsonGenerator.getOutputContext().inRoot()) {
+                jsonGenerator.writeString(deferred);
+            }
+            else {
+                this.jsonSerializer.serialize(value, jsonGenerator, serializerProvider);
+            }
+        }
+
+        @Override
+        public void serializeWithType(final Object value, final JsonGenerator jsonGenerator,
+                final SerializerProvider serializerProvider, final TypeSerializer typeSerializer) throws IOException {
+            this.jsonSerializer.serializeWithType(value, jsonGenerator, serializerProvider, typeSerializer);
+        }
+
+        @Override
+        public boolean isEmpty(final SerializerProvider serializerProvider, final Object value) {
+            return this.jsonSerializer.isEmpty(serializerProvider, value);
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return this.jsonSerializer.handledType();
+        }
+
+        @Override
+        public Iterator<PropertyWriter> properties() {
+            return this.jsonSerializer.properties();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(final SerializerProvider serializerProvider,
+                final BeanProperty beanProperty) throws JsonMappingException {
+            return (this.jsonSerializer instanceof ContextualSerializer)
+                    ? new DeferredStringSerializer((JsonSerializer<Object>) ((ContextualSerializer) this.jsonSerializer)
+                            .createContextual(serializerProvider, beanProperty))
+                    : this;
+        }
+
+        @Override
+        public void resolve(final SerializerProvider serializerProvider) throws JsonMappingException {
+            if (this.jsonSerializer instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) this.jsonSerializer).resolve(serializerProvider);
+            }
+        }
+
+        /** Serializer to write objects that do not hold a string with. */
+        private final JsonSerializer<Object> jsonSerializer;
+    }
 }
\ No newline at end of file
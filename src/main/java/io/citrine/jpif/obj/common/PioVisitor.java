@@ -0,0 +1,280 @@
+package io.citrine.jpif.obj.common;
+
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+import io.citrine.jpif.obj.system.chemical.common.Composition;
+
+/**
+ * Visitor of the objects in a tree of Pio objects, which is walked by {@link PioWalker}. Each object is passed to the
+ * method for its type, which by default passes it on to the method for its superclass, so that a visitor only needs
+ * to override the methods for the types that it is interested in. Objects of any type reach {@link #visit(Pio)}
+ * unless a more specific method is overridden. Each method returns an {@link Action} that controls how the walk goes
+ * on.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * {@code
+ * List<Person> people = new ArrayList<>();
+ * PioWalker.walk(system, new PioVisitor() {
+ *     public Action visit(Person person) {
+ *         people.add(person);
+ *         return Action.CONTINUE;
+ *     }
+ * });
+ * }
+ * </pre>
+ *
+ * @author Kyle Michel
+ */
+public interface PioVisitor {
+
+    /**
+     * Visit an object that is not handled by a more specific method.
+     *
+     * @param pio {@link Pio} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Pio pio) {
+        return Action.CONTINUE;
+    }
+
+    /**
+     * Visit a classification.
+     *
+     * @param classification {@link Classification} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Classification classification) {
+        return visit((Pio) classification);
+    }
+
+    /**
+     * Visit a display item.
+     *
+     * @param displayItem {@link DisplayItem} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final DisplayItem displayItem) {
+        return visit((Pio) displayItem);
+    }
+
+    /**
+     * Visit a file reference.
+     *
+     * @param fileReference {@link FileReference} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final FileReference fileReference) {
+        return visit((Pio) fileReference);
+    }
+
+    /**
+     * Visit an id.
+     *
+     * @param id {@link Id} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Id id) {
+        return visit((Pio) id);
+    }
+
+    /**
+     * Visit an instrument.
+     *
+     * @param instrument {@link Instrument} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Instrument instrument) {
+        return visit((Pio) instrument);
+    }
+
+    /**
+     * Visit a license.
+     *
+     * @param license {@link License} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final License license) {
+        return visit((Pio) license);
+    }
+
+    /**
+     * Visit a method.
+     *
+     * @param method {@link Method} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Method method) {
+        return visit((Pio) method);
+    }
+
+    /**
+     * Visit a name.
+     *
+     * @param name {@link Name} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Name name) {
+        return visit((Pio) name);
+    }
+
+    /**
+     * Visit the pages of a reference.
+     *
+     * @param pages {@link Pages} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Pages pages) {
+        return visit((Pio) pages);
+    }
+
+    /**
+     * Visit a person.
+     *
+     * @param person {@link Person} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Person person) {
+        return visit((Pio) person);
+    }
+
+    /**
+     * Visit a process step.
+     *
+     * @param processStep {@link ProcessStep} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final ProcessStep processStep) {
+        return visit((Pio) processStep);
+    }
+
+    /**
+     * Visit a quantity.
+     *
+     * @param quantity {@link Quantity} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Quantity quantity) {
+        return visit((Pio) quantity);
+    }
+
+    /**
+     * Visit a set of references, contacts and licenses. Systems are passed to this method unless
+     * {@link #visit(System)} is overridden.
+     *
+     * @param rcl {@link Rcl} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Rcl rcl) {
+        return visit((Pio) rcl);
+    }
+
+    /**
+     * Visit a reference.
+     *
+     * @param reference {@link Reference} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Reference reference) {
+        return visit((Pio) reference);
+    }
+
+    /**
+     * Visit a scalar.
+     *
+     * @param scalar {@link Scalar} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Scalar scalar) {
+        return visit((Pio) scalar);
+    }
+
+    /**
+     * Visit a software package.
+     *
+     * @param software {@link Software} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Software software) {
+        return visit((Pio) software);
+    }
+
+    /**
+     * Visit a source.
+     *
+     * @param source {@link Source} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Source source) {
+        return visit((Pio) source);
+    }
+
+    /**
+     * Visit a value. Properties are passed to this method unless {@link #visit(Property)} is overridden.
+     *
+     * @param value {@link Value} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Value value) {
+        return visit((Pio) value);
+    }
+
+    /**
+     * Visit a property.
+     *
+     * @param property {@link Property} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Property property) {
+        return visit((Value) property);
+    }
+
+    /**
+     * Visit a system. Chemical systems are passed to this method unless {@link #visit(ChemicalSystem)} is
+     * overridden.
+     *
+     * @param system {@link System} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final System system) {
+        return visit((Rcl) system);
+    }
+
+    /**
+     * Visit a chemical system.
+     *
+     * @param chemicalSystem {@link ChemicalSystem} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final ChemicalSystem chemicalSystem) {
+        return visit((System) chemicalSystem);
+    }
+
+    /**
+     * Visit an element of the composition of a chemical system.
+     *
+     * @param composition {@link Composition} object to visit.
+     * @return {@link Action} that controls how the walk goes on.
+     */
+    default Action visit(final Composition composition) {
+        return visit((Pio) composition);
+    }
+
+    /**
+     * Enumeration of the ways that a walk can go on after an object has been visited.
+     *
+     * @author Kyle Michel
+     */
+    enum Action {
+
+        /** Visit the objects that are contained by the visited object. */
+        CONTINUE,
+
+        /** Do not visit the objects that are contained by the visited object, but go on with the rest of the walk. */
+        SKIP_CHILDREN,
+
+        /** Stop the walk. */
+        STOP
+    }
+}
@@ -0,0 +1,164 @@
+package io.citrine.jpif.obj.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Class that walks a tree of Pio objects and passes each object to a {@link PioVisitor}. The objects that each object
+ * contains are found without reflection, and the walk keeps its own stack instead of recursing, so that trees with
+ * deeply nested sub-systems can be walked without overflowing the call stack.
+ *
+ * <p>{@link #walk(Pio, PioVisitor)} visits objects on the current thread, each object before the objects that it
+ * contains and in the order that they appear in its fields. {@link #walkParallel(Pio, PioVisitor, ForkJoinPool)}
+ * splits large trees between the threads of a pool, so objects are visited in no particular order and the visitor
+ * must be safe to call from many threads at once.
+ *
+ * <p>Every object in the tree is visited. Numeric vectors and matrices that are still held in packed form are unpacked
+ * when their {@link Value} is reached, in the same way as by {@link Value#getVector(int)} and
+ * {@link Value#getMatrix(int)}, so that their {@link Scalar} objects are visited and any changes to them are kept.
+ *
+ * @author Kyle Michel
+ */
+public final class PioWalker {
+
+    /**
+     * Visit an object and every object that it contains on the current thread.
+     *
+     * @param root {@link Pio} object to start from.
+     * @param visitor {@link PioVisitor} to pass each object to.
+     * @return False if the walk was stopped by the visitor, or true if it visited every object.
+     */
+    public static boolean walk(final Pio root, final PioVisitor visitor) {
+        final Deque<Pio> pending = new ArrayDeque<>();
+        final List<Pio> children = new ArrayList<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            if (!visit(pending.pop(), visitor, pending, children)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Visit an object and every object that it contains in the common fork-join pool.
+     *
+     * @param root {@link Pio} object to start from.
+     * @param visitor {@link PioVisitor} to pass each object to. This is called from many threads at once.
+     * @return False if the walk was stopped by the visitor, or true if it visited every object.
+     */
+    public static boolean walkParallel(final Pio root, final PioVisitor visitor) {
+        return walkParallel(root, visitor, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Visit an object and every object that it contains in a fork-join pool. Each task walks part of the tree on its
+     * own stack, and hands the oldest object on its stack to a new task whenever the pool is short of work, so the
+     * tree is only split as finely as the pool can use.
+     *
+     * <p>When the visitor stops the walk, objects that are being visited by other threads at that time are still
+     * finished, but no new objects are visited.
+     *
+     * @param root {@link Pio} object to start from.
+     * @param visitor {@link PioVisitor} to pass each object to. This is called from many threads at once.
+     * @param pool {@link ForkJoinPool} to run the walk in.
+     * @return False if the walk was stopped by the visitor, or true if it visited every object.
+     */
+    public static boolean walkParallel(final Pio root, final PioVisitor visitor, final ForkJoinPool pool) {
+        final AtomicBoolean stopped = new AtomicBoolean();
+        pool.invoke(new WalkTask(root, visitor, stopped));
+        return !stopped.get();
+    }
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private PioWalker() {}
+
+    /**
+     * Visit a single object and push the objects that it contains onto a stack, so that they are popped in the order
+     * that they appear in its fields.
+     *
+     * @param pio {@link Pio} object to visit.
+     * @param visitor {@link PioVisitor} to pass the object to.
+     * @param pending Stack of objects that have not been visited yet.
+     * @param children List to use while collecting the objects that are contained by the object. This is left empty.
+     * @return False if the visitor stopped the walk.
+     */
+    private static boolean visit(
+            final Pio pio, final PioVisitor visitor, final Deque<Pio> pending, final List<Pio> children) {
+        final PioVisitor.Action action = pio.accept(visitor);
+        if (action == PioVisitor.Action.STOP) {
+            return false;
+        }
+        if (action == PioVisitor.Action.CONTINUE) {
+            pio.forEachChild(children::add);
+            for (int i = children.size() - 1; i >= 0; --i) {
+                pending.push(children.get(i));
+            }
+            children.clear();
+        }
+        return true;
+    }
+
+    /** Largest number of queued tasks of the current thread for which another task is forked. */
+    private static final int SURPLUS_THRESHOLD = 2;
+
+    /**
+     * Task that walks the tree under one object, forking new tasks for parts of it while the pool is short of work.
+     *
+     * @author Kyle Michel
+     */
+    private static final class WalkTask extends RecursiveAction {
+
+        /**
+         * Constructor.
+         *
+         * @param root {@link Pio} object to start from.
+         * @param visitor {@link PioVisitor} to pass each object to.
+         * @param stopped Flag that is set once the walk has been stopped.
+         */
+        private WalkTask(final Pio root, final PioVisitor visitor, final AtomicBoolean stopped) {
+            this.root = root;
+            this.visitor = visitor;
+            this.stopped = stopped;
+        }
+
+        @Override
+        protected void compute() {
+            final Deque<Pio> pending = new ArrayDeque<>();
+            final List<Pio> children = new ArrayList<>();
+            final List<WalkTask> forked = new ArrayList<>();
+            pending.push(this.root);
+            while (!pending.isEmpty() && !this.stopped.get()) {
+                if (!visit(pending.pop(), this.visitor, pending, children)) {
+                    this.stopped.set(true);
+                }
+                else if ((pending.size() > 1) && (getSurplusQueuedTaskCount() < SURPLUS_THRESHOLD)) {
+                    final WalkTask task = new WalkTask(pending.removeLast(), this.visitor, this.stopped);
+                    task.fork();
+                    forked.add(task);
+                }
+            }
+            for (WalkTask task : forked) {
+                task.join();
+            }
+        }
+
+        private static final long serialVersionUID = 7412390551786245718L;
+
+        /** Object that the task starts from. */
+        private final Pio root;
+
+        /** Visitor to pass each object to. */
+        private final PioVisitor visitor;
+
+        /** Flag that is set once the walk has been stopped. */
+        private final AtomicBoolean stopped;
+    }
+}
@@ -14,6 +14,9 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Information about a single step in a processing pipeline.
@@ -39,6 +42,7 @@ public class ProcessStep extends Pio implements Serializable {
      */
     @JsonSetter(value = "name")
     public ProcessStep setName(final String name) {
+        checkNotFrozen();
         this.name = name;
         return this;
     }
@@ -61,6 +65,7 @@ public class ProcessStep extends Pio implements Serializable {
     @JsonSetter(value = "details")
     protected void setDetails(final List<Value> details) { // Private since only Jackson should use it
         this.details = details;
+        this.detailsByName = null;
     }
 
     /**
@@ -80,10 +85,12 @@ public class ProcessStep extends Pio implements Serializable {
      * @return This object.
      */
     public ProcessStep addDetail(final Value detail) {
+        checkNotFrozen();
         if (this.details == null) {
             this.details = new ArrayList<>();
         }
         this.details.add(detail);
+        this.detailsByName = null;
         return this;
     }
 
@@ -95,10 +102,12 @@ public class ProcessStep extends Pio implements Serializable {
      * @return This object.
      */
     public ProcessStep addDetail(final int index, final Value detail) {
+        checkNotFrozen();
         if (this.details == null) {
             this.details = new ArrayList<>();
         }
         this.details.add(index, detail);
+        this.detailsByName = null;
         return this;
     }
 
@@ -109,6 +118,8 @@ public class ProcessStep extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeDetail(final Value detail) {
+        checkNotFrozen();
+        this.detailsByName = null;
         return (this.details != null) && this.details.remove(detail);
     }
 
@@ -146,6 +157,25 @@ public class ProcessStep extends Pio implements Serializable {
         return (this.details == null) ? Collections.emptyList() : this.details;
     }
 
+    /**
+     * Get the first detail of this process step with the input name. The details are indexed by name when this is first
+     * called, and the index is rebuilt after details are added or removed, so that repeated lookups do not scan the
+     * list. Changing the name of a detail that is already in this process step is not seen until the details are next
+     * changed.
+     *
+     * @param name Name of the detail to get.
+     * @return {@link Value} object with the input name, or a null pointer if there is none.
+     */
+    @JsonIgnore
+    public Value getDetail(final String name) {
+        Map<String, Value> index = this.detailsByName;
+        if (index == null) {
+            index = indexed(this.details, Value::getName);
+            this.detailsByName = index;
+        }
+        return index.get(name);
+    }
+
     /**
      * Get the list of details of the process step.
      *
@@ -183,6 +213,7 @@ public class ProcessStep extends Pio implements Serializable {
      * @return This object.
      */
     public ProcessStep addInstrument(final Instrument instrument) {
+        checkNotFrozen();
         if (this.instruments == null) {
             this.instruments = new ArrayList<>();
         }
@@ -198,6 +229,7 @@ public class ProcessStep extends Pio implements Serializable {
      * @return This object.
      */
     public ProcessStep addInstrument(final int index, final Instrument instrument) {
+        checkNotFrozen();
         if (this.instruments == null) {
             this.instruments = new ArrayList<>();
         }
@@ -212,6 +244,7 @@ public class ProcessStep extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeInstrument(final Instrument instrument) {
+        checkNotFrozen();
         return (this.instruments != null) && this.instruments.remove(instrument);
     }
 
@@ -286,6 +319,7 @@ public class ProcessStep extends Pio implements Serializable {
      * @return This object.
      */
     public ProcessStep addSoftware(final Software software) {
+        checkNotFrozen();
         if (this.software == null) {
             this.software = new ArrayList<>();
         }
@@ -301,6 +335,7 @@ public class ProcessStep extends Pio implements Serializable {
      * @return This object.
      */
     public ProcessStep addSoftware(final int index, final Software software) {
+        checkNotFrozen();
         if (this.software == null) {
             this.software = new ArrayList<>();
         }
@@ -315,6 +350,7 @@ public class ProcessStep extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeSoftware(final Software software) {
+        checkNotFrozen();
         return (this.software != null) && this.software.remove(software);
     }
 
@@ -381,6 +417,53 @@ public class ProcessStep extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.details, consumer);
+        forEachNonNull(this.instruments, consumer);
+        forEachNonNull(this.software, consumer);
+    }
+
+    @Override
+    protected ProcessStep shallowCopy() {
+        final ProcessStep res = (ProcessStep) super.shallowCopy();
+        res.details = copied(this.details);
+        res.detailsByName = null;
+        res.instruments = copied(this.instruments);
+        res.software = copied(this.software);
+        return res;
+    }
+
+    @Override
+    protected void freezeFields() {
+        super.freezeFields();
+        this.details = unmodifiable(this.details);
+        this.instruments = unmodifiable(this.instruments);
+        this.software = unmodifiable(this.software);
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final ProcessStep processStep = (ProcessStep) other;
+        return Objects.equals(this.name, processStep.name)
+                && listsEqual(this.details, processStep.details)
+                && listsEqual(this.instruments, processStep.instruments)
+                && listsEqual(this.software, processStep.software)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.name).add(this.details).add(this.instruments).add(this.software);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -417,6 +500,9 @@ public class ProcessStep extends Pio implements Serializable {
     /** List of details of the process step. */
     private List<Value> details;
 
+    /** Index of the details of this process step by name, which is built when it is first needed. */
+    private transient volatile Map<String, Value> detailsByName;
+
     /** List of instruments used in the process step. */
     private List<Instrument> instruments;
 
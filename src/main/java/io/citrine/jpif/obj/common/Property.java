@@ -7,6 +7,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.citrine.jpif.util.LazyList;
 import io.citrine.jpif.util.PifSerializationUtil;
 
 import java.io.IOException;
@@ -15,10 +17,13 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Information about a property and conditions under which it exists.
@@ -52,6 +57,7 @@ public class Property extends Value implements Serializable {
      * @param conditions List of {@link Value} objects with the conditions for this property.
      */
     @JsonSetter(value = "conditions")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setConditions(final List<Value> conditions) { // Private since only Jackson should use it
         this.conditions = conditions;
     }
@@ -62,6 +68,7 @@ public class Property extends Value implements Serializable {
      * @param condition List of {@link Value} objects with the conditions for this property.
      */
     @JsonSetter(value = "condition")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setCondition(final List<Value> condition) { // Private since only Jackson should use it
         setConditions(condition);
     }
@@ -73,6 +80,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addCondition(final Value condition) {
+        checkNotFrozen();
         if (this.conditions == null) {
             this.conditions = new ArrayList<>();
         }
@@ -88,6 +96,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addCondition(final int index, final Value condition) {
+        checkNotFrozen();
         if (this.conditions == null) {
             this.conditions = new ArrayList<>();
         }
@@ -102,6 +111,7 @@ public class Property extends Value implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeCondition(final Value condition) {
+        checkNotFrozen();
         return (this.conditions != null) && this.conditions.remove(condition);
     }
 
@@ -145,6 +155,7 @@ public class Property extends Value implements Serializable {
      * @return List of {@link Value} objects with conditions for this property.
      */
     @JsonGetter(value = "conditions")
+    @JsonSerialize(using = LazyList.Serializer.class)
     protected List<Value> getConditions() { // Private since only Jackson should use it
         return this.conditions;
     }
@@ -191,6 +202,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addMethod(final Method method) {
+        checkNotFrozen();
         if (this.methods == null) {
             this.methods = new ArrayList<>();
         }
@@ -206,6 +218,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addMethod(final int index, final Method method) {
+        checkNotFrozen();
         if (this.methods == null) {
             this.methods = new ArrayList<>();
         }
@@ -220,6 +233,7 @@ public class Property extends Value implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeMethod(final Method method) {
+        checkNotFrozen();
         return (this.methods != null) && this.methods.remove(method);
     }
 
@@ -287,6 +301,7 @@ public class Property extends Value implements Serializable {
      */
     @JsonSetter(value = "dataType")
     public Property setDataType(final DataType dataType) {
+        checkNotFrozen();
         this.dataType = dataType;
         return this;
     }
@@ -307,6 +322,7 @@ public class Property extends Value implements Serializable {
      * @param references List of {@link Reference} objects with the references for this item.
      */
     @JsonSetter(value = "references")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setReferences(final List<Reference> references) { // Private since only Jackson should use it
         this.rcl.setReferences(references);
     }
@@ -317,6 +333,7 @@ public class Property extends Value implements Serializable {
      * @param reference List of {@link Reference} objects with the references for this item.
      */
     @JsonSetter(value = "reference")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setReference(final List<Reference> reference) { // Private since only Jackson should use it
         setReferences(reference);
     }
@@ -328,6 +345,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addReference(final Reference reference) {
+        checkNotFrozen();
         this.rcl.addReference(reference);
         return this;
     }
@@ -340,6 +358,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addReference(final int index, final Reference reference) {
+        checkNotFrozen();
         this.rcl.addReference(index, reference);
         return this;
     }
@@ -351,6 +370,7 @@ public class Property extends Value implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeReference(final Reference reference) {
+        checkNotFrozen();
         return this.rcl.removeReference(reference);
     }
 
@@ -390,6 +410,7 @@ public class Property extends Value implements Serializable {
      * @return List of {@link Reference} objects with references for this item.
      */
     @JsonGetter(value = "references")
+    @JsonSerialize(using = LazyList.Serializer.class)
     protected List<Reference> getReferences() { // Private since only Jackson should use it
         return this.rcl.getReferences();
     }
@@ -423,6 +444,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addContact(final Person contact) {
+        checkNotFrozen();
         this.rcl.addContact(contact);
         return this;
     }
@@ -435,6 +457,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addContact(final int index, final Person contact) {
+        checkNotFrozen();
         this.rcl.addContact(index, contact);
         return this;
     }
@@ -446,6 +469,7 @@ public class Property extends Value implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeContact(final Person contact) {
+        checkNotFrozen();
         return this.rcl.removeContact(contact);
     }
 
@@ -518,6 +542,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addLicense(final License license) {
+        checkNotFrozen();
         this.rcl.addLicense(license);
         return this;
     }
@@ -530,6 +555,7 @@ public class Property extends Value implements Serializable {
      * @return This object.
      */
     public Property addLicense(final int index, final License license) {
+        checkNotFrozen();
         this.rcl.addLicense(index, license);
         return this;
     }
@@ -541,6 +567,7 @@ public class Property extends Value implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeLicense(final License license) {
+        checkNotFrozen();
         return this.rcl.removeLicense(license);
     }
 
@@ -738,6 +765,61 @@ public class Property extends Value implements Serializable {
         return this;
     }
 
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.conditions, consumer);
+        forEachNonNull(this.methods, consumer);
+        this.rcl.forEachChild(consumer);
+    }
+
+    @Override
+    protected Property shallowCopy() {
+        final Property res = (Property) super.shallowCopy();
+        res.conditions = copied(this.conditions);
+        res.methods = copied(this.methods);
+        res.rcl = this.rcl.shallowCopy();
+        return res;
+    }
+
+    @Override
+    public Object mergeKey() {
+        if (getName() == null) {
+            return super.mergeKey();
+        }
+        return Arrays.asList(getName(), (this.conditions == null)
+                ? Collections.emptyList()
+                : new ArrayList<>(this.conditions));
+    }
+
+    @Override
+    protected void freezeFields() {
+        super.freezeFields();
+        this.conditions = unmodifiable(this.conditions);
+        this.methods = unmodifiable(this.methods);
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Property property = (Property) other;
+        return listsEqual(this.conditions, property.conditions)
+                && listsEqual(this.methods, property.methods)
+                && Objects.equals(this.dataType, property.dataType)
+                && Objects.equals(this.rcl, property.rcl)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.conditions).add(this.methods).add(this.dataType).add(this.rcl);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -778,7 +860,7 @@ public class Property extends Value implements Serializable {
     private DataType dataType;
 
     /** Encapsulated Rcl object. */
-    private final Rcl rcl = new Rcl();
+    private Rcl rcl = new Rcl();
 
     /**
      * Enumeration of data types.
@@ -12,6 +12,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Information about the quantity of a system. The fields ending with massPercent, volumePercent, and 
@@ -41,6 +43,7 @@ public class Quantity extends Pio implements Serializable {
     @JsonSetter(value = "actualMassPercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Quantity setActualMassPercent(final Scalar actualMassPercent) {
+        checkNotFrozen();
         this.actualMassPercent = actualMassPercent;
         return this;
     }
@@ -86,6 +89,7 @@ public class Quantity extends Pio implements Serializable {
     @JsonSetter(value = "actualVolumePercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Quantity setActualVolumePercent(final Scalar actualVolumePercent) {
+        checkNotFrozen();
         this.actualVolumePercent = actualVolumePercent;
         return this;
     }
@@ -131,6 +135,7 @@ public class Quantity extends Pio implements Serializable {
     @JsonSetter(value = "actualNumberPercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Quantity setActualNumberPercent(final Scalar actualNumberPercent) {
+        checkNotFrozen();
         this.actualNumberPercent = actualNumberPercent;
         return this;
     }
@@ -176,6 +181,7 @@ public class Quantity extends Pio implements Serializable {
     @JsonSetter(value = "idealMassPercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Quantity setIdealMassPercent(final Scalar idealMassPercent) {
+        checkNotFrozen();
         this.idealMassPercent = idealMassPercent;
         return this;
     }
@@ -221,6 +227,7 @@ public class Quantity extends Pio implements Serializable {
     @JsonSetter(value = "idealVolumePercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Quantity setIdealVolumePercent(final Scalar idealVolumePercent) {
+        checkNotFrozen();
         this.idealVolumePercent = idealVolumePercent;
         return this;
     }
@@ -266,6 +273,7 @@ public class Quantity extends Pio implements Serializable {
     @JsonSetter(value = "idealNumberPercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Quantity setIdealNumberPercent(final Scalar idealNumberPercent) {
+        checkNotFrozen();
         this.idealNumberPercent = idealNumberPercent;
         return this;
     }
@@ -321,6 +329,46 @@ public class Quantity extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.actualMassPercent, consumer);
+        forEachNonNull(this.actualVolumePercent, consumer);
+        forEachNonNull(this.actualNumberPercent, consumer);
+        forEachNonNull(this.idealMassPercent, consumer);
+        forEachNonNull(this.idealVolumePercent, consumer);
+        forEachNonNull(this.idealNumberPercent, consumer);
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Quantity quantity = (Quantity) other;
+        return Objects.equals(this.actualMassPercent, quantity.actualMassPercent)
+                && Objects.equals(this.actualVolumePercent, quantity.actualVolumePercent)
+                && Objects.equals(this.actualNumberPercent, quantity.actualNumberPercent)
+                && Objects.equals(this.idealMassPercent, quantity.idealMassPercent)
+                && Objects.equals(this.idealVolumePercent, quantity.idealVolumePercent)
+                && Objects.equals(this.idealNumberPercent, quantity.idealNumberPercent)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder
+                .add(this.actualMassPercent)
+                .add(this.actualVolumePercent)
+                .add(this.actualNumberPercent)
+                .add(this.idealMassPercent)
+                .add(this.idealVolumePercent)
+                .add(this.idealNumberPercent);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.citrine.jpif.util.LazyList;
 import io.citrine.jpif.util.PifSerializationUtil;
 
 import java.io.IOException;
@@ -15,6 +17,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Class used as a base for objects that contain a reference, contact, and license.
@@ -29,6 +32,7 @@ public class Rcl extends Pio implements Serializable {
      * @param references List of {@link Reference} objects with the references for this item.
      */
     @JsonSetter(value = "references")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setReferences(final List<Reference> references) { // Protected since only Jackson should use it
         this.references = references;
     }
@@ -39,6 +43,7 @@ public class Rcl extends Pio implements Serializable {
      * @param reference List of {@link Reference} objects with the references for this item.
      */
     @JsonSetter(value = "reference")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setReference(final List<Reference> reference) { // Protected since only Jackson should use it
         setReferences(reference);
     }
@@ -50,6 +55,7 @@ public class Rcl extends Pio implements Serializable {
      * @return This object.
      */
     public Rcl addReference(final Reference reference) {
+        checkNotFrozen();
         if (this.references == null) {
             this.references = new ArrayList<>();
         }
@@ -65,6 +71,7 @@ public class Rcl extends Pio implements Serializable {
      * @return This object.
      */
     public Rcl addReference(final int index, final Reference reference) {
+        checkNotFrozen();
         if (this.references == null) {
             this.references = new ArrayList<>();
         }
@@ -79,6 +86,7 @@ public class Rcl extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeReference(final Reference reference) {
+        checkNotFrozen();
         return (this.references != null) && this.references.remove(reference);
     }
 
@@ -122,6 +130,7 @@ public class Rcl extends Pio implements Serializable {
      * @return List of {@link Reference} objects with references for this item.
      */
     @JsonGetter(value = "references")
+    @JsonSerialize(using = LazyList.Serializer.class)
     protected List<Reference> getReferences() { // Protected since only Jackson should use it
         return this.references;
     }
@@ -155,6 +164,7 @@ public class Rcl extends Pio implements Serializable {
      * @return This object.
      */
     public Rcl addContact(final Person contact) {
+        checkNotFrozen();
         if (this.contacts == null) {
             this.contacts = new ArrayList<>();
         }
@@ -170,6 +180,7 @@ public class Rcl extends Pio implements Serializable {
      * @return This object.
      */
     public Rcl addContact(final int index, final Person contact) {
+        checkNotFrozen();
         if (this.contacts == null) {
             this.contacts = new ArrayList<>();
         }
@@ -184,6 +195,7 @@ public class Rcl extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeContact(final Person contact) {
+        checkNotFrozen();
         return (this.contacts != null) && this.contacts.remove(contact);
     }
 
@@ -260,6 +272,7 @@ public class Rcl extends Pio implements Serializable {
      * @return This object.
      */
     public Rcl addLicense(final License license) {
+        checkNotFrozen();
         if (this.licenses == null) {
             this.licenses = new ArrayList<>();
         }
@@ -275,6 +288,7 @@ public class Rcl extends Pio implements Serializable {
      * @return This object.
      */
     public Rcl addLicense(final int index, final License license) {
+        checkNotFrozen();
         if (this.licenses == null) {
             this.licenses = new ArrayList<>();
         }
@@ -289,6 +303,7 @@ public class Rcl extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeLicense(final License license) {
+        checkNotFrozen();
         return (this.licenses != null) && this.licenses.remove(license);
     }
 
@@ -356,6 +371,60 @@ public class Rcl extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    protected Rcl reset() {
+        super.reset();
+        this.references = emptied(this.references);
+        this.contacts = emptied(this.contacts);
+        this.licenses = emptied(this.licenses);
+        return this;
+    }
+
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.references, consumer);
+        forEachNonNull(this.contacts, consumer);
+        forEachNonNull(this.licenses, consumer);
+    }
+
+    @Override
+    protected Rcl shallowCopy() {
+        final Rcl res = (Rcl) super.shallowCopy();
+        res.references = copied(this.references);
+        res.contacts = copied(this.contacts);
+        res.licenses = copied(this.licenses);
+        return res;
+    }
+
+    @Override
+    protected void freezeFields() {
+        super.freezeFields();
+        this.references = unmodifiable(this.references);
+        this.contacts = unmodifiable(this.contacts);
+        this.licenses = unmodifiable(this.licenses);
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Rcl rcl = (Rcl) other;
+        return listsEqual(this.references, rcl.references)
+                && listsEqual(this.contacts, rcl.contacts)
+                && listsEqual(this.licenses, rcl.licenses)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.references).add(this.contacts).add(this.licenses);
+    }
+
     /**
      * Write this object to the output output stream.
      *
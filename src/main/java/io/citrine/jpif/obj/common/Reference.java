@@ -15,6 +15,8 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Information about a referenced publication.
@@ -54,6 +56,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "doi")
     public Reference setDoi(final String doi) {
+        checkNotFrozen();
         this.doi = doi;
         return this;
     }
@@ -76,6 +79,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "isbn")
     public Reference setIsbn(final String isbn) {
+        checkNotFrozen();
         this.isbn = isbn;
         return this;
     }
@@ -98,6 +102,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "issn")
     public Reference setIssn(final String issn) {
+        checkNotFrozen();
         this.issn = issn;
         return this;
     }
@@ -120,6 +125,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "url")
     public Reference setUrl(final String url) {
+        checkNotFrozen();
         this.url = url;
         return this;
     }
@@ -142,6 +148,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "title")
     public Reference setTitle(final String title) {
+        checkNotFrozen();
         this.title = title;
         return this;
     }
@@ -164,6 +171,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "publisher")
     public Reference setPublisher(final String publisher) {
+        checkNotFrozen();
         this.publisher = publisher;
         return this;
     }
@@ -186,6 +194,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "journal")
     public Reference setJournal(final String journal) {
+        checkNotFrozen();
         this.journal = journal;
         return this;
     }
@@ -208,6 +217,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "volume")
     public Reference setVolume(final String volume) {
+        checkNotFrozen();
         this.volume = volume;
         return this;
     }
@@ -230,6 +240,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "issue")
     public Reference setIssue(final String issue) {
+        checkNotFrozen();
         this.issue = issue;
         return this;
     }
@@ -252,6 +263,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "year")
     public Reference setYear(final String year) {
+        checkNotFrozen();
         this.year = year;
         return this;
     }
@@ -274,6 +286,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "figure")
     public Reference setFigure(final DisplayItem figure) {
+        checkNotFrozen();
         this.figure = figure;
         return this;
     }
@@ -296,6 +309,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "table")
     public Reference setTable(final DisplayItem table) {
+        checkNotFrozen();
         this.table = table;
         return this;
     }
@@ -319,6 +333,7 @@ public class Reference extends Pio implements Serializable {
     @JsonSetter(value = "pages")
     @JsonDeserialize(using = Pages.Deserializer.class)
     public Reference setPages(final Pages pages) {
+        checkNotFrozen();
         this.pages = pages;
         return this;
     }
@@ -341,6 +356,7 @@ public class Reference extends Pio implements Serializable {
     @JsonSetter(value = "authors")
     @JsonDeserialize(contentUsing = Name.Deserializer.class)
     protected void setAuthors(final List<Name> authors) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.authors = authors;
     }
 
@@ -362,6 +378,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addAuthor(final Name author) {
+        checkNotFrozen();
         if (this.authors == null) {
             this.authors = new ArrayList<>();
         }
@@ -377,6 +394,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addAuthor(final int index, final Name author) {
+        checkNotFrozen();
         if (this.authors == null) {
             this.authors = new ArrayList<>();
         }
@@ -391,6 +409,7 @@ public class Reference extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeAuthor(final Name author) {
+        checkNotFrozen();
         return (this.authors != null) && this.authors.remove(author);
     }
 
@@ -445,6 +464,7 @@ public class Reference extends Pio implements Serializable {
     @JsonSetter(value = "editors")
     @JsonDeserialize(contentUsing = Name.Deserializer.class)
     protected void setEditors(final List<Name> editors) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.editors = editors;
     }
 
@@ -466,6 +486,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addEditor(final Name editor) {
+        checkNotFrozen();
         if (this.editors == null) {
             this.editors = new ArrayList<>();
         }
@@ -481,6 +502,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addEditor(final int index, final Name editor) {
+        checkNotFrozen();
         if (this.editors == null) {
             this.editors = new ArrayList<>();
         }
@@ -495,6 +517,7 @@ public class Reference extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeEditor(final Name editor) {
+        checkNotFrozen();
         return (this.editors != null) && this.editors.remove(editor);
     }
 
@@ -548,6 +571,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "affiliations")
     protected void setAffiliations(final List<String> affiliations) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.affiliations = affiliations;
     }
 
@@ -568,6 +592,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addAffiliation(final String affiliation) {
+        checkNotFrozen();
         if (this.affiliations == null) {
             this.affiliations = new ArrayList<>();
         }
@@ -583,6 +608,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addAffiliation(final int index, final String affiliation) {
+        checkNotFrozen();
         if (this.affiliations == null) {
             this.affiliations = new ArrayList<>();
         }
@@ -597,6 +623,7 @@ public class Reference extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeAffiliation(final String affiliation) {
+        checkNotFrozen();
         return (this.affiliations != null) && this.affiliations.remove(affiliation);
     }
 
@@ -651,6 +678,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "acknowledgements")
     protected void setAcknowledgements(final List<String> acknowledgements) { // Private only Jackson should use it
+        checkNotFrozen();
         this.acknowledgements = acknowledgements;
     }
 
@@ -671,6 +699,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addAcknowledgement(final String acknowledgement) {
+        checkNotFrozen();
         if (this.acknowledgements == null) {
             this.acknowledgements = new ArrayList<>();
         }
@@ -686,6 +715,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addAcknowledgement(final int index, final String acknowledgement) {
+        checkNotFrozen();
         if (this.acknowledgements == null) {
             this.acknowledgements = new ArrayList<>();
         }
@@ -700,6 +730,7 @@ public class Reference extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeAcknowledgement(final String acknowledgement) {
+        checkNotFrozen();
         return (this.acknowledgements != null) && this.acknowledgements.remove(acknowledgement);
     }
 
@@ -754,6 +785,7 @@ public class Reference extends Pio implements Serializable {
      */
     @JsonSetter(value = "references")
     protected void setReferences(final List<Reference> references) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.references = references;
     }
 
@@ -774,6 +806,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addReference(final Reference reference) {
+        checkNotFrozen();
         if (this.references == null) {
             this.references = new ArrayList<>();
         }
@@ -789,6 +822,7 @@ public class Reference extends Pio implements Serializable {
      * @return This object.
      */
     public Reference addReference(final int index, final Reference reference) {
+        checkNotFrozen();
         if (this.references == null) {
             this.references = new ArrayList<>();
         }
@@ -803,6 +837,7 @@ public class Reference extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeReference(final Reference reference) {
+        checkNotFrozen();
         return (this.references != null) && this.references.remove(reference);
     }
 
@@ -869,6 +904,91 @@ public class Reference extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.figure, consumer);
+        forEachNonNull(this.table, consumer);
+        forEachNonNull(this.pages, consumer);
+        forEachNonNull(this.authors, consumer);
+        forEachNonNull(this.editors, consumer);
+        forEachNonNull(this.references, consumer);
+    }
+
+    @Override
+    protected Reference shallowCopy() {
+        final Reference res = (Reference) super.shallowCopy();
+        res.authors = copied(this.authors);
+        res.editors = copied(this.editors);
+        res.affiliations = copied(this.affiliations);
+        res.acknowledgements = copied(this.acknowledgements);
+        res.references = copied(this.references);
+        return res;
+    }
+
+    @Override
+    protected void freezeFields() {
+        super.freezeFields();
+        this.authors = unmodifiable(this.authors);
+        this.editors = unmodifiable(this.editors);
+        this.affiliations = unmodifiable(this.affiliations);
+        this.acknowledgements = unmodifiable(this.acknowledgements);
+        this.references = unmodifiable(this.references);
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Reference reference = (Reference) other;
+        return Objects.equals(this.doi, reference.doi)
+                && Objects.equals(this.isbn, reference.isbn)
+                && Objects.equals(this.issn, reference.issn)
+                && Objects.equals(this.url, reference.url)
+                && Objects.equals(this.title, reference.title)
+                && Objects.equals(this.publisher, reference.publisher)
+                && Objects.equals(this.journal, reference.journal)
+                && Objects.equals(this.volume, reference.volume)
+                && Objects.equals(this.issue, reference.issue)
+                && Objects.equals(this.year, reference.year)
+                && Objects.equals(this.figure, reference.figure)
+                && Objects.equals(this.table, reference.table)
+                && Objects.equals(this.pages, reference.pages)
+                && listsEqual(this.authors, reference.authors)
+                && listsEqual(this.editors, reference.editors)
+                && listsEqual(this.affiliations, reference.affiliations)
+                && listsEqual(this.acknowledgements, reference.acknowledgements)
+                && listsEqual(this.references, reference.references)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder
+                .add(this.doi)
+                .add(this.isbn)
+                .add(this.issn)
+                .add(this.url)
+                .add(this.title)
+                .add(this.publisher)
+                .add(this.journal)
+                .add(this.volume)
+                .add(this.issue)
+                .add(this.year)
+                .add(this.figure)
+                .add(this.table)
+                .add(this.pages)
+                .add(this.authors)
+                .add(this.editors)
+                .add(this.affiliations)
+                .add(this.acknowledgements)
+                .add(this.references);
+    }
+
     /**
      * Write this object to the output output stream.
      *
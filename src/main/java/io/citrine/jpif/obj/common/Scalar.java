@@ -2,13 +2,14 @@ package io.citrine.jpif.obj.common;
 
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import io.citrine.jpif.util.PifObjectMapper;
 import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.ReadMode;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -16,6 +17,7 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -47,18 +49,72 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonSetter(value = "value")
     public Scalar setValue(final String value) {
+        checkNotFrozen();
+        decompose();
         this.value = value;
+        this.numericState = UNPARSED;
         return this;
     }
 
     /**
-     * Get the exact value.
+     * Get the exact value. If this object was created from a number using {@link #valueOf(Number)} then the string is
+     * generated on each call.
      *
      * @return String with the exact value.
      */
     @JsonGetter(value = "value")
     public String getValue() {
-        return this.value;
+        decompose();
+        final byte state = this.numericState;
+        return (state >= COMPACT_LONG) ? formatPacked(this.numericValue, state) : this.value;
+    }
+
+    /**
+     * Get whether the exact value is a number. The result of parsing the value is cached until the value is changed.
+     *
+     * @return True if the exact value is set and can be parsed as a number.
+     */
+    public boolean hasNumericValue() {
+        return parseNumericValue() != NOT_NUMERIC;
+    }
+
+    /**
+     * Get the exact value as a double. The result of parsing the value is cached until the value is changed.
+     *
+     * @return Exact value as a double.
+     * @throws NumberFormatException if the exact value is not set or is not a number.
+     */
+    @JsonIgnore
+    public double getValueAsDouble() {
+        if (parseNumericValue() == NOT_NUMERIC) {
+            throw new NumberFormatException("Value is not numeric: " + this.value);
+        }
+        return this.numericValue;
+    }
+
+    /**
+     * Parse the exact value as a number if that has not already been done.
+     *
+     * @return State of the numeric value after parsing.
+     */
+    private byte parseNumericValue() {
+        decompose();
+        final byte state = this.numericState;
+        if (state != UNPARSED) {
+            return state;
+        }
+        if ((this.value == null) || this.value.isEmpty()) {
+            this.numericState = NOT_NUMERIC;
+            return NOT_NUMERIC;
+        }
+        try {
+            this.numericValue = Double.parseDouble(this.value);
+            this.numericState = PARSED;
+        }
+        catch (NumberFormatException e) {
+            this.numericState = NOT_NUMERIC;
+        }
+        return this.numericState;
     }
 
     /**
@@ -69,6 +125,8 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonSetter(value = "minimum")
     public Scalar setMinimum(final String minimum) {
+        checkNotFrozen();
+        decompose();
         this.minimum = minimum;
         return this;
     }
@@ -80,6 +138,7 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonGetter(value = "minimum")
     public String getMinimum() {
+        decompose();
         return this.minimum;
     }
 
@@ -91,6 +150,8 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonSetter(value = "inclusiveMinimum")
     public Scalar setInclusiveMinimum(final Boolean inclusiveMinimum) {
+        checkNotFrozen();
+        decompose();
         this.inclusiveMinimum = inclusiveMinimum;
         return this;
     }
@@ -102,6 +163,7 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonGetter(value = "inclusiveMinimum")
     protected Boolean getInclusiveMinimum() { // Private since only Jackson should use it
+        decompose();
         return this.inclusiveMinimum;
     }
 
@@ -112,6 +174,7 @@ public class Scalar extends Pio implements Serializable {
      * @return True only if the minimum is inclusive.
      */
     public boolean isInclusiveMinimum() {
+        decompose();
         return (this.inclusiveMinimum == null) ? false : this.inclusiveMinimum;
     }
 
@@ -123,6 +186,8 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonSetter(value = "maximum")
     public Scalar setMaximum(final String maximum) {
+        checkNotFrozen();
+        decompose();
         this.maximum = maximum;
         return this;
     }
@@ -134,6 +199,7 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonGetter(value = "maximum")
     public String getMaximum() {
+        decompose();
         return this.maximum;
     }
 
@@ -145,6 +211,8 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonSetter(value = "inclusiveMaximum")
     public Scalar setInclusiveMaximum(final Boolean inclusiveMaximum) {
+        checkNotFrozen();
+        decompose();
         this.inclusiveMaximum = inclusiveMaximum;
         return this;
     }
@@ -156,6 +224,7 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonGetter(value = "inclusiveMaximum")
     protected Boolean getInclusiveMaximum() { // Private since only Jackson should use it
+        decompose();
         return this.inclusiveMaximum;
     }
 
@@ -166,6 +235,7 @@ public class Scalar extends Pio implements Serializable {
      * @return True only if the maximum is inclusive.
      */
     public boolean isInclusiveMaximum() {
+        decompose();
         return (this.inclusiveMaximum == null) ? false : this.inclusiveMaximum;
     }
 
@@ -177,6 +247,8 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonSetter(value = "uncertainty")
     public Scalar setUncertainty(final String uncertainty) {
+        checkNotFrozen();
+        decompose();
         this.uncertainty = uncertainty;
         return this;
     }
@@ -188,6 +260,7 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonGetter(value = "uncertainty")
     public String getUncertainty() {
+        decompose();
         return this.uncertainty;
     }
 
@@ -199,6 +272,8 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonSetter(value = "approximate")
     public Scalar setApproximate(final Boolean approximate) {
+        checkNotFrozen();
+        decompose();
         this.approximate = approximate;
         return this;
     }
@@ -210,6 +285,7 @@ public class Scalar extends Pio implements Serializable {
      */
     @JsonGetter(value = "approximate")
     protected Boolean getApproximate() { // Private since only Jackson should use it
+        decompose();
         return this.approximate;
     }
 
@@ -219,6 +295,7 @@ public class Scalar extends Pio implements Serializable {
      * @return True only if the value is approximate.
      */
     public boolean isApproximate() {
+        decompose();
         return (this.approximate == null) ? false : this.approximate;
     }
 
@@ -253,10 +330,11 @@ public class Scalar extends Pio implements Serializable {
      * @return String with the value of this object in (latex) notation.
      */
     public String toString(final boolean useLatex) {
-        if ((this.value != null) && (this.value.length() > 0)) {
+        final String value = getValue();
+        if ((value != null) && (value.length() > 0)) {
             return (this.uncertainty != null)
-                    ? approximate() + this.value + plusMinus(useLatex) + this.uncertainty
-                    : approximate() + this.value;
+                    ? approximate() + value + plusMinus(useLatex) + this.uncertainty
+                    : approximate() + value;
         }
         else if ((this.minimum != null) && (this.minimum.length() > 0)
                 && (this.maximum != null) && (this.maximum.length() > 0)) {
@@ -339,13 +417,130 @@ public class Scalar extends Pio implements Serializable {
     /**
      * Save the input number as a value. This saves the number in the "value" field.
      *
+     * <p>Doubles, floats, and integers that can be exactly represented as a double are stored as a primitive double
+     * rather than a string. The string form, which is the same as the result of {@link Number#toString()}, is only
+     * generated when {@link #getValue()} is called, for example when the object is serialized.
+     *
      * @param input Number with the input value to save.
      * @return New {@link Scalar} object with the input number.
      */
     public static Scalar valueOf(final Number input) {
-        return (input == null)
-                ? null
-                : new Scalar().setValue(input.toString());
+        if (input == null) {
+            return null;
+        }
+        final Scalar res = new Scalar();
+        if (input instanceof Double) {
+            res.setCompactValue(input.doubleValue(), COMPACT_DOUBLE);
+        }
+        else if (input instanceof Float) {
+            res.setCompactValue(input.doubleValue(), COMPACT_FLOAT);
+        }
+        else if (((input instanceof Integer) || (input instanceof Long) || (input instanceof Short)
+                || (input instanceof Byte)) && (Math.abs(input.longValue()) <= MAX_EXACT_LONG)) {
+            res.setCompactValue(input.longValue(), COMPACT_LONG);
+        }
+        else {
+            res.setValue(input.toString());
+        }
+        return res;
+    }
+
+    /**
+     * Get the format with which the exact value of this object can be stored in a packed vector. This is only
+     * possible if the object has no fields other than the exact value and uncertainty, and both of those can be
+     * regenerated exactly from a double.
+     *
+     * @return Compact state with which to format the exact value, or {@link #NOT_NUMERIC} if this object cannot be
+     *     packed.
+     */
+    byte getPackedFormat() {
+        decompose();
+        if ((this.minimum != null) || (this.maximum != null) || (this.inclusiveMinimum != null)
+                || (this.inclusiveMaximum != null) || (this.approximate != null)
+                || (numTags() > 0) || (numUnsupportedFields() > 0)
+                || ((this.uncertainty != null) && (packedFormatOf(this.uncertainty) == NOT_NUMERIC))) {
+            return NOT_NUMERIC;
+        }
+        final byte state = parseNumericValue();
+        if (state >= COMPACT_LONG) {
+            return state;
+        }
+        return (state == PARSED) ? packedFormatOf(this.value, this.numericValue) : NOT_NUMERIC;
+    }
+
+    /**
+     * Get the format with which the input string can be stored as a double and regenerated exactly.
+     *
+     * @param string String to check.
+     * @return Compact state with which to format the number, or {@link #NOT_NUMERIC} if the string cannot be
+     *     regenerated from a double.
+     */
+    static byte packedFormatOf(final String string) {
+        try {
+            return packedFormatOf(string, Double.parseDouble(string));
+        }
+        catch (NumberFormatException e) {
+            return NOT_NUMERIC;
+        }
+    }
+
+    /**
+     * Get the format with which the input number can be converted back to the input string.
+     *
+     * @param string String that the number was parsed from.
+     * @param number Number that was parsed from the string.
+     * @return Compact state with which to format the number, or {@link #NOT_NUMERIC} if no format regenerates the
+     *     string exactly.
+     */
+    private static byte packedFormatOf(final String string, final double number) {
+        if ((number == Math.rint(number)) && (Math.abs(number) <= MAX_EXACT_LONG)
+                && Long.toString((long) number).equals(string)) {
+            return COMPACT_LONG;
+        }
+        return Double.toString(number).equals(string) ? COMPACT_DOUBLE : NOT_NUMERIC;
+    }
+
+    /**
+     * Convert a number that was stored in compact form to a string.
+     *
+     * @param number Number to convert.
+     * @param format Compact state that determines how the number is converted.
+     * @return String form of the number.
+     */
+    static String formatPacked(final double number, final byte format) {
+        switch (format) {
+            case COMPACT_LONG:
+                return Long.toString((long) number);
+            case COMPACT_FLOAT:
+                return Float.toString((float) number);
+            default:
+                return Double.toString(number);
+        }
+    }
+
+    /**
+     * Create a new object with a number that was stored in compact form as its exact value.
+     *
+     * @param number Number to save.
+     * @param format Compact state that determines how the number is converted to a string.
+     * @return New {@link Scalar} object.
+     */
+    static Scalar ofPacked(final double number, final byte format) {
+        final Scalar res = new Scalar();
+        res.setCompactValue(number, format);
+        return res;
+    }
+
+    /**
+     * Save a number as the exact value without generating its string form.
+     *
+     * @param numericValue Number to save.
+     * @param numericState One of the compact states that determines how the number is converted to a string.
+     */
+    private void setCompactValue(final double numericValue, final byte numericState) {
+        this.value = null;
+        this.numericValue = numericValue;
+        this.numericState = numericState;
     }
 
     /**
@@ -361,27 +556,16 @@ public class Scalar extends Pio implements Serializable {
     }
 
     /**
-     * Break apart the input string into value, minimum, maximum, and uncertainty.
+     * Break apart the input string into value, minimum, maximum, and uncertainty. The string is read in a single pass
+     * that accepts the same forms as {@link #isStringApproximate(String)} followed by {@link #asPlusMinus(String)},
+     * {@link #asParentheses(String)}, {@link #asBoundedRange(String)}, {@link #asMinimum(String)},
+     * {@link #asInclusiveMinimum(String)}, {@link #asMaximum(String)} and {@link #asInclusiveMaximum(String)}.
      *
      * @param input String to save.
      * @return New {@link Scalar} object with the input string decomposed.
      */
-    protected static Scalar decomposeString(String input) {
-        Scalar res;
-        Boolean isAppoximate;
-        if ((isAppoximate = isStringApproximate(input)) == Boolean.TRUE) {
-            input = input.replace("~", "");
-        }
-        if (((res = asPlusMinus(input)) != null)
-                || ((res = asParentheses(input)) != null)
-                || ((res = asBoundedRange(input)) != null)
-                || ((res = asMinimum(input)) != null)
-                || ((res = asInclusiveMinimum(input)) != null)
-                || ((res = asMaximum(input)) != null)
-                || ((res = asInclusiveMaximum(input)) != null)) {
-            return res.setApproximate(isAppoximate);
-        }
-        return new Scalar().setValue(input).setApproximate(isAppoximate);
+    protected static Scalar decomposeString(final String input) {
+        return ScalarLexer.decompose(input);
     }
 
     /**
@@ -418,38 +602,50 @@ public class Scalar extends Pio implements Serializable {
      */
     protected static Scalar asParentheses(final String input) {
         final Matcher matcher = PARENTHESES_UNCERTAINTY_PATTERN.matcher(input);
-        if (matcher.matches()) {
-            try {
-
-                // Figure out whether the base string, X in X(Y), contains a decimal
-                final String base = matcher.group(1);
-                String uncertainty = matcher.group(2);
-                final int baseDecimalIndex = base.indexOf(".");
-
-                // If the base string has a decimal then pad the uncertainty
-                if (baseDecimalIndex != -1) {
-
-                    // Determine the magnitude of the uncertainty
-                    int uncertaintyLength = uncertainty.length();
-                    if (uncertainty.contains(".")) {
-                        uncertaintyLength -= uncertainty.indexOf('.') + 1;
-                    }
-
-                    // Generate uncertainty string
-                    final int numToPad = (base.length() - baseDecimalIndex - 1) - uncertaintyLength;
-                    final char[] padding = new char[numToPad];
-                    Arrays.fill(padding, '0');
-                    uncertainty = "0." + String.valueOf(padding) + uncertainty.replace(".", "");
+        return matcher.matches()
+                ? withParenthesesUncertainty(matcher.group(1), matcher.group(2))
+                : null;
+    }
+
+    /**
+     * Build a scalar from a value and an uncertainty that was inside of parentheses after it, e.g. 1.051 and 13 from
+     * 1.051(13). The uncertainty applies to the last digits of the value, so it is padded to the same number of
+     * decimal places.
+     *
+     * @param base String with the value.
+     * @param uncertainty String with the uncertainty inside of the parentheses.
+     * @return New {@link Scalar} object or a null pointer if the uncertainty has more decimal places than the value.
+     */
+    static Scalar withParenthesesUncertainty(final String base, final String uncertainty) {
+        try {
+
+            // Figure out whether the base string, X in X(Y), contains a decimal
+            String paddedUncertainty = uncertainty;
+            final int baseDecimalIndex = base.indexOf(".");
+
+            // If the base string has a decimal then pad the uncertainty
+            if (baseDecimalIndex != -1) {
+
+                // Determine the magnitude of the uncertainty
+                int uncertaintyLength = uncertainty.length();
+                if (uncertainty.contains(".")) {
+                    uncertaintyLength -= uncertainty.indexOf('.') + 1;
                 }
 
-                // Return the base value and uncertainty
-                return new Scalar()
-                        .setValue(base)
-                        .setUncertainty(uncertainty);
-            }
-            catch (Exception e) {
-                // Ignore this exception and just return that the string did not fit the correct format
+                // Generate uncertainty string
+                final int numToPad = (base.length() - baseDecimalIndex - 1) - uncertaintyLength;
+                final char[] padding = new char[numToPad];
+                Arrays.fill(padding, '0');
+                paddedUncertainty = "0." + String.valueOf(padding) + uncertainty.replace(".", "");
             }
+
+            // Return the base value and uncertainty
+            return new Scalar()
+                    .setValue(base)
+                    .setUncertainty(paddedUncertainty);
+        }
+        catch (Exception e) {
+            // Ignore this exception and just return that the string did not fit the correct format
         }
         return null;
     }
@@ -530,6 +726,90 @@ public class Scalar extends Pio implements Serializable {
         return null;
     }
 
+    /**
+     * Create a new object that holds the input string and only breaks it apart into value, minimum, maximum, and
+     * uncertainty when one of those fields is first used. Until then the object is written as the original string.
+     *
+     * @param input String to save.
+     * @return New {@link Scalar} object that holds the input string.
+     */
+    public static Scalar deferredValueOf(final String input) {
+        if (input == null) {
+            return null;
+        }
+        final Scalar res = new Scalar();
+        res.deferred = input;
+        return res;
+    }
+
+    /**
+     * Break apart the string that this object was created from with {@link #deferredValueOf(String)}, if that has not
+     * been done yet.
+     */
+    private void decompose() {
+        final String input = this.deferred;
+        if (input != null) {
+            final Scalar decomposed = decomposeString(input);
+            this.value = decomposed.value;
+            this.minimum = decomposed.minimum;
+            this.inclusiveMinimum = decomposed.inclusiveMinimum;
+            this.maximum = decomposed.maximum;
+            this.inclusiveMaximum = decomposed.inclusiveMaximum;
+            this.uncertainty = decomposed.uncertainty;
+            this.approximate = decomposed.approximate;
+            this.deferred = null;
+        }
+    }
+
+    @Override
+    protected String deferredString() {
+        return this.deferred;
+    }
+
+    @Override
+    protected void freezeFields() {
+        decompose();
+        super.freezeFields();
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Scalar scalar = (Scalar) other;
+        decompose();
+        scalar.decompose();
+        final byte state = this.numericState;
+        final boolean sameValue = ((state >= COMPACT_LONG) && (state == scalar.numericState))
+                ? (Double.doubleToLongBits(this.numericValue) == Double.doubleToLongBits(scalar.numericValue))
+                : Objects.equals(getValue(), scalar.getValue());
+        return sameValue
+                && Objects.equals(this.minimum, scalar.minimum)
+                && Objects.equals(this.inclusiveMinimum, scalar.inclusiveMinimum)
+                && Objects.equals(this.maximum, scalar.maximum)
+                && Objects.equals(this.inclusiveMaximum, scalar.inclusiveMaximum)
+                && Objects.equals(this.uncertainty, scalar.uncertainty)
+                && Objects.equals(this.approximate, scalar.approximate)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        decompose();
+        builder
+                .add(getValue())
+                .add(this.minimum)
+                .add(this.inclusiveMinimum)
+                .add(this.maximum)
+                .add(this.inclusiveMaximum)
+                .add(this.uncertainty)
+                .add(this.approximate);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -560,9 +840,15 @@ public class Scalar extends Pio implements Serializable {
 
     private static final long serialVersionUID = 1864379853129479835L;
 
-    /** Exact value. */
+    /** Exact value. This is null if the value is stored in compact form in {@link #numericValue}. */
     private String value;
 
+    /** Exact value as a number. This is only valid if {@link #numericState} is not unparsed or not numeric. */
+    private transient double numericValue;
+
+    /** State of {@link #numericValue}. */
+    private transient volatile byte numericState;
+
     /** Minimum of the value. */
     private String minimum;
 
@@ -581,6 +867,30 @@ public class Scalar extends Pio implements Serializable {
     /** Whether the value is approximate. */
     private Boolean approximate;
 
+    /** String that has not been broken apart into the other fields yet, or null once it has been. */
+    private String deferred;
+
+    /** State where the value has not been parsed as a number. */
+    private static final byte UNPARSED = 0;
+
+    /** State where the value is not a number. This is also used for values that cannot be packed. */
+    static final byte NOT_NUMERIC = 1;
+
+    /** State where the value is a string that was successfully parsed as a number. */
+    private static final byte PARSED = 2;
+
+    /** State where the value is stored in compact form as an integer. */
+    private static final byte COMPACT_LONG = 3;
+
+    /** State where the value is stored in compact form as a float. */
+    private static final byte COMPACT_FLOAT = 4;
+
+    /** State where the value is stored in compact form as a double. */
+    private static final byte COMPACT_DOUBLE = 5;
+
+    /** Largest integer for which it and all smaller integers can be exactly represented as a double. */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
     /** Regular expression to match a digit. */
     private static final String DIGITS_REGEX = "(?:\\p{Digit}+)";
 
@@ -664,12 +974,14 @@ public class Scalar extends Pio implements Serializable {
             final JsonToken jsonToken = jsonParser.getCurrentToken();
             switch (jsonToken) {
                 case VALUE_STRING:
-                    return Scalar.valueOf(jsonParser.getValueAsString());
+                    return (ReadMode.of(deserializationContext) == ReadMode.LAZY)
+                            ? Scalar.deferredValueOf(jsonParser.getValueAsString())
+                            : Scalar.valueOf(jsonParser.getValueAsString());
                 case VALUE_NUMBER_INT:
                 case VALUE_NUMBER_FLOAT:
                     return Scalar.valueOf(jsonParser.getNumberValue());
                 case START_OBJECT:
-                    return PifObjectMapper.getInstance().readValue(jsonParser, Scalar.class);
+                    return deserializationContext.readValue(jsonParser, Scalar.class);
                 case VALUE_TRUE:
                     return Scalar.valueOf("True");
                 case VALUE_FALSE:
@@ -0,0 +1,414 @@
+package io.citrine.jpif.obj.common;
+
+/**
+ * Scanner that breaks a string into the value, bounds and uncertainty of a {@link Scalar} in a single pass. It accepts
+ * exactly the strings that are matched by the patterns of {@link Scalar}: a number with a +- uncertainty or an
+ * uncertainty in parentheses, a range between two numbers, or a number after one of the minimum and maximum
+ * operators. Any other string is saved as the value. Numbers have the syntax of {@link Double#valueOf(String)}.
+ *
+ * <p>A number is followed in each of these forms by a character that cannot continue a number, so the longest number
+ * at each position is the only one that can take part in a match and the scanner never needs to back up.
+ *
+ * @author Kyle Michel
+ */
+final class ScalarLexer {
+
+    /**
+     * Break apart the input string into value, minimum, maximum, and uncertainty. If the string contains ~ followed by
+     * a number then the scalar is approximate, and every ~ is removed from the string before it is broken apart.
+     *
+     * @param input String to break apart.
+     * @return New {@link Scalar} object with the input string decomposed.
+     */
+    static Scalar decompose(final String input) {
+        final boolean approximate = isApproximate(input);
+        final String text = approximate ? input.replace("~", "") : input;
+        final Scalar res = split(text);
+        return ((res == null) ? new Scalar().setValue(text) : res).setApproximate(approximate ? Boolean.TRUE : null);
+    }
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private ScalarLexer() {}
+
+    /**
+     * Determine whether a string contains ~ followed by a number, optionally with whitespace between them.
+     *
+     * @param input String to check.
+     * @return True if the input string represents an approximate value.
+     */
+    private static boolean isApproximate(final String input) {
+        for (int i = input.indexOf('~'); i >= 0; i = input.indexOf('~', i + 1)) {
+            if (scanNumber(input, skipWhitespace(input, i + 1)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Break a string into the fields of a scalar.
+     *
+     * @param text String to break apart.
+     * @return New {@link Scalar} object, or a null pointer if the string only holds a value.
+     */
+    private static Scalar split(final String text) {
+        final int start = skipWhitespace(text, 0);
+        if (start == text.length()) {
+            return null;
+        }
+        final char first = text.charAt(start);
+        switch (first) {
+            case '>':
+            case '<':
+                final boolean inclusive = startsWith(text, start + 1, '=');
+                return bounded(text, inclusive ? start + 2 : start + 1, (first == '>') ? MINIMUM : MAXIMUM, inclusive);
+            case '≥':
+                return bounded(text, start + 1, MINIMUM, true);
+            case '≤':
+                return bounded(text, start + 1, MAXIMUM, true);
+            case '$':
+            case '\\':
+                return latexBounded(text, start);
+            default:
+                return withSecondNumber(text, start);
+        }
+    }
+
+    /**
+     * Break a string that starts with a minimum or maximum operator in LaTeX, e.g. $\geq$ or \lt.
+     *
+     * @param text String to break apart.
+     * @param start Index of the operator.
+     * @return New {@link Scalar} object, or a null pointer if the string does not hold a bound.
+     */
+    private static Scalar latexBounded(final String text, final int start) {
+        final boolean dollar = text.charAt(start) == '$';
+        int i = dollar ? start + 1 : start;
+        if (!startsWith(text, i, '\\') || (i + 2 >= text.length())) {
+            return null;
+        }
+        final char direction = text.charAt(i + 1);
+        final char kind = text.charAt(i + 2);
+        if (((direction != 'g') && (direction != 'l')) || ((kind != 't') && (kind != 'e'))) {
+            return null;
+        }
+        final boolean inclusive = kind == 'e';
+        i += 3;
+        if (inclusive && startsWith(text, i, 'q')) {
+            ++i;
+        }
+        if (dollar) {
+            if (!startsWith(text, i, '$')) {
+                return null;
+            }
+            ++i;
+        }
+        return bounded(text, i, (direction == 'g') ? MINIMUM : MAXIMUM, inclusive);
+    }
+
+    /**
+     * Read the number after a minimum or maximum operator.
+     *
+     * @param text String to break apart.
+     * @param operatorEnd Index just past the operator.
+     * @param bound Either {@link #MINIMUM} or {@link #MAXIMUM}.
+     * @param inclusive True if the bound is inclusive.
+     * @return New {@link Scalar} object, or a null pointer if the operator is not followed by just a number.
+     */
+    private static Scalar bounded(final String text, final int operatorEnd, final int bound, final boolean inclusive) {
+        final int numberStart = skipWhitespace(text, operatorEnd);
+        final int numberEnd = scanNumber(text, numberStart);
+        if ((numberEnd < 0) || (skipWhitespace(text, numberEnd) != text.length())) {
+            return null;
+        }
+        final String number = text.substring(numberStart, numberEnd);
+        if (bound == MINIMUM) {
+            final Scalar res = new Scalar().setMinimum(number);
+            return inclusive ? res.setInclusiveMinimum(true) : res;
+        }
+        final Scalar res = new Scalar().setMaximum(number);
+        return inclusive ? res.setInclusiveMaximum(true) : res;
+    }
+
+    /**
+     * Break a string that starts with a number and is followed by a second number, as an uncertainty or the end of
+     * a range.
+     *
+     * @param text String to break apart.
+     * @param start Index of the first number.
+     * @return New {@link Scalar} object, or a null pointer if the string does not hold two numbers in a known form.
+     */
+    private static Scalar withSecondNumber(final String text, final int start) {
+        final int firstEnd = scanNumber(text, start);
+        if (firstEnd < 0) {
+            return null;
+        }
+        final int separator = skipWhitespace(text, firstEnd);
+        if (separator == text.length()) {
+            return null;
+        }
+        final int form;
+        int separatorEnd = separator + 1;
+        switch (text.charAt(separator)) {
+            case '(':
+                return withParentheses(text, text.substring(start, firstEnd), separator + 1);
+            case '+':
+                if (!startsWith(text, separatorEnd, '-')) {
+                    return null;
+                }
+                ++separatorEnd;
+                form = UNCERTAINTY;
+                break;
+            case '±':
+                form = UNCERTAINTY;
+                break;
+            case '$':
+            case '\\':
+                separatorEnd = (text.charAt(separator) == '$') ? separator + 1 : separator;
+                if (!text.startsWith("\\pm", separatorEnd)) {
+                    return null;
+                }
+                separatorEnd += 3;
+                if (startsWith(text, separatorEnd, '$')) {
+                    ++separatorEnd;
+                }
+                form = UNCERTAINTY;
+                break;
+            case '-':
+            case '–':
+                form = RANGE;
+                break;
+            case 't':
+                if (!startsWith(text, separatorEnd, 'o')) {
+                    return null;
+                }
+                ++separatorEnd;
+                form = RANGE;
+                break;
+            default:
+                return null;
+        }
+        final int secondStart = skipWhitespace(text, separatorEnd);
+        final int secondEnd = scanNumber(text, secondStart);
+        if ((secondEnd < 0) || (skipWhitespace(text, secondEnd) != text.length())) {
+            return null;
+        }
+        final String first = text.substring(start, firstEnd);
+        final String second = text.substring(secondStart, secondEnd);
+        return (form == UNCERTAINTY)
+                ? new Scalar().setValue(first).setUncertainty(second)
+                : new Scalar().setMinimum(first).setMaximum(second);
+    }
+
+    /**
+     * Read an uncertainty in parentheses, e.g. the (13) of 1.051(13).
+     *
+     * @param text String to break apart.
+     * @param base String with the number before the parentheses.
+     * @param uncertaintyStart Index just past the opening parenthesis.
+     * @return New {@link Scalar} object, or a null pointer if the parentheses do not hold just a number.
+     */
+    private static Scalar withParentheses(final String text, final String base, final int uncertaintyStart) {
+        final int uncertaintyEnd = scanNumber(text, uncertaintyStart);
+        if ((uncertaintyEnd < 0) || !startsWith(text, uncertaintyEnd, ')')
+                || (skipWhitespace(text, uncertaintyEnd + 1) != text.length())) {
+            return null;
+        }
+        return Scalar.withParenthesesUncertainty(base, text.substring(uncertaintyStart, uncertaintyEnd));
+    }
+
+    /**
+     * Find the end of the longest number that starts at an index.
+     *
+     * @param text String to read from.
+     * @param start Index at which the number starts.
+     * @return Index just past the end of the number, or -1 if no number starts at the index.
+     */
+    private static int scanNumber(final String text, final int start) {
+        int i = start;
+        if (startsWith(text, i, '+') || startsWith(text, i, '-')) {
+            ++i;
+        }
+        if (text.startsWith("NaN", i)) {
+            return i + 3;
+        }
+        if (text.startsWith("Infinity", i)) {
+            return i + 8;
+        }
+        final int hexEnd = scanHexNumber(text, i);
+        final int end = (hexEnd >= 0) ? hexEnd : scanDecimalNumber(text, i);
+        if ((end >= 0) && (end < text.length())) {
+            final char suffix = text.charAt(end);
+            if ((suffix == 'f') || (suffix == 'F') || (suffix == 'd') || (suffix == 'D')) {
+                return end + 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Find the end of a decimal number without a sign or type suffix, e.g. 1, 1.5, .5 or 1.5e-3.
+     *
+     * @param text String to read from.
+     * @param start Index at which the number starts.
+     * @return Index just past the end of the number, or -1 if no decimal number starts at the index.
+     */
+    private static int scanDecimalNumber(final String text, final int start) {
+        int i = skipDigits(text, start);
+        if (i > start) {
+            if (startsWith(text, i, '.')) {
+                i = skipDigits(text, i + 1);
+            }
+        }
+        else if (startsWith(text, start, '.')) {
+            i = skipDigits(text, start + 1);
+            if (i == start + 1) {
+                return -1;
+            }
+        }
+        else {
+            return -1;
+        }
+        return scanExponent(text, i, 'e', 'E');
+    }
+
+    /**
+     * Find the end of a hexadecimal number without a sign or type suffix, e.g. 0x1p3 or 0x1.8p-2. The exponent is
+     * required, and digits after the point are decimal as in the grammar of {@link Double#valueOf(String)}.
+     *
+     * @param text String to read from.
+     * @param start Index at which the number starts.
+     * @return Index just past the end of the number, or -1 if no hexadecimal number starts at the index.
+     */
+    private static int scanHexNumber(final String text, final int start) {
+        if (!startsWith(text, start, '0')
+                || !(startsWith(text, start + 1, 'x') || startsWith(text, start + 1, 'X'))) {
+            return -1;
+        }
+        final int digitsStart = start + 2;
+        final int digitsEnd = skipHexDigits(text, digitsStart);
+        int i = digitsEnd;
+        if (startsWith(text, i, '.')) {
+            final int fractionEnd = skipDigits(text, i + 1);
+            if ((fractionEnd == i + 1) && (digitsEnd == digitsStart)) {
+                return -1;
+            }
+            i = fractionEnd;
+        }
+        else if (digitsEnd == digitsStart) {
+            return -1;
+        }
+        final int end = scanExponent(text, i, 'p', 'P');
+        return (end > i) ? end : -1;
+    }
+
+    /**
+     * Find the end of an optional exponent, e.g. the e-3 of 1.5e-3.
+     *
+     * @param text String to read from.
+     * @param start Index at which the exponent would start.
+     * @param lower Lower case letter that starts the exponent.
+     * @param upper Upper case letter that starts the exponent.
+     * @return Index just past the end of the exponent, or the start index if there is no exponent.
+     */
+    private static int scanExponent(final String text, final int start, final char lower, final char upper) {
+        if (!startsWith(text, start, lower) && !startsWith(text, start, upper)) {
+            return start;
+        }
+        int i = start + 1;
+        if (startsWith(text, i, '+') || startsWith(text, i, '-')) {
+            ++i;
+        }
+        final int end = skipDigits(text, i);
+        return (end > i) ? end : start;
+    }
+
+    /**
+     * Skip over the decimal digits that start at an index.
+     *
+     * @param text String to read from.
+     * @param start Index to start from.
+     * @return Index of the first character that is not a digit.
+     */
+    private static int skipDigits(final String text, final int start) {
+        int i = start;
+        while ((i < text.length()) && isDigit(text.charAt(i))) {
+            ++i;
+        }
+        return i;
+    }
+
+    /**
+     * Skip over the hexadecimal digits that start at an index.
+     *
+     * @param text String to read from.
+     * @param start Index to start from.
+     * @return Index of the first character that is not a hexadecimal digit.
+     */
+    private static int skipHexDigits(final String text, final int start) {
+        int i = start;
+        while (i < text.length()) {
+            final char c = text.charAt(i);
+            if (!isDigit(c) && !((c >= 'a') && (c <= 'f')) && !((c >= 'A') && (c <= 'F'))) {
+                break;
+            }
+            ++i;
+        }
+        return i;
+    }
+
+    /**
+     * Skip over the whitespace that starts at an index. Whitespace has the same meaning as \s in a regular expression.
+     *
+     * @param text String to read from.
+     * @param start Index to start from.
+     * @return Index of the first character that is not whitespace.
+     */
+    private static int skipWhitespace(final String text, final int start) {
+        int i = start;
+        while (i < text.length()) {
+            final char c = text.charAt(i);
+            if ((c != ' ') && (c != '\t') && (c != '\n') && (c != '\u000B') && (c != '\f') && (c != '\r')) {
+                break;
+            }
+            ++i;
+        }
+        return i;
+    }
+
+    /**
+     * Determine whether a character is an ASCII digit.
+     *
+     * @param c Character to check.
+     * @return True if the character is between 0 and 9.
+     */
+    private static boolean isDigit(final char c) {
+        return (c >= '0') && (c <= '9');
+    }
+
+    /**
+     * Determine whether a string has a character at an index.
+     *
+     * @param text String to check.
+     * @param index Index of the character. This can be past the end of the string.
+     * @param c Character to look for.
+     * @return True if the character at the index is the input character.
+     */
+    private static boolean startsWith(final String text, final int index, final char c) {
+        return (index < text.length()) && (text.charAt(index) == c);
+    }
+
+    /** Form of a string with a bound that is a minimum. */
+    private static final int MINIMUM = 0;
+
+    /** Form of a string with a bound that is a maximum. */
+    private static final int MAXIMUM = 1;
+
+    /** Form of a string with a value and an uncertainty. */
+    private static final int UNCERTAINTY = 2;
+
+    /** Form of a string with a range. */
+    private static final int RANGE = 3;
+}
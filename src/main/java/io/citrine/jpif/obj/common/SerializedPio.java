@@ -0,0 +1,63 @@
+package io.citrine.jpif.obj.common;
+
+import io.citrine.jpif.util.PifSerializationUtil;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+
+/**
+ * Serialized form of a {@link Pio} object. Java serialization replaces each {@link Pio} with an object of this class,
+ * which writes the class of the object followed by the whole object tree as a single Smile document. This avoids the
+ * cost of writing class descriptors and field data for every object in the tree.
+ *
+ * @author Kyle Michel
+ */
+final class SerializedPio implements Externalizable {
+
+    /**
+     * Default constructor, which is required for {@link Externalizable} objects.
+     */
+    public SerializedPio() {}
+
+    /**
+     * Constructor.
+     *
+     * @param pio {@link Pio} object to serialize.
+     */
+    SerializedPio(final Pio pio) {
+        this.pio = pio;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeObject(this.pio.getClass());
+        PifSerializationUtil.writeCompact(out, this.pio);
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        final Class<?> pioClass = (Class<?>) in.readObject();
+        if (!Pio.class.isAssignableFrom(pioClass)) {
+            throw new IOException("Serialized class is not a Pio: " + pioClass.getName());
+        }
+        this.pio = (Pio) PifSerializationUtil.readCompact(in, pioClass);
+    }
+
+    /**
+     * Replace this object with the {@link Pio} that it holds after it is deserialized.
+     *
+     * @return {@link Pio} object that was read.
+     * @throws ObjectStreamException if thrown while replacing this object.
+     */
+    private Object readResolve() throws ObjectStreamException {
+        return this.pio;
+    }
+
+    private static final long serialVersionUID = -3482170649225318803L;
+
+    /** Object that is serialized. */
+    private Pio pio;
+}
@@ -10,6 +10,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Information about a software package.
@@ -34,6 +35,7 @@ public class Software extends Pio implements Serializable {
      */
     @JsonSetter(value = "name")
     public Software setName(final String name) {
+        checkNotFrozen();
         this.name = name;
         return this;
     }
@@ -56,6 +58,7 @@ public class Software extends Pio implements Serializable {
      */
     @JsonSetter(value = "version")
     public Software setVersion(final String version) {
+        checkNotFrozen();
         this.version = version;
         return this;
     }
@@ -78,6 +81,7 @@ public class Software extends Pio implements Serializable {
      */
     @JsonSetter(value = "producer")
     public Software setProducer(final String producer) {
+        checkNotFrozen();
         this.producer = producer;
         return this;
     }
@@ -100,6 +104,7 @@ public class Software extends Pio implements Serializable {
      */
     @JsonSetter(value = "url")
     public Software setUrl(final String url) {
+        checkNotFrozen();
         this.url = url;
         return this;
     }
@@ -133,6 +138,27 @@ public class Software extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Software software = (Software) other;
+        return Objects.equals(this.name, software.name)
+                && Objects.equals(this.version, software.version)
+                && Objects.equals(this.producer, software.producer)
+                && Objects.equals(this.url, software.url)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.name).add(this.version).add(this.producer).add(this.url);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -7,8 +7,10 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import io.citrine.jpif.util.PifObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.Pooled;
+import io.citrine.jpif.util.StringPool;
 import org.apache.commons.validator.routines.UrlValidator;
 
 import java.io.IOException;
@@ -16,6 +18,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Information about the source of a system.
@@ -38,7 +41,10 @@ public class Source extends Pio implements Serializable {
      * @return This object.
      */
     @JsonSetter(value = "producer")
+    @JsonDeserialize(using = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.PRODUCERS)
     public Source setProducer(final String producer) {
+        checkNotFrozen();
         this.producer = producer;
         return this;
     }
@@ -61,6 +67,7 @@ public class Source extends Pio implements Serializable {
      */
     @JsonSetter(value = "url")
     public Source setUrl(final String url) {
+        checkNotFrozen();
         this.url = url;
         return this;
     }
@@ -117,6 +124,25 @@ public class Source extends Pio implements Serializable {
         return (source != null) && UrlValidator.getInstance().isValid(source.trim());
     }
 
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Source source = (Source) other;
+        return Objects.equals(this.producer, source.producer)
+                && Objects.equals(this.url, source.url)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.producer).add(this.url);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -168,9 +194,11 @@ public class Source extends Pio implements Serializable {
             final JsonToken jsonToken = jsonParser.getCurrentToken();
             switch (jsonToken) {
                 case VALUE_STRING:
-                    return Source.valueOf(jsonParser.getValueAsString());
+                    final Source source = Source.valueOf(jsonParser.getValueAsString());
+                    return source.setProducer(StringPool.forCategory(StringPool.Category.PRODUCERS)
+                            .intern(source.getProducer()));
                 case START_OBJECT:
-                    return PifObjectMapper.getInstance().readValue(jsonParser, Source.class);
+                    return deserializationContext.readValue(jsonParser, Source.class);
                 default:
                     throw deserializationContext.mappingException(Source.class, jsonToken);
             }
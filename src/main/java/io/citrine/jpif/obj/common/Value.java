@@ -4,14 +4,18 @@ import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import io.citrine.jpif.util.PifObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.Pooled;
+import io.citrine.jpif.util.StringPool;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -19,8 +23,11 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Information about a scalar, vector, or matrix, or a list of one of those.
@@ -45,7 +52,10 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     @JsonSetter(value = "name")
+    @JsonDeserialize(using = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.PROPERTY_NAMES)
     public Value setName(final String name) {
+        checkNotFrozen();
         this.name = name;
         return this;
     }
@@ -56,6 +66,8 @@ public class Value extends Pio implements Serializable {
      * @param names String with the name of this value.
      */
     @JsonSetter(value = "names")
+    @JsonDeserialize(using = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.PROPERTY_NAMES)
     protected void setNames(final String names) { // Private since only Jackson should use it
         this.setName(names);
     }
@@ -78,6 +90,7 @@ public class Value extends Pio implements Serializable {
     @JsonSetter(value = "scalars")
     @JsonDeserialize(contentUsing = Scalar.Deserializer.class)
     protected void setScalars(final List<Scalar> scalars) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.scalars = scalars;
     }
 
@@ -99,6 +112,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addScalar(final Scalar scalar) {
+        checkNotFrozen();
         if (this.scalars == null) {
             this.scalars = new ArrayList<>();
         }
@@ -114,6 +128,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addScalar(final int index, final Scalar scalar) {
+        checkNotFrozen();
         if (this.scalars == null) {
             this.scalars = new ArrayList<>();
         }
@@ -172,6 +187,7 @@ public class Value extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeScalar(final Scalar scalar) {
+        checkNotFrozen();
         return (this.scalars != null) && this.scalars.remove(scalar);
     }
 
@@ -226,6 +242,7 @@ public class Value extends Pio implements Serializable {
     @JsonSetter(value = "vectors")
     @JsonDeserialize(using = VectorsDeserializer.class)
     protected void setVectors(final List<Scalar[]> vectors) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.vectors = vectors;
     }
 
@@ -247,8 +264,9 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addVector(final Scalar[] vector) {
+        checkNotFrozen();
         if (this.vectors == null) {
-            this.vectors = new ArrayList<>();
+            this.vectors = new PackedList<>();
         }
         this.vectors.add(vector);
         return this;
@@ -262,8 +280,9 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addVector(final int index, final Scalar[] vector) {
+        checkNotFrozen();
         if (this.vectors == null) {
-            this.vectors = new ArrayList<>();
+            this.vectors = new PackedList<>();
         }
         this.vectors.add(index, vector);
         return this;
@@ -277,7 +296,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addVector(final String[] vector) {
-        return addVector(toScalarVector(vector));
+        return addPackableVector(-1, toScalarVector(vector));
     }
 
     /**
@@ -288,7 +307,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addVector(final int index, final String[] vector) {
-        return addVector(index, toScalarVector(vector));
+        return addPackableVector(index, toScalarVector(vector));
     }
 
     /**
@@ -299,7 +318,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addVector(final Number[] vector) {
-        return addVector(toScalarVector(vector));
+        return addPackableVector(-1, toScalarVector(vector));
     }
 
     /**
@@ -310,7 +329,36 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addVector(final int index, final Number[] vector) {
-        return addVector(index, toScalarVector(vector));
+        return addPackableVector(index, toScalarVector(vector));
+    }
+
+    /**
+     * Add a vector that was created by this object, storing it in packed form if each of its elements is a plain
+     * number.
+     *
+     * @param index Index at which to insert the vector or -1 to add it to the end of the list of vectors.
+     * @param vector {@link Scalar} array to add to this value.
+     * @return This object.
+     */
+    @SuppressWarnings("unchecked")
+    private Value addPackableVector(final int index, final Scalar[] vector) {
+        checkNotFrozen();
+        if (this.vectors == null) {
+            this.vectors = new PackedList<>();
+        }
+        final PackedVector packedVector = (this.vectors instanceof PackedList)
+                ? PackedVector.pack(vector, vector.length)
+                : null;
+        if (packedVector == null) {
+            return (index < 0) ? addVector(vector) : addVector(index, vector);
+        }
+        if (index < 0) {
+            ((PackedList<Scalar[]>) this.vectors).addPacked(packedVector);
+        }
+        else {
+            ((PackedList<Scalar[]>) this.vectors).addPacked(index, packedVector);
+        }
+        return this;
     }
 
     /**
@@ -320,6 +368,7 @@ public class Value extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeVector(final Scalar[] vector) {
+        checkNotFrozen();
         return (this.vectors != null) && this.vectors.remove(vector);
     }
 
@@ -344,7 +393,32 @@ public class Value extends Pio implements Serializable {
         if (this.vectors == null) {
             throw new IndexOutOfBoundsException("Attempting to access vector " + index + " of " + this.numVectors());
         }
-        return this.vectors.get(index);
+        final Scalar[] vector = this.vectors.get(index);
+        if (isFrozen() && (vector != null)) {
+            // Copy the vector so that the stored array cannot be changed
+            return vector.clone();
+        }
+        return vector;
+    }
+
+    /**
+     * Get the exact values of a vector stored by this value. Unlike {@link #getVector(int)}, this does not create
+     * {@link Scalar} objects for vectors that are stored in packed form.
+     *
+     * @param index Index of the vector to get.
+     * @return Array with the exact value of each element of the vector.
+     * @throws IndexOutOfBoundsException if the input index is out of range of the vector list.
+     * @throws NumberFormatException if any element of the vector does not have a numeric value.
+     */
+    @JsonIgnore
+    public double[] getVectorAsDoubles(final int index) {
+        if (this.vectors instanceof PackedList) {
+            final Object slot = ((PackedList<?>) this.vectors).getSlot(index);
+            if (slot instanceof PackedVector) {
+                return ((PackedVector) slot).toDoubles();
+            }
+        }
+        return toDoubles(getVector(index));
     }
 
     /**
@@ -353,7 +427,18 @@ public class Value extends Pio implements Serializable {
      * @return {@link Iterable} object for iterating over the vectors stored by this value.
      */
     public Iterable<Scalar[]> vectors() {
-        return (this.vectors == null) ? Collections.emptyList() : this.vectors;
+        if (this.vectors == null) {
+            return Collections.emptyList();
+        }
+        if (isFrozen()) {
+            // Copy each element so that the stored arrays cannot be changed
+            final List<Scalar[]> res = new ArrayList<>(numVectors());
+            for (int i = 0; i < numVectors(); ++i) {
+                res.add(getVector(i));
+            }
+            return Collections.unmodifiableList(res);
+        }
+        return this.vectors;
     }
 
     /**
@@ -362,6 +447,7 @@ public class Value extends Pio implements Serializable {
      * @return List of {@link Scalar} arrays with the vectors stored by this value.
      */
     @JsonGetter(value = "vectors")
+    @JsonSerialize(using = PackedListSerializer.class)
     protected List<Scalar[]> getVectors() { // Private since only Jackson should use it
         return this.vectors;
     }
@@ -374,6 +460,7 @@ public class Value extends Pio implements Serializable {
     @JsonSetter(value = "matrices")
     @JsonDeserialize(using = MatricesDeserializer.class)
     protected void setMatrices(final List<Scalar[][]> matrices) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.matrices = matrices;
     }
 
@@ -395,8 +482,9 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addMatrix(final Scalar[][] matrix) {
+        checkNotFrozen();
         if (this.matrices == null) {
-            this.matrices = new ArrayList<>();
+            this.matrices = new PackedList<>();
         }
         this.matrices.add(matrix);
         return this;
@@ -410,8 +498,9 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addMatrix(final int index, final Scalar[][] matrix) {
+        checkNotFrozen();
         if (this.matrices == null) {
-            this.matrices = new ArrayList<>();
+            this.matrices = new PackedList<>();
         }
         this.matrices.add(index, matrix);
         return this;
@@ -425,7 +514,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addMatrix(final String[][] matrix) {
-        return addMatrix(toScalarMatrix(matrix));
+        return addPackableMatrix(-1, toScalarMatrix(matrix));
     }
 
     /**
@@ -436,7 +525,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addMatrix(final int index, final String[][] matrix) {
-        return addMatrix(index, toScalarMatrix(matrix));
+        return addPackableMatrix(index, toScalarMatrix(matrix));
     }
 
     /**
@@ -447,7 +536,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addMatrix(final Number[][] matrix) {
-        return addMatrix(toScalarMatrix(matrix));
+        return addPackableMatrix(-1, toScalarMatrix(matrix));
     }
 
     /**
@@ -458,7 +547,34 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addMatrix(final int index, final Number[][] matrix) {
-        return addMatrix(index, toScalarMatrix(matrix));
+        return addPackableMatrix(index, toScalarMatrix(matrix));
+    }
+
+    /**
+     * Add a matrix that was created by this object, storing it in packed form if each of its elements is a plain
+     * number.
+     *
+     * @param index Index at which to insert the matrix or -1 to add it to the end of the list of matrices.
+     * @param matrix {@link Scalar} array of arrays to add to this value.
+     * @return This object.
+     */
+    @SuppressWarnings("unchecked")
+    private Value addPackableMatrix(final int index, final Scalar[][] matrix) {
+        checkNotFrozen();
+        if (this.matrices == null) {
+            this.matrices = new PackedList<>();
+        }
+        final PackedMatrix packedMatrix = (this.matrices instanceof PackedList) ? PackedMatrix.pack(matrix) : null;
+        if (packedMatrix == null) {
+            return (index < 0) ? addMatrix(matrix) : addMatrix(index, matrix);
+        }
+        if (index < 0) {
+            ((PackedList<Scalar[][]>) this.matrices).addPacked(packedMatrix);
+        }
+        else {
+            ((PackedList<Scalar[][]>) this.matrices).addPacked(index, packedMatrix);
+        }
+        return this;
     }
 
     /**
@@ -468,6 +584,7 @@ public class Value extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeMatrix(final Scalar[][] matrix) {
+        checkNotFrozen();
         return (this.matrices != null) && this.matrices.remove(matrix);
     }
 
@@ -492,7 +609,41 @@ public class Value extends Pio implements Serializable {
         if (this.matrices == null) {
             throw new IndexOutOfBoundsException("Attempting to access matrix " + index + " of " + this.numMatrices());
         }
-        return this.matrices.get(index);
+        final Scalar[][] matrix = this.matrices.get(index);
+        if (isFrozen() && (matrix != null)) {
+            // Copy the matrix so that the stored arrays cannot be changed
+            final Scalar[][] res = new Scalar[matrix.length][];
+            for (int i = 0; i < matrix.length; ++i) {
+                res[i] = (matrix[i] == null) ? null : matrix[i].clone();
+            }
+            return res;
+        }
+        return matrix;
+    }
+
+    /**
+     * Get the exact values of a matrix stored by this value. Unlike {@link #getMatrix(int)}, this does not create
+     * {@link Scalar} objects for matrices that are stored in packed form.
+     *
+     * @param index Index of the matrix to get.
+     * @return Array of arrays with the exact value of each element of the matrix.
+     * @throws IndexOutOfBoundsException if the input index is out of range of the list of matrices.
+     * @throws NumberFormatException if any element of the matrix does not have a numeric value.
+     */
+    @JsonIgnore
+    public double[][] getMatrixAsDoubles(final int index) {
+        if (this.matrices instanceof PackedList) {
+            final Object slot = ((PackedList<?>) this.matrices).getSlot(index);
+            if (slot instanceof PackedMatrix) {
+                return ((PackedMatrix) slot).toDoubles();
+            }
+        }
+        final Scalar[][] matrix = getMatrix(index);
+        final double[][] res = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; ++i) {
+            res[i] = toDoubles(matrix[i]);
+        }
+        return res;
     }
 
     /**
@@ -501,7 +652,18 @@ public class Value extends Pio implements Serializable {
      * @return {@link Iterable} object for iterating over the matrices stored by this value.
      */
     public Iterable<Scalar[][]> matrices() {
-        return (this.matrices == null) ? Collections.emptyList() : this.matrices;
+        if (this.matrices == null) {
+            return Collections.emptyList();
+        }
+        if (isFrozen()) {
+            // Copy each element so that the stored arrays cannot be changed
+            final List<Scalar[][]> res = new ArrayList<>(numMatrices());
+            for (int i = 0; i < numMatrices(); ++i) {
+                res.add(getMatrix(i));
+            }
+            return Collections.unmodifiableList(res);
+        }
+        return this.matrices;
     }
 
     /**
@@ -510,6 +672,7 @@ public class Value extends Pio implements Serializable {
      * @return List of {@link Scalar} arrays of arrays, each being a single matrix stored by this value.
      */
     @JsonGetter(value = "matrices")
+    @JsonSerialize(using = PackedListSerializer.class)
     protected List<Scalar[][]> getMatrices() { // Private since only Jackson should use it
         return this.matrices;
     }
@@ -521,6 +684,7 @@ public class Value extends Pio implements Serializable {
      */
     @JsonSetter(value = "files")
     protected void setFiles(final List<FileReference> files) { // Private since only Jackson should use it
+        checkNotFrozen();
         this.files = files;
     }
 
@@ -541,6 +705,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addFile(final FileReference file) {
+        checkNotFrozen();
         if (this.files == null) {
             this.files = new ArrayList<>();
         }
@@ -556,6 +721,7 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     public Value addFile(final int index, final FileReference file) {
+        checkNotFrozen();
         if (this.files == null) {
             this.files = new ArrayList<>();
         }
@@ -570,6 +736,7 @@ public class Value extends Pio implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeFile(final FileReference file) {
+        checkNotFrozen();
         return (this.files != null) && this.files.remove(file);
     }
 
@@ -624,7 +791,10 @@ public class Value extends Pio implements Serializable {
      * @return This object.
      */
     @JsonSetter(value = "units")
+    @JsonDeserialize(using = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.UNITS)
     public Value setUnits(final String units) {
+        checkNotFrozen();
         this.units = units;
         return this;
     }
@@ -635,6 +805,8 @@ public class Value extends Pio implements Serializable {
      * @param unit String with the units of this value.
      */
     @JsonSetter(value = "unit")
+    @JsonDeserialize(using = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.UNITS)
     public void setUnit(final String unit) { // Private since only Jackson should use it
         setUnits(unit);
     }
@@ -668,6 +840,121 @@ public class Value extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.scalars, consumer);
+        // Packed elements are frozen as they are unpacked, so they are only unpacked for other consumers
+        final boolean unpack = !isFreezing(consumer);
+        forEachElement(this.vectors, unpack, vector -> forEachNonNull(vector, consumer));
+        forEachElement(this.matrices, unpack, matrix -> {
+            if (matrix != null) {
+                for (Scalar[] vector : matrix) {
+                    forEachNonNull(vector, consumer);
+                }
+            }
+        });
+        forEachNonNull(this.files, consumer);
+    }
+
+    /**
+     * Copy a list of vectors or matrices without unpacking or copying its elements.
+     *
+     * @param list List to copy. This can be null.
+     * @param <T> Type of the elements of the list.
+     * @return New list with the same elements as the input list, or a null pointer if the input list is null.
+     */
+    private static <T> List<T> copiedPacked(final List<T> list) {
+        return (list instanceof PackedList) ? ((PackedList<T>) list).copy() : copied(list);
+    }
+
+    /**
+     * Freeze a list of vectors or matrices. A {@link PackedList} keeps its packed form and freezes each element when
+     * it is unpacked, and any other list is replaced with an unmodifiable view.
+     *
+     * @param list List to freeze. This can be null.
+     * @param elementFreezer {@link Consumer} that freezes an unpacked element.
+     * @param <T> Type of the elements of the list.
+     * @return Frozen list, or a null pointer if the input list is null.
+     */
+    private static <T> List<T> frozenPacked(final List<T> list, final Consumer<? super T> elementFreezer) {
+        if (list instanceof PackedList) {
+            ((PackedList<T>) list).freeze(elementFreezer);
+            return list;
+        }
+        return unmodifiable(list);
+    }
+
+    /**
+     * Freeze each scalar of a vector.
+     *
+     * @param vector Array of scalars to freeze. This can be null.
+     */
+    private static void freezeVector(final Scalar[] vector) {
+        forEachNonNull(vector, Pio::freeze);
+    }
+
+    /**
+     * Freeze each scalar of a matrix.
+     *
+     * @param matrix Array of arrays of scalars to freeze. This can be null.
+     */
+    private static void freezeMatrix(final Scalar[][] matrix) {
+        if (matrix != null) {
+            for (Scalar[] vector : matrix) {
+                freezeVector(vector);
+            }
+        }
+    }
+
+    /**
+     * Convert from an array of {@link Scalar} objects to an array with their exact values.
+     *
+     * @param vector Array of scalars to convert.
+     * @return Array of doubles.
+     * @throws NumberFormatException if any of the scalars does not have a numeric value.
+     */
+    private static double[] toDoubles(final Scalar[] vector) {
+        final double[] res = new double[vector.length];
+        for (int i = 0; i < vector.length; ++i) {
+            res[i] = vector[i].getValueAsDouble();
+        }
+        return res;
+    }
+
+    /**
+     * Pass each element of a list to the input consumer. Elements of a {@link PackedList} that are still in packed
+     * form are either unpacked and kept, in the same way as by {@link #getVector(int)}, or skipped.
+     *
+     * @param list List with the elements to pass to the consumer. This can be null.
+     * @param unpack Whether to unpack elements that are still in packed form rather than skip them.
+     * @param consumer {@link Consumer} to pass each element to.
+     * @param <T> Type of the elements of the list.
+     */
+    private static <T> void forEachElement(final List<T> list, final boolean unpack,
+            final Consumer<? super T> consumer) {
+        if (!unpack && (list instanceof PackedList)) {
+            ((PackedList<T>) list).forEachUnpacked(consumer);
+        }
+        else if (list != null) {
+            list.forEach(consumer);
+        }
+    }
+
+    /**
+     * Pass each scalar in a vector to the input consumer, skipping null values.
+     *
+     * @param vector Array of {@link Scalar} objects. This can be null.
+     * @param consumer {@link Consumer} to pass each scalar to.
+     */
+    private static void forEachNonNull(final Scalar[] vector, final Consumer<Pio> consumer) {
+        if (vector != null) {
+            for (Scalar scalar : vector) {
+                forEachNonNull(scalar, consumer);
+            }
+        }
+    }
+
     /**
      * Convert from an array of strings to an array of {@link Scalar} objects.
      *
@@ -730,6 +1017,73 @@ public class Value extends Pio implements Serializable {
         return scalarMatrix;
     }
 
+    @Override
+    protected Value shallowCopy() {
+        final Value res = (Value) super.shallowCopy();
+        res.scalars = copied(this.scalars);
+        res.files = copied(this.files);
+        res.vectors = copiedPacked(this.vectors);
+        res.matrices = copiedPacked(this.matrices);
+        return res;
+    }
+
+    @Override
+    protected void freezeFields() {
+        super.freezeFields();
+        this.scalars = unmodifiable(this.scalars);
+        this.files = unmodifiable(this.files);
+
+        // Vectors and matrices stay packed, and their scalars are frozen as they are unpacked
+        this.vectors = frozenPacked(this.vectors, Value::freezeVector);
+        this.matrices = frozenPacked(this.matrices, Value::freezeMatrix);
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Value value = (Value) other;
+        return Objects.equals(this.name, value.name)
+                && listsEqual(this.scalars, value.scalars)
+                && arrayListsEqual(this.vectors, value.vectors)
+                && arrayListsEqual(this.matrices, value.matrices)
+                && listsEqual(this.files, value.files)
+                && Objects.equals(this.units, value.units)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.name).add(this.scalars).add(this.vectors).add(this.matrices).add(this.files).add(this.units);
+    }
+
+    /**
+     * Compare two lists of arrays by their content. A null list is equal to an empty list.
+     *
+     * @param first First list to compare. This can be null.
+     * @param second Second list to compare. This can be null.
+     * @return True if the lists have arrays with equal elements in the same order.
+     */
+    private static boolean arrayListsEqual(final List<? extends Object[]> first,
+            final List<? extends Object[]> second) {
+        if ((first == null) || first.isEmpty() || (second == null) || second.isEmpty()) {
+            return listsEqual(first, second);
+        }
+        if (first.size() != second.size()) {
+            return false;
+        }
+        for (int i = 0; i < first.size(); ++i) {
+            if (!Arrays.deepEquals(first.get(i), second.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -779,7 +1133,47 @@ public class Value extends Pio implements Serializable {
     private String units;
 
     /**
-     * Class to deserialize into a list of arrays of {@link Scalar} objects.
+     * Class to serialize a list of vectors or matrices, any of which may be stored in packed form. Packed elements are
+     * written directly in the same form as their {@link Scalar} objects would be, without creating those objects.
+     *
+     * @author Kyle Michel
+     */
+    public static class PackedListSerializer extends JsonSerializer<List<?>> {
+
+        @Override
+        public void serialize(List<?> list, JsonGenerator jsonGenerator, SerializerProvider serializerProvider)
+                throws IOException {
+            jsonGenerator.writeStartArray();
+            if (list instanceof PackedList) {
+                final PackedList<?> packedList = (PackedList<?>) list;
+                for (int i = 0; i < packedList.size(); ++i) {
+                    final Object slot = packedList.getSlot(i);
+                    if (slot instanceof PackedList.Packed) {
+                        ((PackedList.Packed<?>) slot).serialize(jsonGenerator);
+                    }
+                    else {
+                        serializerProvider.defaultSerializeValue(slot, jsonGenerator);
+                    }
+                }
+            }
+            else {
+                for (Object element : list) {
+                    serializerProvider.defaultSerializeValue(element, jsonGenerator);
+                }
+            }
+            jsonGenerator.writeEndArray();
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider serializerProvider, List<?> list) {
+            return (list == null) || list.isEmpty();
+        }
+    }
+
+    /**
+     * Class to deserialize into a list of arrays of {@link Scalar} objects. The input is read in a single pass over
+     * the tokens of the parser. It can be either a list of vectors or a single vector, which is returned as a list
+     * with one element. Vectors in which every element is a plain number are stored in packed form.
      *
      * @author Kyle Michel
      */
@@ -788,75 +1182,109 @@ public class Value extends Pio implements Serializable {
         @Override
         public List<Scalar[]> deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
                 throws IOException {
-            jsonParser.setCodec(PifObjectMapper.getInstance());
-            final JsonNode jsonNode = jsonParser.readValueAsTree();
-            if (jsonNode.isArray()) {
-                return fromArrayNode(jsonNode, deserializationContext);
+            if (!jsonParser.isExpectedStartArrayToken()) {
+                throw deserializationContext.mappingException("Cannot deserialize to list of vectors");
             }
-            throw deserializationContext.mappingException("Cannot deserialize to list of vectors");
+            jsonParser.nextToken();
+            return fromArrayContents(jsonParser, deserializationContext, new ScalarBuffer());
         }
 
         /**
-         * Convert from a JSON array to a list of {@link Scalar} arrays.
+         * Convert the contents of a JSON array to a list of {@link Scalar} arrays. The parser must be on the first
+         * token inside of the array and is left on the token that closes the array.
          *
-         * @param jsonNode {@link JsonNode} that represents the array to convert.
+         * @param jsonParser {@link JsonParser} to read from.
          * @param deserializationContext {@link DeserializationContext} object for the parser.
+         * @param buffer {@link ScalarBuffer} to collect values in.
          * @return List of arrays of {@link Scalar} objects.
          * @throws IOException if thrown from within this function.
          */
-        protected List<Scalar[]> fromArrayNode(
-                final JsonNode jsonNode, final DeserializationContext deserializationContext) throws IOException {
-            if (jsonNode.size() == 0) {
-                return Collections.emptyList();
+        private static PackedList<Scalar[]> fromArrayContents(
+                final JsonParser jsonParser, final DeserializationContext deserializationContext,
+                final ScalarBuffer buffer) throws IOException {
+            final PackedList<Scalar[]> res = new PackedList<>();
+            final JsonToken jsonToken = jsonParser.getCurrentToken();
+            if (jsonToken == JsonToken.START_ARRAY) {
+                fromList(jsonParser, deserializationContext, buffer, res);
             }
-            else if (jsonNode.get(0).isArray()) {
-                return fromList(jsonNode, deserializationContext);
-            }
-            else {
-                return Collections.singletonList(fromVector(jsonNode, deserializationContext));
+            else if (jsonToken != JsonToken.END_ARRAY) {
+                fromVector(jsonParser, deserializationContext, buffer);
+                buffer.addTo(res);
             }
+            return res;
         }
 
         /**
-         * Convert from a list of lists to a list of {@link Scalar} arrays.
+         * Convert the remaining elements of a list of lists to {@link Scalar} arrays. The parser must be on the first
+         * element to convert and is left on the token that closes the list. Elements that are not arrays are
+         * converted to empty arrays.
          *
-         * @param jsonNode {@link JsonNode} to convert.
+         * @param jsonParser {@link JsonParser} to read from.
          * @param deserializationContext {@link DeserializationContext} object for the parser.
-         * @return List of arrays of {@link Scalar} objects.
+         * @param buffer {@link ScalarBuffer} to collect values in.
+         * @param res List to add the arrays of {@link Scalar} objects to.
          * @throws IOException if thrown from within this function.
          */
-        protected List<Scalar[]> fromList(
-                final JsonNode jsonNode, DeserializationContext deserializationContext) throws IOException {
-            final List<Scalar[]> res = new ArrayList<>(jsonNode.size());
-            for (JsonNode i : jsonNode) {
-                res.add(fromVector(i, deserializationContext));
+        private static void fromList(
+                final JsonParser jsonParser, final DeserializationContext deserializationContext,
+                final ScalarBuffer buffer, final PackedList<Scalar[]> res) throws IOException {
+            for (JsonToken jsonToken = jsonParser.getCurrentToken(); jsonToken != JsonToken.END_ARRAY;
+                    jsonToken = jsonParser.nextToken()) {
+                checkNotEnd(jsonToken, deserializationContext);
+                if (jsonToken == JsonToken.START_ARRAY) {
+                    jsonParser.nextToken();
+                    fromVector(jsonParser, deserializationContext, buffer);
+                }
+                else {
+                    jsonParser.skipChildren();
+                    buffer.clear();
+                }
+                buffer.addTo(res);
             }
-            return res;
         }
 
         /**
-         * Convert from a list of values to an array of {@link Scalar} objects.
+         * Read the remaining values of a list into the buffer. The parser must be on the first value to convert and
+         * is left on the token that closes the list.
          *
-         * @param jsonNode {@link JsonNode} to convert.
+         * @param jsonParser {@link JsonParser} to read from.
          * @param deserializationContext {@link DeserializationContext} object for the parser.
-         * @return Array of {@link Scalar} objects.
+         * @param buffer {@link ScalarBuffer} to collect values in.
          * @throws IOException if thrown from within this function.
          */
-        protected Scalar[] fromVector(final JsonNode jsonNode, final DeserializationContext deserializationContext)
+        private static void fromVector(
+                final JsonParser jsonParser, final DeserializationContext deserializationContext,
+                final ScalarBuffer buffer) throws IOException {
+            buffer.clear();
+            for (JsonToken jsonToken = jsonParser.getCurrentToken(); jsonToken != JsonToken.END_ARRAY;
+                    jsonToken = jsonParser.nextToken()) {
+                checkNotEnd(jsonToken, deserializationContext);
+                buffer.add(SCALAR_DESERIALIZER.deserialize(jsonParser, deserializationContext));
+            }
+        }
+
+        /**
+         * Check that the end of the input has not been reached in the middle of an array.
+         *
+         * @param jsonToken Current {@link JsonToken} of the parser.
+         * @param deserializationContext {@link DeserializationContext} object for the parser.
+         * @throws IOException if the input has ended.
+         */
+        private static void checkNotEnd(final JsonToken jsonToken, final DeserializationContext deserializationContext)
                 throws IOException {
-            final Scalar[] res = new Scalar[jsonNode.size()];
-            final Scalar.Deserializer deserializer = new Scalar.Deserializer();
-            for (int i = 0; i < jsonNode.size(); ++i) {
-                final JsonParser jsonParser = jsonNode.get(i).traverse();
-                jsonParser.nextToken();
-                res[i] = deserializer.deserialize(jsonParser, deserializationContext);
+            if (jsonToken == null) {
+                throw deserializationContext.mappingException("Unexpected end of input while reading vectors");
             }
-            return res;
         }
+
+        /** Deserializer that is used for each value in a vector. */
+        private static final Scalar.Deserializer SCALAR_DESERIALIZER = new Scalar.Deserializer();
     }
 
     /**
-     * Class to deserialize into a list of arrays of arrays of {@link Scalar} objects.
+     * Class to deserialize into a list of arrays of arrays of {@link Scalar} objects. The input is read in a single
+     * pass over the tokens of the parser. It can be either a list of matrices or a single matrix, which is returned as
+     * a list with one element. Matrices in which every element is a plain number are stored in packed form.
      *
      * @author Kyle Michel
      */
@@ -865,77 +1293,107 @@ public class Value extends Pio implements Serializable {
         @Override
         public List<Scalar[][]> deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
                 throws IOException {
-            jsonParser.setCodec(PifObjectMapper.getInstance());
-            final JsonNode jsonNode = jsonParser.readValueAsTree();
-            if (jsonNode.isArray()) {
-                return fromArrayNode(jsonNode, deserializationContext, jsonParser.getCodec());
+            if (!jsonParser.isExpectedStartArrayToken()) {
+                throw deserializationContext.mappingException("Cannot deserialize to list of matrices");
+            }
+            final PackedList<Scalar[][]> res = new PackedList<>();
+            JsonToken jsonToken = jsonParser.nextToken();
+            if (jsonToken == JsonToken.END_ARRAY) {
+                return res;
+            }
+            else if (jsonToken != JsonToken.START_ARRAY) {
+                throw deserializationContext.mappingException("Cannot deserialize to list of matrices");
+            }
+            final ScalarBuffer buffer = new ScalarBuffer();
+            jsonToken = jsonParser.nextToken();
+            if (jsonToken == JsonToken.START_ARRAY) {
+
+                // List of matrices, where the parser is now on the first row of the first matrix
+                addMatrix(res, VectorsDeserializer.fromArrayContents(jsonParser, deserializationContext, buffer));
+                while ((jsonToken = jsonParser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (jsonToken != JsonToken.START_ARRAY) {
+                        throw deserializationContext.mappingException("Cannot deserialize to list of matrices");
+                    }
+                    jsonParser.nextToken();
+                    addMatrix(res, VectorsDeserializer.fromArrayContents(jsonParser, deserializationContext, buffer));
+                }
             }
-            throw deserializationContext.mappingException("Cannot deserialize to list of matrices");
+            else {
+
+                // Single matrix, where the parser is now inside of its first row
+                final PackedList<Scalar[]> rows = new PackedList<>();
+                VectorsDeserializer.fromVector(jsonParser, deserializationContext, buffer);
+                buffer.addTo(rows);
+                jsonParser.nextToken();
+                VectorsDeserializer.fromList(jsonParser, deserializationContext, buffer, rows);
+                addMatrix(res, rows);
+            }
+            return res;
         }
 
         /**
-         * Convert from a JSON array to a list of arrays of arrays of {@link Scalar} objects.
+         * Add a matrix to a list, in packed form if all of its rows are packed.
          *
-         * @param jsonNode {@link JsonNode} to convert.
-         * @param deserializationContext {@link DeserializationContext} object for the parser.
-         * @param objectCodec {@link ObjectCodec} for the parser being used.
-         * @return List of arrays of arrays of {@link Scalar} objects.
-         * @throws IOException if thrown from within this function.
+         * @param res List to add the matrix to.
+         * @param rows List with the rows of the matrix.
          */
-        protected List<Scalar[][]> fromArrayNode(
-                final JsonNode jsonNode, final DeserializationContext deserializationContext,
-                final ObjectCodec objectCodec) throws IOException {
-            if (jsonNode.size() == 0) {
-                return Collections.emptyList();
-            }
-            else if (!jsonNode.get(0).isArray()) {
-                throw deserializationContext.mappingException("Cannot deserialize to list of matrices");
-            }
-            else if ((jsonNode.get(0).size() > 0) && (jsonNode.get(0).get(0).isArray())) {
-                return fromList(jsonNode, deserializationContext, objectCodec);
+        private static void addMatrix(final PackedList<Scalar[][]> res, final PackedList<Scalar[]> rows) {
+            final PackedMatrix packedMatrix = PackedMatrix.pack(rows);
+            if (packedMatrix != null) {
+                res.addPacked(packedMatrix);
             }
             else {
-                return Collections.singletonList(fromMatrix(jsonNode, deserializationContext, objectCodec));
+                res.add(rows.toArray(new Scalar[rows.size()][]));
             }
         }
+    }
+
+    /**
+     * Growable buffer of {@link Scalar} objects that is reused for each vector that is read by a single call to a
+     * deserializer.
+     *
+     * @author Kyle Michel
+     */
+    private static final class ScalarBuffer {
 
         /**
-         * Convert from a {@link JsonNode} object into a list of arrays of arrays of {@link Scalar} objects.
+         * Remove all values from the buffer.
+         */
+        void clear() {
+            this.size = 0;
+        }
+
+        /**
+         * Add a value to the buffer.
          *
-         * @param jsonNode {@link JsonNode} to convert.
-         * @param deserializationContext {@link DeserializationContext} object for the parser.
-         * @param objectCodec {@link ObjectCodec} for the parser being used.
-         * @return List of arrays of arrays of {@link Scalar} objects.
-         * @throws IOException if thrown from within this function.
+         * @param scalar {@link Scalar} to add.
          */
-        protected List<Scalar[][]> fromList(
-                final JsonNode jsonNode, final DeserializationContext deserializationContext,
-                final ObjectCodec objectCodec) throws IOException {
-            final List<Scalar[][]> res = new ArrayList<>(jsonNode.size());
-            for (JsonNode i : jsonNode) {
-                res.add(fromMatrix(i, deserializationContext, objectCodec));
+        void add(final Scalar scalar) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, 2 * this.values.length);
             }
-            return res;
+            this.values[this.size++] = scalar;
         }
 
         /**
-         * Convert from a {@link JsonNode} object into an array of arrays of {@link Scalar} objects.
+         * Add the values in the buffer to a list as a single vector, in packed form if every value is a plain number.
          *
-         * @param jsonNode {@link JsonNode} object to convert into a matrix.
-         * @param deserializationContext {@link DeserializationContext} object for the parser.
-         * @param objectCodec {@link ObjectCodec} for the parser being used.
-         * @return Array of arrays of {@link Scalar} objects.
-         * @throws IOException if thrown from within this function.
+         * @param res List to add the vector to.
          */
-        protected Scalar[][] fromMatrix(
-                final JsonNode jsonNode, final DeserializationContext deserializationContext,
-                final ObjectCodec objectCodec) throws IOException {
-            final JsonParser jsonParser = jsonNode.traverse(objectCodec);
-            jsonParser.nextToken();
-            final VectorsDeserializer deserializer = new VectorsDeserializer();
-            final List<Scalar[]> matrix = deserializer.deserialize(jsonParser, deserializationContext);
-            final Scalar[][] res = new Scalar[matrix.size()][];
-            return matrix.toArray(res);
+        void addTo(final PackedList<Scalar[]> res) {
+            final PackedVector packedVector = PackedVector.pack(this.values, this.size);
+            if (packedVector != null) {
+                res.addPacked(packedVector);
+            }
+            else {
+                res.add(Arrays.copyOf(this.values, this.size));
+            }
         }
+
+        /** Values in the buffer. */
+        private Scalar[] values = new Scalar[16];
+
+        /** Number of values in the buffer. */
+        private int size;
     }
-}
\ No newline at end of file
+}
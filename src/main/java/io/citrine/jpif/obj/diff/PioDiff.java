@@ -0,0 +1,340 @@
+package io.citrine.jpif.obj.diff;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import io.citrine.jpif.obj.common.Pio;
+import io.citrine.jpif.util.PifObjectMapper;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Class that computes the {@link PioPatch} that turns one Pio object into another. Objects are compared field by
+ * field in the same way as {@link Pio#equals(Object)}, so objects that are equal always give an empty patch however
+ * they were read. Fields that only changed in part are patched in place, and lists whose elements all have a
+ * {@link Pio#mergeKey()} are matched element by element on that key, so that a change to one element of a large list
+ * only patches that element. All other lists are replaced in full when they change.
+ *
+ * @author Kyle Michel
+ */
+public final class PioDiff {
+
+    /**
+     * Compute the patch that turns one object into another.
+     *
+     * @param from Object to patch.
+     * @param to Object that the patch produces.
+     * @return {@link PioPatch} that turns the first object into the second.
+     */
+    public static PioPatch diff(final Pio from, final Pio to) {
+        final List<PioPatch.Operation> operations = new ArrayList<>();
+        diffPios(Collections.emptyList(), from, to, operations);
+        return new PioPatch(operations);
+    }
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private PioDiff() {}
+
+    /**
+     * Add the operations that turn one object into another.
+     *
+     * @param path Path to the object.
+     * @param from {@link Pio} to patch.
+     * @param to {@link Pio} that the patch produces.
+     * @param operations List to add operations to.
+     */
+    private static void diffPios(final List<JsonNode> path, final Pio from, final Pio to,
+            final List<PioPatch.Operation> operations) {
+        if (from.equals(to)) {
+            return;
+        }
+        if (from.getClass() != to.getClass()) {
+            operations.add(new PioPatch.Operation(PioPatch.Type.SET, path, null, toJson(to)));
+            return;
+        }
+        for (BeanPropertyWriter property : PROPERTIES.get(from.getClass())) {
+            diffFields(append(path, property.getName()), get(property, from), get(property, to), operations);
+        }
+        final Map<String, Object> fromFields = unsupportedFields(from);
+        final Map<String, Object> toFields = unsupportedFields(to);
+        fromFields.forEach((key, value) -> diffFields(append(path, key), value, toFields.get(key), operations));
+        toFields.forEach((key, value) -> {
+            if (!fromFields.containsKey(key)) {
+                diffFields(append(path, key), null, value, operations);
+            }
+        });
+    }
+
+    /**
+     * Add the operations that turn the value of one field into another. Empty values are not written, so they are
+     * treated in the same way as a missing field.
+     *
+     * @param path Path to the field.
+     * @param from Value to patch. This can be null.
+     * @param to Value that the patch produces. This can be null.
+     * @param operations List to add operations to.
+     */
+    private static void diffFields(final List<JsonNode> path, final Object from, final Object to,
+            final List<PioPatch.Operation> operations) {
+        if (isEmpty(to)) {
+            if (!isEmpty(from)) {
+                operations.add(new PioPatch.Operation(PioPatch.Type.REMOVE, path, null, null));
+            }
+        }
+        else if (isEmpty(from)) {
+            operations.add(new PioPatch.Operation(PioPatch.Type.SET, path, null, toJson(to)));
+        }
+        else if ((from instanceof Pio) && (to instanceof Pio)) {
+            diffPios(path, (Pio) from, (Pio) to, operations);
+        }
+        else if ((from instanceof List) && (to instanceof List)) {
+            if (!diffKeyedLists(path, (List<?>) from, (List<?>) to, operations) && !valuesEqual(from, to)) {
+                operations.add(new PioPatch.Operation(PioPatch.Type.SET, path, null, toJson(to)));
+            }
+        }
+        else if (!valuesEqual(from, to)) {
+            operations.add(new PioPatch.Operation(PioPatch.Type.SET, path, null, toJson(to)));
+        }
+    }
+
+    /**
+     * Add the operations that turn one keyed list into another. This only succeeds if every element of both lists is
+     * a {@link Pio} with a unique {@link Pio#mergeKey()}, and the elements that are in both lists are in the same
+     * order. Elements that are kept are patched first at their index in the original list, then elements that are
+     * not kept are removed from the end of the list backwards, and finally new elements are added at their index in
+     * the new list.
+     *
+     * @param path Path to the list.
+     * @param from List to patch.
+     * @param to List that the patch produces.
+     * @param operations List to add operations to.
+     * @return True if the operations were added, or false if the list must be replaced in full.
+     */
+    private static boolean diffKeyedLists(final List<JsonNode> path, final List<?> from, final List<?> to,
+            final List<PioPatch.Operation> operations) {
+        final Map<Object, Integer> fromByKey = byKey(from);
+        final Map<Object, Integer> toByKey = byKey(to);
+        if ((fromByKey == null) || (toByKey == null)) {
+            return false;
+        }
+        final List<Object> keptInFromOrder = new ArrayList<>();
+        fromByKey.keySet().stream().filter(toByKey::containsKey).forEach(keptInFromOrder::add);
+        final List<Object> keptInToOrder = new ArrayList<>();
+        toByKey.keySet().stream().filter(fromByKey::containsKey).forEach(keptInToOrder::add);
+        if (!keptInFromOrder.equals(keptInToOrder)) {
+            return false;
+        }
+
+        for (Object key : keptInFromOrder) {
+            final int index = fromByKey.get(key);
+            diffPios(append(path, index), (Pio) from.get(index), (Pio) to.get(toByKey.get(key)), operations);
+        }
+        for (int i = from.size() - 1; i >= 0; --i) {
+            if (!toByKey.containsKey(keyOf(from.get(i)))) {
+                operations.add(new PioPatch.Operation(PioPatch.Type.REMOVE, append(path, i), null, null));
+            }
+        }
+        for (int i = 0; i < to.size(); ++i) {
+            if (!fromByKey.containsKey(keyOf(to.get(i)))) {
+                operations.add(new PioPatch.Operation(PioPatch.Type.ADD, path, i, toJson(to.get(i))));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the index of each element of a list by its key.
+     *
+     * @param list List to get the elements of.
+     * @return Map from the key of each element to its index, in the order of the list, or a null pointer if any
+     *     element does not have a key or has the same key as another element.
+     */
+    private static Map<Object, Integer> byKey(final List<?> list) {
+        final Map<Object, Integer> res = new LinkedHashMap<>();
+        for (int i = 0; i < list.size(); ++i) {
+            final Object key = keyOf(list.get(i));
+            if ((key == null) || (res.put(key, i) != null)) {
+                return null;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Get the key of an element of a list, which is made up of its class and its {@link Pio#mergeKey()} in the same
+     * way as when lists are merged by key.
+     *
+     * @param element Element to get the key of.
+     * @return Key of the element, or a null pointer if the element is not a {@link Pio} with a key.
+     */
+    private static Object keyOf(final Object element) {
+        final Object mergeKey = (element instanceof Pio) ? ((Pio) element).mergeKey() : null;
+        return (mergeKey == null) ? null : new AbstractMap.SimpleImmutableEntry<>(element.getClass(), mergeKey);
+    }
+
+    /**
+     * Compare two values of a field. Lists and arrays are compared element by element, and {@link Pio} objects by
+     * their content.
+     *
+     * @param first First value to compare. This can be null.
+     * @param second Second value to compare. This can be null.
+     * @return True if the values are equal.
+     */
+    private static boolean valuesEqual(final Object first, final Object second) {
+        if ((first instanceof List) && (second instanceof List)) {
+            final List<?> firstList = (List<?>) first;
+            final List<?> secondList = (List<?>) second;
+            if (firstList.size() != secondList.size()) {
+                return false;
+            }
+            for (int i = 0; i < firstList.size(); ++i) {
+                if (!valuesEqual(firstList.get(i), secondList.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if ((first instanceof Object[]) && (second instanceof Object[])) {
+            final Object[] firstArray = (Object[]) first;
+            final Object[] secondArray = (Object[]) second;
+            if (firstArray.length != secondArray.length) {
+                return false;
+            }
+            for (int i = 0; i < firstArray.length; ++i) {
+                if (!valuesEqual(firstArray[i], secondArray[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.equals(first, second);
+    }
+
+    /**
+     * Determine whether a value is left out when it is written.
+     *
+     * @param value Value to check. This can be null.
+     * @return True if the value is null or is an empty string, list, array or map.
+     */
+    private static boolean isEmpty(final Object value) {
+        return (value == null)
+                || ((value instanceof String) && ((String) value).isEmpty())
+                || ((value instanceof Collection) && ((Collection<?>) value).isEmpty())
+                || ((value instanceof Map) && ((Map<?, ?>) value).isEmpty())
+                || ((value instanceof Object[]) && (((Object[]) value).length == 0));
+    }
+
+    /**
+     * Get the value of a property of an object.
+     *
+     * @param property {@link BeanPropertyWriter} for the property.
+     * @param pio Object to get the value of the property from.
+     * @return Value of the property.
+     * @throws IllegalStateException if the getter of the property fails.
+     */
+    private static Object get(final BeanPropertyWriter property, final Pio pio) {
+        try {
+            return property.get(pio);
+        }
+        catch (Exception e) {
+            throw new IllegalStateException("Unable to get " + property.getName() + " of " + pio.getClass(), e);
+        }
+    }
+
+    /**
+     * Get the unsupported fields of an object.
+     *
+     * @param pio Object to get the unsupported fields of.
+     * @return Map of the names of the unsupported fields to their values.
+     */
+    private static Map<String, Object> unsupportedFields(final Pio pio) {
+        if (pio.numUnsupportedFields() == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Object> res = new LinkedHashMap<>();
+        pio.unsupportedFields().forEach(i -> res.put(i.getKey(), i.getValue()));
+        return res;
+    }
+
+    /**
+     * Get the JSON form of a value.
+     *
+     * @param value Value to convert.
+     * @return {@link JsonNode} with the value.
+     */
+    private static JsonNode toJson(final Object value) {
+        return PifObjectMapper.getInstance().valueToTree(value);
+    }
+
+    /**
+     * Create a new path by adding a field name to the end of an existing path.
+     *
+     * @param path Existing path.
+     * @param fieldName Name of the field to add.
+     * @return New path.
+     */
+    private static List<JsonNode> append(final List<JsonNode> path, final String fieldName) {
+        return append(path, TextNode.valueOf(fieldName));
+    }
+
+    /**
+     * Create a new path by adding an index in a list to the end of an existing path.
+     *
+     * @param path Existing path.
+     * @param index Index of the element to add.
+     * @return New path.
+     */
+    private static List<JsonNode> append(final List<JsonNode> path, final int index) {
+        return append(path, IntNode.valueOf(index));
+    }
+
+    /**
+     * Create a new path by adding a segment to the end of an existing path.
+     *
+     * @param path Existing path.
+     * @param segment Segment to add.
+     * @return New path.
+     */
+    private static List<JsonNode> append(final List<JsonNode> path, final JsonNode segment) {
+        final List<JsonNode> res = new ArrayList<>(path.size() + 1);
+        res.addAll(path);
+        res.add(segment);
+        return res;
+    }
+
+    /** Properties that are written for each class, which are found from its serializer the first time it is used. */
+    private static final ClassValue<List<BeanPropertyWriter>> PROPERTIES = new ClassValue<List<BeanPropertyWriter>>() {
+        @Override
+        protected List<BeanPropertyWriter> computeValue(final Class<?> type) {
+            final List<BeanPropertyWriter> res = new ArrayList<>();
+            try {
+                final Iterator<PropertyWriter> properties = PifObjectMapper.getInstance()
+                        .getSerializerProviderInstance()
+                        .findValueSerializer(type)
+                        .properties();
+                properties.forEachRemaining(i -> {
+                    if (i instanceof BeanPropertyWriter) {
+                        res.add((BeanPropertyWriter) i);
+                    }
+                });
+            }
+            catch (JsonMappingException e) {
+                throw new IllegalStateException("Unable to find the properties of " + type, e);
+            }
+            return Collections.unmodifiableList(res);
+        }
+    };
+}
@@ -0,0 +1,308 @@
+package io.citrine.jpif.obj.diff;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.citrine.jpif.obj.common.Pio;
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.util.PifObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ordered list of operations that turns one Pio object into another. Patches are created by
+ * {@link PioDiff#diff(Pio, Pio)} and are written and read as a JSON array of operations using
+ * {@link PifObjectMapper}:
+ *
+ * <pre>
+ * {@code
+ * [{"op": "set", "path": ["properties", 1, "units"], "value": "eV"},
+ *  {"op": "remove", "path": ["ids", 0]},
+ *  {"op": "add", "path": ["composition"], "index": 1, "value": {"element": "O"}}]
+ * }
+ * </pre>
+ *
+ * <p>Each path is a list of segments that starts at the patched object. A string segment selects a field of an
+ * object, and an integer segment selects the element of a list at that index when the operation is applied.
+ *
+ * @author Kyle Michel
+ */
+public class PioPatch {
+
+    /**
+     * Constructor.
+     *
+     * @param operations List of {@link Operation} objects to apply in order.
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public PioPatch(final List<Operation> operations) {
+        this.operations = (operations == null)
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(operations));
+    }
+
+    /**
+     * Get the operations of this patch.
+     *
+     * @return Unmodifiable list of the {@link Operation} objects of this patch, in the order that they are applied.
+     */
+    @JsonValue
+    public List<Operation> getOperations() {
+        return this.operations;
+    }
+
+    /**
+     * Determine whether this patch does not change anything.
+     *
+     * @return True if this patch has no operations.
+     */
+    public boolean isEmpty() {
+        return this.operations.isEmpty();
+    }
+
+    /**
+     * Apply this patch to an object. The input object is not changed. Parts of the object that were read lazily are
+     * written in full before the patch is applied, so that the patch applies in the same way however the object was
+     * read.
+     *
+     * @param base Object to patch.
+     * @param <T> Type of the object.
+     * @return New object with this patch applied.
+     * @throws IllegalArgumentException if this patch cannot be applied to the object.
+     * @throws JsonProcessingException if the patched object cannot be read.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Pio> T apply(final T base) throws JsonProcessingException {
+        // Systems are read as their base class so that a patch can change their category
+        final Class<? extends Pio> type = (base instanceof System) ? System.class : base.getClass();
+        final JsonNode lazyTree = PifObjectMapper.getInstance().valueToTree(base);
+        final JsonNode baseTree = PifObjectMapper.getInstance().valueToTree(
+                PifObjectMapper.getInstance().treeToValue(lazyTree, type));
+        return (T) PifObjectMapper.getInstance().treeToValue(apply(baseTree), type);
+    }
+
+    /**
+     * Apply this patch to the JSON form of an object. The input node is not changed.
+     *
+     * @param base {@link JsonNode} to patch.
+     * @return New {@link JsonNode} with this patch applied.
+     * @throws IllegalArgumentException if this patch cannot be applied to the node.
+     */
+    public JsonNode apply(final JsonNode base) {
+        JsonNode res = base.deepCopy();
+        for (Operation operation : this.operations) {
+            res = operation.apply(res);
+        }
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return PifObjectMapper.getInstance().writeValueAsString(this);
+        }
+        catch (JsonProcessingException e) {
+            return super.toString();
+        }
+    }
+
+    /** Operations of this patch. */
+    private final List<Operation> operations;
+
+    /**
+     * Types of operations.
+     *
+     * @author Kyle Michel
+     */
+    public enum Type {
+
+        /** Set a field, or replace an element of a list, with a new value. */
+        @JsonProperty("set")
+        SET,
+
+        /** Remove a field, or an element of a list. */
+        @JsonProperty("remove")
+        REMOVE,
+
+        /** Insert a new element into a list at an index. */
+        @JsonProperty("add")
+        ADD
+    }
+
+    /**
+     * Single operation of a patch.
+     *
+     * @author Kyle Michel
+     */
+    public static class Operation {
+
+        /**
+         * Constructor.
+         *
+         * @param type {@link Type} of the operation.
+         * @param path List with the segments of the path to the value that is changed. For {@link Type#ADD}
+         *             operations this is the path to the list.
+         * @param index Index in the list to insert at for {@link Type#ADD} operations, or a null pointer otherwise.
+         * @param value New value for {@link Type#SET} and {@link Type#ADD} operations, or a null pointer otherwise.
+         */
+        @JsonCreator
+        public Operation(@JsonProperty("op") final Type type,
+                @JsonProperty("path") final List<JsonNode> path,
+                @JsonProperty("index") final Integer index,
+                @JsonProperty("value") final JsonNode value) {
+            if (type == null) {
+                throw new IllegalArgumentException("Type of patch operation must be set");
+            }
+            this.type = type;
+            this.path = (path == null) ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(path));
+            this.index = index;
+            // Jackson reads a missing value as a null node
+            this.value = (type == Type.REMOVE) ? null : value;
+        }
+
+        /**
+         * Get the type of this operation.
+         *
+         * @return {@link Type} of this operation.
+         */
+        @JsonGetter("op")
+        public Type getType() {
+            return this.type;
+        }
+
+        /**
+         * Get the path that this operation changes.
+         *
+         * @return Unmodifiable list with the segments of the path.
+         */
+        @JsonGetter("path")
+        public List<JsonNode> getPath() {
+            return this.path;
+        }
+
+        /**
+         * Get the index that this operation inserts at.
+         *
+         * @return Index in the list for {@link Type#ADD} operations, or a null pointer otherwise.
+         */
+        @JsonGetter("index")
+        public Integer getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Get the value that this operation sets or inserts.
+         *
+         * @return {@link JsonNode} with the new value, or a null pointer for {@link Type#REMOVE} operations.
+         */
+        @JsonGetter("value")
+        public JsonNode getValue() {
+            return this.value;
+        }
+
+        /**
+         * Apply this operation to a node.
+         *
+         * @param root {@link JsonNode} to change. This may be modified.
+         * @return {@link JsonNode} with this operation applied, which is the input node unless the whole node is set.
+         * @throws IllegalArgumentException if this operation cannot be applied to the node.
+         */
+        JsonNode apply(final JsonNode root) {
+            if (this.type == Type.ADD) {
+                final JsonNode list = resolve(root, this.path.size());
+                if (!list.isArray() || (this.value == null) || (this.index == null) || (this.index < 0)
+                        || (this.index > list.size())) {
+                    throw invalid();
+                }
+                ((ArrayNode) list).insert(this.index, this.value.deepCopy());
+                return root;
+            }
+            if ((this.type == Type.SET) && (this.value == null)) {
+                throw invalid();
+            }
+            if (this.path.isEmpty()) {
+                if (this.type == Type.REMOVE) {
+                    throw invalid();
+                }
+                return this.value.deepCopy();
+            }
+
+            final JsonNode parent = resolve(root, this.path.size() - 1);
+            final JsonNode segment = this.path.get(this.path.size() - 1);
+            if (segment.isTextual() && parent.isObject()) {
+                if (this.type == Type.SET) {
+                    ((ObjectNode) parent).set(segment.asText(), this.value.deepCopy());
+                }
+                else if (((ObjectNode) parent).remove(segment.asText()) == null) {
+                    throw invalid();
+                }
+            }
+            else if (segment.isInt() && parent.isArray() && parent.has(segment.intValue())) {
+                final int elementIndex = segment.intValue();
+                if (this.type == Type.SET) {
+                    ((ArrayNode) parent).set(elementIndex, this.value.deepCopy());
+                }
+                else {
+                    ((ArrayNode) parent).remove(elementIndex);
+                }
+            }
+            else {
+                throw invalid();
+            }
+            return root;
+        }
+
+        /**
+         * Follow the start of the path of this operation.
+         *
+         * @param root {@link JsonNode} to start from.
+         * @param numSegments Number of segments of the path to follow.
+         * @return {@link JsonNode} at the end of the segments.
+         * @throws IllegalArgumentException if the path does not exist.
+         */
+        private JsonNode resolve(final JsonNode root, final int numSegments) {
+            JsonNode res = root;
+            for (int i = 0; i < numSegments; ++i) {
+                final JsonNode segment = this.path.get(i);
+                if (segment.isTextual() && res.isObject() && res.has(segment.asText())) {
+                    res = res.get(segment.asText());
+                }
+                else if (segment.isInt() && res.isArray() && res.has(segment.intValue())) {
+                    res = res.get(segment.intValue());
+                }
+                else {
+                    throw invalid();
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Create the exception that is thrown when this operation cannot be applied.
+         *
+         * @return {@link IllegalArgumentException} for this operation.
+         */
+        private IllegalArgumentException invalid() {
+            return new IllegalArgumentException("Unable to apply patch operation " + this.type + " at " + this.path);
+        }
+
+        /** Type of this operation. */
+        private final Type type;
+
+        /** Segments of the path that this operation changes. */
+        private final List<JsonNode> path;
+
+        /** Index that this operation inserts at, or null if it does not insert. */
+        private final Integer index;
+
+        /** Value that this operation sets or inserts, or null if it removes. */
+        private final JsonNode value;
+    }
+}
@@ -0,0 +1,165 @@
+package io.citrine.jpif.obj.merge;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * A {@link ForkJoinPool} that merges Pio objects in parallel. Merges that run in this pool split list fields, and the
+ * matched elements of lists that are merged by key, into separate tasks once they hold at least
+ * {@link #getThreshold()} elements. Smaller fields and lists are merged on the current thread. The result is always
+ * identical to the result of a sequential merge.
+ *
+ * @author Sean Paradiso
+ */
+public class MergePool extends ForkJoinPool {
+
+    /**
+     * Constructor.
+     *
+     * @param parallelism the number of threads of the pool.
+     * @param threshold   the minimum number of elements in a list for it to be split into parallel tasks.
+     */
+    public MergePool(int parallelism, int threshold) {
+        super(parallelism);
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * Getter for the shared pool, which has a thread for each available processor and uses the default threshold.
+     *
+     * @return the shared MergePool.
+     */
+    public static MergePool getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Getter for the pool that the current thread belongs to.
+     *
+     * @return the MergePool of the current thread, or null if the current thread does not belong to one.
+     */
+    public static MergePool current() {
+        final ForkJoinPool pool = ForkJoinTask.getPool();
+        return (pool instanceof MergePool) ? (MergePool) pool : null;
+    }
+
+    /**
+     * Getter for the threshold.
+     *
+     * @return the minimum number of elements in a list for it to be split into parallel tasks.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Run a task in this pool and wait for it to finish. The task is run directly if the current thread already
+     * belongs to this pool.
+     *
+     * @param task the task to run.
+     * @param <T>  the type of the result of the task.
+     * @return the result of the task.
+     * @throws Exception if the task throws an exception.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        if (current() == this) {
+            return task.call();
+        }
+        try {
+            return submit(task).get();
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Run an action for each index from 0 up to a size. If the current thread belongs to a MergePool and the size is
+     * at least its threshold then the indices are split into parallel tasks, and otherwise they are run in order on
+     * the current thread. The action must only change state that is separate for each index.
+     *
+     * @param size   the number of indices.
+     * @param heavy  true if each index is expensive enough to be its own task, in which case every index is split out.
+     *               Otherwise indices are split into groups of the threshold.
+     * @param action the action to run for each index.
+     */
+    static void forEach(int size, boolean heavy, IntConsumer action) {
+        final MergePool pool = current();
+        if ((pool == null) || (size < pool.threshold)) {
+            for (int i = 0; i < size; ++i) {
+                action.accept(i);
+            }
+        }
+        else {
+            new RangeAction(0, size, heavy ? 1 : pool.threshold, action).invoke();
+        }
+    }
+
+    /** Default minimum number of elements in a list for it to be split into parallel tasks. */
+    public static final int DEFAULT_THRESHOLD = 16;
+
+    private final int threshold;
+
+    /**
+     * Holder for the shared pool, which is only created when it is first used.
+     */
+    private static final class Holder {
+
+        private static final MergePool DEFAULT = new MergePool(
+                Runtime.getRuntime().availableProcessors(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Task that runs an action for a range of indices, splitting the range in half until it is no larger than a grain.
+     */
+    private static final class RangeAction extends RecursiveAction {
+
+        /**
+         * Constructor.
+         *
+         * @param start  the first index of the range.
+         * @param end    one past the last index of the range.
+         * @param grain  the largest range to run without splitting.
+         * @param action the action to run for each index.
+         */
+        private RangeAction(int start, int end, int grain, IntConsumer action) {
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                for (int i = start; i < end; ++i) {
+                    action.accept(i);
+                }
+            }
+            else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new RangeAction(start, middle, grain, action), new RangeAction(middle, end, grain, action));
+            }
+        }
+
+        private final int start;
+        private final int end;
+        private final int grain;
+        private final IntConsumer action;
+
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -2,6 +2,7 @@ package io.citrine.jpif.obj.merge;
 
 import io.citrine.jpif.obj.common.Pio;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -56,6 +57,85 @@ public enum MergeStrategy {
             }
             return mergeInto;
         }
+    },
+
+    // Conflicting objects are replaced if the merge source is non-null and objects in matching lists are merged by
+    // their key (see Pio#mergeKey()). Objects without a key and all other values are only added to a list if it does
+    // not already contain an equal one, so that merging the same records repeatedly does not grow their lists
+    REPLACE_NON_NULL_AND_MERGE_BY_KEY {
+        @Override
+        public List<Object> merge(List<Object> mergeInto, List<Object> mergeFrom) {
+            List<Object> elements = REPLACE_NON_NULL_AND_APPEND.merge(mergeInto, mergeFrom);
+            Object[] keys = new Object[elements.size()];
+            boolean[] hasMergeKey = new boolean[elements.size()];
+            MergePool.forEach(elements.size(), false, i -> {
+                Object element = elements.get(i);
+                Object mergeKey = (element instanceof Pio) ? ((Pio) element).mergeKey() : null;
+                hasMergeKey[i] = (mergeKey != null);
+                if (mergeKey != null) {
+                    keys[i] = new AbstractMap.SimpleImmutableEntry<>(element.getClass(), mergeKey);
+                }
+                else {
+                    keys[i] = element;
+                }
+            });
+
+            // Match each element to the first element with the same key. Objects without a key are matched on their
+            // content by Pio#equals(Object) and are identical, so only objects with a key are merged.
+            List<Object> result = new ArrayList<>();
+            List<Object> resultKeys = new ArrayList<>();
+            List<List<Object>> matches = new ArrayList<>();
+            Map<Object, Integer> indexByKey = new HashMap<>();
+            for (int i = 0; i < keys.length; ++i) {
+                Integer index = indexByKey.get(keys[i]);
+                if (index == null) {
+                    indexByKey.put(keys[i], result.size());
+                    result.add(elements.get(i));
+                    resultKeys.add(keys[i]);
+                    matches.add(null);
+                }
+                else if (hasMergeKey[i]) {
+                    if (matches.get(index) == null) {
+                        matches.set(index, new ArrayList<>());
+                    }
+                    matches.get(index).add(elements.get(i));
+                }
+            }
+
+            // Merge the matched elements into each element in order. Only the merged elements are copied and their
+            // contents are shared, which is safe in every merge: the result of Pio#merge already holds a deep copy of
+            // its receiver and shares the objects of its other input, and Pio#mergeShared shares both.
+            MergePool.forEach(result.size(), true, i -> {
+                if (matches.get(i) != null) {
+                    Pio merged = (Pio) result.get(i);
+                    for (Object element : matches.get(i)) {
+                        try {
+                            merged = merged.mergeShared((Pio) element, this);
+                        }
+                        catch (Exception e) {
+                            throw new IllegalStateException("Unable to merge objects with key " + resultKeys.get(i), e);
+                        }
+                    }
+                    result.set(i, merged);
+                }
+            });
+            return result;
+        }
+
+        @Override
+        public Pio merge(Pio mergeInto, Pio mergeFrom) {
+            return REPLACE_NON_NULL_AND_APPEND.merge(mergeInto, mergeFrom);
+        }
+
+        @Override
+        public Map<String, Object> merge(Map<String, Object> mergeInto, Map<String, Object> mergeFrom) {
+            return REPLACE_NON_NULL_AND_APPEND.merge(mergeInto, mergeFrom);
+        }
+
+        @Override
+        public Object merge(Object mergeInto, Object mergeFrom) {
+            return REPLACE_NON_NULL_AND_APPEND.merge(mergeInto, mergeFrom);
+        }
     };
 
     /**
@@ -1,37 +1,77 @@
 package io.citrine.jpif.obj.merge;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.citrine.jpif.obj.common.Pio;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * A reflection utility class for Pio instances.
+ * A reflection utility class for Pio instances. Use {@link #of(Class)} to get the shared instance for a class, which
+ * is only built the first time that it is requested.
  *
  * @author Sean Paradiso
  */
 public class PioReflection {
 
     /**
-     * The constructor parses and caches all getter and setter methods for future work.
+     * Get the shared reflection information for a class. The getters, setters and field accessors of each class are
+     * only discovered once.
+     *
+     * @param pioClass the Pio class whose fields are parsed.
+     * @return the PioReflection for the class.
+     */
+    public static PioReflection of(final Class<? extends Pio> pioClass) {
+        return CACHE.get(pioClass);
+    }
+
+    /**
+     * The constructor parses and caches all getter and setter methods for future work. Prefer {@link #of(Class)},
+     * which does not repeat this work for each instance.
      *
      * @param instance the Pio instance whose fields are parsed.
      */
     public PioReflection(Pio instance) {
-        this.getters = getAllMethods(instance.getClass(), "get.*").entrySet().stream()
-                .filter(entry -> entry.getValue().getParameterCount() == 0)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        this(instance.getClass());
+    }
+
+    /**
+     * The constructor parses and caches all getter and setter methods for future work.
+     *
+     * @param clazz the Class whose fields are parsed.
+     */
+    private PioReflection(Class<?> clazz) {
+        this.getters = Collections.unmodifiableMap(getAllMethods(clazz, "get.*", 0));
 
-        this.setters = getAllMethods(instance.getClass(), "set.*").entrySet().stream()
-                .filter(entry -> entry.getValue().getParameterCount() == 1)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        this.setters = Collections.unmodifiableMap(getAllMethods(clazz, "set.*", 1));
 
         getters.values().stream().forEach(method -> method.setAccessible(true));
         setters.values().stream().forEach(method -> method.setAccessible(true));
+
+        // Only getters of fields that can be merged become accessors: derived values without a setter, and values that
+        // are not written out, are skipped. Unsupported fields have no setter but are merged as a map.
+        final Map<String, Accessor> accessors = new HashMap<>();
+        getters.forEach((name, getter) -> {
+            final Method setter = findSetter(clazz, name.replace("get", "set"), getter.getReturnType());
+            if (name.equals(UNSUPPORTED_FIELDS_GETTER)
+                    || ((setter != null) && !getter.isAnnotationPresent(JsonIgnore.class))) {
+                accessors.put(name, new Accessor(name, getter, setter));
+            }
+        });
+        this.accessors = Collections.unmodifiableMap(accessors);
     }
 
     /**
@@ -62,6 +102,25 @@ public class PioReflection {
         return getters.getOrDefault(methodKey, setters.get(methodKey));
     }
 
+    /**
+     * Getter for the accessor of a field.
+     *
+     * @param getterName the name of the getter of the field (ex. "getComposition").
+     * @return the Accessor for the field, or null if there is no field that can be merged with the input getter.
+     */
+    public Accessor getAccessor(String getterName) {
+        return accessors.get(getterName);
+    }
+
+    /**
+     * Getter for the accessors of all fields.
+     *
+     * @return the accessors of every field that can be merged, which has a setter and is not {@link JsonIgnore}d.
+     */
+    public Collection<Accessor> getAccessors() {
+        return accessors.values();
+    }
+
     /**
      * Check whether a particular Method name discovered through reflection is a getter with a List type.
      *
@@ -69,18 +128,57 @@ public class PioReflection {
      * @return true if the Method has a return type of List.
      */
     public boolean isList(String method) {
-        return getters.get(method).getReturnType()
-                .isAssignableFrom(java.util.List.class);
+        return accessors.get(method).isList();
     }
 
     /**
-     * Internal utility to march up the class hierarchy, collecting Methods whose names match a given pattern.
+     * Convert a list of ignored field names to the set that is checked by {@link Accessor#isIgnored(Set)}.
      *
-     * @param clazz   the Class whose methods are returned.
-     * @param pattern regex pattern to match method names on.
+     * @param ignoredFields the names of the getters of fields to ignore. Names are not case sensitive.
+     * @return the set of ignored fields.
+     */
+    public static Set<String> toIgnoredSet(List<String> ignoredFields) {
+        if (DEFAULT_IGNORED_FIELDS.equals(ignoredFields)) {
+            return DEFAULT_IGNORED_SET;
+        }
+        return ignoredFields.stream().map(i -> i.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    /**
+     * Find the setter of a field. Setters that are overloaded for several types (ex. a Scalar, a String and a Number)
+     * resolve to the one that takes the type that the getter returns, so that values can be copied between objects.
+     *
+     * @param clazz      the Class whose setter is returned.
+     * @param setterName the name of the setter.
+     * @param type       the type returned by the getter of the field.
+     * @return the setter Method, or null if there is none.
+     */
+    private Method findSetter(Class<?> clazz, String setterName, Class<?> type) {
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.getName().equals(setterName)
+                        && (method.getParameterCount() == 1)
+                        && method.getParameterTypes()[0].isAssignableFrom(type)
+                        && !method.isBridge()) {
+                    method.setAccessible(true);
+                    return method;
+                }
+            }
+        }
+        return setters.get(setterName);
+    }
+
+    /**
+     * Internal utility to march up the class hierarchy, collecting Methods whose names match a given pattern. Methods
+     * are filtered on their number of parameters before they are collected by name, so that an overload with another
+     * number of parameters (ex. "getComposition(int)") never hides the method that is wanted.
+     *
+     * @param clazz          the Class whose methods are returned.
+     * @param pattern        regex pattern to match method names on.
+     * @param parameterCount the number of parameters of the methods to collect.
      * @return a map of all Methods found.
      */
-    private Map<String, Method> getAllMethods(Class<?> clazz, String pattern) {
+    private Map<String, Method> getAllMethods(Class<?> clazz, String pattern, int parameterCount) {
 
         // Base case
         if (clazz == null) {
@@ -88,11 +186,12 @@ public class PioReflection {
         }
 
         Map<String, Method> methodMap = new HashMap<>();
-        Map<String, Method> parentMethods = getAllMethods(clazz.getSuperclass(), pattern);
+        Map<String, Method> parentMethods = getAllMethods(clazz.getSuperclass(), pattern, parameterCount);
 
         List<Method> methods = Arrays.asList(clazz.getDeclaredMethods());
         methods.stream()
-                .filter(m -> m.getName().matches(pattern))
+                .filter(m -> m.getName().matches(pattern) && (m.getParameterCount() == parameterCount))
+                .filter(m -> !m.isBridge())
                 .forEach(m -> methodMap.put(m.getName(), m));
 
         // Pull in all parent methods (skipping overridden methods)
@@ -103,6 +202,147 @@ public class PioReflection {
         return methodMap;
     }
 
-    private Map<String, Method> getters;
-    private Map<String, Method> setters;
+    /** Name of the getter of the unsupported fields of a Pio, which are merged without a setter. */
+    private static final String UNSUPPORTED_FIELDS_GETTER = "getUnsupportedFields";
+
+    /** Ignored fields that are used when none are set. */
+    public static final List<String> DEFAULT_IGNORED_FIELDS = Collections.singletonList("getClass");
+
+    private static final Set<String> DEFAULT_IGNORED_SET = Collections.unmodifiableSet(
+            new HashSet<>(Collections.singletonList("getclass")));
+
+    private static final ClassValue<PioReflection> CACHE = new ClassValue<PioReflection>() {
+        @Override
+        protected PioReflection computeValue(Class<?> type) {
+            return new PioReflection(type);
+        }
+    };
+
+    private final Map<String, Method> getters;
+    private final Map<String, Method> setters;
+    private final Map<String, Accessor> accessors;
+
+    /**
+     * A getter/setter pair for a single field, which is invoked through method handles rather than reflection.
+     *
+     * @author Sean Paradiso
+     */
+    public static final class Accessor {
+
+        /**
+         * Getter for the name of the getter of the field.
+         *
+         * @return the name of the getter (ex. "getComposition").
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Check whether the field has a List type.
+         *
+         * @return true if the getter has a return type of List.
+         */
+        public boolean isList() {
+            return list;
+        }
+
+        /**
+         * Check whether the field is one of a set of ignored fields.
+         *
+         * @param ignoredFields the set from {@link PioReflection#toIgnoredSet(List)}.
+         * @return true if the field is ignored.
+         */
+        public boolean isIgnored(Set<String> ignoredFields) {
+            return ignoredFields.contains(lowerCaseName);
+        }
+
+        /**
+         * Get the value of the field.
+         *
+         * @param instance the object to get the value from.
+         * @return the value of the field.
+         * @throws InvocationTargetException if the getter throws an exception.
+         */
+        public Object get(Object instance) throws InvocationTargetException {
+            checkInstance(instance);
+            try {
+                return (Object) getter.invokeExact(instance);
+            }
+            catch (Error e) {
+                throw e;
+            }
+            catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        /**
+         * Set the value of the field.
+         *
+         * @param instance the object to set the value on.
+         * @param value    the value to set.
+         * @throws InvocationTargetException if the setter throws an exception.
+         * @throws NullPointerException if the field does not have a setter.
+         */
+        public void set(Object instance, Object value) throws InvocationTargetException {
+            if (setter == null) {
+                throw new NullPointerException("No setter for " + name);
+            }
+            checkInstance(instance);
+            try {
+                setter.invokeExact(instance, value);
+            }
+            catch (Error e) {
+                throw e;
+            }
+            catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param name   the name of the getter.
+         * @param getter the getter Method, which must already be accessible.
+         * @param setter the matching setter Method, which must already be accessible, or null if there is none.
+         */
+        private Accessor(String name, Method getter, Method setter) {
+            this.name = name;
+            this.lowerCaseName = name.toLowerCase(Locale.ROOT);
+            this.declaringClass = getter.getDeclaringClass();
+            this.list = getter.getReturnType().isAssignableFrom(List.class);
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                this.getter = lookup.unreflect(getter).asType(GETTER_TYPE);
+                this.setter = (setter == null) ? null : lookup.unreflect(setter).asType(SETTER_TYPE);
+            }
+            catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to access " + name, e);
+            }
+        }
+
+        /**
+         * Check that an object has the getter of this field, which matches the check done by {@link Method#invoke}.
+         *
+         * @param instance the object to check.
+         * @throws IllegalArgumentException if the object is not an instance of the class that declares the getter.
+         */
+        private void checkInstance(Object instance) {
+            if (!declaringClass.isInstance(instance)) {
+                throw new IllegalArgumentException("object is not an instance of declaring class");
+            }
+        }
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final String name;
+        private final String lowerCaseName;
+        private final Class<?> declaringClass;
+        private final boolean list;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+    }
 }
@@ -8,20 +8,25 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.citrine.jpif.obj.common.Classification;
+import io.citrine.jpif.obj.common.Fingerprint;
 import io.citrine.jpif.obj.common.Id;
 import io.citrine.jpif.obj.common.License;
 import io.citrine.jpif.obj.common.Person;
 import io.citrine.jpif.obj.common.Pio;
+import io.citrine.jpif.obj.common.PioVisitor;
 import io.citrine.jpif.obj.common.ProcessStep;
 import io.citrine.jpif.obj.common.Property;
 import io.citrine.jpif.obj.common.Quantity;
 import io.citrine.jpif.obj.common.Rcl;
 import io.citrine.jpif.obj.common.Reference;
 import io.citrine.jpif.obj.common.Source;
+import io.citrine.jpif.obj.merge.MergePool;
 import io.citrine.jpif.obj.merge.MergeStrategy;
 import io.citrine.jpif.obj.merge.PioReflection;
 import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+import io.citrine.jpif.util.LazyList;
 import io.citrine.jpif.util.PifSerializationUtil;
 
 import java.io.IOException;
@@ -33,6 +38,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Base representation for all systems.
@@ -73,6 +81,7 @@ public class System extends Rcl implements Serializable {
      */
     @JsonSetter(value = "uid")
     public System setUid(final String uid) {
+        checkNotFrozen();
         this.uid = uid;
         return this;
     }
@@ -114,6 +123,7 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addName(final String name) {
+        checkNotFrozen();
         if (this.names == null) {
             this.names = new ArrayList<>();
         }
@@ -129,6 +139,7 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addName(final int index, final String name) {
+        checkNotFrozen();
         if (this.names == null) {
             this.names = new ArrayList<>();
         }
@@ -143,6 +154,7 @@ public class System extends Rcl implements Serializable {
      * @return True if the name was removed.
      */
     public boolean removeName(final String name) {
+        checkNotFrozen();
         return (this.names != null) && this.names.remove(name);
     }
 
@@ -198,6 +210,7 @@ public class System extends Rcl implements Serializable {
     @JsonDeserialize(contentUsing = Id.Deserializer.class)
     protected void setIds(final List<Id> ids) { // Private since only Jackson should use it
         this.ids = ids;
+        this.idsByName = null;
     }
 
     /**
@@ -218,10 +231,12 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addId(final Id id) {
+        checkNotFrozen();
         if (this.ids == null) {
             this.ids = new ArrayList<>();
         }
         this.ids.add(id);
+        this.idsByName = null;
         return this;
     }
 
@@ -233,10 +248,12 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addId(final int index, final Id id) {
+        checkNotFrozen();
         if (this.ids == null) {
             this.ids = new ArrayList<>();
         }
         this.ids.add(index, id);
+        this.idsByName = null;
         return this;
     }
 
@@ -247,6 +264,8 @@ public class System extends Rcl implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeId(final Id id) {
+        checkNotFrozen();
+        this.idsByName = null;
         return (this.ids != null) && this.ids.remove(id);
     }
 
@@ -283,6 +302,24 @@ public class System extends Rcl implements Serializable {
         return (this.ids == null) ? Collections.emptyList() : this.ids;
     }
 
+    /**
+     * Get the first ID of this system with the input name. The IDs are indexed by name when this is first called, and
+     * the index is rebuilt after IDs are added or removed, so that repeated lookups do not scan the list. Changing the
+     * name of an ID that is already in this system is not seen until the IDs are next changed.
+     *
+     * @param name Name of the ID to get.
+     * @return {@link Id} object with the input name, or a null pointer if there is none.
+     */
+    @JsonIgnore
+    public Id getId(final String name) {
+        Map<String, Id> index = this.idsByName;
+        if (index == null) {
+            index = indexed(this.ids, Id::getName);
+            this.idsByName = index;
+        }
+        return index.get(name);
+    }
+
     /**
      * Get the list of IDs for this system.
      *
@@ -303,6 +340,7 @@ public class System extends Rcl implements Serializable {
     protected void setClassifications(final List<Classification> classifications) { // Private since only Jackson should
         // use it
         this.classifications = classifications;
+        this.classificationsByName = null;
     }
 
     /**
@@ -324,10 +362,12 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addClassification(final Classification classification) {
+        checkNotFrozen();
         if (this.classifications == null) {
             this.classifications = new ArrayList<>();
         }
         this.classifications.add(classification);
+        this.classificationsByName = null;
         return this;
     }
 
@@ -339,10 +379,12 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addClassification(final int index, final Classification classification) {
+        checkNotFrozen();
         if (this.classifications == null) {
             this.classifications = new ArrayList<>();
         }
         this.classifications.add(index, classification);
+        this.classificationsByName = null;
         return this;
     }
 
@@ -353,6 +395,8 @@ public class System extends Rcl implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeClassification(final Classification classification) {
+        checkNotFrozen();
+        this.classificationsByName = null;
         return (this.classifications != null) && this.classifications.remove(classification);
     }
 
@@ -390,6 +434,25 @@ public class System extends Rcl implements Serializable {
         return (this.classifications == null) ? Collections.emptyList() : this.classifications;
     }
 
+    /**
+     * Get the first classification of this system with the input name. The classifications are indexed by name when
+     * this is first called, and the index is rebuilt after classifications are added or removed, so that repeated
+     * lookups do not scan the list. Changing the name of a classification that is already in this system is not seen
+     * until the classifications are next changed.
+     *
+     * @param name Name of the classification to get.
+     * @return {@link Classification} object with the input name, or a null pointer if there is none.
+     */
+    @JsonIgnore
+    public Classification getClassification(final String name) {
+        Map<String, Classification> index = this.classificationsByName;
+        if (index == null) {
+            index = indexed(this.classifications, Classification::getName);
+            this.classificationsByName = index;
+        }
+        return index.get(name);
+    }
+
     /**
      * Get the list of classifications for this system.
      *
@@ -409,6 +472,7 @@ public class System extends Rcl implements Serializable {
     @JsonSetter(value = "source")
     @JsonDeserialize(using = Source.Deserializer.class)
     public System setSource(final Source source) {
+        checkNotFrozen();
         this.source = source;
         return this;
     }
@@ -431,6 +495,7 @@ public class System extends Rcl implements Serializable {
      */
     @JsonSetter(value = "quantity")
     public System setQuantity(final Quantity quantity) {
+        checkNotFrozen();
         this.quantity = quantity;
         return this;
     }
@@ -451,8 +516,10 @@ public class System extends Rcl implements Serializable {
      * @param properties List of {@link Property} objects with the properties of this system.
      */
     @JsonSetter(value = "properties")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setProperties(final List<Property> properties) { // Private since only Jackson should use it
         this.properties = properties;
+        this.propertiesByName = null;
     }
 
     /**
@@ -461,6 +528,7 @@ public class System extends Rcl implements Serializable {
      * @param property List of {@link Property} objects with the properties of this system.
      */
     @JsonSetter(value = "property")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setProperty(final List<Property> property) { // Private since only Jackson should use it
         setProperties(property);
     }
@@ -472,10 +540,12 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addProperty(final Property property) {
+        checkNotFrozen();
         if (this.properties == null) {
             this.properties = new ArrayList<>();
         }
         this.properties.add(property);
+        this.propertiesByName = null;
         return this;
     }
 
@@ -487,10 +557,12 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addProperty(final int index, final Property property) {
+        checkNotFrozen();
         if (this.properties == null) {
             this.properties = new ArrayList<>();
         }
         this.properties.add(index, property);
+        this.propertiesByName = null;
         return this;
     }
 
@@ -501,6 +573,8 @@ public class System extends Rcl implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeProperty(final Property property) {
+        checkNotFrozen();
+        this.propertiesByName = null;
         return (this.properties != null) && this.properties.remove(property);
     }
 
@@ -538,12 +612,32 @@ public class System extends Rcl implements Serializable {
         return (this.properties == null) ? Collections.emptyList() : this.properties;
     }
 
+    /**
+     * Get the first property of this system with the input name. The properties are indexed by name when this is first
+     * called, and the index is rebuilt after properties are added or removed, so that repeated lookups do not scan the
+     * list. Changing the name of a property that is already in this system is not seen until the properties are next
+     * changed.
+     *
+     * @param name Name of the property to get.
+     * @return {@link Property} object with the input name, or a null pointer if there is none.
+     */
+    @JsonIgnore
+    public Property getProperty(final String name) {
+        Map<String, Property> index = this.propertiesByName;
+        if (index == null) {
+            index = indexed(this.properties, Property::getName);
+            this.propertiesByName = index;
+        }
+        return index.get(name);
+    }
+
     /**
      * Get the list of properties for this system.
      *
      * @return List of {@link Property} objects with properties for this system.
      */
     @JsonGetter(value = "properties")
+    @JsonSerialize(using = LazyList.Serializer.class)
     protected List<Property> getProperties() { // Private since only Jackson should use it
         return this.properties;
     }
@@ -554,6 +648,7 @@ public class System extends Rcl implements Serializable {
      * @param preparation List of {@link ProcessStep} objects with the processing steps of this system.
      */
     @JsonSetter(value = "preparation")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setPreparation(final List<ProcessStep> preparation) { // Private since only Jackson should use it
         this.preparation = preparation;
     }
@@ -564,6 +659,7 @@ public class System extends Rcl implements Serializable {
      * @param preparations List of {@link ProcessStep} objects with the processing steps of this system.
      */
     @JsonSetter(value = "preparations")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setPreparations(final List<ProcessStep> preparations) { // Private since only Jackson should use it
         setPreparation(preparations);
     }
@@ -575,6 +671,7 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addPreparation(final ProcessStep preparation) {
+        checkNotFrozen();
         if (this.preparation == null) {
             this.preparation = new ArrayList<>();
         }
@@ -590,6 +687,7 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addPreparation(final int index, final ProcessStep preparation) {
+        checkNotFrozen();
         if (this.preparation == null) {
             this.preparation = new ArrayList<>();
         }
@@ -604,6 +702,7 @@ public class System extends Rcl implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removePreparation(final ProcessStep preparation) {
+        checkNotFrozen();
         return (this.preparation != null) && this.preparation.remove(preparation);
     }
 
@@ -638,6 +737,7 @@ public class System extends Rcl implements Serializable {
      * @return List of {@link ProcessStep} objects with preparation steps for this system.
      */
     @JsonGetter(value = "preparation")
+    @JsonSerialize(using = LazyList.Serializer.class)
     protected List<ProcessStep> getPreparation() { // Private since only Jackson should use it
         return this.preparation;
     }
@@ -657,6 +757,7 @@ public class System extends Rcl implements Serializable {
      * @param subSystems List of {@link System} objects with the subsystems of this system.
      */
     @JsonSetter(value = "subSystems")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setSubSystems(final List<System> subSystems) { // Private since only Jackson should use it
         this.subSystems = subSystems;
     }
@@ -667,6 +768,7 @@ public class System extends Rcl implements Serializable {
      * @param subSystem List of {@link System} objects with the subsystems of this system.
      */
     @JsonSetter(value = "subSystem")
+    @JsonDeserialize(using = LazyList.Deserializer.class)
     protected void setSubSystem(final List<System> subSystem) { // Private since only Jackson should use it
         setSubSystems(subSystem);
     }
@@ -678,6 +780,7 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addSubSystem(final System subSystem) {
+        checkNotFrozen();
         if (this.subSystems == null) {
             this.subSystems = new ArrayList<>();
         }
@@ -693,6 +796,7 @@ public class System extends Rcl implements Serializable {
      * @return This object.
      */
     public System addSubSystem(final int index, final System subSystem) {
+        checkNotFrozen();
         if (this.subSystems == null) {
             this.subSystems = new ArrayList<>();
         }
@@ -707,6 +811,7 @@ public class System extends Rcl implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeSubsystem(final System subsystem) {
+        checkNotFrozen();
         return (this.subSystems != null) && this.subSystems.remove(subsystem);
     }
 
@@ -750,6 +855,7 @@ public class System extends Rcl implements Serializable {
      * @return List of {@link System} objects with subsystems for this system.
      */
     @JsonGetter(value = "subSystems")
+    @JsonSerialize(using = LazyList.Serializer.class)
     protected List<System> getSubSystems() { // Private since only Jackson should use it
         return this.subSystems;
     }
@@ -802,6 +908,12 @@ public class System extends Rcl implements Serializable {
         return this;
     }
 
+    @Override
+    public System freeze() {
+        super.freeze();
+        return this;
+    }
+
     @Override
     @JsonAnySetter
     public System addUnsupportedField(final String key, final Object value) {
@@ -816,11 +928,44 @@ public class System extends Rcl implements Serializable {
 
     @Override
     public System merge(Pio mergeFrom, MergeStrategy strategy, List<String> ignoredFields) throws Exception {
-        System mergeResult = (System) super.merge(mergeFrom, strategy, ignoredFields);
+        return addMissingFields((System) super.merge(mergeFrom, strategy, ignoredFields), mergeFrom, false);
+    }
+
+    @Override
+    public System mergeParallel(Pio mergeFrom, MergeStrategy strategy) throws Exception {
+        return (System) super.mergeParallel(mergeFrom, strategy);
+    }
+
+    @Override
+    public System mergeParallel(Pio mergeFrom, MergeStrategy strategy, List<String> ignoredFields, MergePool pool)
+            throws Exception {
+        return (System) super.mergeParallel(mergeFrom, strategy, ignoredFields, pool);
+    }
+
+    @Override
+    public System mergeShared(Pio mergeFrom, MergeStrategy strategy) throws Exception {
+        return (System) super.mergeShared(mergeFrom, strategy);
+    }
+
+    @Override
+    public System mergeShared(Pio mergeFrom, MergeStrategy strategy, List<String> ignoredFields) throws Exception {
+        return addMissingFields((System) super.mergeShared(mergeFrom, strategy, ignoredFields), mergeFrom, true);
+    }
+
+    /**
+     * Add the fields of the object that was merged from that this system does not have as unsupported fields.
+     *
+     * @param mergeResult the result of the merge.
+     * @param mergeFrom   the Pio instance that was merged from.
+     * @param share       whether the values are shared with the instance that was merged from, in which case they are
+     *                    frozen or wrapped in unmodifiable lists.
+     * @return the result of the merge.
+     */
+    private System addMissingFields(final System mergeResult, final Pio mergeFrom, final boolean share) {
 
         // Add all fields that don't exist in `this` as unsupported fields
-        PioReflection fromReflection = new PioReflection(mergeFrom);
-        PioReflection thisReflection = new PioReflection(this);
+        PioReflection fromReflection = PioReflection.of(mergeFrom.getClass());
+        PioReflection thisReflection = PioReflection.of(this.getClass());
 
         fromReflection.getGetters().keySet().stream()
 
@@ -831,10 +976,8 @@ public class System extends Rcl implements Serializable {
                     String fixedFieldName = fieldName.substring(0, 1).toLowerCase() + fieldName.substring(1);
 
                     try {
-                        mergeResult.addUnsupportedField(
-                                fixedFieldName,
-                                fromReflection.getMethod("get" + fieldName).invoke(mergeFrom)
-                        );
+                        Object value = fromReflection.getMethod("get" + fieldName).invoke(mergeFrom);
+                        mergeResult.addUnsupportedField(fixedFieldName, share ? shared(value) : value);
                     } catch (IllegalAccessException | InvocationTargetException e) {
                         e.printStackTrace();
                     }
@@ -843,6 +986,132 @@ public class System extends Rcl implements Serializable {
         return mergeResult;
     }
 
+    /**
+     * Make a value safe to share between objects by freezing it, or by freezing the elements of a list and wrapping
+     * a copy of the list so that it cannot be modified.
+     *
+     * @param value the value to share.
+     * @return the value to store in place of the input value.
+     */
+    private static Object shared(final Object value) {
+        if (value instanceof Pio) {
+            return ((Pio) value).freeze();
+        }
+        if (value instanceof List) {
+            final List<Object> res = new ArrayList<>((List<?>) value);
+            res.replaceAll(System::shared);
+            return Collections.unmodifiableList(res);
+        }
+        return value;
+    }
+
+    /**
+     * Remove the value of every field of this system so that it can be read into again. Lists that belong to this
+     * system are emptied rather than discarded, so that they can be reused by the next read. This is used by
+     * {@link io.citrine.jpif.io.PifSystemStream#setReuseSystems(boolean)}.
+     *
+     * @return This object.
+     * @throws IllegalStateException if this object has been frozen.
+     */
+    @Override
+    public System reset() {
+        super.reset();
+        this.uid = null;
+        this.names = emptied(this.names);
+        this.ids = emptied(this.ids);
+        this.idsByName = null;
+        this.classifications = emptied(this.classifications);
+        this.classificationsByName = null;
+        this.source = null;
+        this.quantity = null;
+        this.properties = emptied(this.properties);
+        this.propertiesByName = null;
+        this.preparation = emptied(this.preparation);
+        this.subSystems = emptied(this.subSystems);
+        return this;
+    }
+
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.ids, consumer);
+        forEachNonNull(this.classifications, consumer);
+        forEachNonNull(this.source, consumer);
+        forEachNonNull(this.quantity, consumer);
+        forEachNonNull(this.properties, consumer);
+        forEachNonNull(this.preparation, consumer);
+        forEachNonNull(this.subSystems, consumer);
+    }
+
+    /**
+     * {@inheritDoc} Systems are identified by their uid, so that sub-systems with the same uid are merged.
+     */
+    @Override
+    public Object mergeKey() {
+        return this.uid;
+    }
+
+    @Override
+    protected System shallowCopy() {
+        final System res = (System) super.shallowCopy();
+        res.names = copied(this.names);
+        res.ids = copied(this.ids);
+        res.idsByName = null;
+        res.classifications = copied(this.classifications);
+        res.classificationsByName = null;
+        res.properties = copied(this.properties);
+        res.propertiesByName = null;
+        res.preparation = copied(this.preparation);
+        res.subSystems = copied(this.subSystems);
+        return res;
+    }
+
+    @Override
+    protected void freezeFields() {
+        super.freezeFields();
+        this.names = unmodifiable(this.names);
+        this.ids = unmodifiable(this.ids);
+        this.classifications = unmodifiable(this.classifications);
+        this.properties = unmodifiable(this.properties);
+        this.preparation = unmodifiable(this.preparation);
+        this.subSystems = unmodifiable(this.subSystems);
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final System system = (System) other;
+        return Objects.equals(this.uid, system.uid)
+                && listsEqual(this.names, system.names)
+                && listsEqual(this.ids, system.ids)
+                && listsEqual(this.classifications, system.classifications)
+                && Objects.equals(this.source, system.source)
+                && Objects.equals(this.quantity, system.quantity)
+                && listsEqual(this.properties, system.properties)
+                && listsEqual(this.preparation, system.preparation)
+                && listsEqual(this.subSystems, system.subSystems)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder
+                .add(this.uid)
+                .add(this.names)
+                .add(this.ids)
+                .add(this.classifications)
+                .add(this.source)
+                .add(this.quantity)
+                .add(this.properties)
+                .add(this.preparation)
+                .add(this.subSystems);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -882,9 +1151,15 @@ public class System extends Rcl implements Serializable {
     /** List of IDs for this system. */
     private List<Id> ids;
 
+    /** Index of the IDs of this system by name, which is built when it is first needed. */
+    private transient volatile Map<String, Id> idsByName;
+
     /** List of classifications for this system. */
     private List<Classification> classifications;
 
+    /** Index of the classifications of this system by name, which is built when it is first needed. */
+    private transient volatile Map<String, Classification> classificationsByName;
+
     /** Source of this system. */
     private Source source;
 
@@ -894,6 +1169,9 @@ public class System extends Rcl implements Serializable {
     /** List of properties of this system. */
     private List<Property> properties;
 
+    /** Index of the properties of this system by name, which is built when it is first needed. */
+    private transient volatile Map<String, Property> propertiesByName;
+
     /** List of processing steps in the preparation of this system. */
     private List<ProcessStep> preparation;
 
@@ -7,15 +7,18 @@ import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.citrine.jpif.obj.common.Classification;
+import io.citrine.jpif.obj.common.Fingerprint;
 import io.citrine.jpif.obj.common.Id;
 import io.citrine.jpif.obj.common.License;
 import io.citrine.jpif.obj.common.Person;
 import io.citrine.jpif.obj.common.Pio;
+import io.citrine.jpif.obj.common.PioVisitor;
 import io.citrine.jpif.obj.common.ProcessStep;
 import io.citrine.jpif.obj.common.Property;
 import io.citrine.jpif.obj.common.Quantity;
 import io.citrine.jpif.obj.common.Reference;
 import io.citrine.jpif.obj.common.Source;
+import io.citrine.jpif.obj.merge.MergePool;
 import io.citrine.jpif.obj.merge.MergeStrategy;
 import io.citrine.jpif.obj.system.System;
 import io.citrine.jpif.obj.system.chemical.common.Composition;
@@ -29,6 +32,9 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Base representation for the general chemical system.
@@ -65,6 +71,7 @@ public class ChemicalSystem extends System implements Serializable {
      */
     @JsonSetter(value = "chemicalFormula")
     public ChemicalSystem setChemicalFormula(final String chemicalFormula) {
+        checkNotFrozen();
         this.chemicalFormula = chemicalFormula;
         return this;
     }
@@ -87,6 +94,7 @@ public class ChemicalSystem extends System implements Serializable {
     @JsonSetter(value = "composition")
     protected void setComposition(final List<Composition> composition) { // Private since only Jackson should use it
         this.composition = composition;
+        this.compositionByElement = null;
     }
 
     /**
@@ -106,10 +114,12 @@ public class ChemicalSystem extends System implements Serializable {
      * @return This object.
      */
     public ChemicalSystem addComposition(final Composition composition) {
+        checkNotFrozen();
         if (this.composition == null) {
             this.composition = new ArrayList<>();
         }
         this.composition.add(composition);
+        this.compositionByElement = null;
         return this;
     }
 
@@ -121,10 +131,12 @@ public class ChemicalSystem extends System implements Serializable {
      * @return This object.
      */
     public ChemicalSystem addComposition(final int index, final Composition composition) {
+        checkNotFrozen();
         if (this.composition == null) {
             this.composition = new ArrayList<>();
         }
         this.composition.add(index, composition);
+        this.compositionByElement = null;
         return this;
     }
 
@@ -135,6 +147,8 @@ public class ChemicalSystem extends System implements Serializable {
      * @return True if the object was removed.
      */
     public boolean removeComposition(final Composition composition) {
+        checkNotFrozen();
+        this.compositionByElement = null;
         return (this.composition != null) && this.composition.remove(composition);
     }
 
@@ -182,6 +196,25 @@ public class ChemicalSystem extends System implements Serializable {
         return (this.composition == null) ? Collections.emptyList() : this.composition;
     }
 
+    /**
+     * Get the first composition of this system with the input element. The compositions are indexed by element when
+     * this is first called, and the index is rebuilt after compositions are added or removed, so that repeated lookups
+     * do not scan the list. Changing the element of a composition that is already in this system is not seen until the
+     * compositions are next changed.
+     *
+     * @param element Element of the composition to get.
+     * @return {@link Composition} object with the input element, or a null pointer if there is none.
+     */
+    @JsonIgnore
+    public Composition getComposition(final String element) {
+        Map<String, Composition> index = this.compositionByElement;
+        if (index == null) {
+            index = indexed(this.composition, Composition::getElement);
+            this.compositionByElement = index;
+        }
+        return index.get(element);
+    }
+
     @Override
     @JsonSetter(value = "uid")
     public ChemicalSystem setUid(final String uid) {
@@ -324,6 +357,12 @@ public class ChemicalSystem extends System implements Serializable {
         return this;
     }
 
+    @Override
+    public ChemicalSystem freeze() {
+        super.freeze();
+        return this;
+    }
+
     @Override
     @JsonAnySetter
     public ChemicalSystem addUnsupportedField(final String key, final Object value) {
@@ -341,6 +380,76 @@ public class ChemicalSystem extends System implements Serializable {
         return (ChemicalSystem) super.merge(mergeFrom, strategy, ignoredFields);
     }
 
+    @Override
+    public ChemicalSystem mergeParallel(Pio mergeFrom, MergeStrategy strategy) throws Exception {
+        return (ChemicalSystem) super.mergeParallel(mergeFrom, strategy);
+    }
+
+    @Override
+    public ChemicalSystem mergeParallel(Pio mergeFrom, MergeStrategy strategy, List<String> ignoredFields,
+            MergePool pool) throws Exception {
+        return (ChemicalSystem) super.mergeParallel(mergeFrom, strategy, ignoredFields, pool);
+    }
+
+    @Override
+    public ChemicalSystem mergeShared(Pio mergeFrom, MergeStrategy strategy) throws Exception {
+        return (ChemicalSystem) super.mergeShared(mergeFrom, strategy);
+    }
+
+    @Override
+    public ChemicalSystem mergeShared(Pio mergeFrom, MergeStrategy strategy, List<String> ignoredFields)
+            throws Exception {
+        return (ChemicalSystem) super.mergeShared(mergeFrom, strategy, ignoredFields);
+    }
+
+    @Override
+    public ChemicalSystem reset() {
+        super.reset();
+        this.chemicalFormula = null;
+        this.composition = emptied(this.composition);
+        this.compositionByElement = null;
+        return this;
+    }
+
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.composition, consumer);
+    }
+
+    @Override
+    protected ChemicalSystem shallowCopy() {
+        final ChemicalSystem res = (ChemicalSystem) super.shallowCopy();
+        res.composition = copied(this.composition);
+        res.compositionByElement = null;
+        return res;
+    }
+
+    @Override
+    protected void freezeFields() {
+        super.freezeFields();
+        this.composition = unmodifiable(this.composition);
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final ChemicalSystem chemicalSystem = (ChemicalSystem) other;
+        return Objects.equals(this.chemicalFormula, chemicalSystem.chemicalFormula)
+                && listsEqual(this.composition, chemicalSystem.composition)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder.add(this.chemicalFormula).add(this.composition);
+    }
+
     /**
      * Write this object to the output output stream.
      *
@@ -376,4 +485,7 @@ public class ChemicalSystem extends System implements Serializable {
 
     /** Composition vector. */
     private List<Composition> composition;
+
+    /** Index of the compositions of this system by element, which is built when it is first needed. */
+    private transient volatile Map<String, Composition> compositionByElement;
 }
\ No newline at end of file
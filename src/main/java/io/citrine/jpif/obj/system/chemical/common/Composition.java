@@ -5,15 +5,21 @@ import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.citrine.jpif.obj.common.Fingerprint;
 import io.citrine.jpif.obj.common.Pio;
+import io.citrine.jpif.obj.common.PioVisitor;
 import io.citrine.jpif.obj.common.Scalar;
 import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.Pooled;
+import io.citrine.jpif.util.StringPool;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Information about an element in a composition vector using weight or atomic percents.
@@ -39,7 +45,10 @@ public class Composition extends Pio implements Serializable {
      * @return This object.
      */
     @JsonSetter(value = "element")
+    @JsonDeserialize(using = StringPool.Deserializer.class)
+    @Pooled(StringPool.Category.ELEMENTS)
     public Composition setElement(final String element) {
+        checkNotFrozen();
         this.element = element;
         return this;
     }
@@ -74,6 +83,7 @@ public class Composition extends Pio implements Serializable {
     @JsonSetter(value = "actualWeightPercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Composition setActualWeightPercent(final Scalar actualWeightPercent) {
+        checkNotFrozen();
         this.actualWeightPercent = actualWeightPercent;
         return this;
     }
@@ -119,6 +129,7 @@ public class Composition extends Pio implements Serializable {
     @JsonSetter(value = "idealWeightPercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Composition setIdealWeightPercent(final Scalar idealWeightPercent) {
+        checkNotFrozen();
         this.idealWeightPercent = idealWeightPercent;
         return this;
     }
@@ -175,6 +186,7 @@ public class Composition extends Pio implements Serializable {
     @JsonSetter(value = "actualAtomicPercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Composition setActualAtomicPercent(final Scalar actualAtomicPercent) {
+        checkNotFrozen();
         this.actualAtomicPercent = actualAtomicPercent;
         return this;
     }
@@ -220,6 +232,7 @@ public class Composition extends Pio implements Serializable {
     @JsonSetter(value = "idealAtomicPercent")
     @JsonDeserialize(using = Scalar.Deserializer.class)
     public Composition setIdealAtomicPercent(final Scalar idealAtomicPercent) {
+        checkNotFrozen();
         this.idealAtomicPercent = idealAtomicPercent;
         return this;
     }
@@ -275,6 +288,47 @@ public class Composition extends Pio implements Serializable {
         return this;
     }
 
+    @Override
+    protected void forEachChild(final Consumer<Pio> consumer) {
+        super.forEachChild(consumer);
+        forEachNonNull(this.actualWeightPercent, consumer);
+        forEachNonNull(this.actualAtomicPercent, consumer);
+        forEachNonNull(this.idealWeightPercent, consumer);
+        forEachNonNull(this.idealAtomicPercent, consumer);
+    }
+
+    @Override
+    public Object mergeKey() {
+        return getElement();
+    }
+
+    @Override
+    public PioVisitor.Action accept(final PioVisitor visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    protected boolean equalFields(final Pio other) {
+        final Composition composition = (Composition) other;
+        return Objects.equals(this.element, composition.element)
+                && Objects.equals(this.actualWeightPercent, composition.actualWeightPercent)
+                && Objects.equals(this.actualAtomicPercent, composition.actualAtomicPercent)
+                && Objects.equals(this.idealWeightPercent, composition.idealWeightPercent)
+                && Objects.equals(this.idealAtomicPercent, composition.idealAtomicPercent)
+                && super.equalFields(other);
+    }
+
+    @Override
+    protected void addFingerprintFields(final Fingerprint.Builder builder) {
+        super.addFingerprintFields(builder);
+        builder
+                .add(this.element)
+                .add(this.actualWeightPercent)
+                .add(this.actualAtomicPercent)
+                .add(this.idealWeightPercent)
+                .add(this.idealAtomicPercent);
+    }
+
     /**
      * Write this object to the output output stream.
      *
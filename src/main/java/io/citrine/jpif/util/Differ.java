@@ -0,0 +1,78 @@
+package io.citrine.jpif.util;
+
+import io.citrine.jpif.io.JsonDeserializingPifSystemStream;
+import io.citrine.jpif.io.PifSystemStreamDiff;
+import io.citrine.jpif.obj.system.System;
+
+import java.io.FileInputStream;
+
+/**
+ * Class used to compare two snapshots of a dataset. Each line of output names a record that was added, removed or
+ * changed, and the last line counts the records of each kind.
+ *
+ * @author Kyle Michel
+ */
+public class Differ {
+
+    /**
+     * Run the differ.
+     *
+     * @param args Command line arguments. These should be the paths to the older and newer files, optionally followed
+     *             by --sorted if both files are sorted by uid.
+     */
+    public static void main(String[] args) {
+        if (checkArgs(args)) {
+            diff(args[0], args[1], args.length == 3);
+        }
+    }
+
+    /**
+     * Check that the command line arguments are valid.
+     *
+     * @param args Command line arguments.
+     * @return True if the arguments are valid.
+     */
+    private static boolean checkArgs(final String[] args) {
+        if ((args.length == 2) || ((args.length == 3) && args[2].equals("--sorted"))) {
+            return true;
+        }
+        java.lang.System.out.println("Usage: diff path/to/before path/to/after [--sorted]");
+        return false;
+    }
+
+    /**
+     * Compare the input files.
+     *
+     * @param beforePath Path to the older file.
+     * @param afterPath Path to the newer file.
+     * @param sorted True if both files are sorted by uid.
+     */
+    private static void diff(final String beforePath, final String afterPath, final boolean sorted) {
+        try {
+            final PifSystemStreamDiff.Summary summary = new PifSystemStreamDiff(
+                    new JsonDeserializingPifSystemStream(new FileInputStream(beforePath)),
+                    new JsonDeserializingPifSystemStream(new FileInputStream(afterPath)))
+                    .setSorted(sorted)
+                    .run(new PifSystemStreamDiff.Listener() {
+                        @Override
+                        public void added(final System after) {
+                            java.lang.System.out.println("added " + after.getUid());
+                        }
+
+                        @Override
+                        public void removed(final System before) {
+                            java.lang.System.out.println("removed " + before.getUid());
+                        }
+
+                        @Override
+                        public void changed(final System before, final System after) {
+                            java.lang.System.out.println("changed " + after.getUid());
+                        }
+                    });
+            java.lang.System.out.println(summary);
+        }
+        catch (Exception e) {
+            java.lang.System.err.println("[Error] Files not compared: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package io.citrine.jpif.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.ContextAttributes;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * List whose elements are kept as raw tokens until the list is first accessed. This is created for lists that are
+ * read in {@link ReadMode#LAZY} mode. The elements are built the first time that any method of the list is called,
+ * using the same settings that the list was read with. Until then, the list is written out by {@link Serializer}
+ * exactly as it was read.
+ *
+ * <p>A list can be frozen with {@link #freeze(Consumer)}, after which any attempt to change it throws an exception.
+ * Freezing does not build the elements, so a frozen list that has not been accessed is still written as it was read.
+ *
+ * @param <T> Type of the elements of the list.
+ * @author Kyle Michel
+ */
+public final class LazyList<T> extends AbstractList<T> implements RandomAccess {
+
+    /**
+     * Determine whether the elements of this list have been built.
+     *
+     * @return True if the elements have been built.
+     */
+    public boolean isLoaded() {
+        return this.values != null;
+    }
+
+    @Override
+    public T get(final int index) {
+        return load().get(index);
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+        checkNotFrozen();
+        return load().set(index, element);
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        checkNotFrozen();
+        ++this.modCount;
+        load().add(index, element);
+    }
+
+    @Override
+    public T remove(final int index) {
+        checkNotFrozen();
+        ++this.modCount;
+        return load().remove(index);
+    }
+
+    @Override
+    public int size() {
+        return load().size();
+    }
+
+    /**
+     * Freeze this list, so that any later attempt to change it throws an exception. Elements that have already been
+     * built are passed to the input action now, and elements that are built later are passed to it before they are
+     * published, so that no thread sees them before they are frozen.
+     *
+     * @param elementFreezer {@link Consumer} that freezes an element.
+     */
+    public synchronized void freeze(final Consumer<? super T> elementFreezer) {
+        if (this.freezer == null) {
+            if (this.values != null) {
+                freezeAll(this.values, elementFreezer);
+            }
+            this.freezer = elementFreezer;
+        }
+    }
+
+    /**
+     * Determine whether this list has been frozen.
+     *
+     * @return True if this list cannot be changed.
+     */
+    public boolean isFrozen() {
+        return this.freezer != null;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param raw {@link TokenBuffer} with the raw tokens of the list.
+     * @param listType {@link JavaType} of the list.
+     * @param attributes {@link ContextAttributes} that the list was read with.
+     * @param empty Whether the raw list is empty.
+     */
+    private LazyList(final TokenBuffer raw, final JavaType listType, final ContextAttributes attributes,
+            final boolean empty) {
+        this.raw = raw;
+        this.listType = listType;
+        this.attributes = attributes;
+        this.empty = empty;
+    }
+
+    /**
+     * Get the elements of this list, building them if they have not been built yet. Only the first call takes a lock.
+     *
+     * @return List with the elements of this list.
+     * @throws UncheckedIOException if the raw tokens cannot be read.
+     */
+    private List<T> load() {
+        final List<T> values = this.values;
+        return (values == null) ? loadOnce() : values;
+    }
+
+    /**
+     * Build the elements of this list if no other thread has built them yet.
+     *
+     * @return List with the elements of this list.
+     * @throws UncheckedIOException if the raw tokens cannot be read.
+     */
+    private synchronized List<T> loadOnce() {
+        if (this.values == null) {
+            try (JsonParser jsonParser = this.raw.asParser()) {
+                final List<T> values = PifObjectMapper.getInstance().readerFor(this.listType)
+                        .with(this.attributes)
+                        .readValue(jsonParser);
+                if (this.freezer != null) {
+                    freezeAll(values, this.freezer);
+                }
+                this.values = (values == null) ? new ArrayList<>() : values;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException("Unable to read lazy list", e);
+            }
+            this.raw = null;
+        }
+        return this.values;
+    }
+
+    /**
+     * Check that this list can be changed.
+     *
+     * @throws IllegalStateException if this list has been frozen.
+     */
+    private void checkNotFrozen() {
+        if (this.freezer != null) {
+            throw new IllegalStateException("Cannot modify a frozen list");
+        }
+    }
+
+    /**
+     * Pass each non-null element of a list to the input action.
+     *
+     * @param values List with the elements to freeze. This can be null.
+     * @param elementFreezer {@link Consumer} that freezes an element.
+     * @param <T> Type of the elements of the list.
+     */
+    private static <T> void freezeAll(final List<T> values, final Consumer<? super T> elementFreezer) {
+        if (values != null) {
+            for (T value : values) {
+                if (value != null) {
+                    elementFreezer.accept(value);
+                }
+            }
+        }
+    }
+
+    /** Raw tokens of the list, or null once the list has been loaded. */
+    private volatile TokenBuffer raw;
+
+    /** Type of the list. */
+    private final JavaType listType;
+
+    /** Attributes that the list was read with. */
+    private final ContextAttributes attributes;
+
+    /** Whether the raw list is empty. */
+    private final boolean empty;
+
+    /** Elements of the list, or null until the list has been loaded. */
+    private volatile List<T> values;
+
+    /** Action that freezes each element once this list has been frozen, or null if this list can be changed. */
+    private volatile Consumer<? super T> freezer;
+
+    /**
+     * Class used to deserialize a list. In {@link ReadMode#LAZY} mode this saves the raw tokens of the list in a
+     * {@link LazyList}. Otherwise the list is read as normal.
+     *
+     * @author Kyle Michel
+     */
+    public static class Deserializer extends JsonDeserializer<List<?>> implements ContextualDeserializer {
+
+        /**
+         * Constructor for the deserializer that is created by Jackson before it is given a property.
+         */
+        public Deserializer() {
+            this(null, null);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param listType {@link JavaType} of the list.
+         * @param beanProperty {@link BeanProperty} that the list is read for.
+         */
+        private Deserializer(final JavaType listType, final BeanProperty beanProperty) {
+            this.listType = listType;
+            this.beanProperty = beanProperty;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext deserializationContext,
+                BeanProperty beanProperty) throws JsonMappingException {
+            // The type of the property refers back to this deserializer, which must be removed to find the normal one
+            final JavaType listType = ((beanProperty == null)
+                    ? deserializationContext.getContextualType()
+                    : beanProperty.getType()).withValueHandler(null);
+            return new Deserializer(listType, beanProperty);
+        }
+
+        @Override
+        public List<?> deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            if ((ReadMode.of(deserializationContext) != ReadMode.LAZY)
+                    || (jsonParser.getCurrentToken() != JsonToken.START_ARRAY)) {
+                return (List<?>) getEagerDeserializer(deserializationContext)
+                        .deserialize(jsonParser, deserializationContext);
+            }
+            final TokenBuffer raw = new TokenBuffer(jsonParser, deserializationContext);
+            raw.copyCurrentStructure(jsonParser);
+            final boolean empty;
+            try (JsonParser rawParser = raw.asParser()) {
+                rawParser.nextToken();
+                empty = rawParser.nextToken() == JsonToken.END_ARRAY;
+            }
+            return new LazyList<>(raw, this.listType, deserializationContext.getConfig().getAttributes(), empty);
+        }
+
+        @Override
+        public List<?> deserialize(JsonParser jsonParser, DeserializationContext deserializationContext,
+                List<?> intoValue) throws IOException {
+            if ((ReadMode.of(deserializationContext) == ReadMode.LAZY) || (intoValue instanceof LazyList)) {
+                return deserialize(jsonParser, deserializationContext);
+            }
+            return (List<?>) getEagerDeserializer(deserializationContext)
+                    .deserialize(jsonParser, deserializationContext, intoValue);
+        }
+
+        @Override
+        public Boolean supportsUpdate(DeserializationConfig deserializationConfig) {
+            return Boolean.TRUE;
+        }
+
+        /**
+         * Get the deserializer to use when not reading lazily. This is not found when this deserializer is created,
+         * since the list may contain objects of the class whose deserializer is still being created at that time.
+         *
+         * @param deserializationContext {@link DeserializationContext} object for the parser.
+         * @return {@link JsonDeserializer} to use when not reading lazily.
+         * @throws JsonMappingException if the deserializer cannot be found.
+         */
+        private JsonDeserializer<Object> getEagerDeserializer(final DeserializationContext deserializationContext)
+                throws JsonMappingException {
+            JsonDeserializer<Object> res = this.eagerDeserializer;
+            if (res == null) {
+                res = deserializationContext.findContextualValueDeserializer(this.listType, this.beanProperty);
+                this.eagerDeserializer = res;
+            }
+            return res;
+        }
+
+        /** Type of the list. */
+        private final JavaType listType;
+
+        /** Property that the list is read for. */
+        private final BeanProperty beanProperty;
+
+        /** Deserializer to use when not reading lazily, or null until it is first needed. */
+        private volatile JsonDeserializer<Object> eagerDeserializer;
+    }
+
+    /**
+     * Class used to serialize a list that may be a {@link LazyList}. Lists that have not been loaded are written out
+     * exactly as they were read, and all other lists are written as normal.
+     *
+     * @author Kyle Michel
+     */
+    public static class Serializer extends JsonSerializer<List<?>> implements ContextualSerializer {
+
+        /**
+         * Constructor for the serializer that is created by Jackson before it is given a property.
+         */
+        public Serializer() {
+            this(null);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param listType {@link JavaType} of the list.
+         */
+        private Serializer(final JavaType listType) {
+            this.listType = listType;
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider serializerProvider, BeanProperty beanProperty) {
+            return (beanProperty == null) ? this : new Serializer(beanProperty.getType());
+        }
+
+        @Override
+        public void serialize(List<?> list, JsonGenerator jsonGenerator, SerializerProvider serializerProvider)
+                throws IOException {
+            final TokenBuffer raw = (list instanceof LazyList) ? ((LazyList<?>) list).raw : null;
+            if (raw != null) {
+                raw.serialize(jsonGenerator);
+            }
+            else if (this.listType == null) {
+                serializerProvider.defaultSerializeValue(list, jsonGenerator);
+            }
+            else {
+                serializerProvider.findTypedValueSerializer(this.listType, true, null)
+                        .serialize(list, jsonGenerator, serializerProvider);
+            }
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider serializerProvider, List<?> list) {
+            if (list == null) {
+                return true;
+            }
+            else if ((list instanceof LazyList) && !((LazyList<?>) list).isLoaded()) {
+                return ((LazyList<?>) list).empty;
+            }
+            return list.isEmpty();
+        }
+
+        /** Type of the list. */
+        private final JavaType listType;
+    }
+}
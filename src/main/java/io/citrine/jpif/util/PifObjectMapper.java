@@ -1,11 +1,17 @@
 package io.citrine.jpif.util;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import io.citrine.jpif.obj.common.Pio;
 import io.citrine.jpif.obj.system.System;
 
 import java.io.IOException;
@@ -27,6 +33,18 @@ public class PifObjectMapper extends ObjectMapper {
         return Holder.PIF_OBJECT_MAPPER;
     }
 
+    /**
+     * Get a static instance of this class that reads and writes the binary
+     * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> format rather than JSON text. This
+     * instance is configured in the same way as {@link #getInstance()}, so any object that can be written as JSON can
+     * be written as Smile and read back into the same object.
+     *
+     * @return {@link PifObjectMapper} object that uses the Smile format.
+     */
+    public static PifObjectMapper getSmileInstance() {
+        return Holder.SMILE_PIF_OBJECT_MAPPER;
+    }
+
     /**
      * Get a writer for writing lists of systems.
      *
@@ -36,6 +54,29 @@ public class PifObjectMapper extends ObjectMapper {
         return this.writerWithType(Holder.SYSTEM_LIST_TYPE);
     }
 
+    /**
+     * Get a reader that reads into an existing object rather than creating a new one. Unlike
+     * {@link #readerForUpdating(Object)}, lists that the object already holds are appended to rather than replaced, so
+     * an object whose lists have been emptied can be read into without creating new lists.
+     *
+     * @param valueToUpdate Object to read into.
+     * @return {@link ObjectReader} that reads into the input object.
+     */
+    public ObjectReader readerForRecycling(final Object valueToUpdate) {
+        PifObjectMapper res = this.recyclingMapper;
+        if (res == null) {
+            synchronized (this) {
+                res = this.recyclingMapper;
+                if (res == null) {
+                    res = new PifObjectMapper(getFactory().copy());
+                    res.configOverride(List.class).setMergeable(true);
+                    this.recyclingMapper = res;
+                }
+            }
+        }
+        return res.readerForUpdating(valueToUpdate);
+    }
+
     /**
      * Create a deep copy of the input object using the settings in this object mapper.
      *
@@ -51,16 +92,32 @@ public class PifObjectMapper extends ObjectMapper {
     }
 
     /**
-     * Constructor. This configures the object mapper underlying this class.
+     * Constructor. This configures the object mapper underlying this class to read and write JSON.
      */
     private PifObjectMapper() {
+        this(new JsonFactory());
+    }
+
+    /**
+     * Constructor. This configures the object mapper underlying this class.
+     *
+     * @param jsonFactory {@link JsonFactory} used to create the parsers and generators for this object mapper.
+     */
+    private PifObjectMapper(final JsonFactory jsonFactory) {
+        super(jsonFactory);
         this.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
         this.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
         this.configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
         this.configure(DeserializationFeature.UNWRAP_SINGLE_VALUE_ARRAYS, true);
         this.configure(JsonParser.Feature.ALLOW_NON_NUMERIC_NUMBERS, true);
+        this.registerModule(new SimpleModule()
+                .setDeserializerModifier(new PioCanonicalizer.DeserializerModifier())
+                .setSerializerModifier(new Pio.SerializerModifier()));
     }
 
+    /** Object mapper that appends to existing lists, or null until it is first needed. */
+    private transient volatile PifObjectMapper recyclingMapper;
+
     /**
      * Holder class.
      *
@@ -71,6 +128,10 @@ public class PifObjectMapper extends ObjectMapper {
         /** Instance of the PIF object mapper to use. */
         private static final PifObjectMapper PIF_OBJECT_MAPPER = new PifObjectMapper();
 
+        /** Instance of the PIF object mapper that uses the Smile format. */
+        private static final PifObjectMapper SMILE_PIF_OBJECT_MAPPER = new PifObjectMapper(
+                new SmileFactory().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES));
+
         /** Type for a list of systems. */
         private static final TypeReference<List<System>> SYSTEM_LIST_TYPE = new TypeReference<List<System>>() {};
     }
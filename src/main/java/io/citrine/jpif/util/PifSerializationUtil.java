@@ -1,12 +1,21 @@
 package io.citrine.jpif.util;
 
 import java.io.IOException;
+import java.io.ObjectInput;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 
 /**
  * Utilities for serialization and deserialization.
  *
+ * <p>Objects are written by {@link #writeCompact(ObjectOutput, Object)} as a length-prefixed Smile document and read
+ * back by {@link #readCompact(ObjectInput, Class)} without any intermediate JSON text. The {@link #write} and
+ * {@link #read} methods use the original format, which stores JSON bytes in a byte array object, and are kept so that
+ * objects that were serialized with earlier versions of this library can still be read. Call
+ * {@link #setLegacyFormat(boolean)} to keep writing the original format, for example while readers that use an older
+ * version of this library are still running.
+ *
  * @author Kyle Michel
  */
 public class PifSerializationUtil {
@@ -36,6 +45,61 @@ public class PifSerializationUtil {
         PifObjectMapper.getInstance().readerForUpdating(object).readValue(inputStreamBytes);
     }
 
+    /**
+     * Write the input object to the input output stream as a length-prefixed Smile document.
+     *
+     * @param out {@link ObjectOutput} to write to.
+     * @param object Object to write.
+     * @throws IOException if thrown while writing the object.
+     */
+    public static void writeCompact(final ObjectOutput out, final Object object) throws IOException {
+        final byte[] bytes = PifObjectMapper.getSmileInstance().writeValueAsBytes(object);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read an object that was written by {@link #writeCompact(ObjectOutput, Object)}.
+     *
+     * @param in {@link ObjectInput} to read from.
+     * @param objectClass Class of the object to read.
+     * @param <T> Type of the object to read.
+     * @return New object that was read from the stream.
+     * @throws IOException if thrown while reading the stream.
+     */
+    public static <T> T readCompact(final ObjectInput in, final Class<T> objectClass) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid object length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return PifObjectMapper.getSmileInstance().readValue(bytes, objectClass);
+    }
+
+    /**
+     * Set whether {@link io.citrine.jpif.obj.common.Pio} objects should be written in the original JSON format instead
+     * of the compact format when using Java serialization.
+     *
+     * @param legacyFormat True to write the original format.
+     */
+    public static void setLegacyFormat(final boolean legacyFormat) {
+        PifSerializationUtil.legacyFormat = legacyFormat;
+    }
+
+    /**
+     * Get whether {@link io.citrine.jpif.obj.common.Pio} objects are written in the original JSON format when using
+     * Java serialization.
+     *
+     * @return True if the original format is written.
+     */
+    public static boolean isLegacyFormat() {
+        return legacyFormat;
+    }
+
+    /** Whether objects are written in the original format. */
+    private static volatile boolean legacyFormat = false;
+
     // Make sure that objects of this class cannot be instantiated
     private PifSerializationUtil() {}
-}
\ No newline at end of file
+}
@@ -0,0 +1,214 @@
+package io.citrine.jpif.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import io.citrine.jpif.obj.common.Instrument;
+import io.citrine.jpif.obj.common.License;
+import io.citrine.jpif.obj.common.Method;
+import io.citrine.jpif.obj.common.Person;
+import io.citrine.jpif.obj.common.Pio;
+import io.citrine.jpif.obj.common.Reference;
+import io.citrine.jpif.obj.common.Software;
+import io.citrine.jpif.obj.common.Value;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class used to share a single instance of objects that are structurally identical. References, people, licenses,
+ * methods, instruments, software and values (such as the conditions of properties) are often repeated many times
+ * across a dataset, and this allows a dataset that is held in memory to keep only one copy of each.
+ *
+ * <p>Objects are shared while they are read by a reader that has been passed to {@link #apply(ObjectReader)}:
+ * <pre>{@code
+ * PioCanonicalizer canonicalizer = new PioCanonicalizer();
+ * ObjectReader reader = canonicalizer.apply(PifObjectMapper.getInstance().readerFor(System.class));
+ * }</pre>
+ * Objects that are returned by a canonicalizer are frozen with {@link Pio#freeze()}, so any attempt to modify them
+ * throws an {@link IllegalStateException}. Use {@link PifObjectMapper#deepCopy(Object, Class)} to get a copy that can
+ * be modified. Two objects are structurally identical if they are equal by {@link Pio#equals(Object)}, which compares
+ * their fields directly rather than serializing them.
+ *
+ * <p>A canonicalizer keeps every distinct object that it has returned until {@link #clear()} is called, and can be
+ * used from multiple threads.
+ *
+ * @author Kyle Michel
+ */
+public final class PioCanonicalizer {
+
+    /**
+     * Get a reader that shares objects through this canonicalizer.
+     *
+     * @param objectReader {@link ObjectReader} from a {@link PifObjectMapper} instance.
+     * @return New {@link ObjectReader} object that shares objects through this canonicalizer.
+     */
+    public ObjectReader apply(final ObjectReader objectReader) {
+        return objectReader.withAttribute(PioCanonicalizer.class, this);
+    }
+
+    /**
+     * Get the shared instance of an object. If a structurally identical object has already been returned by this
+     * canonicalizer then that object is returned, and the input object is not changed. Otherwise the input object is
+     * frozen and returned. The input object is frozen before it is shared, so if another thread shares an identical
+     * object at the same time then the input object may be frozen even though the other object is returned.
+     *
+     * @param pio {@link Pio} object to get the shared instance of. This can be null.
+     * @param <T> Type of the object.
+     * @return Frozen object that is structurally identical to the input object.
+     * @throws IOException if the object cannot be read.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Pio> T canonicalize(final T pio) throws IOException {
+        if (pio == null) {
+            return null;
+        }
+        final Pio existing = this.pios.get(pio);
+        if (existing != null) {
+            this.hits.increment();
+            return (T) existing;
+        }
+        // Freezing is done outside of the map so that it does not hold a lock on the map, and does not change the
+        // fingerprint of the object or how it compares
+        pio.freeze();
+        final Pio res = this.pios.putIfAbsent(pio, pio);
+        if (res == null) {
+            this.misses.increment();
+            return pio;
+        }
+        this.hits.increment();
+        return (T) res;
+    }
+
+    /**
+     * Get the shared instance of an object if the input context is reading with a canonicalizer.
+     *
+     * @param deserializationContext {@link DeserializationContext} that the object was read with.
+     * @param pio {@link Pio} object to get the shared instance of. This can be null.
+     * @param <T> Type of the object.
+     * @return Shared instance of the object, or the input object if the context does not have a canonicalizer.
+     * @throws IOException if the object cannot be serialized.
+     */
+    public static <T extends Pio> T canonicalize(final DeserializationContext deserializationContext, final T pio)
+            throws IOException {
+        final Object canonicalizer = deserializationContext.getAttribute(PioCanonicalizer.class);
+        return (canonicalizer instanceof PioCanonicalizer) ? ((PioCanonicalizer) canonicalizer).canonicalize(pio) : pio;
+    }
+
+    /**
+     * Determine whether objects of the input class are shared by canonicalizers while they are read.
+     *
+     * @param pioClass Class to check.
+     * @return True if objects of the class are shared.
+     */
+    public static boolean isCanonicalized(final Class<?> pioClass) {
+        return CANONICAL_CLASSES.contains(pioClass);
+    }
+
+    /**
+     * Get the number of distinct objects that are held by this canonicalizer.
+     *
+     * @return Number of distinct objects.
+     */
+    public long size() {
+        return this.pios.size();
+    }
+
+    /**
+     * Get the number of objects that were replaced by an existing shared instance.
+     *
+     * @return Number of objects that were replaced.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Get the number of objects that did not match an existing shared instance.
+     *
+     * @return Number of objects that became a new shared instance.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Remove all shared instances from this canonicalizer. Objects that were already returned stay frozen.
+     */
+    public void clear() {
+        this.pios.clear();
+    }
+
+    /** Shared instances, keyed by themselves so that structurally identical objects find them. */
+    private final ConcurrentMap<Pio, Pio> pios = new ConcurrentHashMap<>();
+
+    /** Number of objects that were replaced by an existing shared instance. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of objects that became a new shared instance. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Classes of the objects that are shared while reading. */
+    private static final Set<Class<?>> CANONICAL_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            Reference.class, Person.class, License.class, Method.class, Instrument.class, Software.class,
+            Value.class)));
+
+    /**
+     * Class used to wrap the deserializers of the classes that are shared by canonicalizers. This is registered with
+     * each {@link PifObjectMapper} instance.
+     *
+     * @author Kyle Michel
+     */
+    static class DeserializerModifier extends BeanDeserializerModifier {
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(final DeserializationConfig deserializationConfig,
+                final BeanDescription beanDescription, final JsonDeserializer<?> jsonDeserializer) {
+            return isCanonicalized(beanDescription.getBeanClass())
+                    ? new CanonicalizingDeserializer(jsonDeserializer)
+                    : jsonDeserializer;
+        }
+    }
+
+    /**
+     * Deserializer that passes each object that it reads to the canonicalizer of the context, if there is one.
+     *
+     * @author Kyle Michel
+     */
+    private static class CanonicalizingDeserializer extends DelegatingDeserializer {
+
+        /**
+         * Constructor.
+         *
+         * @param jsonDeserializer {@link JsonDeserializer} to read objects with.
+         */
+        CanonicalizingDeserializer(final JsonDeserializer<?> jsonDeserializer) {
+            super(jsonDeserializer);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(final JsonDeserializer<?> jsonDeserializer) {
+            return new CanonicalizingDeserializer(jsonDeserializer);
+        }
+
+        @Override
+        public Object deserialize(final JsonParser jsonParser, final DeserializationContext deserializationContext)
+                throws IOException {
+            final Object res = this._delegatee.deserialize(jsonParser, deserializationContext);
+            return (res instanceof Pio) ? canonicalize(deserializationContext, (Pio) res) : res;
+        }
+
+        private static final long serialVersionUID = 1L;
+    }
+}
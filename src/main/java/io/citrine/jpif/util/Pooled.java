@@ -0,0 +1,25 @@
+package io.citrine.jpif.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation for the setter of a string property, or of a list of strings, whose values should be shared through
+ * the {@link StringPool} for a category when they are deserialized. The setter must also be deserialized with
+ * {@link StringPool.Deserializer}, either directly or as the content deserializer of a list.
+ *
+ * @author Kyle Michel
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.FIELD})
+public @interface Pooled {
+
+    /**
+     * Get the category of the pool to use.
+     *
+     * @return {@link StringPool.Category} of the pool to use.
+     */
+    StringPool.Category value();
+}
@@ -0,0 +1,95 @@
+package io.citrine.jpif.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Value of an unsupported field that is kept in the form that it was read. This is created for unsupported fields
+ * whose values are objects or arrays when they are read in {@link UnsupportedFieldMode#RAW} mode. The value is written
+ * back out exactly as it was read, and is only turned into maps, lists and boxed values by {@link #decode()}.
+ *
+ * @author Kyle Michel
+ */
+public final class RawJson extends JsonSerializable.Base {
+
+    /**
+     * Build the value that is held by this object.
+     *
+     * @return Object with the value, made up of maps, lists, strings, numbers and booleans.
+     * @throws UncheckedIOException if the value cannot be read.
+     */
+    public Object decode() {
+        try (JsonParser jsonParser = this.tokens.asParser()) {
+            return PifObjectMapper.getInstance().readValue(jsonParser, Object.class);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to read raw value", e);
+        }
+    }
+
+    @Override
+    public void serialize(final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider)
+            throws IOException {
+        this.tokens.serialize(jsonGenerator);
+    }
+
+    @Override
+    public void serializeWithType(final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider,
+            final TypeSerializer typeSerializer) throws IOException {
+        serialize(jsonGenerator, serializerProvider);
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return PifObjectMapper.getInstance().writeValueAsString(this);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to write raw value", e);
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tokens {@link TokenBuffer} with the tokens of the value.
+     */
+    private RawJson(final TokenBuffer tokens) {
+        this.tokens = tokens;
+    }
+
+    /** Tokens of the value. */
+    private final TokenBuffer tokens;
+
+    /**
+     * Class used to deserialize the value of an unsupported field. In {@link UnsupportedFieldMode#RAW} mode, objects
+     * and arrays are saved as {@link RawJson} objects. All other values are read as normal.
+     *
+     * @author Kyle Michel
+     */
+    public static class Deserializer extends JsonDeserializer<Object> {
+
+        @Override
+        public Object deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            final JsonToken token = jsonParser.getCurrentToken();
+            if ((UnsupportedFieldMode.of(deserializationContext) != UnsupportedFieldMode.RAW)
+                    || ((token != JsonToken.START_OBJECT) && (token != JsonToken.START_ARRAY))) {
+                return deserializationContext.readValue(jsonParser, Object.class);
+            }
+            final TokenBuffer tokens = new TokenBuffer(jsonParser, deserializationContext);
+            tokens.copyCurrentStructure(jsonParser);
+            return new RawJson(tokens);
+        }
+    }
+}
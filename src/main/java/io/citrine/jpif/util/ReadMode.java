@@ -0,0 +1,45 @@
+package io.citrine.jpif.util;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Modes that control how much of each object is built when it is read.
+ *
+ * @author Kyle Michel
+ */
+public enum ReadMode {
+
+    /** Build every object as soon as it is read. This is the default. */
+    EAGER,
+
+    /**
+     * Keep the sub-systems, properties, preparation steps, references and property conditions of each object in their
+     * raw form until they are first accessed. Sub-trees that are never accessed are written back out exactly as they
+     * were read. Scalars, names and people that are read from strings keep the string and only break it apart when
+     * one of their fields is first used, and are written back out as the string until then. This is useful for
+     * consumers that read many records but only use a few fields of each.
+     */
+    LAZY;
+
+    /**
+     * Get a reader that reads objects in this mode.
+     *
+     * @param objectReader {@link ObjectReader} from a {@link PifObjectMapper} instance.
+     * @return New {@link ObjectReader} object that reads in this mode.
+     */
+    public ObjectReader apply(final ObjectReader objectReader) {
+        return objectReader.withAttribute(ReadMode.class, this);
+    }
+
+    /**
+     * Get the mode that an object is being read with.
+     *
+     * @param deserializationContext {@link DeserializationContext} that the object is being read with.
+     * @return {@link ReadMode} of the context.
+     */
+    public static ReadMode of(final DeserializationContext deserializationContext) {
+        final Object readMode = deserializationContext.getAttribute(ReadMode.class);
+        return (readMode instanceof ReadMode) ? (ReadMode) readMode : EAGER;
+    }
+}
@@ -0,0 +1,260 @@
+package io.citrine.jpif.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of strings that is used to share a single instance of strings, such as units and element symbols,
+ * that are repeated many times across a set of deserialized objects.
+ *
+ * <p>There is one pool for each {@link Category} of field. Fields are added to a category by annotating their setters
+ * with {@link Pooled}, and every object mapper that reads those objects, including {@link PifObjectMapper}, then
+ * passes the strings that it reads through the pool for that category. Pools are disabled until a capacity is set
+ * with {@link #setCapacity(int)} or {@link #setCapacityForAll(int)}. Once a pool holds as many strings as its
+ * capacity, new strings are returned without being added, so that a field with many distinct values cannot grow the
+ * pool without limit.
+ *
+ * <p>All methods of this class can be called from multiple threads.
+ *
+ * @author Kyle Michel
+ */
+public final class StringPool {
+
+    /**
+     * Get the pool for a category of fields.
+     *
+     * @param category {@link Category} of the fields to get the pool for.
+     * @return {@link StringPool} object for the category.
+     */
+    public static StringPool forCategory(final Category category) {
+        return category.pool;
+    }
+
+    /**
+     * Set the capacity of the pool for every category.
+     *
+     * @param capacity Maximum number of strings to keep in each pool, or 0 to disable all pools.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public static void setCapacityForAll(final int capacity) {
+        for (Category category : Category.values()) {
+            category.pool.setCapacity(capacity);
+        }
+    }
+
+    /**
+     * Get the shared instance of a string. If an equal string is already in this pool then that string is returned.
+     * Otherwise the input string is added to this pool if it has room and returned.
+     *
+     * @param value String to get the shared instance of.
+     * @return String that is equal to the input string.
+     */
+    public String intern(final String value) {
+        if ((value == null) || (this.capacity == 0)) {
+            return value;
+        }
+        final String existing = this.strings.get(value);
+        if (existing != null) {
+            this.hits.increment();
+            return existing;
+        }
+        this.misses.increment();
+        if (this.size.get() >= this.capacity) {
+            return value;
+        }
+        final String previous = this.strings.putIfAbsent(value, value);
+        if (previous != null) {
+            return previous;
+        }
+        this.size.incrementAndGet();
+        return value;
+    }
+
+    /**
+     * Set the maximum number of strings to keep in this pool. Strings that are already in the pool are kept if the
+     * capacity is reduced, so call {@link #clear()} to release them.
+     *
+     * @param capacity Maximum number of strings to keep in this pool, or 0 to disable it.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public void setCapacity(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the maximum number of strings to keep in this pool.
+     *
+     * @return Maximum number of strings to keep in this pool, or 0 if the pool is disabled.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Get the number of strings in this pool.
+     *
+     * @return Number of strings in this pool.
+     */
+    public int size() {
+        return this.size.get();
+    }
+
+    /**
+     * Get the number of calls to {@link #intern(String)} that returned a string from this pool.
+     *
+     * @return Number of calls that found an equal string in this pool.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Get the number of calls to {@link #intern(String)} that did not find an equal string in this pool.
+     *
+     * @return Number of calls that did not find an equal string in this pool.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Get the fraction of calls to {@link #intern(String)} that returned a string from this pool.
+     *
+     * @return Number between 0 and 1 with the hit rate of this pool, or 0 if it has not been used.
+     */
+    public double getHitRate() {
+        final long hits = getHits();
+        final long total = hits + getMisses();
+        return (total == 0) ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Reset the hit and miss counts of this pool.
+     */
+    public void resetStatistics() {
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    /**
+     * Remove all strings from this pool.
+     */
+    public void clear() {
+        this.strings.clear();
+        this.size.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "StringPool{size=" + size() + ", capacity=" + getCapacity() + ", hits=" + getHits()
+                + ", misses=" + getMisses() + "}";
+    }
+
+    /**
+     * Constructor.
+     */
+    private StringPool() {
+    }
+
+    /** Strings in this pool, each of which is mapped to itself. */
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+
+    /** Number of strings in this pool. */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** Number of calls that found an equal string in this pool. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of calls that did not find an equal string in this pool. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Maximum number of strings to keep in this pool. */
+    private volatile int capacity;
+
+    /**
+     * Categories of fields that each have their own pool.
+     *
+     * @author Kyle Michel
+     */
+    public enum Category {
+
+        /** Units of values and properties. */
+        UNITS,
+
+        /** Names of values and properties. */
+        PROPERTY_NAMES,
+
+        /** Element symbols of compositions. */
+        ELEMENTS,
+
+        /** Tags of any object. */
+        TAGS,
+
+        /** Names of methods. */
+        METHOD_NAMES,
+
+        /** Names of licenses. */
+        LICENSE_NAMES,
+
+        /** Producers of sources. */
+        PRODUCERS;
+
+        /** Pool for the fields in this category. */
+        private final StringPool pool = new StringPool();
+    }
+
+    /**
+     * Class used to deserialize strings through the pool for the category in the {@link Pooled} annotation of the
+     * property being read. This can be used for a string property or, as a content deserializer, for a list of
+     * strings. Strings are read without pooling if the property does not have the annotation.
+     *
+     * @author Kyle Michel
+     */
+    public static class Deserializer extends JsonDeserializer<String> implements ContextualDeserializer {
+
+        /**
+         * Constructor for a deserializer that does not use a pool.
+         */
+        public Deserializer() {
+            this(null);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param pool {@link StringPool} to pass strings through, or null to not use a pool.
+         */
+        private Deserializer(final StringPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext deserializationContext,
+                BeanProperty beanProperty) {
+            final Pooled pooled = (beanProperty == null) ? null : beanProperty.getAnnotation(Pooled.class);
+            return (pooled == null) ? this : new Deserializer(pooled.value().pool);
+        }
+
+        @Override
+        public String deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            final String value = StringDeserializer.instance.deserialize(jsonParser, deserializationContext);
+            return (this.pool == null) ? value : this.pool.intern(value);
+        }
+
+        /** Pool to pass strings through, or null to not use a pool. */
+        private final StringPool pool;
+    }
+}
@@ -0,0 +1,43 @@
+package io.citrine.jpif.util;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Modes that control how the values of unsupported fields are stored when they are read.
+ *
+ * @author Kyle Michel
+ */
+public enum UnsupportedFieldMode {
+
+    /** Build maps, lists and boxed values for each unsupported field. This is the default. */
+    GENERIC,
+
+    /**
+     * Keep unsupported fields whose values are objects or arrays as {@link RawJson} objects. Their values are only
+     * built if they are requested, and they are written back out exactly as they were read. This is useful for files
+     * that carry large vendor extensions.
+     */
+    RAW;
+
+    /**
+     * Get a reader that reads unsupported fields in this mode.
+     *
+     * @param objectReader {@link ObjectReader} from a {@link PifObjectMapper} instance.
+     * @return New {@link ObjectReader} object that reads unsupported fields in this mode.
+     */
+    public ObjectReader apply(final ObjectReader objectReader) {
+        return objectReader.withAttribute(UnsupportedFieldMode.class, this);
+    }
+
+    /**
+     * Get the mode that unsupported fields are being read with.
+     *
+     * @param deserializationContext {@link DeserializationContext} that the object is being read with.
+     * @return {@link UnsupportedFieldMode} of the context.
+     */
+    public static UnsupportedFieldMode of(final DeserializationContext deserializationContext) {
+        final Object mode = deserializationContext.getAttribute(UnsupportedFieldMode.class);
+        return (mode instanceof UnsupportedFieldMode) ? (UnsupportedFieldMode) mode : GENERIC;
+    }
+}
@@ -0,0 +1,76 @@
+package io.citrine.jpif.benchmark;
+
+import io.citrine.jpif.obj.common.Name;
+import io.citrine.jpif.obj.common.NameParserTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of breaking author strings apart into the fields of {@link Name} objects, with the parser that is used by
+ * {@link Name#valueOf(String)} and with the regular expressions that it replaced. The parser is measured both on its
+ * own and through the cache in front of it, which holds every input after the first pass, as it does when many
+ * references share authors.
+ *
+ * <p>Run with {@code java -cp <test classpath> io.citrine.jpif.benchmark.NameDecomposeBenchmark} or from an IDE.
+ *
+ * @author Kyle Michel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameDecomposeBenchmark {
+
+    @Benchmark
+    public void parser(final Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(NameParserTest.parseWithoutCache(input));
+        }
+    }
+
+    @Benchmark
+    public void cachedParser(final Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(Name.valueOf(input));
+        }
+    }
+
+    @Benchmark
+    public void patterns(final Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(NameParserTest.decomposeWithPatterns(input));
+        }
+    }
+
+    /**
+     * Run all benchmarks in this class.
+     *
+     * @param args Unused.
+     * @throws RunnerException if the benchmarks cannot be run.
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NameDecomposeBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** Author strings to break apart. */
+    private static final String[] INPUTS = {
+            "Jane Smith", "Smith, Jane", "Dr. Jane Smith", "J. R. R. Tolkien", "John Doe Jr.", "Anne Smith - Jones",
+            "Prof. Mary Ann Lee", "Lee, Mary Ann", "K. Michel", "Sean Paradiso", "Garcia Marquez, Gabriel",
+            "Marie Curie", "Pierre Curie", "Albert Einstein, Ph.D.", "Mr. Richard Feynman", "Lise Meitner",
+            "Niels Bohr", "Erwin Schrodinger", "W. Heisenberg", "Paul A. M. Dirac"};
+}
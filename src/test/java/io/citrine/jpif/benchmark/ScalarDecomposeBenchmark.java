@@ -0,0 +1,66 @@
+package io.citrine.jpif.benchmark;
+
+import io.citrine.jpif.obj.common.Scalar;
+import io.citrine.jpif.obj.common.ScalarLexerTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of breaking strings apart into the fields of {@link Scalar} objects, with the single-pass scanner that is
+ * used by {@link Scalar#valueOf(String)} and with the regular expressions that it replaced. The inputs are a mix of
+ * plain values, which are the most common, and each of the forms with bounds or an uncertainty.
+ *
+ * <p>Run with {@code java -cp <test classpath> io.citrine.jpif.benchmark.ScalarDecomposeBenchmark} or from an IDE.
+ *
+ * @author Kyle Michel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalarDecomposeBenchmark {
+
+    @Benchmark
+    public void lexer(final Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(Scalar.valueOf(input));
+        }
+    }
+
+    @Benchmark
+    public void patterns(final Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(ScalarLexerTest.decomposeWithPatterns(input));
+        }
+    }
+
+    /**
+     * Run all benchmarks in this class.
+     *
+     * @param args Unused.
+     * @throws RunnerException if the benchmarks cannot be run.
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ScalarDecomposeBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** Strings to break apart. */
+    private static final String[] INPUTS = {
+            "1.5", "300", "-2.75e-3", "Fe2O3", "cubic", "12.3456", "0.5", "NaN", "1.5 +- 0.1", "2.3±0.2",
+            "1.051(13)", "3-5", "10 to 20", ">100", ">=0", "<1e-6", "≤ 4.2", "~7", "$\\geq$ 3", "room temperature"};
+}
@@ -0,0 +1,109 @@
+package io.citrine.jpif.benchmark;
+
+import io.citrine.jpif.obj.common.Property;
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+import io.citrine.jpif.util.PifSerializationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of Java serialization of {@link System} objects in the legacy format, which writes JSON bytes once for each
+ * class in the hierarchy of an object, and in the compact format, which writes the whole object as a single Smile
+ * document.
+ *
+ * <p>Run with {@code java -cp <test classpath> io.citrine.jpif.benchmark.SerializationBenchmark} or from an IDE.
+ *
+ * @author Kyle Michel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /**
+     * Build the system to serialize and serialize it in the format that is being benchmarked.
+     *
+     * @throws IOException if the system cannot be serialized.
+     */
+    @Setup
+    public void setup() throws IOException {
+        PifSerializationUtil.setLegacyFormat(this.legacyFormat);
+        this.system = new ChemicalSystem().setChemicalFormula("Fe2O3");
+        for (int i = 0; i < 20; ++i) {
+            this.system.addProperty(new Property()
+                    .setName("Property " + (i % 5))
+                    .addScalar(1.5 + i)
+                    .addVector(new Double[]{1.0 * i, 2.0 * i, 3.0 * i})
+                    .setUnits("eV"));
+        }
+        this.bytes = serialize();
+    }
+
+    /**
+     * Restore the default serialization format.
+     */
+    @TearDown
+    public void tearDown() {
+        PifSerializationUtil.setLegacyFormat(false);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(byteArrayOutputStream)) {
+            out.writeObject(this.system);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Benchmark
+    public System deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(this.bytes))) {
+            return (System) in.readObject();
+        }
+    }
+
+    /**
+     * Run all benchmarks in this class.
+     *
+     * @param args Unused.
+     * @throws RunnerException if the benchmarks cannot be run.
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** Whether to benchmark the legacy format. */
+    @Param({"true", "false"})
+    public boolean legacyFormat;
+
+    /** System that is serialized. */
+    private System system;
+
+    /** Serialized system. */
+    private byte[] bytes;
+}
@@ -0,0 +1,74 @@
+package io.citrine.jpif.io;
+
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.util.PifObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link PifArchiveWriter} and {@link ArchiveDeserializingPifSystemStream} objects.
+ *
+ * @author Kyle Michel
+ */
+public class PifArchiveTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final List<System> systems = TestSystems.build(25);
+        final PifSystemStream pifSystemStream = new ArchiveDeserializingPifSystemStream(
+                new ByteArrayInputStream(writeArchive(systems, 4)));
+        for (System expected : systems) {
+            final System actual = pifSystemStream.getNextSystem();
+            Assert.assertNotNull(actual);
+            Assert.assertEquals(expected.getClass(), actual.getClass());
+            Assert.assertEquals(
+                    PifObjectMapper.getInstance().writeValueAsString(expected),
+                    PifObjectMapper.getInstance().writeValueAsString(actual));
+        }
+        Assert.assertNull(pifSystemStream.getNextSystem());
+        pifSystemStream.close();
+    }
+
+    @Test
+    public void testEmptyArchive() throws Exception {
+        final PifSystemStream pifSystemStream = new ArchiveDeserializingPifSystemStream(
+                new ByteArrayInputStream(writeArchive(new ArrayList<>(), 4)));
+        Assert.assertNull(pifSystemStream.getNextSystem());
+        pifSystemStream.close();
+    }
+
+    @Test
+    public void testArchiveIsSmallerThanJson() throws Exception {
+        final List<System> systems = TestSystems.build(500);
+        final byte[] archive = writeArchive(systems, PifArchiveWriter.DEFAULT_RECORDS_PER_BLOCK);
+        final byte[] json = PifObjectMapper.getInstance().writeValueAsBytes(systems);
+        Assert.assertTrue(3 * archive.length < json.length);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsOtherFormats() throws Exception {
+        new ArchiveDeserializingPifSystemStream(new ByteArrayInputStream("[{}]".getBytes("UTF-8")));
+    }
+
+    /**
+     * Write systems to an archive.
+     *
+     * @param systems List of {@link System} objects to write.
+     * @param recordsPerBlock Maximum number of records in each block.
+     * @return Array with the bytes of the archive.
+     * @throws IOException if thrown while writing the archive.
+     */
+    private byte[] writeArchive(final List<System> systems, final int recordsPerBlock) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (PifArchiveWriter pifArchiveWriter = new PifArchiveWriter(outputStream, recordsPerBlock)) {
+            pifArchiveWriter.write(new SystemsWrappingPifSystemStream(systems));
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,106 @@
+package io.citrine.jpif.io;
+
+import io.citrine.jpif.obj.common.Property;
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.util.PifObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for {@link PifInputStream} objects.
+ *
+ * @author Kyle Michel
+ */
+public class PifInputStreamTest {
+
+    @Test
+    public void testJsonRoundTrip() throws Exception {
+        checkRoundTrip(PifEncoding.JSON, false);
+    }
+
+    @Test
+    public void testSmileRoundTrip() throws Exception {
+        checkRoundTrip(PifEncoding.SMILE, false);
+    }
+
+    @Test
+    public void testReuseSystems() throws Exception {
+        for (PifEncoding encoding : PifEncoding.values()) {
+            checkRoundTrip(encoding, true);
+        }
+    }
+
+    @Test
+    public void testEmptyStream() throws Exception {
+        for (PifEncoding encoding : PifEncoding.values()) {
+            final byte[] bytes = readAll(new PifInputStream(new ArrayList<>(), encoding));
+            final PifSystemStream pifSystemStream = encoding.createSystemStream(new ByteArrayInputStream(bytes));
+            Assert.assertNull(pifSystemStream.getNextSystem());
+            pifSystemStream.close();
+        }
+    }
+
+    @Test
+    public void testSmileIsSmallerThanJson() throws Exception {
+        final List<System> systems = TestSystems.build(100);
+        final byte[] json = readAll(new PifInputStream(systems, PifEncoding.JSON));
+        final byte[] smile = readAll(new PifInputStream(systems, PifEncoding.SMILE));
+        Assert.assertTrue(smile.length < json.length);
+    }
+
+    /**
+     * Write systems in the input encoding and check that the same systems are read back.
+     *
+     * @param encoding {@link PifEncoding} to test.
+     * @param reuseSystems Whether the systems that are read should be reused.
+     * @throws IOException if thrown while reading or writing systems.
+     */
+    private void checkRoundTrip(final PifEncoding encoding, final boolean reuseSystems) throws IOException {
+        final List<System> systems = TestSystems.build(5);
+        systems.get(2).addProperty(new Property().setName("Density").addScalar(5.2));
+        final byte[] bytes = readAll(new PifInputStream(new SystemsWrappingPifSystemStream(systems), encoding));
+        final PifSystemStream pifSystemStream = encoding.createSystemStream(new ByteArrayInputStream(bytes))
+                .setReuseSystems(reuseSystems);
+        final Map<Class<?>, System> previousSystems = new HashMap<>();
+        for (System expected : systems) {
+            final System actual = pifSystemStream.getNextSystem();
+            Assert.assertNotNull(actual);
+            Assert.assertEquals(expected.getClass(), actual.getClass());
+            final System previous = previousSystems.put(actual.getClass(), actual);
+            Assert.assertTrue((previous == null) || (reuseSystems == (previous == actual)));
+            Assert.assertEquals(
+                    PifObjectMapper.getInstance().writeValueAsString(expected),
+                    PifObjectMapper.getInstance().writeValueAsString(actual));
+        }
+        Assert.assertNull(pifSystemStream.getNextSystem());
+        pifSystemStream.close();
+    }
+
+    /**
+     * Read all bytes from an input stream and close it.
+     *
+     * @param inputStream {@link InputStream} to read.
+     * @return Array with all bytes in the stream.
+     * @throws IOException if thrown while reading the stream.
+     */
+    private byte[] readAll(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[7];  // Small buffer to cross record boundaries
+        int numRead;
+        while ((numRead = inputStream.read(buffer)) >= 0) {
+            outputStream.write(buffer, 0, numRead);
+        }
+        Assert.assertEquals(-1, inputStream.read());
+        inputStream.close();
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,137 @@
+package io.citrine.jpif.io;
+
+import io.citrine.jpif.obj.system.System;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for {@link PifSystemStreamDiff} objects.
+ *
+ * @author Kyle Michel
+ */
+public class PifSystemStreamDiffTest {
+
+    @Test
+    public void testSortedDiff() throws Exception {
+        checkDiff(new PifSystemStreamDiff(
+                new SystemsWrappingPifSystemStream(buildSystems(false)),
+                new SystemsWrappingPifSystemStream(buildSystems(true)))
+                .setSorted(true));
+    }
+
+    @Test
+    public void testPartitionedDiff() throws Exception {
+        final List<System> before = buildSystems(false);
+        final List<System> after = buildSystems(true);
+        Collections.reverse(before);
+        checkDiff(new PifSystemStreamDiff(
+                new SystemsWrappingPifSystemStream(before),
+                new SystemsWrappingPifSystemStream(after))
+                .setMemoryBudget(1)
+                .setNumPartitions(3)
+                .setSpillDirectory(this.temporaryFolder.getRoot().toPath()));
+        final File[] spillDirectories = this.temporaryFolder.getRoot().listFiles();
+        Assert.assertNotNull(spillDirectories);
+        Assert.assertEquals(0, spillDirectories.length);
+    }
+
+    @Test
+    public void testPartitionedDiffRereadsRecordsFromMemoryAndSpillFiles() throws Exception {
+        for (long memoryBudget : new long[] {100, UidMergingPifSystemStream.DEFAULT_MEMORY_BUDGET}) {
+            checkDiff(new PifSystemStreamDiff(
+                    new SystemsWrappingPifSystemStream(buildSystems(false)),
+                    new SystemsWrappingPifSystemStream(buildSystems(true)))
+                    .setMemoryBudget(memoryBudget)
+                    .setNumPartitions(3)
+                    .setSpillDirectory(this.temporaryFolder.getRoot().toPath()));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testSortedDiffRejectsUnsortedInput() throws Exception {
+        final List<System> before = buildSystems(false);
+        Collections.reverse(before);
+        new PifSystemStreamDiff(
+                new SystemsWrappingPifSystemStream(before),
+                new SystemsWrappingPifSystemStream(buildSystems(true)))
+                .setSorted(true)
+                .run(new PifSystemStreamDiff.Listener() {});
+    }
+
+    /**
+     * Run a diff between the snapshots of {@link #buildSystems(boolean)} and check the differences that it finds.
+     *
+     * @param diff {@link PifSystemStreamDiff} to run.
+     * @throws Exception if the diff fails.
+     */
+    private void checkDiff(final PifSystemStreamDiff diff) throws Exception {
+        final List<String> added = new ArrayList<>();
+        final List<String> removed = new ArrayList<>();
+        final List<String> changed = new ArrayList<>();
+        final PifSystemStreamDiff.Summary summary = diff.run(new PifSystemStreamDiff.Listener() {
+            @Override
+            public void added(final System after) {
+                added.add(after.getUid());
+            }
+
+            @Override
+            public void removed(final System before) {
+                removed.add(before.getUid());
+            }
+
+            @Override
+            public void changed(final System before, final System after) {
+                Assert.assertEquals("tag-05", before.getTag(0));
+                Assert.assertEquals("changed", after.getTag(0));
+                changed.add(after.getUid());
+            }
+        });
+
+        Assert.assertEquals(Collections.singletonList("uid-25"), added);
+        Assert.assertEquals(Collections.singletonList("uid-03"), removed);
+        Assert.assertEquals(Collections.singletonList("uid-05"), changed);
+        Assert.assertEquals(1, summary.getAdded());
+        Assert.assertEquals(1, summary.getRemoved());
+        Assert.assertEquals(1, summary.getChanged());
+        Assert.assertEquals(NUM_UIDS - 2, summary.getUnchanged());
+    }
+
+    /**
+     * Build a snapshot that is sorted by uid, plus a system without a uid. The newer snapshot is missing one uid,
+     * changes another and adds a new one.
+     *
+     * @param newer True to build the newer snapshot.
+     * @return List of systems in the snapshot.
+     */
+    private List<System> buildSystems(final boolean newer) {
+        final List<System> systems = new ArrayList<>();
+        systems.add(new System().addName("no uid"));
+        for (int i = 0; i < NUM_UIDS; ++i) {
+            if (!newer || (i != 3)) {
+                systems.add(new System()
+                        .setUid(String.format("uid-%02d", i))
+                        .addName("name")
+                        .addTag((newer && (i == 5)) ? "changed" : String.format("tag-%02d", i)));
+            }
+        }
+        if (newer) {
+            systems.add(new System().setUid("uid-25").addName("name"));
+        }
+        return systems;
+    }
+
+    /** Number of uids in the older snapshot. */
+    private static final int NUM_UIDS = 20;
+
+    /** Folder that spill files are written to. */
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+}
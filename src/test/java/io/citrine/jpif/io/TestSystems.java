@@ -0,0 +1,50 @@
+package io.citrine.jpif.io;
+
+import io.citrine.jpif.obj.common.Property;
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Systems that are shared by the tests of streams and archives.
+ *
+ * @author Kyle Michel
+ */
+final class TestSystems {
+
+    /**
+     * Build a list of systems to test with. Every other system is a {@link ChemicalSystem}, and each system has a
+     * uid, a name with non-ASCII characters, unsupported fields and properties with scalars and vectors.
+     *
+     * @param numSystems Number of systems to build.
+     * @return List of {@link System} objects.
+     */
+    static List<System> build(final int numSystems) {
+        final List<System> systems = new ArrayList<>(numSystems);
+        for (int i = 0; i < numSystems; ++i) {
+            final System system = (i % 2 == 0) ? new System() : new ChemicalSystem().setChemicalFormula("Fe2O3");
+            system.addUnsupportedField("count", i - 10);
+            system.addUnsupportedField("ratio", i / 7.0);
+            systems.add(system
+                    .setUid("uid-" + i)
+                    .addName("Ångström " + i)
+                    .addProperty(new Property()
+                            .setName("Band gap")
+                            .addScalar(1.5 + i)
+                            .addVector(new Double[]{1.0, 2.0, 3.0})
+                            .setUnits("eV"))
+                    .addProperty(new Property()
+                            .setName("Density")
+                            .addScalar(5.2)
+                            .setUnits("g/cm^3")));
+        }
+        return systems;
+    }
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private TestSystems() {}
+}
@@ -0,0 +1,115 @@
+package io.citrine.jpif.io;
+
+import io.citrine.jpif.obj.merge.MergeStrategy;
+import io.citrine.jpif.obj.system.System;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for {@link UidMergingPifSystemStream} objects.
+ *
+ * @author Kyle Michel
+ */
+public class UidMergingPifSystemStreamTest {
+
+    @Test
+    public void testMergeInMemory() throws Exception {
+        checkMerged(new UidMergingPifSystemStream(new SystemsWrappingPifSystemStream(buildSystems()),
+                MergeStrategy.REPLACE_NON_NULL_AND_MERGE_BY_KEY));
+    }
+
+    @Test
+    public void testMergeWithSpill() throws Exception {
+        final UidMergingPifSystemStream pifSystemStream = new UidMergingPifSystemStream(
+                new SystemsWrappingPifSystemStream(buildSystems()), MergeStrategy.REPLACE_NON_NULL_AND_MERGE_BY_KEY)
+                .setMemoryBudget(1)
+                .setNumPartitions(3)
+                .setParallelism(2)
+                .setSpillDirectory(this.temporaryFolder.getRoot().toPath());
+        checkMerged(pifSystemStream);
+        final File[] spillDirectories = this.temporaryFolder.getRoot().listFiles();
+        Assert.assertNotNull(spillDirectories);
+        Assert.assertEquals(0, spillDirectories.length);
+    }
+
+    @Test
+    public void testMoreSpillFilesThanPartitionsWhenOverBudget() throws Exception {
+        final UidMergingPifSystemStream pifSystemStream = new UidMergingPifSystemStream(
+                new SystemsWrappingPifSystemStream(buildSystems()), MergeStrategy.REPLACE_NON_NULL_AND_MERGE_BY_KEY)
+                .setMemoryBudget(1)
+                .setNumPartitions(3)
+                .setParallelism(2)
+                .setSpillDirectory(this.temporaryFolder.getRoot().toPath());
+        Assert.assertNotNull(pifSystemStream.getNextSystem());
+        final File[] spillDirectories = this.temporaryFolder.getRoot().listFiles();
+        Assert.assertNotNull(spillDirectories);
+        Assert.assertEquals(1, spillDirectories.length);
+        final String[] spillFiles = spillDirectories[0].list();
+        Assert.assertNotNull(spillFiles);
+        Assert.assertTrue(spillFiles.length > 3);
+        pifSystemStream.close();
+        Assert.assertEquals(0, this.temporaryFolder.getRoot().list().length);
+    }
+
+    /**
+     * Read all systems from a stream, close it and check that each uid was merged into a single system.
+     *
+     * @param pifSystemStream {@link PifSystemStream} with the merged systems of {@link #buildSystems()}.
+     * @throws Exception if the stream cannot be read.
+     */
+    private void checkMerged(final PifSystemStream pifSystemStream) throws Exception {
+        final Map<String, System> systems = new HashMap<>();
+        int numWithoutUid = 0;
+        for (System system : pifSystemStream) {
+            if (system.getUid() == null) {
+                ++numWithoutUid;
+            }
+            else {
+                Assert.assertNull(systems.put(system.getUid(), system));
+            }
+        }
+        pifSystemStream.close();
+
+        Assert.assertEquals(2, numWithoutUid);
+        Assert.assertEquals(NUM_UIDS, systems.size());
+        for (int i = 0; i < NUM_UIDS; ++i) {
+            final System system = systems.get("uid-" + i);
+            Assert.assertEquals(2, system.numNames());
+            Assert.assertEquals("source-0", system.getName(0));
+            Assert.assertEquals("source-1", system.getName(1));
+            Assert.assertEquals(1, system.numTags());
+            Assert.assertEquals("tag-" + i, system.getTag(0));
+        }
+    }
+
+    /**
+     * Build systems from two sources that each have every uid, plus two systems without a uid.
+     *
+     * @return List of systems to merge.
+     */
+    private List<System> buildSystems() {
+        final List<System> systems = new ArrayList<>();
+        for (int source = 0; source < 2; ++source) {
+            for (int i = 0; i < NUM_UIDS; ++i) {
+                systems.add(new System().setUid("uid-" + i).addName("source-" + source).addTag("tag-" + i));
+            }
+            systems.add(new System().addName("no uid"));
+        }
+        return systems;
+    }
+
+    /** Number of distinct uids in the systems that are merged. */
+    private static final int NUM_UIDS = 20;
+
+    /** Folder that spill files are written to. */
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+}
@@ -0,0 +1,80 @@
+package io.citrine.jpif.obj.common;
+
+import org.junit.Assert;
+
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Helper for tests that check that a parser breaks strings apart in the same way as the regular expressions that it
+ * replaced. Both are run on known inputs and on random strings that are built from pieces of the forms that they
+ * recognize, and their results must be equal.
+ *
+ * @param <T> Type of the objects that strings are broken apart into.
+ * @author Kyle Michel
+ */
+final class DifferentialChecker<T> {
+
+    /**
+     * Constructor.
+     *
+     * @param expected {@link Function} that breaks a string apart in the original way.
+     * @param actual {@link Function} that breaks a string apart in the way that is checked.
+     */
+    DifferentialChecker(final Function<String, T> expected, final Function<String, T> actual) {
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * Check that both functions break a string apart in the same way.
+     *
+     * @param input String to break apart.
+     */
+    void check(final String input) {
+        Assert.assertEquals("Input: \"" + input + "\"", this.expected.apply(input), this.actual.apply(input));
+    }
+
+    /**
+     * Check that both functions break each of a list of strings apart in the same way.
+     *
+     * @param inputs Strings to break apart.
+     */
+    void checkAll(final String... inputs) {
+        for (String input : inputs) {
+            check(input);
+        }
+    }
+
+    /**
+     * Check that both functions break random strings apart in the same way. The same strings are built on every run.
+     *
+     * @param tokens Pieces that random strings are built from.
+     */
+    void checkRandomStrings(final String... tokens) {
+        final Random random = new Random(SEED);
+        for (int i = 0; i < NUM_RANDOM_STRINGS; ++i) {
+            final StringBuilder input = new StringBuilder();
+            final int numTokens = 1 + random.nextInt(MAX_TOKENS);
+            for (int j = 0; j < numTokens; ++j) {
+                input.append(tokens[random.nextInt(tokens.length)]);
+            }
+            check(input.toString());
+        }
+    }
+
+    /** Seed of the random strings. */
+    private static final long SEED = 31;
+
+    /** Number of random strings to check. */
+    private static final int NUM_RANDOM_STRINGS = 100000;
+
+    /** Largest number of pieces in a random string. */
+    private static final int MAX_TOKENS = 8;
+
+    /** Function that breaks a string apart in the original way. */
+    private final Function<String, T> expected;
+
+    /** Function that breaks a string apart in the way that is checked. */
+    private final Function<String, T> actual;
+}
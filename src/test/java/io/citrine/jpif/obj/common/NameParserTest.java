@@ -0,0 +1,108 @@
+package io.citrine.jpif.obj.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link NameParser}, which check that it breaks strings apart in the same way as the patterns of
+ * {@link Name}.
+ *
+ * @author Kyle Michel
+ */
+public class NameParserTest {
+
+    @Test
+    public void testKnownForms() {
+        checkDecompose(null, "Jane", "Smith", null, "Jane Smith");
+        checkDecompose("Dr.", "Jane", "Smith", "Ph.D.", "Dr. Jane Smith, Ph.D.");
+        checkDecompose("Prof", "J. R. R.", "Tolkien", null, "Prof J. R. R. Tolkien");
+        checkDecompose(null, "John", "Doe", "Jr", "Doe, John Jr");
+        checkDecompose(null, "Anne", "Smith-Jones", null, "Anne Smith - Jones");
+        checkDecompose(null, "Mary Ann", "Lee", null, "Mary Ann Lee");
+        checkDecompose("Dr.", "Drew", "Smith", null, "Drew Dr. Smith");
+        checkDecompose(null, null, "Cher", null, "Cher");
+    }
+
+    @Test
+    public void testMatchesPatterns() {
+        final String[] cases = {
+                "", " ", ",", ";", ",,", "a,", ",a", "a,b", "a;b;", "a,b,c", "a, b ,", "a b c", "A. B. C", "A. Bc D",
+                "Mr. Mrs. X", "mr x", "MR.X", "Miss X", "Missy X", "Doctor", "Doctor X", "Professor X Y", "Profx",
+                "X II", "X III", "X IIII", "X IV", "X jr.", "X Jr.a", "X J.D", "X JD.", "X Ph.D.x", "X phd",
+                "X M.B.A.", "X MB.A", "X, Y\n", "X, \r\n", "X, \u2028", "a - b", "a -- b", "- a", "a -", "a\tb",
+                "\u0001a b\u0001", "Dr.Mr.X", "xDr. Y",
+        };
+        CHECKER.checkAll(cases);
+    }
+
+    @Test
+    public void testMatchesPatternsOnRandomStrings() {
+        CHECKER.checkRandomStrings(TOKENS);
+    }
+
+    @Test
+    public void testCachedNamesAreNotShared() {
+        final Name first = NameParser.decompose("Dr. Jane Smith");
+        final Name second = NameParser.decompose("Dr. Jane Smith");
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first, second);
+        Assert.assertFalse(second.isFrozen());
+        first.setFamily("Jones");
+        Assert.assertEquals("Smith", second.getFamily());
+        Assert.assertEquals("Smith", NameParser.decompose("Dr. Jane Smith").getFamily());
+    }
+
+    /**
+     * Break a string apart with the patterns of {@link Name}, which is how strings were broken apart before
+     * {@link NameParser} was added.
+     *
+     * @param input String to break apart.
+     * @return New {@link Name} object with the input string decomposed.
+     */
+    public static Name decomposeWithPatterns(final String input) {
+        final Name name = new Name();
+        final String withoutTitle = Name.addTitleToName(input, name);
+        Name.addGivenAndFamilyNames(Name.addSuffixToName(withoutTitle, name), name);
+        return name;
+    }
+
+    /**
+     * Break a string apart with {@link NameParser} without using its cache, so that benchmarks outside of this package
+     * can measure the parser itself.
+     *
+     * @param input String to break apart.
+     * @return New {@link Name} object with the input string decomposed.
+     */
+    public static Name parseWithoutCache(final String input) {
+        return NameParser.parse(input);
+    }
+
+    /**
+     * Check that a string is broken apart into the expected fields.
+     *
+     * @param title Expected title.
+     * @param given Expected given name.
+     * @param family Expected family name.
+     * @param suffix Expected suffix.
+     * @param input String to break apart.
+     */
+    private void checkDecompose(final String title, final String given, final String family, final String suffix,
+            final String input) {
+        final Name name = Name.valueOf(input);
+        Assert.assertEquals(title, name.getTitle());
+        Assert.assertEquals(given, name.getGiven());
+        Assert.assertEquals(family, name.getFamily());
+        Assert.assertEquals(suffix, name.getSuffix());
+        CHECKER.check(input);
+    }
+
+    /** Checker that compares the parser with the patterns that it replaced. */
+    private static final DifferentialChecker<Name> CHECKER =
+            new DifferentialChecker<>(NameParserTest::decomposeWithPatterns, NameParser::parse);
+
+    /** Pieces that random strings are built from. */
+    private static final String[] TOKENS = {
+            "a", "Bc", "X", " ", "  ", "\t", "\n", "\r", "\r\n", "\u2028", ",", ";", "-", ".", "Ms", "Miss", "Mrs",
+            "Mr", "Dr", "dR", "Doctor", "Prof", "Professor", "II", "I", "V", "Jr", "sR", "J", "D", "Ph", "M", "B",
+            "A", "\u0001", "1"};
+}
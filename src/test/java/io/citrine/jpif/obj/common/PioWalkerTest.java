@@ -0,0 +1,183 @@
+package io.citrine.jpif.obj.common;
+
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+import io.citrine.jpif.obj.system.chemical.common.Composition;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for {@link PioWalker} objects.
+ *
+ * @author Kyle Michel
+ */
+public class PioWalkerTest {
+
+    @Test
+    public void testWalkOrder() {
+        final List<String> visited = new ArrayList<>();
+        final boolean finished = PioWalker.walk(buildSystem(), new PioVisitor() {
+            @Override
+            public Action visit(final Pio pio) {
+                visited.add(pio.getClass().getSimpleName());
+                return Action.CONTINUE;
+            }
+
+            @Override
+            public Action visit(final System system) {
+                visited.add("System " + system.getUid());
+                return Action.CONTINUE;
+            }
+
+            @Override
+            public Action visit(final Scalar scalar) {
+                visited.add("Scalar " + scalar.getValue());
+                return Action.CONTINUE;
+            }
+        });
+        Assert.assertTrue(finished);
+        Assert.assertEquals(Arrays.asList(
+                "System root",
+                "Property", "Scalar 1", "Scalar 2", "Value", "Scalar 3", "Method",
+                "Reference", "Name", "Person", "Name",
+                "System child", "Property", "Scalar 5",
+                "Composition", "Scalar 4"), visited);
+    }
+
+    @Test
+    public void testSkipChildren() {
+        final List<String> scalars = new ArrayList<>();
+        PioWalker.walk(buildSystem(), new PioVisitor() {
+            @Override
+            public Action visit(final Property property) {
+                return Action.SKIP_CHILDREN;
+            }
+
+            @Override
+            public Action visit(final Scalar scalar) {
+                scalars.add(scalar.getValue());
+                return Action.CONTINUE;
+            }
+        });
+        Assert.assertEquals(Collections.singletonList("4"), scalars);
+    }
+
+    @Test
+    public void testStop() {
+        final List<String> names = new ArrayList<>();
+        final boolean finished = PioWalker.walk(buildSystem(), new PioVisitor() {
+            @Override
+            public Action visit(final Name name) {
+                names.add(name.getFamily());
+                return Action.STOP;
+            }
+        });
+        Assert.assertFalse(finished);
+        Assert.assertEquals(Collections.singletonList("Author"), names);
+    }
+
+    @Test
+    public void testPackedScalarsAreVisited() {
+        final Value value = new Value()
+                .addVector(new Number[]{1, 2})
+                .addMatrix(new Number[][]{{3}, {4, 5}});
+        final List<String> scalars = new ArrayList<>();
+        PioWalker.walk(value, new PioVisitor() {
+            @Override
+            public Action visit(final Scalar scalar) {
+                scalars.add(scalar.getValue());
+                scalar.setUncertainty("0.1");
+                return Action.CONTINUE;
+            }
+        });
+        Assert.assertEquals(Arrays.asList("1", "2", "3", "4", "5"), scalars);
+        Assert.assertEquals("0.1", value.getVector(0)[1].getUncertainty());
+        Assert.assertEquals("0.1", value.getMatrix(0)[1][0].getUncertainty());
+    }
+
+    @Test
+    public void testDeepNesting() {
+        final System root = new System().setUid("0");
+        System parent = root;
+        for (int i = 1; i < DEPTH; ++i) {
+            final System child = new System().setUid(Integer.toString(i));
+            parent.addSubSystem(child);
+            parent = child;
+        }
+        final AtomicInteger count = new AtomicInteger();
+        final PioVisitor visitor = new PioVisitor() {
+            @Override
+            public Action visit(final System system) {
+                count.incrementAndGet();
+                return Action.CONTINUE;
+            }
+        };
+        Assert.assertTrue(PioWalker.walk(root, visitor));
+        Assert.assertEquals(DEPTH, count.getAndSet(0));
+        Assert.assertTrue(PioWalker.walkParallel(root, visitor));
+        Assert.assertEquals(DEPTH, count.get());
+    }
+
+    @Test
+    public void testParallelWalk() {
+        final System root = new System();
+        for (int i = 0; i < 200; ++i) {
+            final System child = new System();
+            for (int j = 0; j < 10; ++j) {
+                child.addProperty(new Property().addScalar(j).addScalar(i));
+            }
+            root.addSubSystem(child);
+        }
+        final AtomicInteger count = new AtomicInteger();
+        final PioVisitor visitor = new PioVisitor() {
+            @Override
+            public Action visit(final Scalar scalar) {
+                count.incrementAndGet();
+                return Action.CONTINUE;
+            }
+        };
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assert.assertTrue(PioWalker.walkParallel(root, visitor, pool));
+            Assert.assertEquals(200 * 10 * 2, count.get());
+            Assert.assertFalse(PioWalker.walkParallel(root, new PioVisitor() {
+                @Override
+                public Action visit(final Scalar scalar) {
+                    return Action.STOP;
+                }
+            }, pool));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Build a chemical system that holds objects of several types.
+     *
+     * @return New {@link ChemicalSystem} object.
+     */
+    private static System buildSystem() {
+        return new ChemicalSystem()
+                .addComposition(new Composition().setElement("Fe").setActualWeightPercent(new Scalar().setValue("4")))
+                .setUid("root")
+                .addProperty(new Property()
+                        .addScalar("1")
+                        .addScalar("2")
+                        .addCondition(new Value().addScalar("3"))
+                        .addMethod(new Method())
+                        .addReference(new Reference().addAuthor(new Name().setFamily("Author")))
+                        .addContact(new Person().setName(new Name().setFamily("Contact"))))
+                .addSubSystem(new System().setUid("child").addProperty(new Property().addScalar("5")));
+    }
+
+    /** Number of nested systems in the deep nesting test. */
+    private static final int DEPTH = 100000;
+}
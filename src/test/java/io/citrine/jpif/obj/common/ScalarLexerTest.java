@@ -0,0 +1,92 @@
+package io.citrine.jpif.obj.common;
+
+import io.citrine.jpif.util.PifObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ScalarLexer}, which check that it breaks strings apart in the same way as the patterns of
+ * {@link Scalar}.
+ *
+ * @author Kyle Michel
+ */
+public class ScalarLexerTest {
+
+    @Test
+    public void testKnownForms() throws Exception {
+        checkDecompose("{\"value\":\"1.5\",\"uncertainty\":\"0.1\"}", "1.5 +- 0.1");
+        checkDecompose("{\"value\":\"1.5\",\"uncertainty\":\"0.1\"}", "1.5$\\pm$0.1");
+        checkDecompose("{\"value\":\"1.051\",\"uncertainty\":\"0.013\"}", "1.051(13)");
+        checkDecompose("{\"minimum\":\"-1\",\"maximum\":\"-2e3\"}", " -1 to -2e3 ");
+        checkDecompose("{\"minimum\":\"5\",\"inclusiveMinimum\":true}", "\\geq 5");
+        checkDecompose("{\"maximum\":\"0x1.8p3\",\"inclusiveMaximum\":true}", "≤0x1.8p3");
+        checkDecompose("{\"maximum\":\"3\",\"approximate\":true}", "<~3");
+        checkDecompose("{\"value\":\"1.5\",\"approximate\":true}", "~1.5");
+        checkDecompose("{\"value\":\"1-2-3\"}", "1-2-3");
+        checkDecompose("{\"value\":\"1.5(130)\"}", "1.5(130)");
+    }
+
+    @Test
+    public void testMatchesPatterns() {
+        final String[] cases = {
+                "", " ", "1", " 1 ", "-1", "+1", "1.", ".1", ".", "1e5", "1e", "1e+", "1E-5d", "1f", "NaN", "-Infinity",
+                "Inf", "0x1p3", "0x1.p3", "0x.8p3", "0x.p3", "0x1.ap3", "0x1", "0X1P-3F", "1+-2", "1 ± 2", "1\\pm2",
+                "1$\\pm2", "1\\pm$2", "1 $\\pm$ 2", "1+-", "1+ -2", "1(2)", "1 (2) ", "1( 2)", "1.5(2.5)", "1.50(2.5)",
+                "1-2", "1--2", "1 – 2", "1to2", "1 to 2", "1t2", "1d-2", "1e-2", "Infinityto5", ">1", "> 1", ">=1",
+                "> =1", "≥1", "$\\gt$1", "$\\gt1", "\\gt1", "\\gt$1", "$\\ge$1", "$\\geq$1", "\\geq1", "\\geNaN",
+                "\\geqq1", "<1", "<=1", "≤1", "$\\lt$1", "\\lt1", "$\\le$1", "\\leq1", "\\lq1", "~", "~1", "1~",
+                "~ 1", "~~1", "1~-2", "~>5", ">~5", "~a", "a~1", "\t1\u000B", "1 ", "abc", "(1)", "1)", "1(2",
+        };
+        CHECKER.checkAll(cases);
+    }
+
+    @Test
+    public void testMatchesPatternsOnRandomStrings() {
+        CHECKER.checkRandomStrings(TOKENS);
+    }
+
+    /**
+     * Break a string apart with the patterns of {@link Scalar}, which is how strings were broken apart before
+     * {@link ScalarLexer} was added.
+     *
+     * @param input String to break apart.
+     * @return New {@link Scalar} object with the input string decomposed.
+     */
+    public static Scalar decomposeWithPatterns(final String input) {
+        final Boolean approximate = Scalar.isStringApproximate(input);
+        final String text = (approximate == Boolean.TRUE) ? input.replace("~", "") : input;
+        Scalar res;
+        if (((res = Scalar.asPlusMinus(text)) != null)
+                || ((res = Scalar.asParentheses(text)) != null)
+                || ((res = Scalar.asBoundedRange(text)) != null)
+                || ((res = Scalar.asMinimum(text)) != null)
+                || ((res = Scalar.asInclusiveMinimum(text)) != null)
+                || ((res = Scalar.asMaximum(text)) != null)
+                || ((res = Scalar.asInclusiveMaximum(text)) != null)) {
+            return res.setApproximate(approximate);
+        }
+        return new Scalar().setValue(text).setApproximate(approximate);
+    }
+
+    /**
+     * Check that a string is broken apart into the expected fields.
+     *
+     * @param expected JSON with the expected fields.
+     * @param input String to break apart.
+     * @throws Exception if the scalar cannot be written.
+     */
+    private void checkDecompose(final String expected, final String input) throws Exception {
+        Assert.assertEquals(expected, PifObjectMapper.getInstance().writeValueAsString(Scalar.valueOf(input)));
+        CHECKER.check(input);
+    }
+
+    /** Checker that compares the lexer with the patterns that it replaced. */
+    private static final DifferentialChecker<Scalar> CHECKER =
+            new DifferentialChecker<>(ScalarLexerTest::decomposeWithPatterns, ScalarLexer::decompose);
+
+    /** Pieces that random strings are built from. */
+    private static final String[] TOKENS = {
+            "0", "1", "25", ".", ".5", "e", "E", "-", "+", "x", "0x1", "a", "p", "f", "d", "NaN", "Infinity", " ", "\t",
+            "(", ")", "±", "+-", "$", "\\pm", "\\gt", "\\ge", "\\geq", "\\lt", "\\le", "\\leq", ">", "<", "=", "≥",
+            "≤", "–", "to", "t", "~", "q"};
+}
@@ -0,0 +1,61 @@
+package io.citrine.jpif.obj.common;
+
+import io.citrine.jpif.util.PifObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Tests for {@link Scalar} objects.
+ *
+ * @author Kyle Michel
+ */
+public class ScalarTest {
+
+    @Test
+    public void testNumbersMatchToString() {
+        final Number[] numbers = {
+                0, -7, 42L, (short) 3, (byte) -2, Long.MAX_VALUE, (1L << 53) + 1,
+                1.5, 0.1, -0.0, 1e300, 1.0 / 3, Double.NaN, Double.NEGATIVE_INFINITY,
+                0.1f, 3.4028235e38f,
+                new BigDecimal("1.50"), new BigInteger("123456789012345678901234567890")};
+        for (Number number : numbers) {
+            final Scalar scalar = Scalar.valueOf(number);
+            Assert.assertEquals(number.toString(), scalar.getValue());
+            Assert.assertEquals(number.toString(), scalar.toString());
+            Assert.assertTrue(scalar.hasNumericValue());
+            Assert.assertEquals(number.doubleValue(), scalar.getValueAsDouble(), 0.0);
+        }
+    }
+
+    @Test
+    public void testNumericAccessors() {
+        Assert.assertEquals(2.5, Scalar.valueOf("2.5").getValueAsDouble(), 0.0);
+        Assert.assertEquals(-1e-3, new Scalar().setValue("-1E-3").getValueAsDouble(), 0.0);
+        Assert.assertFalse(Scalar.valueOf("abc").hasNumericValue());
+        Assert.assertFalse(new Scalar().hasNumericValue());
+        Assert.assertFalse(Scalar.valueOf("1-2").hasNumericValue());
+
+        final Scalar scalar = Scalar.valueOf(3);
+        scalar.setValue("x");
+        Assert.assertEquals("x", scalar.getValue());
+        Assert.assertFalse(scalar.hasNumericValue());
+        scalar.setValue("4");
+        Assert.assertEquals(4.0, scalar.getValueAsDouble(), 0.0);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testNonNumericValueAsDouble() {
+        Scalar.valueOf("abc").getValueAsDouble();
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        Assert.assertEquals("{\"value\":\"1.5\"}",
+                PifObjectMapper.getInstance().writeValueAsString(Scalar.valueOf(1.5)));
+        final Scalar scalar = PifObjectMapper.getInstance().readValue("{\"value\":\"7\"}", Scalar.class);
+        Assert.assertEquals(7.0, scalar.getValueAsDouble(), 0.0);
+    }
+}
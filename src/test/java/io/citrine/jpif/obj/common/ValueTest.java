@@ -0,0 +1,193 @@
+package io.citrine.jpif.obj.common;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import io.citrine.jpif.util.PifObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for {@link Value} objects.
+ *
+ * @author Kyle Michel
+ */
+public class ValueTest {
+
+    @Test
+    public void testVectorShapes() throws Exception {
+        Assert.assertEquals(0, read("{\"vectors\": []}").numVectors());
+
+        final Value single = read("{\"vectors\": [1, \"2\", {\"value\": \"3\"}, true]}");
+        Assert.assertEquals(1, single.numVectors());
+        Assert.assertEquals("[1, 2, 3, True]", toString(single.getVector(0)));
+
+        final Value list = read("{\"vectors\": [[1, 2], [], 3, [4]]}");
+        Assert.assertEquals(4, list.numVectors());
+        Assert.assertEquals("[1, 2]", toString(list.getVector(0)));
+        Assert.assertEquals("[]", toString(list.getVector(1)));
+        Assert.assertEquals("[]", toString(list.getVector(2)));
+        Assert.assertEquals("[4]", toString(list.getVector(3)));
+
+        final Value vector = read("{\"vector\": [5, 6]}");
+        Assert.assertEquals(1, vector.numVectors());
+        Assert.assertEquals("[5, 6]", toString(vector.getVector(0)));
+    }
+
+    @Test
+    public void testLongVector() throws Exception {
+        final StringBuilder json = new StringBuilder("{\"vectors\": [0");
+        for (int i = 1; i < 1000; ++i) {
+            json.append(',').append(i);
+        }
+        final Value value = read(json.append("]}").toString());
+        Assert.assertEquals(1000, value.getVector(0).length);
+        Assert.assertEquals("999", value.getVector(0)[999].getValue());
+    }
+
+    @Test
+    public void testMatrixShapes() throws Exception {
+        Assert.assertEquals(0, read("{\"matrices\": []}").numMatrices());
+
+        final Value single = read("{\"matrices\": [[1, 2], [], [3]]}");
+        Assert.assertEquals(1, single.numMatrices());
+        Assert.assertEquals(3, single.getMatrix(0).length);
+        Assert.assertEquals("[1, 2]", toString(single.getMatrix(0)[0]));
+        Assert.assertEquals("[]", toString(single.getMatrix(0)[1]));
+        Assert.assertEquals("[3]", toString(single.getMatrix(0)[2]));
+
+        final Value list = read("{\"matrices\": [[[1, 2], [3, 4]], [], [5, 6], [[7]]]}");
+        Assert.assertEquals(4, list.numMatrices());
+        Assert.assertEquals(2, list.getMatrix(0).length);
+        Assert.assertEquals("[3, 4]", toString(list.getMatrix(0)[1]));
+        Assert.assertEquals(0, list.getMatrix(1).length);
+        Assert.assertEquals(1, list.getMatrix(2).length);
+        Assert.assertEquals("[5, 6]", toString(list.getMatrix(2)[0]));
+        Assert.assertEquals("[7]", toString(list.getMatrix(3)[0]));
+
+        final Value value = read("{\"matrices\": [[1]], \"name\": \"A\"}");
+        Assert.assertEquals("A", value.getName());
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testMatricesRequireArrays() throws Exception {
+        read("{\"matrices\": [1, 2]}");
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testVectorsRequireArray() throws Exception {
+        read("{\"vectors\": 1}");
+    }
+
+    @Test
+    public void testPackedRoundTrip() throws Exception {
+        final String[] jsons = {
+                "{\"vectors\":[[{\"value\":\"1\"},{\"value\":\"2.5\"},{\"value\":\"-3\"}]]}",
+                "{\"vectors\":[[{\"value\":\"1\",\"uncertainty\":\"0.1\"},{\"value\":\"2\"}]]}",
+                "{\"vectors\":[[{\"value\":\"1.50\"},{\"value\":\"2\"}],[{\"value\":\"1e3\"}],[]]}",
+                "{\"vectors\":[[{\"value\":\"1\",\"approximate\":true}]]}",
+                "{\"matrices\":[[[{\"value\":\"1\"},{\"value\":\"2\"}],[{\"value\":\"3.25\"}]],[]]}",
+                "{\"matrices\":[[[{\"value\":\"1\"}],[{\"value\":\"x\"}]]]}"};
+        for (String json : jsons) {
+            Assert.assertEquals(json, PifObjectMapper.getInstance().writeValueAsString(read(json)));
+        }
+        Assert.assertEquals("{\"vectors\":[[{\"value\":\"1\"},{\"value\":\"2.5\"}]]}",
+                PifObjectMapper.getInstance().writeValueAsString(new Value().addVector(new Number[]{1, 2.5})));
+    }
+
+    @Test
+    public void testValuesAsDoubles() throws Exception {
+        final Value value = read("{\"vectors\": [[1, 2.5], [\"1.50\", 2]], \"matrices\": [[[1], [2, 3]]]}");
+        Assert.assertArrayEquals(new double[]{1.0, 2.5}, value.getVectorAsDoubles(0), 0.0);
+        Assert.assertArrayEquals(new double[]{1.5, 2.0}, value.getVectorAsDoubles(1), 0.0);
+        Assert.assertArrayEquals(new double[]{2.0, 3.0}, value.getMatrixAsDoubles(0)[1], 0.0);
+        Assert.assertEquals("[1, 2.5]", toString(value.getVector(0)));
+        Assert.assertArrayEquals(new double[]{1.0, 2.5}, value.getVectorAsDoubles(0), 0.0);
+    }
+
+    @Test
+    public void testPackedChangesAreKept() throws Exception {
+        final Value value = read("{\"vectors\": [[1, 2], [3]]}");
+        final Scalar[] vector = value.getVector(0);
+        vector[0].setValue("a");
+        Assert.assertSame(vector, value.getVector(0));
+        Assert.assertEquals("{\"vectors\":[[{\"value\":\"a\"},{\"value\":\"2\"}],[{\"value\":\"3\"}]]}",
+                PifObjectMapper.getInstance().writeValueAsString(value));
+        Assert.assertTrue(value.removeVector(vector));
+        Assert.assertEquals(1, value.numVectors());
+        Assert.assertEquals("[3]", toString(value.getVector(0)));
+    }
+
+    @Test
+    public void testConcurrentReadsGetTheSameVector() throws Exception {
+        final Value value = read("{\"vectors\": [[1, 2], [3]]}");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Scalar[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; ++i) {
+                futures.add(executor.submit(() -> value.getVector(0)));
+            }
+            for (Future<Scalar[]> future : futures) {
+                Assert.assertSame(value.getVector(0), future.get());
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFreezeKeepsVectorsAndMatricesPacked() throws Exception {
+        final Value value = read("{\"vectors\": [[1, 2]], \"matrices\": [[[3, 4], [5]]]}");
+        value.freeze();
+        Assert.assertTrue(((PackedList<?>) value.getVectors()).getSlot(0) instanceof PackedList.Packed);
+        Assert.assertTrue(((PackedList<?>) value.getMatrices()).getSlot(0) instanceof PackedList.Packed);
+        try {
+            value.getVectors().remove(0);
+            Assert.fail("Frozen vectors were changed");
+        }
+        catch (IllegalStateException e) {
+            // Expected
+        }
+
+        // Scalars are frozen when they are unpacked, and the same scalars are returned each time
+        final Scalar[] vector = value.getVector(0);
+        Assert.assertTrue(vector[0].isFrozen());
+        Assert.assertSame(vector[0], value.getVector(0)[0]);
+        Assert.assertTrue(value.getMatrix(0)[1][0].isFrozen());
+        Assert.assertArrayEquals(new double[]{1.0, 2.0}, value.getVectorAsDoubles(0), 0.0);
+        Assert.assertEquals("{\"vectors\":[[{\"value\":\"1\"},{\"value\":\"2\"}]],"
+                + "\"matrices\":[[[{\"value\":\"3\"},{\"value\":\"4\"}],[{\"value\":\"5\"}]]]}",
+                PifObjectMapper.getInstance().writeValueAsString(value));
+    }
+
+    /**
+     * Read a value from a JSON string.
+     *
+     * @param json String with the JSON to read.
+     * @return {@link Value} object.
+     * @throws IOException if the value cannot be read.
+     */
+    private Value read(final String json) throws IOException {
+        return PifObjectMapper.getInstance().readValue(json, Value.class);
+    }
+
+    /**
+     * Convert an array of scalars to a string with the value of each.
+     *
+     * @param scalars Array of {@link Scalar} objects.
+     * @return String with the values of the scalars.
+     */
+    private String toString(final Scalar[] scalars) {
+        final StringBuilder res = new StringBuilder("[");
+        for (int i = 0; i < scalars.length; ++i) {
+            res.append((i == 0) ? "" : ", ").append(scalars[i].getValue());
+        }
+        return res.append("]").toString();
+    }
+}
@@ -0,0 +1,117 @@
+package io.citrine.jpif.obj.diff;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.citrine.jpif.obj.common.Id;
+import io.citrine.jpif.obj.common.Property;
+import io.citrine.jpif.obj.common.Value;
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+import io.citrine.jpif.obj.system.chemical.common.Composition;
+import io.citrine.jpif.util.PifObjectMapper;
+import io.citrine.jpif.util.ReadMode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link PioDiff} and {@link PioPatch} objects.
+ *
+ * @author Kyle Michel
+ */
+public class PioPatchTest {
+
+    @Test
+    public void testDiffAndApply() throws Exception {
+        final ChemicalSystem from = buildSystem();
+        final ChemicalSystem to = buildSystem();
+        to.getProperty(1).setUnits("eV");
+        to.removeId(to.getId(0));
+        to.addComposition(1, new Composition().setElement("O"));
+        to.addName("B");
+        to.getSubSystem(0).addProperty(new Property().setName("Density").addScalar(7.9));
+
+        final PioPatch patch = PioDiff.diff(from, to);
+        Assert.assertEquals(5, patch.getOperations().size());
+        Assert.assertEquals(PioPatch.Type.REMOVE, patch.getOperations().get(1).getType());
+        assertSameJson(to, patch.apply(from));
+        Assert.assertEquals(2, from.numIds());
+
+        // Patches can be written and read back
+        final PioPatch copy = PifObjectMapper.getInstance().readValue(patch.toString(), PioPatch.class);
+        Assert.assertEquals(patch.toString(), copy.toString());
+        assertSameJson(to, copy.apply(from));
+
+        Assert.assertTrue(PioDiff.diff(from, buildSystem()).isEmpty());
+        assertSameJson(from, PioDiff.diff(to, from).apply(to));
+    }
+
+    @Test
+    public void testLazilyReadObjectsAreCompared() throws Exception {
+        final String json = "{\"category\":\"system\",\"properties\":[{\"name\":\"Band gap\",\"scalars\":1.5,"
+                + "\"contacts\":[\"Dr. Jane Smith\"]}]}";
+        final ObjectReader reader = ReadMode.LAZY.apply(PifObjectMapper.getInstance().readerFor(System.class));
+        final System lazy = reader.readValue(json);
+        final System eager = PifObjectMapper.getInstance().readValue(json, System.class);
+        eager.getProperty(0).getScalar(0).getValue();
+        Assert.assertTrue(PioDiff.diff(lazy, eager).isEmpty());
+        Assert.assertTrue(PioDiff.diff(eager, lazy).isEmpty());
+
+        eager.getProperty(0).getScalar(0).setUncertainty("0.1");
+        final PioPatch patch = PioDiff.diff(reader.readValue(json), eager);
+        Assert.assertEquals(1, patch.getOperations().size());
+        assertSameJson(eager, patch.apply((System) reader.readValue(json)));
+    }
+
+    @Test
+    public void testReorderedListsAreReplaced() throws Exception {
+        final ChemicalSystem from = buildSystem();
+        final ChemicalSystem to = buildSystem();
+        to.addProperty(to.getProperty(0));
+        to.removeProperty(to.getProperty(0));
+
+        final PioPatch patch = PioDiff.diff(from, to);
+        Assert.assertEquals(1, patch.getOperations().size());
+        Assert.assertEquals(PioPatch.Type.SET, patch.getOperations().get(0).getType());
+        assertSameJson(to, patch.apply(from));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPatchMustMatch() throws Exception {
+        final ChemicalSystem to = buildSystem();
+        to.getProperty(0).setUnits("eV");
+        PioDiff.diff(buildSystem(), to).apply(new ChemicalSystem().setChemicalFormula("Fe"));
+    }
+
+    /**
+     * Check that two systems have the same JSON form.
+     *
+     * @param expected Expected {@link System}.
+     * @param actual Actual {@link System}.
+     * @throws Exception if the systems cannot be written.
+     */
+    private void assertSameJson(final System expected, final System actual) throws Exception {
+        Assert.assertEquals(expected.getClass(), actual.getClass());
+        Assert.assertEquals(
+                PifObjectMapper.getInstance().writeValueAsString(expected),
+                PifObjectMapper.getInstance().writeValueAsString(actual));
+    }
+
+    /**
+     * Build a system with keyed lists.
+     *
+     * @return New {@link ChemicalSystem}.
+     */
+    private ChemicalSystem buildSystem() {
+        return new ChemicalSystem()
+                .setUid("root")
+                .setChemicalFormula("Fe2O3")
+                .addName("A")
+                .addId(new Id().setName("Sample").setValue("1"))
+                .addId(new Id().setName("Batch").setValue("2"))
+                .addComposition(new Composition().setElement("Fe"))
+                .addComposition(new Composition().setElement("Al"))
+                .addProperty(new Property().setName("Band gap").addScalar(2.1))
+                .addProperty(new Property().setName("Band gap").addScalar(2.3)
+                        .addCondition(new Value().setName("Temperature").addScalar(300)))
+                .addSubSystem(new System().setUid("child").addProperty(new Property().setName("Mass")));
+    }
+}
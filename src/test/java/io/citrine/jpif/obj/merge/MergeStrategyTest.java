@@ -1,14 +1,27 @@
 package io.citrine.jpif.obj.merge;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import io.citrine.jpif.obj.common.Id;
+import io.citrine.jpif.obj.common.Pio;
+import io.citrine.jpif.obj.common.Property;
+import io.citrine.jpif.obj.common.Scalar;
+import io.citrine.jpif.obj.common.Value;
 import io.citrine.jpif.obj.system.System;
 import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+import io.citrine.jpif.obj.system.chemical.common.Composition;
 import io.citrine.jpif.util.PifObjectMapper;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Test Pio merging strategies.
@@ -46,4 +59,245 @@ public class MergeStrategyTest {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void cachedReflectionTest() throws Exception {
+        assertSame(PioReflection.of(System.class), PioReflection.of(System.class));
+        assertNotSame(PioReflection.of(System.class), PioReflection.of(ChemicalSystem.class));
+        assertTrue(PioReflection.of(System.class).isList("getProperties"));
+
+        System pifA = new System().setUid("A").addName("A");
+        System pifB = new System().setUid("B").addName("B");
+        System merged = pifA.merge(pifB, MergeStrategy.REPLACE_NON_NULL_AND_APPEND,
+                Arrays.asList("getClass", "GETUID"));
+        assertEquals("A", merged.getUid());
+        assertEquals(2, merged.numNames());
+        assertEquals("B", merged.getName(1));
+    }
+
+    @Test
+    public void sharedMergeTest() throws Exception {
+        System pifA = new System().setUid("A").addProperty(new Property().setName("PA"));
+        ChemicalSystem pifB = new ChemicalSystem().setChemicalFormula("HgS").addProperty(new Property().setName("PB"));
+        System merged = pifA.mergeShared(pifB, MergeStrategy.REPLACE_NON_NULL_AND_APPEND);
+
+        // Children are shared with the inputs, and nothing is frozen
+        assertEquals(2, merged.numProperties());
+        assertSame(pifA.getProperty(0), merged.getProperty(0));
+        assertSame(pifB.getProperty(0), merged.getProperty(1));
+        assertFalse(merged.getProperty(0).isFrozen());
+        assertFalse(merged.isFrozen());
+        assertEquals(1, pifA.numProperties());
+        assertEquals("HgS", merged.getUnsupportedFieldValue("chemicalFormula"));
+
+        // The lists of the result are not shared
+        merged.addProperty(new Property().setName("PC")).setUid("C");
+        assertEquals(1, pifA.numProperties());
+        assertEquals(1, pifB.numProperties());
+        assertEquals("A", pifA.getUid());
+
+        // The inputs are not frozen or otherwise changed
+        assertFalse(pifA.getProperty(0).isFrozen());
+        assertFalse(pifB.getProperty(0).isFrozen());
+        assertFalse(pifA.isFrozen());
+        assertFalse(pifB.isFrozen());
+        pifA.getProperty(0).setName("changed");
+        assertEquals("changed", merged.getProperty(0).getName());
+        pifA.addName("still editable");
+        assertEquals(1, pifA.numNames());
+        assertEquals(0, merged.numNames());
+
+        // Frozen inputs can be merged, and the result can still be changed
+        pifA.freeze();
+        pifB.freeze();
+        System frozenMerge = pifA.mergeShared(pifB, MergeStrategy.REPLACE_NON_NULL_AND_APPEND);
+        assertFalse(frozenMerge.isFrozen());
+        frozenMerge.addName("editable");
+        assertEquals(2, frozenMerge.numNames());
+        assertEquals(1, pifA.numNames());
+    }
+
+    @Test
+    public void mergeByKeyTest() throws Exception {
+        ChemicalSystem pifA = new ChemicalSystem()
+                .addName("A").addName("B")
+                .addId(new Id().setName("sample").setValue("1"))
+                .addComposition(new Composition().setElement("Fe").setIdealWeightPercent(50.0))
+                .addProperty(new Property().setName("Band gap").addScalar(1.5)
+                        .addCondition(new Value().setName("Temperature").addScalar(300)))
+                .addProperty(new Property().setName("Band gap").addScalar(2.5)
+                        .addCondition(new Value().setName("Temperature").addScalar(400)));
+        ChemicalSystem pifB = new ChemicalSystem()
+                .addName("B").addName("C")
+                .addId(new Id().setName("sample").setValue("2"))
+                .addComposition(new Composition().setElement("Fe").setActualWeightPercent(49.0))
+                .addComposition(new Composition().setElement("O"))
+                .addProperty(new Property().setName("Band gap").addScalar(1.5).setUnits("eV")
+                        .addCondition(new Value().setName("Temperature").addScalar(300)));
+
+        ChemicalSystem merged = pifA.merge(pifB, MergeStrategy.REPLACE_NON_NULL_AND_MERGE_BY_KEY);
+        merged = merged.merge(pifB, MergeStrategy.REPLACE_NON_NULL_AND_MERGE_BY_KEY);
+
+        // Strings are merged as ordered sets
+        assertEquals(3, merged.numNames());
+        assertEquals("C", merged.getName(2));
+
+        // Matching elements are merged into one
+        assertEquals(1, merged.numIds());
+        assertEquals("2", merged.getId(0).getValue());
+        assertEquals(2, merged.compositionLength());
+        assertEquals("50.0", merged.getComposition(0).getIdealWeightPercent().getValue());
+        assertEquals("49.0", merged.getComposition(0).getActualWeightPercent().getValue());
+
+        // Properties are matched on their name and conditions, and identical scalars are not repeated
+        assertEquals(2, merged.numProperties());
+        assertEquals("eV", merged.getProperty(0).getUnits());
+        assertEquals(1, merged.getProperty(0).numScalars());
+        assertEquals(null, merged.getProperty(1).getUnits());
+        assertEquals(2, pifA.numProperties());
+    }
+
+    @Test
+    public void sharedMergeByKeyTest() throws Exception {
+        Property density = new Property().setName("Density").addScalar(1.5);
+        System pifA = new System()
+                .addSubSystem(new System().setUid("sub-1").addName("A").addProperty(density))
+                .addSubSystem(new System().setUid("sub-2"));
+        System pifB = new System().addSubSystem(new System().setUid("sub-1").addName("B"));
+
+        System merged = pifA.mergeShared(pifB, MergeStrategy.REPLACE_NON_NULL_AND_MERGE_BY_KEY);
+
+        // Only the sub-system that is merged into is copied, and the objects under it are still shared
+        assertEquals(2, merged.numSubSystems());
+        assertNotSame(pifA.getSubSystem(0), merged.getSubSystem(0));
+        assertEquals(2, merged.getSubSystem(0).numNames());
+        assertSame(density, merged.getSubSystem(0).getProperty(0));
+        assertSame(pifA.getSubSystem(1), merged.getSubSystem(1));
+        assertEquals(1, pifA.getSubSystem(0).numNames());
+        assertEquals(1, pifB.getSubSystem(0).numNames());
+        assertFalse(density.isFrozen());
+    }
+
+    @Test
+    public void mergeSubSystemsByUidTest() throws Exception {
+        System pifA = new System()
+                .addSubSystem(new System().setUid("sub-1").addName("A").addTag("first"))
+                .addSubSystem(new System().addName("no uid"));
+        System pifB = new System()
+                .addSubSystem(new System().setUid("sub-1").addName("B"))
+                .addSubSystem(new System().setUid("sub-2").addName("B"))
+                .addSubSystem(new System().addName("no uid"));
+
+        System merged = pifA.merge(pifB, MergeStrategy.REPLACE_NON_NULL_AND_MERGE_BY_KEY);
+
+        // Sub-systems with the same uid are merged, and sub-systems without a uid are only added if not equal
+        assertEquals(3, merged.numSubSystems());
+        assertEquals("sub-1", merged.getSubSystem(0).getUid());
+        assertEquals(2, merged.getSubSystem(0).numNames());
+        assertEquals("B", merged.getSubSystem(0).getName(1));
+        assertEquals("first", merged.getSubSystem(0).getTag(0));
+        assertEquals("no uid", merged.getSubSystem(1).getName(0));
+        assertEquals("sub-2", merged.getSubSystem(2).getUid());
+
+        // Merging in parallel matches sub-systems in the same way
+        System nested = buildNestedSystem("A", 0).mergeParallel(buildNestedSystem("B", 20),
+                MergeStrategy.REPLACE_NON_NULL_AND_MERGE_BY_KEY);
+        assertEquals(60, nested.numSubSystems());
+        assertEquals(2, nested.getSubSystem(20).numNames());
+        assertEquals(30, nested.getSubSystem(20).numProperties());
+    }
+
+    @Test
+    public void parallelMergeTest() throws Exception {
+        System pifA = buildNestedSystem("A", 0);
+        System pifB = buildNestedSystem("B", 20);
+        MergePool pool = new MergePool(4, 8);
+        try {
+            for (MergeStrategy strategy : MergeStrategy.values()) {
+                System sequential = pifA.merge(pifB, strategy);
+                System parallel = pifA.mergeParallel(pifB, strategy, PioReflection.DEFAULT_IGNORED_FIELDS, pool);
+                assertEquals(PifObjectMapper.getInstance().writeValueAsString(sequential),
+                        PifObjectMapper.getInstance().writeValueAsString(parallel));
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void mergeFailureTest() throws Exception {
+        RejectingPio into = new RejectingPio();
+        RejectingPio from = new RejectingPio();
+        from.values = Arrays.asList("a", "b");
+        MergePool pool = new MergePool(2, 1);
+        try {
+            into.merge(from, MergeStrategy.REPLACE_NON_NULL_AND_APPEND);
+            fail("Sequential merge should fail");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("Rejected", e.getMessage());
+        }
+        try {
+            into.mergeParallel(from, MergeStrategy.REPLACE_NON_NULL_AND_APPEND, PioReflection.DEFAULT_IGNORED_FIELDS,
+                    pool);
+            fail("Parallel merge should fail");
+        }
+        catch (IllegalArgumentException e) {
+            // Exceptions that cross fork-join threads are rethrown as a copy that wraps the original
+            assertTrue(e.getMessage().endsWith("Rejected"));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void scalarMergeTest() throws Exception {
+        Scalar first = new Scalar().setValue("1.0");
+        Scalar second = new Scalar().setValue("2.0").setUncertainty("0.1");
+        assertEquals(1.0, first.getValueAsDouble(), 0.0);
+        Scalar merged = (Scalar) first.merge(second, MergeStrategy.REPLACE_NON_NULL_AND_APPEND);
+        assertEquals("2.0+-0.1", merged.toString());
+        assertEquals(2.0, merged.getValueAsDouble(), 0.0);
+    }
+
+    /**
+     * Build a system with sub-systems that each have many properties.
+     *
+     * @param name  the name of every system.
+     * @param first the number of the first sub-system.
+     * @return the system.
+     */
+    private System buildNestedSystem(String name, int first) {
+        System system = new System().setUid("root").addName(name);
+        for (int i = first; i < first + 40; ++i) {
+            System subSystem = new System().setUid("sub-" + i).addName(name);
+            for (int j = 0; j < 20; ++j) {
+                subSystem.addProperty(new Property().setName("P" + (j + first / 2)).addScalar(name + j));
+            }
+            system.addSubSystem(subSystem);
+        }
+        return system;
+    }
+
+    /**
+     * Pio whose setter rejects any list with values, so that merging into it fails.
+     */
+    public static class RejectingPio extends Pio {
+
+        public List<String> getValues() {
+            return values;
+        }
+
+        public RejectingPio setValues(List<String> values) {
+            if ((values != null) && !values.isEmpty()) {
+                throw new IllegalArgumentException("Rejected");
+            }
+            this.values = values;
+            return this;
+        }
+
+        private List<String> values;
+    }
+}
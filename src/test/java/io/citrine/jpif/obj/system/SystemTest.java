@@ -1,11 +1,26 @@
 package io.citrine.jpif.obj.system;
 
+import io.citrine.jpif.obj.common.Fingerprint;
 import io.citrine.jpif.obj.common.Property;
 import io.citrine.jpif.obj.common.Scalar;
+import io.citrine.jpif.obj.common.Value;
+import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+import io.citrine.jpif.obj.system.chemical.common.Composition;
+import io.citrine.jpif.util.PifObjectMapper;
+import io.citrine.jpif.util.PifSerializationUtil;
+import io.citrine.jpif.util.ReadMode;
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Tests for {@link System} objects.
  *
@@ -34,6 +49,169 @@ public class SystemTest {
         checkArrays(original.getProperty(0).getVector(0), copy.getProperty(0).getVector(0));
     }
 
+    @Test
+    public void testSerializationKeepsSubclass() throws Exception {
+        final ChemicalSystem original = new ChemicalSystem()
+                .setChemicalFormula("Fe2O3")
+                .addSubSystem(new ChemicalSystem().setChemicalFormula("Fe"));
+        original.addUnsupportedField("extra", "D");
+
+        final Object copy = SerializationUtils.clone(original);
+
+        Assert.assertEquals(ChemicalSystem.class, copy.getClass());
+        Assert.assertEquals(ChemicalSystem.class, ((ChemicalSystem) copy).getSubSystem(0).getClass());
+        Assert.assertEquals(
+                PifObjectMapper.getInstance().writeValueAsString(original),
+                PifObjectMapper.getInstance().writeValueAsString(copy));
+    }
+
+    @Test
+    public void testLegacySerialization() throws Exception {
+        final System original = new System().addName("A").addProperty(new Property().setName("B").setUnits("C"));
+
+        // Write in the original format and read back with the default settings
+        final byte[] bytes;
+        PifSerializationUtil.setLegacyFormat(true);
+        try {
+            bytes = SerializationUtils.serialize(original);
+        }
+        finally {
+            PifSerializationUtil.setLegacyFormat(false);
+        }
+        final System copy = (System) SerializationUtils.deserialize(bytes);
+
+        Assert.assertEquals(original.getName(0), copy.getName(0));
+        Assert.assertEquals(original.getProperty(0).getName(), copy.getProperty(0).getName());
+        Assert.assertEquals(original.getProperty(0).getUnits(), copy.getProperty(0).getUnits());
+        Assert.assertTrue(SerializationUtils.serialize(original).length < bytes.length);
+    }
+
+    @Test
+    public void testEqualsAndFingerprint() throws Exception {
+        final ChemicalSystem original = new ChemicalSystem()
+                .setUid("A")
+                .setChemicalFormula("Fe2O3")
+                .addProperty(new Property()
+                        .setName("B")
+                        .addScalar(1.5)
+                        .addVector(new Integer[]{1, 2, 3})
+                        .addCondition(new Value().setName("Temperature").addScalar(300)))
+                .addSubSystem(new System().setUid("C").addTag("D"));
+        original.addUnsupportedField("extra", Collections.singletonMap("E", 1));
+
+        // Objects that are read back have the same content but are stored differently
+        final System copy = PifObjectMapper.getInstance().readValue(
+                PifObjectMapper.getInstance().writeValueAsString(original), System.class);
+        Assert.assertNotSame(original, copy);
+        Assert.assertEquals(original, copy);
+        Assert.assertEquals(original.hashCode(), copy.hashCode());
+        Assert.assertEquals(original.fingerprint(), copy.fingerprint());
+        Assert.assertEquals(original.fingerprint(), copy.freeze().fingerprint());
+        Assert.assertEquals(original, copy);
+
+        final System changed = PifObjectMapper.deepCopy(original, ChemicalSystem.class);
+        changed.getProperty(0).getCondition(0).getScalar(0).setUncertainty("5");
+        Assert.assertNotEquals(original, changed);
+        Assert.assertNotEquals(original.fingerprint(), changed.fingerprint());
+        Assert.assertNotEquals(new System().setUid("A"), new ChemicalSystem().setUid("A"));
+
+        // Lists are searched by content
+        Assert.assertFalse(changed.removeProperty(original.getProperty(0)));
+        Assert.assertTrue(changed.removeSubsystem(new System().setUid("C").addTag("D")));
+        Assert.assertEquals(0, changed.numSubSystems());
+    }
+
+    @Test
+    public void testFrozenSystemsCanBeShared() throws Exception {
+        final String json = "{\"category\": \"system\", \"uid\": \"A\", \"names\": [\"B\"], \"tags\": [\"C\"],"
+                + " \"extra\": {\"D\": [1, 2]},"
+                + " \"properties\": [{\"name\": \"E\", \"vectors\": [[{\"value\": \"x\"}]]}]}";
+        final System system = ReadMode.LAZY.apply(PifObjectMapper.getInstance().readerFor(System.class))
+                .<System>readValue(json)
+                .freeze();
+        Assert.assertTrue(system.getProperty(0).isFrozen());
+
+        // Lists and maps that are returned by a frozen object cannot be changed
+        checkUnmodifiable(() -> system.names().iterator().remove());
+        checkUnmodifiable(() -> system.tags().iterator().remove());
+        checkUnmodifiable(() -> system.unsupportedFields().iterator().next().setValue("F"));
+        checkUnmodifiable(() -> ((List<?>) ((Map<?, ?>) system.getUnsupportedFieldValue("extra")).get("D")).clear());
+        checkUnmodifiable(() -> system.getProperty(0).vectors().iterator().remove());
+        system.getProperty(0).getVector(0)[0] = null;
+        Assert.assertNotNull(system.getProperty(0).getVector(0)[0]);
+        checkUnmodifiable(() -> system.addName("G"));
+        checkUnmodifiable(() -> system.getProperty(0).setName("H"));
+
+        // Frozen objects can be read from many threads at once
+        final Fingerprint fingerprint = system.fingerprint();
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                results.add(executorService.submit(() -> PifObjectMapper.getInstance().writeValueAsString(system)));
+            }
+            for (Future<String> result : results) {
+                final System copy = PifObjectMapper.getInstance().readValue(result.get(), System.class);
+                Assert.assertEquals(fingerprint, copy.fingerprint());
+            }
+        }
+        finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testLookupByName() throws Exception {
+        final String json = "{\"category\": \"system.chemical\", \"chemicalFormula\": \"FeC\","
+                + " \"ids\": [{\"name\": \"A\", \"value\": \"1\"}, {\"name\": \"A\", \"value\": \"2\"}],"
+                + " \"classifications\": [{\"name\": \"B\", \"value\": \"3\"}],"
+                + " \"composition\": [{\"element\": \"Fe\"}, {\"element\": \"C\"}],"
+                + " \"properties\": [{\"name\": \"Band gap\", \"scalars\": [4]}, {\"scalars\": [5]}],"
+                + " \"preparation\": [{\"name\": \"Anneal\", \"details\": [{\"name\": \"Time\"}]}]}";
+        final ChemicalSystem system = (ChemicalSystem) PifObjectMapper.getInstance().readValue(json, System.class);
+
+        Assert.assertEquals("1", system.getId("A").getValue());
+        Assert.assertEquals("3", system.getClassification("B").getValue());
+        Assert.assertSame(system.getComposition(1), system.getComposition("C"));
+        Assert.assertEquals("4", system.getProperty("Band gap").getScalar(0).getValue());
+        Assert.assertSame(system.getPreparation(0).getDetail(0), system.getPreparation(0).getDetail("Time"));
+        Assert.assertNull(system.getProperty("Density"));
+        Assert.assertNull(system.getComposition("O"));
+
+        // Indexes are rebuilt after the lists that they cover change
+        final Property density = new Property().setName("Density");
+        system.addProperty(0, density);
+        Assert.assertSame(density, system.getProperty("Density"));
+        Assert.assertTrue(system.removeProperty(system.getProperty("Band gap")));
+        Assert.assertNull(system.getProperty("Band gap"));
+        Assert.assertTrue(system.removeId(system.getId("A")));
+        Assert.assertEquals("2", system.getId("A").getValue());
+        system.addComposition(0, new Composition().setElement("C").setIdealAtomicPercent("50"));
+        Assert.assertEquals("50", system.getComposition("C").getIdealAtomicPercent().getValue());
+
+        // Copies and frozen systems have their own indexes
+        final ChemicalSystem copy = PifObjectMapper.deepCopy(system, ChemicalSystem.class);
+        system.freeze();
+        Assert.assertNotSame(density, copy.getProperty("Density"));
+        Assert.assertEquals(density, copy.getProperty("Density"));
+        Assert.assertSame(density, system.getProperty("Density"));
+    }
+
+    /**
+     * Check that an action fails because it tries to change a frozen object.
+     *
+     * @param action {@link Runnable} that changes a frozen object.
+     */
+    private void checkUnmodifiable(final Runnable action) {
+        try {
+            action.run();
+            Assert.fail("Expected a frozen object to be unmodifiable");
+        }
+        catch (UnsupportedOperationException | IllegalStateException e) {
+            // Expected
+        }
+    }
+
     /**
      * Check that the values of the to input arrays are the same.
      *
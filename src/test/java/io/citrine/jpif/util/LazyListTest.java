@@ -0,0 +1,122 @@
+package io.citrine.jpif.util;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.citrine.jpif.obj.common.Property;
+import io.citrine.jpif.obj.common.Scalar;
+import io.citrine.jpif.obj.system.System;
+import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for reading objects in {@link ReadMode#LAZY} mode.
+ *
+ * @author Kyle Michel
+ */
+public class LazyListTest {
+
+    @Test
+    public void testUnchangedSubTreesAreWrittenVerbatim() throws Exception {
+        final System system = LAZY_READER.readValue(SYSTEM);
+        Assert.assertEquals("A", system.getName(0));
+        Assert.assertEquals(RAW_SYSTEM, PifObjectMapper.getInstance().writeValueAsString(system));
+
+        final System eager = PifObjectMapper.getInstance().readValue(SYSTEM, System.class);
+        Assert.assertEquals(EAGER_SYSTEM, PifObjectMapper.getInstance().writeValueAsString(eager));
+    }
+
+    @Test
+    public void testSubTreesAreReadOnAccess() throws Exception {
+        final System system = LAZY_READER.readValue(SYSTEM);
+        Assert.assertEquals(1, system.numProperties());
+        final Property property = system.getProperty(0);
+        Assert.assertEquals("Band gap", property.getName());
+        Assert.assertEquals("300", property.getCondition(0).getScalar(0).getValue());
+
+        final System subSystem = system.getSubSystem(0);
+        Assert.assertTrue(subSystem instanceof ChemicalSystem);
+        Assert.assertEquals("Fe", ((ChemicalSystem) subSystem).getChemicalFormula());
+        Assert.assertEquals(1, subSystem.numSubSystems());
+        Assert.assertEquals(0, system.numPreparation());
+
+        system.addProperty(new Property().setName("Density"));
+        final System copy = PifObjectMapper.getInstance().readValue(
+                PifObjectMapper.getInstance().writeValueAsString(system), System.class);
+        Assert.assertEquals(2, copy.numProperties());
+        Assert.assertEquals("Density", copy.getProperty(1).getName());
+        Assert.assertEquals("Fe", ((ChemicalSystem) copy.getSubSystem(0)).getChemicalFormula());
+    }
+
+    @Test
+    public void testSmileRoundTrip() throws Exception {
+        final ObjectReader reader = ReadMode.LAZY.apply(PifObjectMapper.getSmileInstance().readerFor(System.class));
+        final System system = reader.readValue(PifObjectMapper.getSmileInstance().writeValueAsBytes(
+                PifObjectMapper.getInstance().readValue(SYSTEM, System.class)));
+        Assert.assertEquals(EAGER_SYSTEM, PifObjectMapper.getInstance().writeValueAsString(system));
+        Assert.assertEquals("Band gap", system.getProperty(0).getName());
+    }
+
+    @Test
+    public void testStringsAreDecomposedOnAccess() throws Exception {
+        final ObjectReader reader = ReadMode.LAZY.apply(PifObjectMapper.getInstance().readerFor(Property.class));
+        final String json = "{\"scalars\":[\"1.5 +- 0.1\",\"3\"],\"contacts\":[\"Dr. Jane Smith\"]}";
+        final Property property = reader.readValue(json);
+        Assert.assertEquals(json, PifObjectMapper.getInstance().writeValueAsString(property));
+
+        Assert.assertEquals("0.1", property.getScalar(0).getUncertainty());
+        Assert.assertEquals("Smith", property.getContact(0).getName().getFamily());
+        Assert.assertEquals("{\"scalars\":[{\"value\":\"1.5\",\"uncertainty\":\"0.1\"},\"3\"],"
+                + "\"contacts\":[{\"name\":{\"title\":\"Dr.\",\"given\":\"Jane\",\"family\":\"Smith\"}}]}",
+                PifObjectMapper.getInstance().writeValueAsString(property));
+        Assert.assertEquals(PifObjectMapper.getInstance().readValue(json, Property.class), property);
+
+        final Scalar scalar = PifObjectMapper.deepCopy(Scalar.deferredValueOf(">= 5"), Scalar.class);
+        Assert.assertEquals("5", scalar.getMinimum());
+        Assert.assertTrue(scalar.isInclusiveMinimum());
+    }
+
+    @Test
+    public void testFreezeKeepsListsUnbuilt() throws Exception {
+        final System system = LAZY_READER.readValue(SYSTEM);
+        system.freeze();
+        Assert.assertEquals(RAW_SYSTEM, PifObjectMapper.getInstance().writeValueAsString(system));
+
+        final Property property = system.getProperty(0);
+        Assert.assertTrue(property.isFrozen());
+        Assert.assertTrue(property.getCondition(0).isFrozen());
+        Assert.assertTrue(system.getSubSystem(0).getSubSystem(0).isFrozen());
+        try {
+            system.addProperty(new Property());
+            Assert.fail("Added a property to a frozen system");
+        }
+        catch (IllegalStateException e) {
+            Assert.assertEquals(1, system.numProperties());
+        }
+    }
+
+    /** Reader that reads systems lazily. */
+    private static final ObjectReader LAZY_READER =
+            ReadMode.LAZY.apply(PifObjectMapper.getInstance().readerFor(System.class));
+
+    /** JSON with a system that has properties, preparation steps and sub-systems. */
+    private static final String SYSTEM = "{\"category\": \"system\", \"names\": [\"A\"], "
+            + "\"properties\": [{\"name\": \"Band gap\", \"scalars\": 1.5, "
+            + "\"conditions\": [{\"name\": \"Temperature\", \"scalars\": 300}]}], "
+            + "\"preparation\": [], "
+            + "\"subSystems\": [{\"category\": \"system.chemical\", \"chemicalFormula\": \"Fe\", "
+            + "\"subSystems\": [{\"category\": \"system\"}]}]}";
+
+    /** JSON that is written for the system when it is read lazily and not accessed. */
+    private static final String RAW_SYSTEM = "{\"category\":\"system\",\"names\":[\"A\"],"
+            + "\"properties\":[{\"name\":\"Band gap\",\"scalars\":1.5,"
+            + "\"conditions\":[{\"name\":\"Temperature\",\"scalars\":300}]}],"
+            + "\"subSystems\":[{\"category\":\"system.chemical\",\"chemicalFormula\":\"Fe\","
+            + "\"subSystems\":[{\"category\":\"system\"}]}]}";
+
+    /** JSON that is written for the system when it is read eagerly. */
+    private static final String EAGER_SYSTEM = "{\"category\":\"system\",\"names\":[\"A\"],"
+            + "\"properties\":[{\"name\":\"Band gap\",\"scalars\":[{\"value\":\"1.5\"}],"
+            + "\"conditions\":[{\"name\":\"Temperature\",\"scalars\":[{\"value\":\"300\"}]}]}],"
+            + "\"subSystems\":[{\"category\":\"system.chemical\","
+            + "\"subSystems\":[{\"category\":\"system\"}],\"chemicalFormula\":\"Fe\"}]}";
+}
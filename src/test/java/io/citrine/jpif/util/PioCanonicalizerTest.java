@@ -0,0 +1,108 @@
+package io.citrine.jpif.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.citrine.jpif.obj.common.Property;
+import io.citrine.jpif.obj.common.Value;
+import io.citrine.jpif.obj.system.System;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Tests for {@link PioCanonicalizer} objects.
+ *
+ * @author Kyle Michel
+ */
+public class PioCanonicalizerTest {
+
+    @Test
+    public void testSharedObjects() throws Exception {
+        final PioCanonicalizer canonicalizer = new PioCanonicalizer();
+        final ObjectReader reader = canonicalizer.apply(PifObjectMapper.getInstance().readerFor(SYSTEM_LIST_TYPE));
+        final List<System> systems = reader.readValue("[" + SYSTEM + "," + SYSTEM + "]");
+
+        final Property first = systems.get(0).getProperty(0);
+        final Property second = systems.get(1).getProperty(0);
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first.getCondition(0), second.getCondition(0));
+        Assert.assertSame(first.getMethod(0), second.getMethod(0));
+        Assert.assertSame(first.getMethod(1), second.getMethod(1));
+        Assert.assertSame(first.getContact(0), second.getContact(0));
+        Assert.assertNotSame(first.getCondition(0), first.getCondition(1));
+        Assert.assertTrue(first.getCondition(0).isFrozen());
+        Assert.assertFalse(first.isFrozen());
+        Assert.assertEquals(6, canonicalizer.getMisses());
+        Assert.assertEquals(6, canonicalizer.getHits());
+        Assert.assertEquals(6, canonicalizer.size());
+
+        final List<System> unshared = PifObjectMapper.getInstance().readerFor(SYSTEM_LIST_TYPE)
+                .readValue("[" + SYSTEM + "," + SYSTEM + "]");
+        Assert.assertNotSame(unshared.get(0).getProperty(0).getCondition(0),
+                unshared.get(1).getProperty(0).getCondition(0));
+        Assert.assertFalse(unshared.get(0).getProperty(0).getCondition(0).isFrozen());
+    }
+
+    @Test
+    public void testFrozenObjects() throws Exception {
+        final Value value = PifObjectMapper.getInstance().readValue(
+                "{\"name\": \"T\", \"scalars\": [1], \"vectors\": [[1, 2]], \"tags\": [\"a\"]}", Value.class);
+        value.freeze();
+        Assert.assertTrue(value.getScalar(0).isFrozen());
+        Assert.assertTrue(value.getVector(0)[1].isFrozen());
+        assertFrozen(() -> value.setName("P"));
+        assertFrozen(() -> value.addTag("b"));
+        assertFrozen(() -> value.addVector(new Number[]{3}));
+        assertFrozen(() -> value.getScalar(0).setValue("2"));
+        assertFrozen(() -> value.getVector(0)[0].setUncertainty("0.1"));
+
+        final Value copy = PifObjectMapper.deepCopy(value, Value.class);
+        Assert.assertFalse(copy.isFrozen());
+        copy.setName("P").getVector(0)[0].setValue("3");
+        Assert.assertEquals("T", value.getName());
+        Assert.assertEquals("1", value.getVector(0)[0].getValue());
+    }
+
+    @Test
+    public void testOnlySharedInstanceIsFrozen() throws Exception {
+        final PioCanonicalizer canonicalizer = new PioCanonicalizer();
+        final Value first = new Value().setName("T").addScalar(300);
+        final Value second = new Value().setName("T").addScalar(300);
+        Assert.assertSame(first, canonicalizer.canonicalize(first));
+        Assert.assertTrue(first.isFrozen());
+
+        // An object that is replaced by the shared instance is left as it was
+        Assert.assertSame(first, canonicalizer.canonicalize(second));
+        Assert.assertFalse(second.isFrozen());
+        second.setName("P");
+        Assert.assertEquals(1, canonicalizer.getHits());
+        Assert.assertEquals(1, canonicalizer.getMisses());
+    }
+
+    /**
+     * Check that the input action fails because it modifies a frozen object.
+     *
+     * @param action {@link Runnable} that modifies a frozen object.
+     */
+    private void assertFrozen(final Runnable action) {
+        try {
+            action.run();
+            Assert.fail("Frozen object was modified");
+        }
+        catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+
+    /** JSON with a system whose property has conditions, methods and a contact. */
+    private static final String SYSTEM = "{\"category\": \"system\", "
+            + "\"properties\": [{\"name\": \"Band gap\", \"scalars\": 1.5, "
+            + "\"conditions\": [{\"name\": \"Temperature\", \"scalars\": 300, \"units\": \"K\"}, "
+            + "{\"name\": \"Pressure\", \"scalars\": 1, \"units\": \"atm\"}], "
+            + "\"methods\": [\"DFT\", {\"name\": \"XRD\", \"instruments\": [{\"name\": \"D8\"}]}], "
+            + "\"contacts\": [\"Jane Doe\"]}]}";
+
+    /** Type for a list of systems. */
+    private static final TypeReference<List<System>> SYSTEM_LIST_TYPE = new TypeReference<List<System>>() {};
+}
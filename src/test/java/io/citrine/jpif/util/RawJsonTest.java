@@ -0,0 +1,76 @@
+package io.citrine.jpif.util;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.citrine.jpif.obj.system.System;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for {@link RawJson} objects.
+ *
+ * @author Kyle Michel
+ */
+public class RawJsonTest {
+
+    @Test
+    public void testVerbatimPassthrough() throws Exception {
+        final ObjectReader reader = UnsupportedFieldMode.RAW.apply(
+                PifObjectMapper.getInstance().readerFor(System.class));
+        final System system = reader.readValue(SYSTEM);
+        Assert.assertEquals(SYSTEM, PifObjectMapper.getInstance().writeValueAsString(system));
+        Assert.assertEquals(1, system.getProperty(0).numUnsupportedFields());
+        Assert.assertNotEquals(SYSTEM, PifObjectMapper.getInstance().writeValueAsString(
+                PifObjectMapper.getInstance().readValue(SYSTEM, System.class)));
+
+        final System copy = UnsupportedFieldMode.RAW.apply(PifObjectMapper.getSmileInstance().readerFor(System.class))
+                .readValue(PifObjectMapper.getSmileInstance().writeValueAsBytes(system));
+        Assert.assertEquals(SYSTEM, PifObjectMapper.getInstance().writeValueAsString(copy));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDecodeOnAccess() throws Exception {
+        final ObjectReader reader = UnsupportedFieldMode.RAW.apply(
+                PifObjectMapper.getInstance().readerFor(System.class));
+        final System system = reader.readValue(SYSTEM);
+        final System generic = PifObjectMapper.getInstance().readValue(SYSTEM, System.class);
+        Assert.assertEquals(generic.getUnsupportedFieldValue("vendor"), system.getUnsupportedFieldValue("vendor"));
+        Assert.assertEquals(Arrays.asList(1, 2.5, "x"), system.getProperty(0).getUnsupportedFieldValue("raw"));
+
+        final Map<String, Object> vendor = (Map<String, Object>) system.getUnsupportedFieldValue("vendor");
+        ((List<Object>) vendor.get("blob")).add(3);
+        Assert.assertTrue(PifObjectMapper.getInstance().writeValueAsString(system).contains("\"blob\":[1,{},3]"));
+
+        system.getProperty(0).unsupportedFields().forEach(i -> Assert.assertFalse(i.getValue() instanceof RawJson));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFreezeKeepsFieldsRaw() throws Exception {
+        final ObjectReader reader = UnsupportedFieldMode.RAW.apply(
+                PifObjectMapper.getInstance().readerFor(System.class));
+        final System system = reader.readValue(SYSTEM);
+        system.freeze();
+        Assert.assertEquals(SYSTEM, PifObjectMapper.getInstance().writeValueAsString(system));
+
+        final Map<String, Object> vendor = (Map<String, Object>) system.getUnsupportedFieldValue("vendor");
+        Assert.assertEquals(Arrays.asList(1, Collections.singletonMap("b", null)), vendor.get("blob"));
+        try {
+            ((List<Object>) vendor.get("blob")).add(3);
+            Assert.fail("Changed an unsupported field of a frozen system");
+        }
+        catch (UnsupportedOperationException e) {
+            Assert.assertEquals(SYSTEM, PifObjectMapper.getInstance().writeValueAsString(system));
+        }
+    }
+
+    /** JSON with a system and property that have unsupported fields. */
+    private static final String SYSTEM = "{\"category\":\"system\","
+            + "\"properties\":[{\"name\":\"Band gap\",\"raw\":[1,2.5,\"x\"]}],"
+            + "\"vendor\":{\"blob\":[1,{\"b\":null}],\"nested\":{\"deep\":[[true]]}}}";
+}
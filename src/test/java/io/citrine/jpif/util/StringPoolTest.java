@@ -0,0 +1,66 @@
+package io.citrine.jpif.util;
+
+import io.citrine.jpif.obj.common.Property;
+import io.citrine.jpif.obj.system.chemical.ChemicalSystem;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link StringPool} objects.
+ *
+ * @author Kyle Michel
+ */
+public class StringPoolTest {
+
+    @After
+    public void tearDown() {
+        for (StringPool.Category category : StringPool.Category.values()) {
+            final StringPool pool = StringPool.forCategory(category);
+            pool.setCapacity(0);
+            pool.clear();
+            pool.resetStatistics();
+        }
+    }
+
+    @Test
+    public void testIntern() {
+        final StringPool pool = StringPool.forCategory(StringPool.Category.UNITS);
+        final String first = new String("eV");
+        Assert.assertSame(first, pool.intern(first));
+        Assert.assertEquals(0, pool.size());
+
+        pool.setCapacity(2);
+        Assert.assertSame(first, pool.intern(first));
+        Assert.assertSame(first, pool.intern(new String("eV")));
+        Assert.assertNull(pool.intern(null));
+        pool.intern("K");
+        final String other = new String("Pa");
+        Assert.assertSame(other, pool.intern(other));
+        Assert.assertNotSame(other, pool.intern(new String("Pa")));
+        Assert.assertEquals(2, pool.size());
+        Assert.assertEquals(1, pool.getHits());
+        Assert.assertEquals(4, pool.getMisses());
+        Assert.assertEquals(0.2, pool.getHitRate(), 1e-12);
+    }
+
+    @Test
+    public void testDeserialization() throws Exception {
+        StringPool.setCapacityForAll(100);
+        final String json = "{\"category\": \"system.chemical\", \"composition\": [{\"element\": \"Fe\"}], "
+                + "\"properties\": [{\"name\": \"Band gap\", \"units\": \"eV\", \"tags\": [\"DFT\"], "
+                + "\"methods\": [\"VASP\"], \"scalars\": 1}]}";
+        final ChemicalSystem first = PifObjectMapper.getInstance().readValue(json, ChemicalSystem.class);
+        final ChemicalSystem second = PifObjectMapper.getInstance().readValue(json, ChemicalSystem.class);
+
+        final Property firstProperty = first.getProperty(0);
+        final Property secondProperty = second.getProperty(0);
+        Assert.assertSame(firstProperty.getName(), secondProperty.getName());
+        Assert.assertSame(firstProperty.getUnits(), secondProperty.getUnits());
+        Assert.assertSame(firstProperty.getTag(0), secondProperty.getTag(0));
+        Assert.assertSame(firstProperty.getMethod(0).getName(), secondProperty.getMethod(0).getName());
+        Assert.assertSame(first.getComposition(0).getElement(), second.getComposition(0).getElement());
+        Assert.assertEquals(1, StringPool.forCategory(StringPool.Category.UNITS).getHits());
+        Assert.assertEquals(0.5, StringPool.forCategory(StringPool.Category.ELEMENTS).getHitRate(), 1e-12);
+    }
+}